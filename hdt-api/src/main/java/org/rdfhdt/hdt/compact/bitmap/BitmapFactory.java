@@ -1,6 +1,7 @@
 package org.rdfhdt.hdt.compact.bitmap;
 
 import org.rdfhdt.hdt.exceptions.IllegalFormatException;
+import org.rdfhdt.hdt.exceptions.NotImplementedException;
 
 import java.io.IOException;
 import java.io.InputStream;
@@ -61,6 +62,18 @@ public abstract class BitmapFactory {
         return getInstance().doCreateRWModifiableBitmap(size);
     }
 
+    /**
+     * create an empty modifiable bitmap stored in a file, the bitmap implements {@link java.io.Closeable} and
+     * has to be closed to release the file
+     * @param location The file of the bitmap
+     * @param size The initial number of bits
+     * @param type The type of the bitmap, null for default value
+     * @return bitmap
+     */
+    public static ModifiableBitmap createDiskBitmap(String location, long size, String type) {
+        return getInstance().doCreateDiskModifiableBitmap(location, size, type);
+    }
+
     /**
      * load a bitmap from an {@link InputStream}
      * @param input The stream
@@ -71,8 +84,26 @@ public abstract class BitmapFactory {
         return getInstance().doCreateBitmap(input);
     }
 
+    /**
+     * load a bitmap from an {@link InputStream} with the implementation of a type if this implementation can
+     * read the format of the stream, for example to add select hints to a plain bitmap
+     * @param input The stream
+     * @param type The type of the bitmap, null for the default implementation of the format
+     * @return bitmap
+     * @throws IOException io exception while reading
+     */
+    public static Bitmap createBitmap(InputStream input, String type) throws IOException {
+        return getInstance().doCreateBitmap(input, type);
+    }
+
     // Abstract methods for the current implementation
     protected abstract ModifiableBitmap doCreateModifiableBitmap(String type);
     protected abstract ModifiableBitmap doCreateRWModifiableBitmap(long size);
     protected abstract Bitmap doCreateBitmap(InputStream input) throws IOException;
+    protected Bitmap doCreateBitmap(InputStream input, String type) throws IOException {
+        return doCreateBitmap(input);
+    }
+    protected ModifiableBitmap doCreateDiskModifiableBitmap(String location, long size, String type) {
+        throw new NotImplementedException("No disk bitmap implementation");
+    }
 }
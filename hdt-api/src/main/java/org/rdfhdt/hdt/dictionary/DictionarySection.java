@@ -75,4 +75,67 @@ public interface DictionarySection extends Closeable {
 	 */
 	Iterator<? extends CharSequence> getSortedEntries();
 
+	/**
+	 * Find the ID of the first string greater than or equal to a string, in the order of the section.
+	 *
+	 * @param str
+	 * 			the string to search
+	 * @return
+	 * 			the ID, getNumberOfElements()+1 if all the strings are lower
+	 */
+	default long locateLowerBound(CharSequence str) {
+		String target = str.toString();
+		long low = 1;
+		long high = getNumberOfElements() + 1;
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			if (DictionaryUtil.compareCodePoints(extract(mid).toString(), target) < 0) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * Find the IDs of the strings in a lexical range, the IDs are contiguous because the strings are sorted.
+	 *
+	 * @param from
+	 * 			lowest string of the range, included, null for no lower bound
+	 * @param to
+	 * 			highest string of the range, excluded, null for no upper bound
+	 * @return
+	 * 			the range of IDs, empty if no string is in the range
+	 */
+	default IdRange locateRange(CharSequence from, CharSequence to) {
+		long first = from == null ? 1 : locateLowerBound(from);
+		long end = to == null ? getNumberOfElements() + 1 : locateLowerBound(to);
+		return new IdRange(first, end - 1);
+	}
+
+	/**
+	 * Find the IDs of the strings starting with a prefix, the IDs are contiguous because the strings are sorted.
+	 *
+	 * @param prefix
+	 * 			the prefix of the strings
+	 * @return
+	 * 			the range of IDs, empty if no string has this prefix
+	 */
+	default IdRange locatePrefix(CharSequence prefix) {
+		String target = prefix.toString();
+		long first = locateLowerBound(prefix);
+		long low = first;
+		long high = getNumberOfElements() + 1;
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			if (extract(mid).toString().startsWith(target)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return new IdRange(first, low - 1);
+	}
+
 }
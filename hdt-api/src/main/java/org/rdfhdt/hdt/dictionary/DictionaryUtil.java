@@ -41,4 +41,26 @@ public class DictionaryUtil {
 				dict.stringToId(tripleString.getObject().toString(), TripleComponentRole.OBJECT)
 				);
 	}
+
+	/**
+	 * Compare two strings by code points, the order of their UTF-8 encodings used by the dictionary sections.
+	 *
+	 * @param s1 first string
+	 * @param s2 second string
+	 * @return a negative number, zero or a positive number if s1 is lower, equal or greater than s2
+	 */
+	public static int compareCodePoints(String s1, String s2) {
+		int i1 = 0;
+		int i2 = 0;
+		while (i1 < s1.length() && i2 < s2.length()) {
+			int c1 = s1.codePointAt(i1);
+			int c2 = s2.codePointAt(i2);
+			if (c1 != c2) {
+				return Integer.compare(c1, c2);
+			}
+			i1 += Character.charCount(c1);
+			i2 += Character.charCount(c2);
+		}
+		return Boolean.compare(i1 < s1.length(), i2 < s2.length());
+	}
 }
@@ -0,0 +1,72 @@
+package org.rdfhdt.hdt.dictionary;
+
+/**
+ * Contiguous range of IDs [first, last] of a dictionary section, empty if last &lt; first.
+ *
+ * @see DictionarySection#locatePrefix(CharSequence)
+ * @see DictionarySection#locateRange(CharSequence, CharSequence)
+ */
+public final class IdRange {
+	private final long first;
+	private final long last;
+
+	public IdRange(long first, long last) {
+		this.first = first;
+		this.last = last;
+	}
+
+	/**
+	 * @return the first ID of the range
+	 */
+	public long getFirst() {
+		return first;
+	}
+
+	/**
+	 * @return the last ID of the range, included
+	 */
+	public long getLast() {
+		return last;
+	}
+
+	/**
+	 * @return the number of IDs in the range
+	 */
+	public long size() {
+		return isEmpty() ? 0 : last - first + 1;
+	}
+
+	public boolean isEmpty() {
+		return last < first;
+	}
+
+	/**
+	 * @param id the ID
+	 * @return if the ID is in the range, to filter the results of a triple search
+	 */
+	public boolean contains(long id) {
+		return id >= first && id <= last;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof IdRange)) {
+			return false;
+		}
+		IdRange other = (IdRange) o;
+		return (isEmpty() && other.isEmpty()) || (first == other.first && last == other.last);
+	}
+
+	@Override
+	public int hashCode() {
+		return isEmpty() ? 0 : Long.hashCode(first) * 31 + Long.hashCode(last);
+	}
+
+	@Override
+	public String toString() {
+		return "[" + first + ", " + last + "]";
+	}
+}
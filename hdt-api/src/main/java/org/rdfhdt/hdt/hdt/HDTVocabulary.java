@@ -109,6 +109,7 @@ public class HDTVocabulary {
 
 	// Index type
 	public static final String INDEX_TYPE_FOQ = HDT_BASE+"indexFoQ>";
+	public static final String INDEX_TYPE_PREDICATE_STATISTICS = HDT_BASE+"predicateStatistics>";
 
 	// Sequences
 	public static final String SEQ_TYPE_INT32 = HDT_SEQ_BASE+"Int32>";
@@ -116,9 +117,13 @@ public class HDTVocabulary {
 	public static final String SEQ_TYPE_LOG = HDT_SEQ_BASE+"Log>";
 	public static final String SEQ_TYPE_HUFFMAN = HDT_SEQ_BASE+"Huffman>";
 	public static final String SEQ_TYPE_WAVELET = HDT_SEQ_BASE+"Wavelet>";
+	public static final String SEQ_TYPE_ELIAS_FANO = HDT_SEQ_BASE+"EliasFano>";
+	public static final String SEQ_TYPE_BLOCK_FOR = HDT_SEQ_BASE+"BlockFOR>";
 
 	// Bitmaps
 	public static final String BITMAP_TYPE_PLAIN = HDT_BITMAP_BASE+"Plain>";
+	/** plain bitmap with sampled select hints, saved as a plain bitmap */
+	public static final String BITMAP_TYPE_PLAIN_SELECT = HDT_BITMAP_BASE+"PlainSelect>";
 
 	// Misc
 	public static final String ORIGINAL_SIZE = HDT_BASE+"originalSize>";
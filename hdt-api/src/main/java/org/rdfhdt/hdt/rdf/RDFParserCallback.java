@@ -41,6 +41,13 @@ import org.rdfhdt.hdt.triples.TripleString;
  */
 public interface RDFParserCallback {
 	interface RDFCallback {
+		/**
+		 * Notify a parsed triple. The parser can reuse the {@link TripleString} instance for the next triple, the
+		 * callback has to copy it to keep it, the terms set in the triple are not modified after the call.
+		 *
+		 * @param triple the triple
+		 * @param pos    position of the triple in the input, if known
+		 */
 		void processTriple(TripleString triple, long pos);
 	}
 	
@@ -65,7 +65,7 @@ public interface IteratorTripleID extends Iterator<TripleID> {
 
 	/**
 	 * Go to the specified random position. Only use whenever canGoTo() returns true.
-	 * @param pos got to a given position
+	 * @param pos got to a given position, the index of the result in the iteration, 0 for the first result
 	 */
 	void goTo(long pos);
 
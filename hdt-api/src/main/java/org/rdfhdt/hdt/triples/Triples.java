@@ -29,6 +29,7 @@ package org.rdfhdt.hdt.triples;
 
 import java.io.Closeable;
 
+import org.rdfhdt.hdt.enums.ResultEstimationType;
 import org.rdfhdt.hdt.header.Header;
 
 /**
@@ -52,6 +53,34 @@ public interface Triples extends Closeable {
 	 */
 	IteratorTripleID search(TripleID pattern);
 
+	/**
+	 * Count the triples matching a pattern without returning them. Implementations should override it to answer
+	 * from their structure, the default implementation uses the exact estimation of the iterator if it has one, or
+	 * iterates over the results.
+	 *
+	 * @param pattern
+	 *            The pattern to match against
+	 * @return the exact number of triples matching the pattern
+	 */
+	default long count(TripleID pattern) {
+		if (pattern.isNoMatch()) {
+			return 0;
+		}
+		if (pattern.isEmpty()) {
+			return getNumberOfElements();
+		}
+		IteratorTripleID it = search(pattern);
+		if (it.numResultEstimation() == ResultEstimationType.EXACT) {
+			return it.estimatedNumResults();
+		}
+		long count = 0;
+		while (it.hasNext()) {
+			it.next();
+			count++;
+		}
+		return count;
+	}
+
 	/**
 	 * Returns the total number of triples
 	 *
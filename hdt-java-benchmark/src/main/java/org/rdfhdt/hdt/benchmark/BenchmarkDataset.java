@@ -0,0 +1,104 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+
+/**
+ * Synthetic datasets of the benchmarks, generated with {@link FakeTripleIterator} and kept in the
+ * directory of the system property "hdt.benchmark.dir" (default: java.io.tmpdir/hdt-benchmark), so the
+ * forks of a benchmark and the next runs use the same files.
+ */
+public class BenchmarkDataset {
+	/** seed of the generated datasets, the same size always creates the same dataset */
+	public static final long SEED = 34;
+
+	private BenchmarkDataset() {
+	}
+
+	public static Path getDirectory() {
+		String dir = System.getProperty("hdt.benchmark.dir");
+		if (dir == null) {
+			return Paths.get(System.getProperty("java.io.tmpdir"), "hdt-benchmark");
+		}
+		return Paths.get(dir);
+	}
+
+	/**
+	 * get the HDT file of a dataset, creating it if it doesn't exist
+	 *
+	 * @param numTriples number of triples of the dataset
+	 * @return the HDT file
+	 * @throws IOException    can't write the file
+	 * @throws ParserException can't create the HDT
+	 */
+	public static synchronized String getHDTFile(long numTriples) throws IOException, ParserException {
+		Path dir = getDirectory();
+		Files.createDirectories(dir);
+		Path file = dir.resolve("dataset-" + numTriples + ".hdt");
+		if (!Files.exists(file)) {
+			Path tmp = dir.resolve("dataset-" + numTriples + ".hdt.tmp");
+			try (HDT hdt = HDTManager.generateHDT(new FakeTripleIterator(numTriples, SEED), "http://w", new HDTSpecification(), null)) {
+				hdt.saveToHDT(tmp.toString(), null);
+			}
+			Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+		}
+		return file.toAbsolutePath().toString();
+	}
+
+	/**
+	 * get the HDT file of a dataset and create its index file if it doesn't exist
+	 *
+	 * @param numTriples number of triples of the dataset
+	 * @return the HDT file
+	 * @throws IOException    can't write the files
+	 * @throws ParserException can't create the HDT
+	 */
+	public static synchronized String getIndexedHDTFile(long numTriples) throws IOException, ParserException {
+		String file = getHDTFile(numTriples);
+		HDTManager.mapIndexedHDT(file).close();
+		return file;
+	}
+
+	/**
+	 * open a dataset with its index
+	 *
+	 * @param numTriples number of triples of the dataset
+	 * @param mapped     map the file instead of loading it in memory
+	 * @return the HDT
+	 * @throws IOException    can't read or write the files
+	 * @throws ParserException can't create the HDT
+	 */
+	public static HDT openIndexed(long numTriples, boolean mapped) throws IOException, ParserException {
+		String file = getIndexedHDTFile(numTriples);
+		if (mapped) {
+			return HDTManager.mapIndexedHDT(file);
+		}
+		return HDTManager.loadIndexedHDT(file);
+	}
+
+	/**
+	 * delete the index file of a dataset
+	 *
+	 * @param hdtFile HDT file of the dataset
+	 * @throws IOException can't delete the file
+	 */
+	public static void deleteIndex(String hdtFile) throws IOException {
+		File dir = new File(hdtFile).getAbsoluteFile().getParentFile();
+		String prefix = new File(hdtFile).getName() + ".index";
+		File[] files = dir.listFiles((d, name) -> name.startsWith(prefix));
+		if (files != null) {
+			for (File f : files) {
+				Files.deleteIfExists(f.toPath());
+			}
+		}
+	}
+}
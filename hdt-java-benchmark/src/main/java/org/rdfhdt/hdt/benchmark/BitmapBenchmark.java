@@ -0,0 +1,83 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rdfhdt.hdt.compact.bitmap.Bitmap375;
+
+/**
+ * rank1/select1/access of {@link Bitmap375} on random positions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BitmapBenchmark {
+	private static final int QUERIES = 1 << 16;
+
+	@Param({"1000000", "100000000"})
+	public long numBits;
+
+	/** probability of a bit to be set */
+	@Param({"0.01", "0.5"})
+	public double density;
+
+	private Bitmap375 bitmap;
+	private long[] positions;
+	private long[] ranks;
+	private int next;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(BenchmarkDataset.SEED);
+		bitmap = new Bitmap375(numBits);
+		for (long i = 0; i < numBits; i++) {
+			if (random.nextDouble() < density) {
+				bitmap.set(i, true);
+			}
+		}
+		// the last bit is always set, so there is at least one
+		bitmap.set(numBits - 1, true);
+		bitmap.updateIndex();
+
+		long ones = bitmap.countOnes();
+		positions = new long[QUERIES];
+		ranks = new long[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			positions[i] = Math.floorMod(random.nextLong(), numBits);
+			ranks[i] = 1 + Math.floorMod(random.nextLong(), ones);
+		}
+	}
+
+	private int nextQuery() {
+		return next = (next + 1) & (QUERIES - 1);
+	}
+
+	@Benchmark
+	public long rank1() {
+		return bitmap.rank1(positions[nextQuery()]);
+	}
+
+	@Benchmark
+	public long select1() {
+		return bitmap.select1(ranks[nextQuery()]);
+	}
+
+	@Benchmark
+	public boolean access() {
+		return bitmap.access(positions[nextQuery()]);
+	}
+}
@@ -0,0 +1,96 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+
+/**
+ * locate/extract of the PFC dictionary sections of a generated dataset, loaded in memory
+ * (PFCDictionarySection) or mapped (PFCDictionarySectionMap).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DictionarySectionBenchmark {
+	private static final int QUERIES = 1 << 14;
+
+	@Param({"1000000"})
+	public long numTriples;
+
+	@Param({"false", "true"})
+	public boolean mapped;
+
+	@Param({"subjects", "predicates", "objects"})
+	public String section;
+
+	private HDT hdt;
+	private DictionarySection dictionarySection;
+	private long[] ids;
+	private String[] strings;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException, ParserException {
+		hdt = BenchmarkDataset.openIndexed(numTriples, mapped);
+		switch (section) {
+			case "subjects":
+				dictionarySection = hdt.getDictionary().getSubjects();
+				break;
+			case "predicates":
+				dictionarySection = hdt.getDictionary().getPredicates();
+				break;
+			case "objects":
+				dictionarySection = hdt.getDictionary().getObjects();
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown section: " + section);
+		}
+
+		Random random = new Random(BenchmarkDataset.SEED);
+		long size = dictionarySection.getNumberOfElements();
+		ids = new long[QUERIES];
+		strings = new String[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			ids[i] = 1 + Math.floorMod(random.nextLong(), size);
+			strings[i] = dictionarySection.extract(ids[i]).toString();
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		hdt.close();
+	}
+
+	private int nextQuery() {
+		return next = (next + 1) & (QUERIES - 1);
+	}
+
+	@Benchmark
+	public long locate() {
+		return dictionarySection.locate(strings[nextQuery()]);
+	}
+
+	@Benchmark
+	public CharSequence extract() {
+		return dictionarySection.extract(ids[nextQuery()]);
+	}
+}
@@ -0,0 +1,75 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.rdfhdt.hdt.triples.TripleString;
+
+/**
+ * Random triples of the benchmark datasets, the same triples as the LargeFakeDataSetStreamSupplier of the core
+ * tests: IRI subjects and predicates, IRI or literal objects, with language tags or with one of 10 datatypes.
+ */
+public class FakeTripleIterator implements Iterator<TripleString> {
+	private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+	private static final int MAX_FAKE_TYPE = 10;
+
+	private final Random random;
+	private final long numTriples;
+	private long count;
+
+	/**
+	 * @param numTriples number of triples
+	 * @param seed       seed of the random triples
+	 */
+	public FakeTripleIterator(long numTriples, long seed) {
+		this.numTriples = numTriples;
+		this.random = new Random(seed);
+	}
+
+	/**
+	 * create a lowercase name from a number, to create string without any number in it
+	 */
+	private static String stringNameOfInt(int i) {
+		StringBuilder out = new StringBuilder();
+		int c = i;
+		do {
+			out.append(LETTERS.charAt(c % LETTERS.length()));
+			c /= LETTERS.length();
+		} while (c != 0);
+		return out.toString();
+	}
+
+	private String createIRI() {
+		return "http://w" + random.nextInt(Integer.MAX_VALUE) + "i.test.org/#Obj" + random.nextInt(Integer.MAX_VALUE);
+	}
+
+	private String createValue() {
+		if (random.nextBoolean()) {
+			return createIRI();
+		}
+		String text = "\"" + stringNameOfInt(random.nextInt(Integer.MAX_VALUE)) + "\"";
+		if (random.nextBoolean()) {
+			// language node
+			return text + "@" + stringNameOfInt(random.nextInt(Integer.MAX_VALUE));
+		}
+		// typed node
+		return text + "^^<http://wti.test.org/#Obj" + random.nextInt(MAX_FAKE_TYPE) + ">";
+	}
+
+	@Override
+	public boolean hasNext() {
+		return count < numTriples;
+	}
+
+	@Override
+	public TripleString next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		count++;
+		String subject = createIRI();
+		String predicate = createIRI();
+		return new TripleString(subject, predicate, createValue());
+	}
+}
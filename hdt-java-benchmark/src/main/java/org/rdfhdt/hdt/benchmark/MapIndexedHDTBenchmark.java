@@ -0,0 +1,66 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+
+/**
+ * Startup time of an HDT: map or load the file with an existing index, or with the generation of the index.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MapIndexedHDTBenchmark {
+	@Param({"1000000"})
+	public long numTriples;
+
+	/** generate the index file before opening the HDT */
+	@Param({"false", "true"})
+	public boolean generateIndex;
+
+	private String file;
+
+	@Setup(Level.Trial)
+	public void setupTrial() throws IOException, ParserException {
+		file = BenchmarkDataset.getIndexedHDTFile(numTriples);
+	}
+
+	@Setup(Level.Invocation)
+	public void setupInvocation() throws IOException {
+		if (generateIndex) {
+			BenchmarkDataset.deleteIndex(file);
+		}
+	}
+
+	@Benchmark
+	public long mapIndexedHDT() throws IOException {
+		try (HDT hdt = HDTManager.mapIndexedHDT(file)) {
+			return hdt.getTriples().getNumberOfElements();
+		}
+	}
+
+	@Benchmark
+	public long loadIndexedHDT() throws IOException {
+		try (HDT hdt = HDTManager.loadIndexedHDT(file)) {
+			return hdt.getTriples().getNumberOfElements();
+		}
+	}
+}
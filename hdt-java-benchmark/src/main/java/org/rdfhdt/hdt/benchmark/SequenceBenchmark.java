@@ -0,0 +1,69 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64;
+
+/**
+ * get of {@link SequenceLog64}, on random and on sequential positions.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SequenceBenchmark {
+	private static final int QUERIES = 1 << 16;
+
+	@Param({"10000000"})
+	public long numEntries;
+
+	@Param({"7", "23", "33"})
+	public int numBits;
+
+	private SequenceLog64 sequence;
+	private long[] positions;
+	private int next;
+	private long sequential;
+
+	@Setup
+	public void setup() {
+		Random random = new Random(BenchmarkDataset.SEED);
+		long max = (1L << numBits) - 1;
+		sequence = new SequenceLog64(numBits, numEntries);
+		for (long i = 0; i < numEntries; i++) {
+			sequence.append(Math.floorMod(random.nextLong(), max + 1));
+		}
+		positions = new long[QUERIES];
+		for (int i = 0; i < QUERIES; i++) {
+			positions[i] = Math.floorMod(random.nextLong(), numEntries);
+		}
+	}
+
+	@Benchmark
+	public long randomGet() {
+		next = (next + 1) & (QUERIES - 1);
+		return sequence.get(positions[next]);
+	}
+
+	@Benchmark
+	public long sequentialGet() {
+		if (++sequential == numEntries) {
+			sequential = 0;
+		}
+		return sequence.get(sequential);
+	}
+}
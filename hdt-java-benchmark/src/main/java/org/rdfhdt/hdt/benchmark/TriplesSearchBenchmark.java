@@ -0,0 +1,96 @@
+package org.rdfhdt.hdt.benchmark;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+
+/**
+ * BitmapTriples.search by pattern shape, the patterns are made of the components of random triples of the
+ * dataset and the first {@link #limit} results are read.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TriplesSearchBenchmark {
+	private static final int QUERIES = 1 << 12;
+
+	@Param({"1000000"})
+	public long numTriples;
+
+	@Param({"false", "true"})
+	public boolean mapped;
+
+	@Param({"SPO", "SP?", "S??", "S?O", "?PO", "?P?", "??O", "???"})
+	public String pattern;
+
+	/** maximum number of results read by search */
+	@Param({"100"})
+	public int limit;
+
+	private HDT hdt;
+	private Triples triples;
+	private TripleID[] patterns;
+	private int next;
+
+	@Setup
+	public void setup() throws IOException, ParserException {
+		hdt = BenchmarkDataset.openIndexed(numTriples, mapped);
+		triples = hdt.getTriples();
+
+		// random triples of the dataset
+		long size = triples.getNumberOfElements();
+		long[] positions = new Random(BenchmarkDataset.SEED).longs(QUERIES, 0, size).sorted().toArray();
+		patterns = new TripleID[QUERIES];
+		IteratorTripleID it = triples.searchAll();
+		long position = 0;
+		TripleID triple = null;
+		for (int i = 0; i < QUERIES; i++) {
+			// the iterator can reuse the triple, copy it
+			while (position <= positions[i]) {
+				triple = new TripleID(it.next());
+				position++;
+			}
+			patterns[i] = new TripleID(
+					pattern.charAt(0) == '?' ? 0 : triple.getSubject(),
+					pattern.charAt(1) == '?' ? 0 : triple.getPredicate(),
+					pattern.charAt(2) == '?' ? 0 : triple.getObject()
+			);
+		}
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		hdt.close();
+	}
+
+	@Benchmark
+	public void search(Blackhole blackhole) {
+		next = (next + 1) & (QUERIES - 1);
+		IteratorTripleID it = triples.search(patterns[next]);
+		for (int i = 0; i < limit && it.hasNext(); i++) {
+			blackhole.consume(it.next());
+		}
+	}
+}
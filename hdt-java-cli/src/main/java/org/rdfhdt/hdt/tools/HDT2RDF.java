@@ -26,16 +26,18 @@
  */
 package org.rdfhdt.hdt.tools;
 
-import java.io.PrintStream;
-import java.util.ArrayList;
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.List;
 
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
 import org.rdfhdt.hdt.hdt.HDTVersion;
+import org.rdfhdt.hdt.hdt.writer.NTriplesExporter;
 import org.rdfhdt.hdt.listener.ProgressListener;
-import org.rdfhdt.hdt.triples.IteratorTripleString;
-import org.rdfhdt.hdt.triples.TripleString;
 
 import com.beust.jcommander.JCommander;
 import com.beust.jcommander.Parameter;
@@ -47,36 +49,42 @@ import com.beust.jcommander.internal.Lists;
  *
  */
 public class HDT2RDF implements ProgressListener {
-	@Parameter(description = "<input HDT> <output NT>")
+	@Parameter(description = "<input HDT> <output NT (or directory with -shards)>")
 	public List<String> parameters = Lists.newArrayList();
 	
 	@Parameter(names = "-version", description = "Prints the HDT version number")
 	public static boolean showVersion;
-	
+
+	@Parameter(names = "-threads", description = "Number of threads decoding the triples (default: number of processors)")
+	public int threads;
+
+	@Parameter(names = "-compression", description = "Compression of the output: none, gzip or zstd")
+	public String compression = "none";
+
+	@Parameter(names = "-shards", description = "Write this number of shard files in the output directory instead of a single file")
+	public int shards;
+
 	public String hdtInput;
 	public String rdfOutput;
 
 	public void execute() throws Exception {
-		
-		PrintStream out = null;
-		if (rdfOutput.equals("stdout")){
-			out = System.out;
-		} else {
-			out = new PrintStream(rdfOutput, "UTF-8");
-		}
+		int numThreads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		NTriplesExporter.Compression comp = NTriplesExporter.Compression.parse(compression);
 
 		HDT hdt=HDTManager.mapHDT(hdtInput, this);
 		try {
-			IteratorTripleString it = hdt.search("","","");
-			StringBuilder build = new StringBuilder(1024);
-			while(it.hasNext()) {
-				TripleString triple = it.next();
-				build.delete(0, build.length());
-				triple.dumpNtriple(build);
-				out.print(build);
-			}
-			if(!rdfOutput.equals("stdout")) {
-				out.close();
+			NTriplesExporter exporter = new NTriplesExporter(hdt);
+			if (shards > 0) {
+				String prefix = Paths.get(hdtInput).getFileName().toString().replaceFirst("\\.hdt$", "");
+				List<Path> files = exporter.exportShards(Paths.get(rdfOutput), prefix, shards, comp, numThreads, this);
+				System.err.println("Wrote " + files.size() + " shards in " + rdfOutput);
+			} else if (rdfOutput.equals("stdout")) {
+				exporter.export(System.out, null, comp, numThreads, this);
+			} else {
+				Path output = Paths.get(rdfOutput).toAbsolutePath();
+				try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(output))) {
+					exporter.export(out, output.getParent(), comp, numThreads, this);
+				}
 			}
 		} finally {
 			if(hdt!=null) hdt.close();
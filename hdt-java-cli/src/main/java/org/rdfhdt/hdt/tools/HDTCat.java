@@ -45,9 +45,10 @@ public class HDTCat implements ProgressListener {
 
     public String hdtInput1;
     public String hdtInput2;
+    public List<String> hdtInputs;
     public String hdtOutput;
 
-    @Parameter(description = "<input HDT1> <input HDT2> <output HDT>")
+    @Parameter(description = "<input HDT1> <input HDT2> [<input HDT3> ...] <output HDT>")
     public List<String> parameters = Lists.newArrayList();
 
     @Parameter(names = "-options", description = "HDT Conversion options (override those of config file)")
@@ -81,7 +82,13 @@ public class HDTCat implements ProgressListener {
         File theDir = new File(file.getAbsolutePath()+"_tmp");
         theDir.mkdirs();
         String location = theDir.getAbsolutePath()+"/";
-        HDT hdt = HDTManager.catHDT(location,hdtInput1, hdtInput2 , spec,this);
+        HDT hdt;
+        if (hdtInputs != null && hdtInputs.size() > 2) {
+            // merge all the inputs in one pass
+            hdt = HDTManager.catHDT(location, hdtInputs, spec, this);
+        } else {
+            hdt = HDTManager.catHDT(location,hdtInput1, hdtInput2 , spec,this);
+        }
 
 
         try {
@@ -134,10 +141,12 @@ public class HDTCat implements ProgressListener {
         JCommander com = new JCommander(hdtCat, args);
         com.setProgramName("hdtCat");
 
-        if(hdtCat.parameters.size()==3) {
+        if(hdtCat.parameters.size()>=3) {
+            int numInputs = hdtCat.parameters.size() - 1;
+            hdtCat.hdtInputs = hdtCat.parameters.subList(0, numInputs);
             hdtCat.hdtInput1 = hdtCat.parameters.get(0);
             hdtCat.hdtInput2 = hdtCat.parameters.get(1);
-            hdtCat.hdtOutput = hdtCat.parameters.get(2);
+            hdtCat.hdtOutput = hdtCat.parameters.get(numInputs);
         } else if (showVersion){
             System.out.println(HDTVersion.get_version_string("."));
             System.exit(0);
@@ -147,7 +156,7 @@ public class HDTCat implements ProgressListener {
             System.exit(1);
         }
 
-        System.out.println("Cat "+ hdtCat.hdtInput1+" and "+ hdtCat.hdtInput2+" to "+ hdtCat.hdtOutput);
+        System.out.println("Cat "+ String.join(", ", hdtCat.hdtInputs)+" to "+ hdtCat.hdtOutput);
 
         hdtCat.execute();
     }
@@ -54,6 +54,7 @@ public class Bitmap375 extends Bitmap64 implements ModifiableBitmap {
     private int[] superBlocksInt;
     private byte[] blocks;
     private boolean indexUpToDate;
+    private SelectHints selectHints;
 
     public Bitmap375() {
         super();
@@ -154,6 +155,29 @@ public class Bitmap375 extends Bitmap64 implements ModifiableBitmap {
         }
         pop = countSuperBlock + countBlock;
         indexUpToDate = true;
+        selectHints = useSelectHints() ? createSelectHints() : null;
+    }
+
+    /**
+     * @return if the select operations use sampled hints to find the superblock, false by default
+     */
+    protected boolean useSelectHints() {
+        return false;
+    }
+
+    private SelectHints createSelectHints() {
+        SelectHints.SuperBlockRank rank;
+        int numSuperBlocks;
+        if (superBlocksLong != null) {
+            long[] superBlocks = superBlocksLong;
+            rank = i -> superBlocks[i];
+            numSuperBlocks = superBlocks.length;
+        } else {
+            int[] superBlocks = superBlocksInt;
+            rank = i -> superBlocks[i];
+            numSuperBlocks = superBlocks.length;
+        }
+        return new SelectHints(rank, numSuperBlocks, BLOCKS_PER_SUPER * W, pop, numbits);
     }
 
     /* (non-Javadoc)
@@ -238,17 +262,22 @@ public class Bitmap375 extends Bitmap64 implements ModifiableBitmap {
 
         // Search superblock (binary Search)
         int superBlockIndex;
-        if (superBlocksLong != null) {
-            superBlockIndex = binarySearch0(superBlocksLong, 0, superBlocksLong.length, x);
+        if (selectHints != null && x > 0) {
+            // Search only between the samples of x
+            superBlockIndex = selectHints.superBlock0(x);
         } else {
-            superBlockIndex = binarySearch0(superBlocksInt, 0, superBlocksInt.length, x);
-        }
-        if (superBlockIndex < 0) {
-            // Not found exactly, gives the position where it should be inserted
-            superBlockIndex = -superBlockIndex - 2;
-        } else if (superBlockIndex > 0) {
-            // If found exact, we need to check previous block.
-            superBlockIndex--;
+            if (superBlocksLong != null) {
+                superBlockIndex = binarySearch0(superBlocksLong, 0, superBlocksLong.length, x);
+            } else {
+                superBlockIndex = binarySearch0(superBlocksInt, 0, superBlocksInt.length, x);
+            }
+            if (superBlockIndex < 0) {
+                // Not found exactly, gives the position where it should be inserted
+                superBlockIndex = -superBlockIndex - 2;
+            } else if (superBlockIndex > 0) {
+                // If found exact, we need to check previous block.
+                superBlockIndex--;
+            }
         }
 
         long countdown;
@@ -317,7 +346,10 @@ public class Bitmap375 extends Bitmap64 implements ModifiableBitmap {
         }
         // Search superblock (binary Search)
         int superBlockIndex;
-        if (superBlocksLong != null) {
+        if (selectHints != null && x > 0) {
+            // Search only between the samples of x
+            superBlockIndex = selectHints.superBlock1(x);
+        } else if (superBlocksLong != null) {
             superBlockIndex = binarySearch(superBlocksLong, x, superBlocksLong.length);
         } else {
             superBlockIndex = binarySearch(superBlocksInt, (int) x, superBlocksInt.length);
@@ -403,6 +435,10 @@ public class Bitmap375 extends Bitmap64 implements ModifiableBitmap {
 
         accum += blocks.length;
 
+        if (selectHints != null) {
+            accum += selectHints.getSizeBytes();
+        }
+
         return accum;
     }
 
@@ -42,6 +42,7 @@ public class Bitmap375Disk extends Bitmap64Disk implements ModifiableBitmap {
     private int [] superBlocksInt;
     private byte [] blocks;
     private boolean indexUpToDate;
+    private SelectHints selectHints;
 
     public Bitmap375Disk(String location) {
         super(location);
@@ -91,6 +92,7 @@ public class Bitmap375Disk extends Bitmap64Disk implements ModifiableBitmap {
         }
         pop = countSuperBlock+countBlock;
         indexUpToDate = true;
+        selectHints = useSelectHints() ? createSelectHints() : null;
 
 //		for(int i=0;i<words.length;i++) {
 //			if((i%BLOCKS_PER_SUPER)==0) {
@@ -103,6 +105,28 @@ public class Bitmap375Disk extends Bitmap64Disk implements ModifiableBitmap {
         //System.out.println("Bitmap with "+numbits+" bits. Data size: "+(words.length*8)+" Index Size: "+ (superBlocks.length*4+blocks.length));
     }
 
+    /**
+     * @return if the select operations use sampled hints to find the superblock, false by default
+     */
+    protected boolean useSelectHints() {
+        return false;
+    }
+
+    private SelectHints createSelectHints() {
+        SelectHints.SuperBlockRank rank;
+        int numSuperBlocks;
+        if(superBlocksLong!=null) {
+            long[] superBlocks = superBlocksLong;
+            rank = i -> superBlocks[i];
+            numSuperBlocks = superBlocks.length;
+        } else {
+            int[] superBlocks = superBlocksInt;
+            rank = i -> superBlocks[i];
+            numSuperBlocks = superBlocks.length;
+        }
+        return new SelectHints(rank, numSuperBlocks, BLOCKS_PER_SUPER*W, pop, numbits);
+    }
+
     /* (non-Javadoc)
      * @see hdt.compact.bitmap.Bitmap#access(long)
      */
@@ -221,17 +245,22 @@ public class Bitmap375Disk extends Bitmap64Disk implements ModifiableBitmap {
 
         // Search superblock (binary Search)
         int superBlockIndex;
-        if(superBlocksLong!=null) {
-            superBlockIndex = binarySearch0(superBlocksLong, 0, superBlocksLong.length, x);
+        if(selectHints!=null && x>0) {
+            // Search only between the samples of x
+            superBlockIndex = selectHints.superBlock0(x);
         } else {
-            superBlockIndex = binarySearch0(superBlocksInt, 0, superBlocksInt.length, x);
-        }
-        if(superBlockIndex<0) {
-            // Not found exactly, gives the position where it should be inserted
-            superBlockIndex = -superBlockIndex-2;
-        } else if(superBlockIndex>0){
-            // If found exact, we need to check previous block.
-            superBlockIndex--;
+            if(superBlocksLong!=null) {
+                superBlockIndex = binarySearch0(superBlocksLong, 0, superBlocksLong.length, x);
+            } else {
+                superBlockIndex = binarySearch0(superBlocksInt, 0, superBlocksInt.length, x);
+            }
+            if(superBlockIndex<0) {
+                // Not found exactly, gives the position where it should be inserted
+                superBlockIndex = -superBlockIndex-2;
+            } else if(superBlockIndex>0){
+                // If found exact, we need to check previous block.
+                superBlockIndex--;
+            }
         }
 
         long countdown;
@@ -301,17 +330,22 @@ public class Bitmap375Disk extends Bitmap64Disk implements ModifiableBitmap {
 
         // Search superblock (binary Search)
         int superBlockIndex;
-        if(superBlocksLong!=null) {
-            superBlockIndex = Arrays.binarySearch(superBlocksLong, x);
+        if(selectHints!=null && x>0) {
+            // Search only between the samples of x
+            superBlockIndex = selectHints.superBlock1(x);
         } else {
-            superBlockIndex = Arrays.binarySearch(superBlocksInt, (int)x);
-        }
-        if(superBlockIndex<0) {
-            // Not found exactly, gives the position where it should be inserted
-            superBlockIndex = -superBlockIndex-2;
-        } else if(superBlockIndex>0){
-            // If found exact, we need to check previous block.
-            superBlockIndex--;
+            if(superBlocksLong!=null) {
+                superBlockIndex = Arrays.binarySearch(superBlocksLong, x);
+            } else {
+                superBlockIndex = Arrays.binarySearch(superBlocksInt, (int)x);
+            }
+            if(superBlockIndex<0) {
+                // Not found exactly, gives the position where it should be inserted
+                superBlockIndex = -superBlockIndex-2;
+            } else if(superBlockIndex>0){
+                // If found exact, we need to check previous block.
+                superBlockIndex--;
+            }
         }
 
         long countdown;
@@ -388,6 +422,10 @@ public class Bitmap375Disk extends Bitmap64Disk implements ModifiableBitmap {
 
         accum+=blocks.length;
 
+        if(selectHints!=null) {
+            accum+=selectHints.getSizeBytes();
+        }
+
         return accum;
     }
 
@@ -0,0 +1,31 @@
+package org.rdfhdt.hdt.compact.bitmap;
+
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+
+/**
+ * {@link Bitmap375Disk} with sampled select hints, the hints are kept in memory with the rank directory.
+ *
+ * @see Bitmap375Select
+ */
+public class Bitmap375DiskSelect extends Bitmap375Disk {
+	public Bitmap375DiskSelect(String location) {
+		super(location);
+	}
+
+	public Bitmap375DiskSelect(String location, long nbits) {
+		super(location, nbits);
+	}
+
+	@Override
+	protected boolean useSelectHints() {
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.bitmap.Bitmap#getType()
+	 */
+	@Override
+	public String getType() {
+		return HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT;
+	}
+}
@@ -0,0 +1,34 @@
+package org.rdfhdt.hdt.compact.bitmap;
+
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+
+/**
+ * {@link Bitmap375} with sampled select hints, the superblock of a select is searched between the superblocks
+ * of the two closest samples instead of the whole rank directory.
+ * <p>
+ * The bitmap is saved as a plain bitmap, the hints are rebuilt with the rank directory.
+ *
+ * @see SelectHints
+ */
+public class Bitmap375Select extends Bitmap375 {
+	public Bitmap375Select() {
+		super();
+	}
+
+	public Bitmap375Select(long nbits) {
+		super(nbits);
+	}
+
+	@Override
+	protected boolean useSelectHints() {
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.bitmap.Bitmap#getType()
+	 */
+	@Override
+	public String getType() {
+		return HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT;
+	}
+}
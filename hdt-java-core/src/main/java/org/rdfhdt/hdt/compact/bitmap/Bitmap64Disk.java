@@ -80,7 +80,9 @@ public class Bitmap64Disk implements Closeable, ModifiableBitmap {
     }
 
     protected final void ensureSize(long wordsRequired) {
-        words.resize(Math.max(words.getSize()*2, wordsRequired));
+        if(words.length()<wordsRequired) {
+            words.resize(Math.max(words.length()*2, wordsRequired));
+        }
     }
 
     public void trim(long numbits) {
@@ -43,6 +43,8 @@ public class BitmapFactoryImpl extends BitmapFactory {
 	protected ModifiableBitmap doCreateModifiableBitmap(String type) {
 		if (type == null || type.equals(HDTVocabulary.BITMAP_TYPE_PLAIN)) {
 			return new Bitmap375();
+		} else if (type.equals(HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT)) {
+			return new Bitmap375Select();
 		} else {
 			throw new IllegalArgumentException("Implementation not found for Bitmap with type " + type);
 		}
@@ -59,6 +61,31 @@ public class BitmapFactoryImpl extends BitmapFactory {
 		throw new IllegalFormatException("Implementation not found for Bitmap with code " + value);
 	}
 
+	@Override
+	protected Bitmap doCreateBitmap(InputStream input, String type) throws IOException {
+		if (!HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT.equals(type)) {
+			return doCreateBitmap(input);
+		}
+		input.mark(1);
+		int value = input.read();
+		input.reset();
+		if (value == TYPE_BITMAP_PLAIN) {
+			return new Bitmap375Select();
+		}
+		throw new IllegalFormatException("Implementation not found for Bitmap with code " + value);
+	}
+
+	@Override
+	protected ModifiableBitmap doCreateDiskModifiableBitmap(String location, long size, String type) {
+		if (type == null || type.equals(HDTVocabulary.BITMAP_TYPE_PLAIN)) {
+			return new Bitmap375Disk(location, size);
+		} else if (type.equals(HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT)) {
+			return new Bitmap375DiskSelect(location, size);
+		} else {
+			throw new IllegalArgumentException("Implementation not found for Bitmap with type " + type);
+		}
+	}
+
 	@Override
 	protected ModifiableBitmap doCreateRWModifiableBitmap(long size) {
 		return new Bitmap64(size);
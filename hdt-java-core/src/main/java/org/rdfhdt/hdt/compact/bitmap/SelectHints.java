@@ -0,0 +1,109 @@
+package org.rdfhdt.hdt.compact.bitmap;
+
+/**
+ * Sampled select index over the superblocks of a rank directory, the superblock of every
+ * {@link #SAMPLE_RATE}-th one and zero is kept to limit the binary search of a select to the superblocks
+ * between two samples.
+ * <p>
+ * The select of a bitmap with uniformly distributed bits is then solved with a search over a few superblocks
+ * instead of a search over the whole directory.
+ */
+final class SelectHints {
+	/**
+	 * number of ones/zeros between two samples
+	 */
+	static final int SAMPLE_RATE = 512;
+
+	/**
+	 * rank directory of a bitmap
+	 */
+	interface SuperBlockRank {
+		/**
+		 * @param superBlock the superblock index
+		 * @return the number of ones before the superblock
+		 */
+		long rank1(int superBlock);
+	}
+
+	private final SuperBlockRank rank;
+	private final int numSuperBlocks;
+	private final long bitsPerSuperBlock;
+	// superblock containing the one/zero k*SAMPLE_RATE+1
+	private final int[] ones;
+	private final int[] zeros;
+
+	/**
+	 * @param rank              the rank directory
+	 * @param numSuperBlocks    the number of superblocks of the directory
+	 * @param bitsPerSuperBlock the number of bits of a superblock
+	 * @param numOnes           the number of ones of the bitmap
+	 * @param numBits           the number of bits of the bitmap
+	 */
+	SelectHints(SuperBlockRank rank, int numSuperBlocks, long bitsPerSuperBlock, long numOnes, long numBits) {
+		this.rank = rank;
+		this.numSuperBlocks = numSuperBlocks;
+		this.bitsPerSuperBlock = bitsPerSuperBlock;
+		this.ones = new int[(int) ((numOnes + SAMPLE_RATE - 1) / SAMPLE_RATE)];
+		this.zeros = new int[(int) ((numBits - numOnes + SAMPLE_RATE - 1) / SAMPLE_RATE)];
+
+		int nextOne = 0;
+		int nextZero = 0;
+		for (int i = 0; i < numSuperBlocks; i++) {
+			// number of ones/zeros up to the end of the superblock
+			long onesAfter = i + 1 < numSuperBlocks ? rank.rank1(i + 1) : numOnes;
+			long zerosAfter = i + 1 < numSuperBlocks ? (i + 1) * bitsPerSuperBlock - onesAfter : numBits - numOnes;
+			while (nextOne < ones.length && (long) nextOne * SAMPLE_RATE + 1 <= onesAfter) {
+				ones[nextOne++] = i;
+			}
+			while (nextZero < zeros.length && (long) nextZero * SAMPLE_RATE + 1 <= zerosAfter) {
+				zeros[nextZero++] = i;
+			}
+		}
+	}
+
+	/**
+	 * @param x the rank of the one, between 1 and the number of ones
+	 * @return the superblock containing the x-th one
+	 */
+	int superBlock1(long x) {
+		int sample = (int) ((x - 1) / SAMPLE_RATE);
+		int low = ones[sample];
+		int high = sample + 1 < ones.length ? ones[sample + 1] : numSuperBlocks - 1;
+		// last superblock with less than x ones before it
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (rank.rank1(mid) < x) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @param x the rank of the zero, between 1 and the number of zeros
+	 * @return the superblock containing the x-th zero
+	 */
+	int superBlock0(long x) {
+		int sample = (int) ((x - 1) / SAMPLE_RATE);
+		int low = zeros[sample];
+		int high = sample + 1 < zeros.length ? zeros[sample + 1] : numSuperBlocks - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (mid * bitsPerSuperBlock - rank.rank1(mid) < x) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * @return the size of the samples in bytes
+	 */
+	long getSizeBytes() {
+		return (ones.length + zeros.length) * 4L;
+	}
+}
@@ -0,0 +1,284 @@
+package org.rdfhdt.hdt.compact.sequence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.exceptions.CRCException;
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.util.BitUtil;
+import org.rdfhdt.hdt.util.crc.CRC8;
+import org.rdfhdt.hdt.util.crc.CRCInputStream;
+import org.rdfhdt.hdt.util.crc.CRCOutputStream;
+import org.rdfhdt.hdt.util.io.CountInputStream;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
+
+/**
+ * Block frame of reference encoding. The values are split in blocks of {@link #DEFAULT_BLOCK_SIZE} values. Each
+ * value is stored as its difference to the minimum of its block, with the number of bits of the largest
+ * difference of the block.
+ * <p>
+ * A block of close values, like the objects of the triples of a subject, uses fewer bits than the global
+ * log2(max) of a {@link SequenceLog64}, and a value is still read with a single word access in most cases.
+ * When the sequence is mapped, only the packed values are mapped. The block directory is always loaded in memory.
+ */
+public class SequenceBlockFOR implements Sequence, Prefetchable {
+	public static final int DEFAULT_BLOCK_SIZE = 128;
+	private static final int W = 64;
+
+	private long numentries;
+	private int blockSize;
+	// minimum of each block
+	private Sequence bases;
+	// bit offset of each block in the words, with the end of the last block
+	private Sequence offsets;
+	private Sequence words;
+
+	public SequenceBlockFOR() {
+		this(DEFAULT_BLOCK_SIZE);
+	}
+
+	public SequenceBlockFOR(int blockSize) {
+		if (blockSize < 1) {
+			throw new IllegalArgumentException("The block size must be positive: " + blockSize);
+		}
+		this.blockSize = blockSize;
+		this.bases = new SequenceLog64();
+		this.offsets = new SequenceLog64(1, 1, true);
+		this.words = new SequenceLog64(W, new long[1], 1);
+	}
+
+	/**
+	 * map a sequence from a file
+	 * @param input the stream of the file, at the start of the sequence
+	 * @param f the file
+	 * @throws IOException error while reading the file
+	 */
+	public SequenceBlockFOR(CountInputStream input, File f) throws IOException {
+		loadHeader(input);
+		bases = loadSequence(input, null);
+		offsets = loadSequence(input, null);
+		words = SequenceFactory.createStream(input, f);
+	}
+
+	/**
+	 * add the values of a sequence
+	 * @param values the values
+	 * @throws IllegalArgumentException if a value is negative
+	 */
+	public void add(Sequence values) {
+		long n = values.getNumberOfElements();
+		long numBlocks = (n + blockSize - 1) / blockSize;
+
+		// first pass, find the minimum and the bits of each block
+		SequenceLog64Big newBases = new SequenceLog64Big(63, numBlocks);
+		SequenceLog64Big newOffsets = new SequenceLog64Big(63, numBlocks + 1);
+		long bitOffset = 0;
+		long maxBase = 0;
+		newOffsets.append(0);
+		for (long block = 0; block < numBlocks; block++) {
+			long start = block * blockSize;
+			long end = Math.min(n, start + blockSize);
+			long min = Long.MAX_VALUE;
+			long max = 0;
+			for (long i = start; i < end; i++) {
+				long value = values.get(i);
+				if (value < 0) {
+					throw new IllegalArgumentException("The values of a block FOR sequence can't be negative: " + value);
+				}
+				min = Math.min(min, value);
+				max = Math.max(max, value);
+			}
+			bitOffset += BitUtil.log2(max - min) * (end - start);
+			maxBase = Math.max(maxBase, min);
+			newBases.append(min);
+			newOffsets.append(bitOffset);
+		}
+		newBases = pack(newBases, maxBase);
+		newOffsets = pack(newOffsets, bitOffset);
+
+		// second pass, pack the differences
+		long numWords = Math.max(1, (bitOffset + W - 1) / W);
+		if (numWords > Integer.MAX_VALUE - 5) {
+			throw new IllegalArgumentException("Needed size exceeds the maximum size of this data structure " + numWords);
+		}
+		long[] data = new long[(int) numWords];
+		for (long block = 0; block < numBlocks; block++) {
+			long start = block * blockSize;
+			long end = Math.min(n, start + blockSize);
+			long base = newBases.get(block);
+			long offset = newOffsets.get(block);
+			int bits = (int) ((newOffsets.get(block + 1) - offset) / (end - start));
+			if (bits == 0) {
+				continue;
+			}
+			for (long i = start; i < end; i++) {
+				setBits(data, offset + (i - start) * bits, bits, values.get(i) - base);
+			}
+		}
+
+		numentries = n;
+		bases = newBases;
+		offsets = newOffsets;
+		words = new SequenceLog64(W, data, numWords);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#add(java.util.Iterator)
+	 */
+	@Override
+	public void add(Iterator<Long> elements) {
+		// the values are read twice, to find the bits of each block and to encode them
+		SequenceLog64Big values = new SequenceLog64Big(63);
+		while (elements.hasNext()) {
+			values.append(elements.next());
+		}
+		add(values);
+	}
+
+	private static SequenceLog64Big pack(SequenceLog64Big values, long max) {
+		// at least one bit, a sequence without bits can't be mapped
+		SequenceLog64Big packed = new SequenceLog64Big(Math.max(1, BitUtil.log2(max)), values.getNumberOfElements());
+		for (long i = 0; i < values.getNumberOfElements(); i++) {
+			packed.append(values.get(i));
+		}
+		return packed;
+	}
+
+	private static void setBits(long[] data, long bitPos, int bits, long value) {
+		int i = (int) (bitPos / W);
+		int j = (int) (bitPos % W);
+		data[i] |= value << j;
+		if (j + bits > W) {
+			data[i + 1] |= value >>> (W - j);
+		}
+	}
+
+	private long getBits(long bitPos, int bits) {
+		long i = bitPos / W;
+		int j = (int) (bitPos % W);
+		if (j + bits <= W) {
+			return (words.get(i) << (W - j - bits)) >>> (W - bits);
+		}
+		return (words.get(i) >>> j) | (words.get(i + 1) << ((W << 1) - j - bits)) >>> (W - bits);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#get(long)
+	 */
+	@Override
+	public long get(long position) {
+		if (position < 0 || position >= numentries) {
+			throw new IndexOutOfBoundsException();
+		}
+		long block = position / blockSize;
+		long start = block * blockSize;
+		long base = bases.get(block);
+		long offset = offsets.get(block);
+		long blockBits = offsets.get(block + 1) - offset;
+		if (blockBits == 0) {
+			return base;
+		}
+		int bits = (int) (blockBits / (Math.min(numentries, start + blockSize) - start));
+		return base + getBits(offset + (position - start) * bits, bits);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#getNumberOfElements()
+	 */
+	@Override
+	public long getNumberOfElements() {
+		return numentries;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#size()
+	 */
+	@Override
+	public long size() {
+		return bases.size() + offsets.size() + words.size();
+	}
+
+	public int getBlockSize() {
+		return blockSize;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#save(java.io.OutputStream, hdt.listener.ProgressListener)
+	 */
+	@Override
+	public void save(OutputStream output, ProgressListener listener) throws IOException {
+		CRCOutputStream out = new CRCOutputStream(output, new CRC8());
+		out.write(SequenceFactory.TYPE_SEQFOR);
+		VByte.encode(out, numentries);
+		VByte.encode(out, blockSize);
+		out.writeCRC();
+
+		bases.save(output, listener);
+		offsets.save(output, listener);
+		words.save(output, listener);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#load(java.io.InputStream, hdt.listener.ProgressListener)
+	 */
+	@Override
+	public void load(InputStream input, ProgressListener listener) throws IOException {
+		loadHeader(input);
+		bases = loadSequence(input, listener);
+		offsets = loadSequence(input, listener);
+		words = loadSequence(input, listener);
+	}
+
+	private static Sequence loadSequence(InputStream input, ProgressListener listener) throws IOException {
+		Sequence sequence = SequenceFactory.createStream(input);
+		sequence.load(input, listener);
+		return sequence;
+	}
+
+	@SuppressWarnings("resource")
+	private void loadHeader(InputStream input) throws IOException {
+		CRCInputStream in = new CRCInputStream(input, new CRC8());
+		int type = in.read();
+		if (type != SequenceFactory.TYPE_SEQFOR) {
+			throw new IllegalFormatException("Trying to read a block FOR sequence but the data is not block FOR");
+		}
+		numentries = VByte.decode(in);
+		long size = VByte.decode(in);
+		if (!in.readCRCAndCheck()) {
+			throw new CRCException("CRC Error while reading block FOR sequence header.");
+		}
+		if (size < 1 || size > Integer.MAX_VALUE) {
+			throw new IllegalFormatException("Invalid block size for a block FOR sequence: " + size);
+		}
+		blockSize = (int) size;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#getType()
+	 */
+	@Override
+	public String getType() {
+		return HDTVocabulary.SEQ_TYPE_BLOCK_FOR;
+	}
+
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		warmUp.addRegions(words, name, priority);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtil.closeAll(bases, offsets, words);
+		bases = null;
+		offsets = null;
+		words = null;
+	}
+}
@@ -0,0 +1,200 @@
+package org.rdfhdt.hdt.compact.sequence;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import org.rdfhdt.hdt.compact.bitmap.Bitmap375;
+import org.rdfhdt.hdt.compact.bitmap.Bitmap375Select;
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.exceptions.CRCException;
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.util.crc.CRC8;
+import org.rdfhdt.hdt.util.crc.CRCInputStream;
+import org.rdfhdt.hdt.util.crc.CRCOutputStream;
+import org.rdfhdt.hdt.util.io.CountInputStream;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
+
+/**
+ * Elias-Fano encoding of a non-decreasing sequence. The lower bits of each value are stored in a
+ * {@link SequenceLog64} and the upper bits are stored in unary in a bitmap with select hints.
+ * <p>
+ * n values up to u use about n * (2 + log2(u/n)) bits, where a {@link SequenceLog64} uses n * log2(u) bits.
+ * When the sequence is mapped, only the lower bits are mapped. The bitmap is always loaded in memory.
+ */
+public class SequenceEliasFano implements Sequence, Prefetchable {
+	private long numentries;
+	private int lowBits;
+	private Sequence low;
+	private Bitmap375 high;
+
+	public SequenceEliasFano() {
+		this.lowBits = 1;
+		this.low = new SequenceLog64(lowBits);
+		this.high = new Bitmap375Select();
+	}
+
+	/**
+	 * map a sequence from a file
+	 * @param input the stream of the file, at the start of the sequence
+	 * @param f the file
+	 * @throws IOException error while reading the file
+	 */
+	public SequenceEliasFano(CountInputStream input, File f) throws IOException {
+		loadHeader(input);
+		if (numentries > 0) {
+			low = SequenceFactory.createStream(input, f);
+		} else {
+			low = SequenceFactory.createStream(input);
+			low.load(input, null);
+		}
+		high = new Bitmap375Select();
+		high.load(input, null);
+	}
+
+	/**
+	 * add the values of a non-decreasing sequence
+	 * @param values the values
+	 * @throws IllegalArgumentException if a value is negative or smaller than the previous one
+	 */
+	public void add(Sequence values) {
+		long n = values.getNumberOfElements();
+		long max = n > 0 ? values.get(n - 1) : 0;
+		// about log2(max/n) lower bits, at least one to always have a lower bits sequence
+		long quantum = n > 0 ? max / n : 0;
+		int bits = quantum > 1 ? 63 - Long.numberOfLeadingZeros(quantum) : 1;
+
+		SequenceLog64 newLow = new SequenceLog64(bits, n);
+		Bitmap375 newHigh = new Bitmap375Select(n + (max >>> bits) + 1);
+		long last = 0;
+		for (long i = 0; i < n; i++) {
+			long value = values.get(i);
+			if (value < last) {
+				throw new IllegalArgumentException("The values of an Elias-Fano sequence must be non-decreasing, " + value + " after " + last);
+			}
+			newLow.append(value & ~(~0L << bits));
+			newHigh.set((value >>> bits) + i, true);
+			last = value;
+		}
+		newHigh.updateIndex();
+
+		numentries = n;
+		lowBits = bits;
+		low = newLow;
+		high = newHigh;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#add(java.util.Iterator)
+	 */
+	@Override
+	public void add(Iterator<Long> elements) {
+		// the values are read twice, to find the number of lower bits and to encode them
+		SequenceLog64Big values = new SequenceLog64Big(63);
+		while (elements.hasNext()) {
+			values.append(elements.next());
+		}
+		add(values);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#get(long)
+	 */
+	@Override
+	public long get(long position) {
+		if (position < 0 || position >= numentries) {
+			throw new IndexOutOfBoundsException();
+		}
+		return ((high.select1(position + 1) - position) << lowBits) | low.get(position);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#getNumberOfElements()
+	 */
+	@Override
+	public long getNumberOfElements() {
+		return numentries;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#size()
+	 */
+	@Override
+	public long size() {
+		return low.size() + high.getSizeBytes();
+	}
+
+	public int getLowBits() {
+		return lowBits;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#save(java.io.OutputStream, hdt.listener.ProgressListener)
+	 */
+	@Override
+	public void save(OutputStream output, ProgressListener listener) throws IOException {
+		CRCOutputStream out = new CRCOutputStream(output, new CRC8());
+		out.write(SequenceFactory.TYPE_SEQEF);
+		VByte.encode(out, numentries);
+		out.write(lowBits);
+		out.writeCRC();
+
+		low.save(output, listener);
+		high.save(output, listener);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#load(java.io.InputStream, hdt.listener.ProgressListener)
+	 */
+	@Override
+	public void load(InputStream input, ProgressListener listener) throws IOException {
+		loadHeader(input);
+		low = SequenceFactory.createStream(input);
+		low.load(input, listener);
+		high = new Bitmap375Select();
+		high.load(input, listener);
+	}
+
+	@SuppressWarnings("resource")
+	private void loadHeader(InputStream input) throws IOException {
+		CRCInputStream in = new CRCInputStream(input, new CRC8());
+		int type = in.read();
+		if (type != SequenceFactory.TYPE_SEQEF) {
+			throw new IllegalFormatException("Trying to read an Elias-Fano sequence but the data is not Elias-Fano");
+		}
+		numentries = VByte.decode(in);
+		lowBits = in.read();
+		if (!in.readCRCAndCheck()) {
+			throw new CRCException("CRC Error while reading Elias-Fano sequence header.");
+		}
+		if (lowBits < 1 || lowBits > 63) {
+			throw new IllegalFormatException("Invalid number of lower bits for an Elias-Fano sequence: " + lowBits);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.compact.sequence.Sequence#getType()
+	 */
+	@Override
+	public String getType() {
+		return HDTVocabulary.SEQ_TYPE_ELIAS_FANO;
+	}
+
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		warmUp.addRegions(low, name, priority);
+	}
+
+	@Override
+	public void close() throws IOException {
+		IOUtil.closeAll(low);
+		low = null;
+		high = null;
+	}
+}
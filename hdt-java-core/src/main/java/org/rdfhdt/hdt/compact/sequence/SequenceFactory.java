@@ -44,6 +44,8 @@ public class SequenceFactory {
 	public static final byte TYPE_SEQLOG = 1;
 	public static final byte TYPE_SEQ32 = 2;
 	public static final byte TYPE_SEQ64 = 3;
+	public static final byte TYPE_SEQEF = 4;
+	public static final byte TYPE_SEQFOR = 5;
 	
 	private SequenceFactory() {}
 	
@@ -56,6 +58,10 @@ public class SequenceFactory {
 			return new SequenceInt64();
 		} else if(name.equals(HDTVocabulary.SEQ_TYPE_LOG)) {
 			return new SequenceLog64();
+		} else if(name.equals(HDTVocabulary.SEQ_TYPE_ELIAS_FANO)) {
+			return new SequenceEliasFano();
+		} else if(name.equals(HDTVocabulary.SEQ_TYPE_BLOCK_FOR)) {
+			return new SequenceBlockFOR();
 		}
 		return new SequenceLog64();
 	}
@@ -71,6 +77,10 @@ public class SequenceFactory {
 			return new SequenceInt32();
 		case TYPE_SEQ64:
 			return new SequenceLog64();
+		case TYPE_SEQEF:
+			return new SequenceEliasFano();
+		case TYPE_SEQFOR:
+			return new SequenceBlockFOR();
 		default :
 			throw new IllegalFormatException("Implementation not found for Sequence with code "+type);
 		}		
@@ -83,6 +93,10 @@ public class SequenceFactory {
 		switch (type) {
 		case TYPE_SEQLOG:
 			return new SequenceLog64Map(input, f);
+		case TYPE_SEQEF:
+			return new SequenceEliasFano(input, f);
+		case TYPE_SEQFOR:
+			return new SequenceBlockFOR(input, f);
 		case TYPE_SEQ32:
 //			return new SequenceInt32();
 		case TYPE_SEQ64:
@@ -85,6 +85,19 @@ public class SequenceLog64 implements DynamicSequence {
 		}
 	}
 	
+	/**
+	 * wrap the words of an already packed sequence
+	 * @param numbits the bits per entry
+	 * @param data the packed entries
+	 * @param numentries the number of entries
+	 */
+	SequenceLog64(int numbits, long[] data, long numentries) {
+		this.numbits = numbits;
+		this.maxvalue = BitUtil.maxVal(numbits);
+		this.data = data;
+		this.numentries = numentries;
+	}
+	
 	/** longs required to represent "total" integers of "bitsField" bits each */
 	public static long numWordsFor(int bitsField, long total) {
 		return (bitsField*total+63)/64;
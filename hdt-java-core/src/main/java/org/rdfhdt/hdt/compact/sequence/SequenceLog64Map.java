@@ -55,12 +55,15 @@ import org.rdfhdt.hdt.util.crc.CRCOutputStream;
 import org.rdfhdt.hdt.util.io.CloseMappedByteBuffer;
 import org.rdfhdt.hdt.util.io.CountInputStream;
 import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
+import org.rdfhdt.hdt.util.io.WarmUpProfile;
 
 /**
  * @author mario.arias
  *
  */
-public class SequenceLog64Map implements Sequence,Closeable { 
+public class SequenceLog64Map implements Sequence,Closeable,Prefetchable { 
 	private static final byte W = 64;
 	private static final long LONGS_PER_BUFFER=128*1024*1024; // 128*8 = 1Gb per chunk.
 	private CloseMappedByteBuffer[] buffers;
@@ -69,6 +72,7 @@ public class SequenceLog64Map implements Sequence,Closeable {
 	private long numentries;
 	private long lastword;
 	private long numwords;
+	private WarmUpProfile.Recorder recorder;
 	
 	public SequenceLog64Map(File f) throws IOException {
 		// Read from the beginning of the file
@@ -179,6 +183,9 @@ public class SequenceLog64Map implements Sequence,Closeable {
 		if(w==numwords-1) {
 			return lastword;
 		}
+		if (recorder != null) {
+			recorder.access(w*8);
+		}
 
 		return buffers[(int)(w/LONGS_PER_BUFFER)].getLong((int)((w%LONGS_PER_BUFFER)*8));
 	}
@@ -278,6 +285,14 @@ public class SequenceLog64Map implements Sequence,Closeable {
 	public void close() throws IOException {
 		IOUtil.closeAll(buffers);
 		buffers=null;
+		recorder=null;
 		ch.close();
 	}
+
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		if (buffers != null) {
+			recorder = warmUp.add(name, priority, buffers);
+		}
+	}
 }
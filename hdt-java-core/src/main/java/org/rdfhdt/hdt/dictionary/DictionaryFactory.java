@@ -43,8 +43,14 @@ public class DictionaryFactory {
 	public static final String MOD_DICT_IMPL_HASH = "hash";
 	public static final String MOD_DICT_IMPL_MULT_HASH = "multHash";
 	public static final String MOD_DICT_IMPL_HASH_PSFC = "hashPsfc";
+	public static final String MOD_DICT_IMPL_CONCURRENT_HASH = "concurrentHash";
 	public static final String DICTIONARY_TYPE_FOUR_SECTION_BIG ="dictionaryFourBig";
 	public static final String DICTIONARY_TYPE_MULTI_OBJECTS = "dictionaryMultiObj";
+	/**
+	 * maximum memory in bytes of the shared string cache of each section of a loaded or mapped dictionary,
+	 * 0 or absent to disable the cache
+	 */
+	public static final String DICTIONARY_CACHE_SIZE = "dictionary.cache.size";
 	private DictionaryFactory() {}
 
 	/**
@@ -72,6 +78,8 @@ public class DictionaryFactory {
 			return new PSFCTempDictionary(new HashDictionary(spec,false));
 		} else if(MOD_DICT_IMPL_MULT_HASH.equals(name)){
 			return new HashDictionary(spec,true);
+		} else if(MOD_DICT_IMPL_CONCURRENT_HASH.equals(name)){
+			return new ConcurrentHashDictionary(spec);
 		}
 		throw new IllegalFormatException("Implementation of triples not found for "+name);
 	}
@@ -93,13 +101,24 @@ public class DictionaryFactory {
 	}
 
 	public static DictionaryPrivate createDictionary(ControlInfo ci) {
+		return createDictionary(ci, new HDTSpecification());
+	}
+
+	/**
+	 * create the dictionary described by a control info, using the load options of the HDT
+	 *
+	 * @param ci   control info of the dictionary
+	 * @param spec the options
+	 * @return dictionary
+	 */
+	public static DictionaryPrivate createDictionary(ControlInfo ci, HDTOptions spec) {
 		String name = ci.getFormat();
 		if(HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION.equals(name)) {
-			return new FourSectionDictionary(new HDTSpecification());
+			return new FourSectionDictionary(spec);
 		} else if (HDTVocabulary.DICTIONARY_TYPE_FOUR_PSFC_SECTION.equals(name)) {
-			return new PSFCFourSectionDictionary(new HDTSpecification());
+			return new PSFCFourSectionDictionary(spec);
 		} else if(HDTVocabulary.DICTIONARY_TYPE_MULT_SECTION.equals(name)){
-			return new MultipleSectionDictionary(new HDTSpecification());
+			return new MultipleSectionDictionary(spec);
 		}
 		throw new IllegalFormatException("Implementation of dictionary not found for "+name);
 	}
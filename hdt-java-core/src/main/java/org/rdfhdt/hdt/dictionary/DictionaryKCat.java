@@ -0,0 +1,64 @@
+package org.rdfhdt.hdt.dictionary;
+
+import org.rdfhdt.hdt.listener.ProgressListener;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Merge k dictionaries in a single pass, the merged dictionary is written in the file location+"dictionary" and the
+ * ids of each input dictionary are mapped to the ids of the merged one.
+ */
+public interface DictionaryKCat extends Closeable {
+    /**
+     * merge the dictionaries
+     *
+     * @param dictionaries the dictionaries to merge
+     * @param listener     listener
+     * @throws IOException can't write the dictionary or the mappings
+     */
+    void cat(List<? extends Dictionary> dictionaries, ProgressListener listener) throws IOException;
+
+    /**
+     * @return the number of inputs
+     */
+    int getNumberOfInputs();
+
+    /**
+     * @return the number of shared elements of the merged dictionary
+     */
+    long getNumShared();
+
+    /**
+     * @return the number of subjects of the merged dictionary, shared included
+     */
+    long getNumSubjects();
+
+    /**
+     * map a subject id of an input to the merged dictionary
+     *
+     * @param input index of the input dictionary
+     * @param id    subject id in the input dictionary
+     * @return subject id in the merged dictionary
+     */
+    long mapSubject(int input, long id);
+
+    /**
+     * map a predicate id of an input to the merged dictionary
+     *
+     * @param input index of the input dictionary
+     * @param id    predicate id in the input dictionary
+     * @return predicate id in the merged dictionary
+     */
+    long mapPredicate(int input, long id);
+
+    /**
+     * map an object id of an input to the merged dictionary
+     *
+     * @param input index of the input dictionary
+     * @param id    object id in the input dictionary
+     * @return object id in the merged dictionary
+     */
+    long mapObject(int input, long id);
+}
@@ -91,7 +91,7 @@ public interface TempDictionary extends Closeable {
 	void clear();
 
 	/**
-	 * Get the ID of a given String
+	 * Get the ID of a given String, once the dictionary is organized it can be called by multiple threads
 	 * @param subject
 	 * @param role
 	 */
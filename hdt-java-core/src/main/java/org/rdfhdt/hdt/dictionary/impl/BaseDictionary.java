@@ -27,12 +27,16 @@
 
 package org.rdfhdt.hdt.dictionary.impl;
 
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
 import org.rdfhdt.hdt.dictionary.DictionaryPrivate;
 import org.rdfhdt.hdt.dictionary.DictionarySection;
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.impl.section.DictionarySectionCacheShared;
 import org.rdfhdt.hdt.enums.DictionarySectionRole;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdt.options.HDTOptions;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
 import org.rdfhdt.hdt.util.string.CompactString;
 import org.rdfhdt.hdt.util.string.DelayedString;
 
@@ -46,7 +50,7 @@ import java.util.TreeMap;
  * @author mario.arias, Eugen
  *
  */
-public abstract class BaseDictionary implements DictionaryPrivate {
+public abstract class BaseDictionary implements DictionaryPrivate, Prefetchable {
 	
 	protected final HDTOptions spec;
 	
@@ -189,6 +193,28 @@ public abstract class BaseDictionary implements DictionaryPrivate {
 	public DictionarySection getShared() {
 		return shared;
 	}
+
+	/**
+	 * wrap the loaded sections with a shared cache if {@link DictionaryFactory#DICTIONARY_CACHE_SIZE} is set
+	 */
+	protected void cacheSections() {
+		long cacheSize = spec != null ? spec.getInt(DictionaryFactory.DICTIONARY_CACHE_SIZE) : 0;
+		if(cacheSize<=0) {
+			return;
+		}
+		shared = new DictionarySectionCacheShared(shared, cacheSize);
+		subjects = new DictionarySectionCacheShared(subjects, cacheSize);
+		predicates = new DictionarySectionCacheShared(predicates, cacheSize);
+		objects = new DictionarySectionCacheShared(objects, cacheSize);
+	}
+	
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		warmUp.addRegions(DictionarySectionCacheShared.unwrap(shared), name + ".shared", priority);
+		warmUp.addRegions(DictionarySectionCacheShared.unwrap(subjects), name + ".subjects", priority);
+		warmUp.addRegions(DictionarySectionCacheShared.unwrap(predicates), name + ".predicates", priority);
+		warmUp.addRegions(DictionarySectionCacheShared.unwrap(objects), name + ".objects", priority);
+	}
 	
 	private DictionarySectionPrivate getSection(long id, TripleComponentRole role) {
 		switch (role) {
@@ -0,0 +1,20 @@
+package org.rdfhdt.hdt.dictionary.impl;
+
+import org.rdfhdt.hdt.dictionary.impl.section.ConcurrentHashDictionarySection;
+import org.rdfhdt.hdt.options.HDTOptions;
+
+/**
+ * {@link HashDictionary} backed by {@link ConcurrentHashDictionarySection}s, {@link #insert}
+ * can be called by several threads at the same time. The reorganization is still done by a single thread.
+ */
+public class ConcurrentHashDictionary extends HashDictionary {
+
+	public ConcurrentHashDictionary(HDTOptions spec) {
+		super(spec,
+				new ConcurrentHashDictionarySection(),
+				new ConcurrentHashDictionarySection(),
+				new ConcurrentHashDictionarySection(),
+				new ConcurrentHashDictionarySection()
+		);
+	}
+}
@@ -1,5 +1,6 @@
 package org.rdfhdt.hdt.dictionary.impl;
 
+import org.rdfhdt.hdt.dictionary.impl.section.DictionarySectionCacheShared;
 import org.rdfhdt.hdt.dictionary.impl.section.PFCDictionarySectionMap;
 import org.rdfhdt.hdt.dictionary.impl.section.PFCOptimizedExtractor;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
@@ -10,10 +11,10 @@ public class DictionaryPFCOptimizedExtractor implements OptimizedExtractor{
 	
 	public DictionaryPFCOptimizedExtractor(FourSectionDictionary origDict) {
 		numshared=(int) origDict.getNshared();
-		shared = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.shared);
-		subjects = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.subjects);
-		predicates = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.predicates);
-		objects = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.objects);
+		shared = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.shared));
+		subjects = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.subjects));
+		predicates = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.predicates));
+		objects = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.objects));
 	}
 
 	public CharSequence idToString(long id, TripleComponentRole role) {
@@ -31,6 +31,7 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
 
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
 import org.rdfhdt.hdt.dictionary.TempDictionary;
@@ -45,6 +46,7 @@ import org.rdfhdt.hdt.options.ControlInfo.Type;
 import org.rdfhdt.hdt.options.ControlInformation;
 import org.rdfhdt.hdt.options.HDTOptions;
 import org.rdfhdt.hdt.util.io.CountInputStream;
+import org.rdfhdt.hdt.util.io.ParallelFileWriter;
 import org.rdfhdt.hdt.util.listener.IntermediateListener;
 
 
@@ -89,17 +91,26 @@ public class FourSectionDictionaryBig extends BaseDictionary {
 	 */
 	@Override
 	public void save(OutputStream output, ControlInfo ci, ProgressListener listener) throws IOException {
-		ci.setType(Type.DICTIONARY);
-		ci.setFormat(HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION);
-		ci.setInt("elements", this.getNumberOfElements());
-		ci.save(output);
-
-		IntermediateListener iListener = new IntermediateListener(listener);
-		shared.save(output, iListener);
-		subjects.save(output, iListener);
-		predicates.save(output, iListener);
-		objects.save(output, iListener);
+		ParallelFileWriter.write(output, getSaveParts(ci), new IntermediateListener(listener));
+	}
 
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionaryPrivate#getSaveParts(hdt.options.ControlInfo)
+	 */
+	@Override
+	public List<ParallelFileWriter.Part> getSaveParts(ControlInfo ci) {
+		return List.of(
+				(output, listener) -> {
+					ci.setType(Type.DICTIONARY);
+					ci.setFormat(HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION);
+					ci.setInt("elements", this.getNumberOfElements());
+					ci.save(output);
+					shared.save(output, listener);
+				},
+				subjects::save,
+				predicates::save,
+				objects::save
+		);
 	}
 
 	/* (non-Javadoc)
@@ -117,6 +128,8 @@ public class FourSectionDictionaryBig extends BaseDictionary {
 		subjects = DictionarySectionFactory.loadFrom(input, iListener);
 		predicates = DictionarySectionFactory.loadFrom(input, iListener);
 		objects = DictionarySectionFactory.loadFrom(input, iListener);
+
+		cacheSections();
 	}
 	
 	@Override
@@ -132,6 +145,8 @@ public class FourSectionDictionaryBig extends BaseDictionary {
 		subjects = DictionarySectionFactory.loadFrom(in, f, iListener);
 		predicates = DictionarySectionFactory.loadFrom(in, f, iListener);
 		objects = DictionarySectionFactory.loadFrom(in, f, iListener);
+
+		cacheSections();
 		
 		// Use cache only for predicates. Preload only up to 100K predicates.
 		// FIXME: DISABLED
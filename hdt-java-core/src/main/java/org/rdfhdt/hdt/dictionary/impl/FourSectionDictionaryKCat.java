@@ -0,0 +1,273 @@
+package org.rdfhdt.hdt.dictionary.impl;
+
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionaryKCat;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.dictionary.impl.utilCat.CatMapping;
+import org.rdfhdt.hdt.dictionary.impl.utilCat.CatSectionWriter;
+import org.rdfhdt.hdt.iterator.utils.MultiMerge;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.ControlInfo;
+import org.rdfhdt.hdt.options.ControlInformation;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.rdfhdt.hdt.util.string.CharSequenceComparator;
+import org.rdfhdt.hdt.util.string.CompactString;
+import org.rdfhdt.hdt.util.string.DelayedString;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Merge k four section dictionaries in one pass.
+ * <p>
+ * The shared, subject and object sections of all the inputs are merged with one {@link MultiMerge} heap, a string
+ * is shared in the merged dictionary if it is a subject and an object in any of the inputs. The predicates are
+ * merged with a second heap. Each input gets a {@link CatMapping} by section, they are deleted with
+ * {@link #close()}.
+ */
+public class FourSectionDictionaryKCat implements DictionaryKCat {
+    static final int SHARED = 1;
+    static final int SUBJECTS = 2;
+    static final int OBJECTS = 3;
+    static final int PREDICATES = 4;
+
+    private static final String[] MAPPING_NAMES = {null, "SH", "S", "O", "P"};
+
+    /**
+     * string of a section of an input
+     */
+    private static class CatEntry {
+        final CharSequence str;
+        final int input;
+        final int section;
+        final long id;
+
+        CatEntry(CharSequence str, int input, int section, long id) {
+            this.str = str;
+            this.input = input;
+            this.section = section;
+            this.id = id;
+        }
+    }
+
+    private static Iterator<CatEntry> entries(DictionarySection section, int input, int type) {
+        Iterator<? extends CharSequence> it = section.getSortedEntries();
+        return new Iterator<>() {
+            long id;
+
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public CatEntry next() {
+                CharSequence str = DelayedString.unwrap(it.next());
+                if (!(str instanceof CompactString)) {
+                    str = new CompactString(str);
+                }
+                return new CatEntry(str, input, type, ++id);
+            }
+        };
+    }
+
+    private final String location;
+    private final String format;
+    private final List<CatMapping[]> mappings = new ArrayList<>();
+    private final List<Long> inputShared = new ArrayList<>();
+    private long numShared;
+    private long numSubjects;
+    private long numPredicates;
+    private long numObjects;
+
+    /**
+     * @param location directory prefix of the dictionary and the mapping files
+     * @param format   format of the inputs and of the merged dictionary, four section or four section PSFC, the
+     *                 strings are merged as they are stored
+     */
+    public FourSectionDictionaryKCat(String location, String format) {
+        this.location = location;
+        this.format = format;
+    }
+
+    @Override
+    public void cat(List<? extends Dictionary> dictionaries, ProgressListener listener) throws IOException {
+        Comparator<CatEntry> comparator = (e1, e2) -> CharSequenceComparator.getInstance().compare(e1.str, e2.str);
+        long totalSO = 0;
+        long totalP = 0;
+        List<Iterator<CatEntry>> soIterators = new ArrayList<>();
+        List<Iterator<CatEntry>> pIterators = new ArrayList<>();
+        for (int i = 0; i < dictionaries.size(); i++) {
+            Dictionary dictionary = dictionaries.get(i);
+            CatMapping[] mapping = new CatMapping[MAPPING_NAMES.length];
+            mapping[SHARED] = new CatMapping(location, MAPPING_NAMES[SHARED] + i, dictionary.getShared().getNumberOfElements());
+            mapping[SUBJECTS] = new CatMapping(location, MAPPING_NAMES[SUBJECTS] + i, dictionary.getSubjects().getNumberOfElements());
+            mapping[OBJECTS] = new CatMapping(location, MAPPING_NAMES[OBJECTS] + i, dictionary.getObjects().getNumberOfElements());
+            mapping[PREDICATES] = new CatMapping(location, MAPPING_NAMES[PREDICATES] + i, dictionary.getPredicates().getNumberOfElements());
+            mappings.add(mapping);
+            inputShared.add(dictionary.getShared().getNumberOfElements());
+
+            soIterators.add(entries(dictionary.getShared(), i, SHARED));
+            soIterators.add(entries(dictionary.getSubjects(), i, SUBJECTS));
+            soIterators.add(entries(dictionary.getObjects(), i, OBJECTS));
+            pIterators.add(entries(dictionary.getPredicates(), i, PREDICATES));
+            totalSO += dictionary.getShared().getNumberOfElements()
+                    + dictionary.getSubjects().getNumberOfElements()
+                    + dictionary.getObjects().getNumberOfElements();
+            totalP += dictionary.getPredicates().getNumberOfElements();
+        }
+
+        try (CatSectionWriter predicates = new CatSectionWriter(location, PREDICATES, totalP)) {
+            MultiMerge<CatEntry> merge = new MultiMerge<>(pIterators.iterator(), comparator);
+            List<CatEntry> group = new ArrayList<>();
+            CatEntry next = merge.hasNext() ? merge.next() : null;
+            while (next != null) {
+                CharSequence str = next.str;
+                group.clear();
+                do {
+                    group.add(next);
+                    next = merge.hasNext() ? merge.next() : null;
+                } while (next != null && comparator.compare(next, group.get(0)) == 0);
+
+                long id = predicates.append(str);
+                for (CatEntry entry : group) {
+                    mappings.get(entry.input)[PREDICATES].set(entry.id - 1, id, PREDICATES);
+                }
+            }
+            numPredicates = predicates.getNumberOfElements();
+        }
+
+        try (CatSectionWriter shared = new CatSectionWriter(location, SHARED, totalSO);
+             CatSectionWriter subjects = new CatSectionWriter(location, SUBJECTS, totalSO);
+             CatSectionWriter objects = new CatSectionWriter(location, OBJECTS, totalSO)) {
+            MultiMerge<CatEntry> merge = new MultiMerge<>(soIterators.iterator(), comparator);
+            List<CatEntry> group = new ArrayList<>();
+            CatEntry next = merge.hasNext() ? merge.next() : null;
+            long read = 0;
+            while (next != null) {
+                CharSequence str = next.str;
+                boolean subject = false;
+                boolean object = false;
+                group.clear();
+                do {
+                    group.add(next);
+                    subject |= next.section != OBJECTS;
+                    object |= next.section != SUBJECTS;
+                    next = merge.hasNext() ? merge.next() : null;
+                } while (next != null && comparator.compare(next, group.get(0)) == 0);
+
+                int type;
+                long id;
+                if (subject && object) {
+                    type = SHARED;
+                    id = shared.append(str);
+                } else if (subject) {
+                    type = SUBJECTS;
+                    id = subjects.append(str);
+                } else {
+                    type = OBJECTS;
+                    id = objects.append(str);
+                }
+                for (CatEntry entry : group) {
+                    mappings.get(entry.input)[entry.section].set(entry.id - 1, id, type);
+                }
+                read += group.size();
+                ListenerUtil.notifyCond(listener, "Merging dictionary sections", read, read, totalSO);
+            }
+            numShared = shared.getNumberOfElements();
+            numSubjects = subjects.getNumberOfElements();
+            numObjects = objects.getNumberOfElements();
+        }
+
+        //Putting the sections together
+        ControlInfo ci = new ControlInformation();
+        ci.setType(ControlInfo.Type.DICTIONARY);
+        ci.setFormat(format);
+        ci.setInt("elements", numSubjects + numPredicates + numObjects + numShared);
+
+        try (OutputStream outFinal = new BufferedOutputStream(new FileOutputStream(location + "dictionary"))) {
+            ci.save(outFinal);
+            for (int type : new int[]{SHARED, SUBJECTS, PREDICATES, OBJECTS}) {
+                Path section = Paths.get(location + "section" + type);
+                Files.copy(section, outFinal);
+                Files.delete(section);
+            }
+        }
+    }
+
+    @Override
+    public int getNumberOfInputs() {
+        return mappings.size();
+    }
+
+    @Override
+    public long getNumShared() {
+        return numShared;
+    }
+
+    @Override
+    public long getNumSubjects() {
+        return numShared + numSubjects;
+    }
+
+    private long map(CatMapping mapping, long index) {
+        long id = mapping.getMapping(index);
+        return mapping.getType(index) == SHARED ? id : id + numShared;
+    }
+
+    @Override
+    public long mapSubject(int input, long id) {
+        long nshared = inputShared.get(input);
+        if (id <= nshared) {
+            return mappings.get(input)[SHARED].getMapping(id - 1);
+        }
+        return map(mappings.get(input)[SUBJECTS], id - nshared - 1);
+    }
+
+    @Override
+    public long mapPredicate(int input, long id) {
+        return mappings.get(input)[PREDICATES].getMapping(id - 1);
+    }
+
+    @Override
+    public long mapObject(int input, long id) {
+        long nshared = inputShared.get(input);
+        if (id <= nshared) {
+            return mappings.get(input)[SHARED].getMapping(id - 1);
+        }
+        return map(mappings.get(input)[OBJECTS], id - nshared - 1);
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<CatMapping> all = new ArrayList<>();
+        for (CatMapping[] mapping : mappings) {
+            for (int type = SHARED; type <= PREDICATES; type++) {
+                if (mapping[type] != null) {
+                    all.add(mapping[type]);
+                }
+            }
+        }
+        try {
+            IOUtil.closeAll(all);
+        } finally {
+            // the mappings are only used during the cat
+            for (int i = 0; i < mappings.size(); i++) {
+                for (int type = SHARED; type <= PREDICATES; type++) {
+                    Files.deleteIfExists(Paths.get(location + MAPPING_NAMES[type] + i));
+                    Files.deleteIfExists(Paths.get(location + MAPPING_NAMES[type] + i + "Types"));
+                }
+            }
+        }
+    }
+}
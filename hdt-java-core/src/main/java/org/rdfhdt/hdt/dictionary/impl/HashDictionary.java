@@ -56,6 +56,15 @@ public class HashDictionary extends BaseTempDictionary {
 		shared = new HashDictionarySection();
 	}
 
+	protected HashDictionary(HDTOptions spec, TempDictionarySection subjects, TempDictionarySection predicates,
+			TempDictionarySection objects, TempDictionarySection shared) {
+		super(spec);
+		this.subjects = subjects;
+		this.predicates = predicates;
+		this.objects = objects;
+		this.shared = shared;
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.dictionary.Dictionary#reorganize(hdt.triples.TempTriples)
 	 */
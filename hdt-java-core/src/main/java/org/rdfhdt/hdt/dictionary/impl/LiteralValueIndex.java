@@ -0,0 +1,490 @@
+package org.rdfhdt.hdt.dictionary.impl;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64Big;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.util.BitUtil;
+import org.rdfhdt.hdt.util.StopWatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Secondary index of a literal section of a {@link MultipleBaseDictionary} sorting its IDs by the value of the
+ * literals instead of their lexical form, i.e. "9"^^xsd:int before "10"^^xsd:int, to answer value range queries
+ * as a set of object IDs.
+ * <p>
+ * The index only stores the permutation of the section IDs, the values are parsed again from the section during
+ * the binary searches. The literals that aren't valid for their datatype aren't in the index.
+ */
+public class LiteralValueIndex {
+	private static final Logger log = LoggerFactory.getLogger(LiteralValueIndex.class);
+
+	private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+	/**
+	 * maximum difference in seconds between a dateTime without timezone and its value in UTC
+	 */
+	private static final long MAX_TIMEZONE_SECONDS = 14 * 3600;
+	/**
+	 * maximum number of IDs returned by a search in an array
+	 */
+	public static final long MAX_SEARCH_RESULTS = Integer.MAX_VALUE - 8;
+
+	private static final Pattern DATE_TIME = Pattern.compile(
+			"(-?\\d{4,})-(\\d{2})-(\\d{2})T(\\d{2}):(\\d{2}):(\\d{2})(?:\\.(\\d+))?(Z|[+-]\\d{2}:\\d{2})?");
+	private static final Pattern INTEGER = Pattern.compile("[+-]?\\d+");
+	private static final Pattern DECIMAL = Pattern.compile("[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)");
+	private static final Pattern FLOATING = Pattern.compile("[+-]?(?:\\d+(?:\\.\\d*)?|\\.\\d+)(?:[eE][+-]?\\d+)?");
+	private static final Pattern DATE = Pattern.compile("(-?\\d{4,})-(\\d{2})-(\\d{2})(Z|[+-]\\d{2}:\\d{2})?");
+
+	/**
+	 * kind of values of an indexed datatype, only the values of the same kind are comparable
+	 */
+	public enum ValueType {
+		/**
+		 * xsd:decimal, xsd:double, xsd:float and the types derived from xsd:integer, compared with the
+		 * SPARQL numeric type promotion, bounds are {@link Number}
+		 */
+		NUMERIC,
+		/**
+		 * xsd:dateTime and xsd:dateTimeStamp, bounds are lexical forms
+		 */
+		DATE_TIME,
+		/**
+		 * xsd:date, bounds are lexical forms
+		 */
+		DATE
+	}
+
+	private static final Map<String, ValueType> TYPES = Map.ofEntries(
+			Map.entry(XSD + "decimal", ValueType.NUMERIC),
+			Map.entry(XSD + "double", ValueType.NUMERIC),
+			Map.entry(XSD + "float", ValueType.NUMERIC),
+			Map.entry(XSD + "integer", ValueType.NUMERIC),
+			Map.entry(XSD + "nonPositiveInteger", ValueType.NUMERIC),
+			Map.entry(XSD + "negativeInteger", ValueType.NUMERIC),
+			Map.entry(XSD + "long", ValueType.NUMERIC),
+			Map.entry(XSD + "int", ValueType.NUMERIC),
+			Map.entry(XSD + "short", ValueType.NUMERIC),
+			Map.entry(XSD + "byte", ValueType.NUMERIC),
+			Map.entry(XSD + "nonNegativeInteger", ValueType.NUMERIC),
+			Map.entry(XSD + "unsignedLong", ValueType.NUMERIC),
+			Map.entry(XSD + "unsignedInt", ValueType.NUMERIC),
+			Map.entry(XSD + "unsignedShort", ValueType.NUMERIC),
+			Map.entry(XSD + "unsignedByte", ValueType.NUMERIC),
+			Map.entry(XSD + "positiveInteger", ValueType.NUMERIC),
+			Map.entry(XSD + "dateTime", ValueType.DATE_TIME),
+			Map.entry(XSD + "dateTimeStamp", ValueType.DATE_TIME),
+			Map.entry(XSD + "date", ValueType.DATE)
+	);
+
+	/**
+	 * @return the datatypes with a value index
+	 */
+	public static Set<String> getIndexedDataTypes() {
+		return TYPES.keySet();
+	}
+
+	/**
+	 * @param dataType the datatype URI, with or without the brackets of the object section keys
+	 * @return the kind of values of the datatype, null if it can't be indexed
+	 */
+	public static ValueType getValueType(String dataType) {
+		return TYPES.get(removeBrackets(dataType));
+	}
+
+	private static String removeBrackets(String dataType) {
+		if (dataType.startsWith("<") && dataType.endsWith(">")) {
+			return dataType.substring(1, dataType.length() - 1);
+		}
+		return dataType;
+	}
+
+	private final DictionarySection section;
+	private final ValueType valueType;
+	// xsd:double or xsd:float, compared as doubles
+	private final boolean floating;
+	// xsd:float, parsed as a float
+	private final boolean singlePrecision;
+	// lexical space of the numeric datatype
+	private final Pattern numericPattern;
+	private final long offset;
+	// permutations of the section IDs by value, for the temporal values one with a timezone and one without
+	private final Sequence zoned;
+	private final Sequence local;
+
+	/**
+	 * build the index of a literal section
+	 *
+	 * @param section  the section, with the literals without their datatype
+	 * @param dataType the datatype of the section
+	 * @param offset   global ID of the first literal of the section minus one
+	 * @throws IllegalArgumentException if the datatype can't be indexed
+	 */
+	public LiteralValueIndex(DictionarySection section, String dataType, long offset) {
+		this.section = section;
+		this.valueType = getValueType(dataType);
+		this.offset = offset;
+		if (valueType == null) {
+			throw new IllegalArgumentException("Can't index the values of the datatype " + dataType);
+		}
+		String uri = removeBrackets(dataType);
+		this.singlePrecision = uri.equals(XSD + "float");
+		this.floating = singlePrecision || uri.equals(XSD + "double");
+		if (floating) {
+			numericPattern = FLOATING;
+		} else if (uri.equals(XSD + "decimal")) {
+			numericPattern = DECIMAL;
+		} else {
+			numericPattern = INTEGER;
+		}
+
+		StopWatch st = new StopWatch();
+		List<Entry> zonedEntries = new ArrayList<>();
+		List<Entry> localEntries = new ArrayList<>();
+		Iterator<? extends CharSequence> it = section.getSortedEntries();
+		long id = 0;
+		while (it.hasNext()) {
+			id++;
+			Value value = parse(it.next());
+			if (value != null) {
+				(value.isZoned() ? zonedEntries : localEntries).add(new Entry(value, id));
+			}
+		}
+		zoned = createPermutation(zonedEntries);
+		local = createPermutation(localEntries);
+		log.debug("Built the value index of {} ({} values) in {}", dataType, getNumberOfValues(), st.stopAndShow());
+	}
+
+	private Sequence createPermutation(List<Entry> entries) {
+		Entry[] array = entries.toArray(new Entry[0]);
+		Arrays.sort(array, (a, b) -> a.value.compareTo(b.value));
+		SequenceLog64Big permutation = new SequenceLog64Big(BitUtil.log2(section.getNumberOfElements()), array.length);
+		for (Entry entry : array) {
+			permutation.append(entry.id);
+		}
+		return permutation;
+	}
+
+	/**
+	 * @return the kind of values of the index
+	 */
+	public ValueType getValueType() {
+		return valueType;
+	}
+
+	/**
+	 * @return the number of literals of the section with a valid value
+	 */
+	public long getNumberOfValues() {
+		return zoned.getNumberOfElements() + local.getNumberOfElements();
+	}
+
+	/**
+	 * search the literals of the section in a value range
+	 * <p>
+	 * A temporal value with a timezone is only partially ordered with a value without timezone, the literals
+	 * for which the comparison with a bound is indeterminate are returned too.
+	 *
+	 * @param min          the lower bound, null for no lower bound
+	 * @param minInclusive if the lower bound is in the range
+	 * @param max          the upper bound, null for no upper bound
+	 * @param maxInclusive if the upper bound is in the range
+	 * @return the sorted global object IDs of the literals in the range
+	 * @throws IllegalArgumentException if a bound isn't valid for the kind of values of the index
+	 * @throws IllegalStateException    if the range contains more than {@link #MAX_SEARCH_RESULTS} literals
+	 */
+	public long[] search(Object min, boolean minInclusive, Object max, boolean maxInclusive) {
+		long[] ids = search(min, minInclusive, max, maxInclusive, MAX_SEARCH_RESULTS);
+		if (ids == null) {
+			throw new IllegalStateException("Too many literals in the range to be returned in an array");
+		}
+		return ids;
+	}
+
+	/**
+	 * search the literals of the section in a value range, the size of the range is computed with the binary
+	 * searches, the IDs are only read if there are at most maxResults of them
+	 *
+	 * @param min          the lower bound, null for no lower bound
+	 * @param minInclusive if the lower bound is in the range
+	 * @param max          the upper bound, null for no upper bound
+	 * @param maxInclusive if the upper bound is in the range
+	 * @param maxResults   maximum number of IDs to return, at most {@link #MAX_SEARCH_RESULTS}
+	 * @return the sorted global object IDs of the literals in the range, null if there are more than maxResults
+	 * @throws IllegalArgumentException if a bound isn't valid for the kind of values of the index
+	 * @see #search(Object, boolean, Object, boolean)
+	 */
+	public long[] search(Object min, boolean minInclusive, Object max, boolean maxInclusive, long maxResults) {
+		Value minValue = toBound(min);
+		Value maxValue = toBound(max);
+
+		long[] zonedRange = range(zoned, true, minValue, minInclusive, maxValue, maxInclusive);
+		long[] localRange = range(local, false, minValue, minInclusive, maxValue, maxInclusive);
+		long zonedCount = zonedRange[1] - zonedRange[0];
+		long count = zonedCount + localRange[1] - localRange[0];
+		if (count > Math.min(maxResults, MAX_SEARCH_RESULTS)) {
+			return null;
+		}
+		long[] ids = new long[(int) count];
+		copy(zoned, zonedRange, ids, 0);
+		copy(local, localRange, ids, (int) zonedCount);
+		for (int i = 0; i < ids.length; i++) {
+			ids[i] += offset;
+		}
+		Arrays.sort(ids);
+		return ids;
+	}
+
+	private static void copy(Sequence permutation, long[] range, long[] ids, int index) {
+		for (long i = range[0]; i < range[1]; i++) {
+			ids[index++] = permutation.get(i);
+		}
+	}
+
+	/**
+	 * @return the [start, end) range of positions of the permutation with a value in the range
+	 */
+	private long[] range(Sequence permutation, boolean zonedValues, Value min, boolean minInclusive, Value max, boolean maxInclusive) {
+		if (permutation.getNumberOfElements() == 0) {
+			return new long[]{0, 0};
+		}
+		// the numbers are all in the zoned permutation, only the temporal values can have an indeterminate order
+		if (min instanceof TemporalValue && min.isZoned() != zonedValues) {
+			// indeterminate order, keep the values which can be after the bound
+			min = ((TemporalValue) min).shift(-MAX_TIMEZONE_SECONDS);
+			minInclusive = true;
+		}
+		if (max instanceof TemporalValue && max.isZoned() != zonedValues) {
+			max = ((TemporalValue) max).shift(MAX_TIMEZONE_SECONDS);
+			maxInclusive = true;
+		}
+
+		long start = min == null ? 0 : lowerBound(permutation, min, !minInclusive);
+		long end = max == null ? permutation.getNumberOfElements() : lowerBound(permutation, max, maxInclusive);
+		return new long[]{start, Math.max(start, end)};
+	}
+
+	/**
+	 * @return the first position of the permutation with a value after the bound, or equal to the bound if
+	 * equalBefore is false
+	 */
+	private long lowerBound(Sequence permutation, Value bound, boolean equalBefore) {
+		long low = 0;
+		long high = permutation.getNumberOfElements();
+		while (low < high) {
+			long mid = (low + high) >>> 1;
+			int cmp = valueOf(permutation.get(mid)).compareTo(bound);
+			if (cmp < 0 || (cmp == 0 && equalBefore)) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private Value valueOf(long id) {
+		Value value = parse(section.extract(id));
+		if (value == null) {
+			throw new IllegalStateException("The literal " + id + " of the value index isn't valid anymore");
+		}
+		return value;
+	}
+
+	private Value toBound(Object bound) {
+		if (bound == null) {
+			return null;
+		}
+		Value value;
+		if (valueType == ValueType.NUMERIC) {
+			if (!(bound instanceof Number)) {
+				throw new IllegalArgumentException("The bound of a numeric search should be a number: " + bound);
+			}
+			value = NumericValue.of((Number) bound);
+		} else {
+			value = parseTemporal(bound.toString(), valueType);
+		}
+		if (value == null) {
+			throw new IllegalArgumentException("Invalid " + valueType + " bound: " + bound);
+		}
+		return value;
+	}
+
+	/**
+	 * @param literal the literal of the section, "lexical form" without datatype
+	 * @return the value of the literal, null if it isn't a valid literal of this kind
+	 */
+	private Value parse(CharSequence literal) {
+		String str = literal.toString();
+		int end = str.lastIndexOf('"');
+		if (str.isEmpty() || str.charAt(0) != '"' || end <= 0) {
+			return null;
+		}
+		String lexical = str.substring(1, end).trim();
+		if (valueType == ValueType.NUMERIC) {
+			if (!numericPattern.matcher(lexical).matches() && !(floating && isSpecialFloating(lexical))) {
+				return null;
+			}
+			return NumericValue.parse(lexical, floating, singlePrecision);
+		}
+		return parseTemporal(lexical, valueType);
+	}
+
+	private static boolean isSpecialFloating(String lexical) {
+		return lexical.equals("INF") || lexical.equals("+INF") || lexical.equals("-INF") || lexical.equals("NaN");
+	}
+
+	private static Value parseTemporal(String lexical, ValueType type) {
+		Matcher matcher = (type == ValueType.DATE ? DATE : DATE_TIME).matcher(lexical);
+		if (!matcher.matches()) {
+			return null;
+		}
+		try {
+			long year = Long.parseLong(matcher.group(1));
+			int month = Integer.parseInt(matcher.group(2));
+			int day = Integer.parseInt(matcher.group(3));
+			long seconds = LocalDate.of(Math.toIntExact(year), month, day).toEpochDay() * 86400;
+			int nanos = 0;
+			String timezone;
+			if (type == ValueType.DATE) {
+				timezone = matcher.group(4);
+			} else {
+				int hour = Integer.parseInt(matcher.group(4));
+				int minute = Integer.parseInt(matcher.group(5));
+				int second = Integer.parseInt(matcher.group(6));
+				if (minute > 59 || second > 59 || (hour > 23 && (hour != 24 || minute != 0 || second != 0))) {
+					return null;
+				}
+				seconds += hour * 3600L + minute * 60L + second;
+				String fraction = matcher.group(7);
+				if (fraction != null) {
+					nanos = Integer.parseInt((fraction + "00000000").substring(0, 9));
+				}
+				timezone = matcher.group(8);
+			}
+			if (timezone != null && !timezone.equals("Z")) {
+				int tzHours = Integer.parseInt(timezone.substring(1, 3));
+				int tzMinutes = Integer.parseInt(timezone.substring(4, 6));
+				long tzSeconds = tzHours * 3600L + tzMinutes * 60L;
+				if (tzSeconds > MAX_TIMEZONE_SECONDS) {
+					return null;
+				}
+				seconds -= timezone.charAt(0) == '-' ? -tzSeconds : tzSeconds;
+			}
+			return new TemporalValue(Instant.ofEpochSecond(seconds, nanos), timezone != null);
+		} catch (RuntimeException e) {
+			// invalid date or out of range
+			return null;
+		}
+	}
+
+	private static class Entry {
+		final Value value;
+		final long id;
+
+		Entry(Value value, long id) {
+			this.value = value;
+			this.id = id;
+		}
+	}
+
+	private interface Value extends Comparable<Value> {
+		boolean isZoned();
+	}
+
+	private static class NumericValue implements Value {
+		// exact value, null for the double values
+		final BigDecimal decimal;
+		final double value;
+
+		NumericValue(BigDecimal decimal, double value) {
+			this.decimal = decimal;
+			this.value = value;
+		}
+
+		static NumericValue of(Number number) {
+			if (number instanceof Double || number instanceof Float) {
+				double value = number.doubleValue();
+				return Double.isNaN(value) ? null : new NumericValue(null, value);
+			}
+			BigDecimal decimal = number instanceof BigDecimal ? (BigDecimal) number : new BigDecimal(number.toString());
+			return new NumericValue(decimal, decimal.doubleValue());
+		}
+
+		static NumericValue parse(String lexical, boolean floating, boolean singlePrecision) {
+			switch (lexical) {
+				case "INF":
+				case "+INF":
+					return new NumericValue(null, Double.POSITIVE_INFINITY);
+				case "-INF":
+					return new NumericValue(null, Double.NEGATIVE_INFINITY);
+				case "NaN":
+					// not comparable
+					return null;
+			}
+			try {
+				if (floating) {
+					// the decimal value isn't used to keep the values of a section in the order of the doubles
+					double value = singlePrecision ? Float.parseFloat(lexical) : Double.parseDouble(lexical);
+					return Double.isNaN(value) ? null : new NumericValue(null, value);
+				}
+				BigDecimal decimal = new BigDecimal(lexical);
+				return new NumericValue(decimal, decimal.doubleValue());
+			} catch (NumberFormatException e) {
+				return null;
+			}
+		}
+
+		@Override
+		public boolean isZoned() {
+			// the numbers are in the same permutation as the zoned temporal values
+			return true;
+		}
+
+		@Override
+		public int compareTo(Value o) {
+			NumericValue other = (NumericValue) o;
+			if (decimal != null && other.decimal != null) {
+				return decimal.compareTo(other.decimal);
+			}
+			// promotion to double, with -0.0 equal to 0.0
+			return value < other.value ? -1 : (value > other.value ? 1 : 0);
+		}
+	}
+
+	private static class TemporalValue implements Value {
+		final Instant instant;
+		final boolean zoned;
+
+		TemporalValue(Instant instant, boolean zoned) {
+			this.instant = instant;
+			this.zoned = zoned;
+		}
+
+		@Override
+		public boolean isZoned() {
+			return zoned;
+		}
+
+		TemporalValue shift(long seconds) {
+			return new TemporalValue(instant.plusSeconds(seconds), zoned);
+		}
+
+		@Override
+		public int compareTo(Value o) {
+			return instant.compareTo(((TemporalValue) o).instant);
+		}
+	}
+}
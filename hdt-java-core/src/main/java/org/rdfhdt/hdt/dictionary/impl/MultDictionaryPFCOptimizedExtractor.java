@@ -1,5 +1,7 @@
 package org.rdfhdt.hdt.dictionary.impl;
 
+import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.impl.section.DictionarySectionCacheShared;
 import org.rdfhdt.hdt.dictionary.impl.section.PFCDictionarySectionMap;
 import org.rdfhdt.hdt.dictionary.impl.section.PFCOptimizedExtractor;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
@@ -17,14 +19,14 @@ public class MultDictionaryPFCOptimizedExtractor implements OptimizedExtractor{
 
 	public MultDictionaryPFCOptimizedExtractor(MultipleSectionDictionary origDict) {
 		numshared=(int) origDict.getNshared();
-		shared = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.shared);
-		subjects = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.subjects);
-		predicates = new PFCOptimizedExtractor((PFCDictionarySectionMap) origDict.predicates);
+		shared = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.shared));
+		subjects = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.subjects));
+		predicates = new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap(origDict.predicates));
 		objects = new TreeMap<>();
 		Iterator iterator = origDict.getAllObjects().entrySet().iterator();
 		while (iterator.hasNext()){
 			Map.Entry entry = (Map.Entry)iterator.next();
-			objects.put((String)entry.getKey(),new PFCOptimizedExtractor((PFCDictionarySectionMap)entry.getValue()));
+			objects.put((String)entry.getKey(),new PFCOptimizedExtractor((PFCDictionarySectionMap) DictionarySectionCacheShared.unwrap((DictionarySectionPrivate) entry.getValue())));
 		}
 	}
 
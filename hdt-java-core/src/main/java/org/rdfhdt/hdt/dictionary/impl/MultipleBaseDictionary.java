@@ -1,25 +1,31 @@
 package org.rdfhdt.hdt.dictionary.impl;
 
 
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
 import org.rdfhdt.hdt.dictionary.DictionaryPrivate;
 import org.rdfhdt.hdt.dictionary.DictionarySection;
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.impl.section.DictionarySectionCacheShared;
 import org.rdfhdt.hdt.dictionary.impl.section.PFCOptimizedExtractor;
 import org.rdfhdt.hdt.enums.DictionarySectionRole;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdt.exceptions.NotImplementedException;
 import org.rdfhdt.hdt.options.HDTOptions;
 import org.rdfhdt.hdt.util.LiteralsUtils;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
 import org.rdfhdt.hdt.util.string.CompactString;
 import org.rdfhdt.hdt.util.string.DelayedString;
 
 import java.util.AbstractMap;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.regex.Pattern;
 
-public abstract class MultipleBaseDictionary implements DictionaryPrivate {
+public abstract class MultipleBaseDictionary implements DictionaryPrivate, Prefetchable {
 
     protected final HDTOptions spec;
 
@@ -27,6 +33,8 @@ public abstract class MultipleBaseDictionary implements DictionaryPrivate {
     protected DictionarySectionPrivate predicates;
     protected TreeMap<String,DictionarySectionPrivate> objects;
     protected DictionarySectionPrivate shared;
+    // value indexes by object section, built on demand
+    private final Map<String, LiteralValueIndex> valueIndexes = new ConcurrentHashMap<>();
 
     public MultipleBaseDictionary(HDTOptions spec) {
         this.spec = spec;
@@ -284,6 +292,81 @@ public abstract class MultipleBaseDictionary implements DictionaryPrivate {
             }
         }
     }
+    /**
+     * wrap the loaded sections with a shared cache if {@link DictionaryFactory#DICTIONARY_CACHE_SIZE} is set
+     */
+    protected void cacheSections() {
+        long cacheSize = spec != null ? spec.getInt(DictionaryFactory.DICTIONARY_CACHE_SIZE) : 0;
+        if(cacheSize<=0) {
+            return;
+        }
+        shared = new DictionarySectionCacheShared(shared, cacheSize);
+        subjects = new DictionarySectionCacheShared(subjects, cacheSize);
+        predicates = new DictionarySectionCacheShared(predicates, cacheSize);
+        objects.replaceAll((type, section) -> new DictionarySectionCacheShared(section, cacheSize));
+    }
+
+    @Override
+    public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+        warmUp.addRegions(DictionarySectionCacheShared.unwrap(shared), name + ".shared", priority);
+        warmUp.addRegions(DictionarySectionCacheShared.unwrap(subjects), name + ".subjects", priority);
+        warmUp.addRegions(DictionarySectionCacheShared.unwrap(predicates), name + ".predicates", priority);
+        for (Map.Entry<String, DictionarySectionPrivate> e : objects.entrySet()) {
+            warmUp.addRegions(DictionarySectionCacheShared.unwrap(e.getValue()), name + ".objects." + e.getKey(), priority);
+        }
+    }
+    /**
+     * get the value index of a literal section, the index is built the first time it is asked
+     *
+     * @param dataType the datatype URI of the section
+     * @return the index, null if the dictionary has no section for this datatype or if it can't be indexed
+     * @see LiteralValueIndex#getValueType(String)
+     */
+    public LiteralValueIndex getValueIndex(String dataType) {
+        String key = "<" + dataType + ">";
+        DictionarySectionPrivate section = objects.get(key);
+        if (section == null || LiteralValueIndex.getValueType(dataType) == null) {
+            return null;
+        }
+        return valueIndexes.computeIfAbsent(key, k -> new LiteralValueIndex(section, k, getDataTypeRange(dataType).getKey() - 1));
+    }
+    /**
+     * search the literals of all the sections of a kind of values in a value range
+     *
+     * @see LiteralValueIndex#search(Object, boolean, Object, boolean)
+     * @return the sorted object IDs of the literals in the range
+     */
+    public long[] searchValues(LiteralValueIndex.ValueType valueType, Object min, boolean minInclusive, Object max, boolean maxInclusive) {
+        long[] ids = searchValues(valueType, min, minInclusive, max, maxInclusive, LiteralValueIndex.MAX_SEARCH_RESULTS);
+        if (ids == null) {
+            throw new IllegalStateException("Too many literals in the range to be returned in an array");
+        }
+        return ids;
+    }
+    /**
+     * search the literals of all the sections of a kind of values in a value range
+     *
+     * @param maxResults maximum number of IDs to return
+     * @see LiteralValueIndex#search(Object, boolean, Object, boolean, long)
+     * @return the sorted object IDs of the literals in the range, null if there are more than maxResults
+     */
+    public long[] searchValues(LiteralValueIndex.ValueType valueType, Object min, boolean minInclusive, Object max, boolean maxInclusive, long maxResults) {
+        long[] ids = new long[0];
+        // the sections are sorted by ID, the results can be concatenated
+        for (String type : objects.keySet()) {
+            if (LiteralValueIndex.getValueType(type) != valueType) {
+                continue;
+            }
+            long[] sectionIds = getValueIndex(type.substring(1, type.length() - 1)).search(min, minInclusive, max, maxInclusive, maxResults - ids.length);
+            if (sectionIds == null) {
+                return null;
+            }
+            int size = ids.length;
+            ids = Arrays.copyOf(ids, size + sectionIds.length);
+            System.arraycopy(sectionIds, 0, ids, size, sectionIds.length);
+        }
+        return ids;
+    }
     private DictionarySectionPrivate getSubSection(CharSequence str){
         String dataType = "";
 //        if(str.toString().startsWith("\"")) {
@@ -17,6 +17,7 @@ import org.rdfhdt.hdt.util.CustomIterator;
 import org.rdfhdt.hdt.util.LiteralsUtils;
 import org.rdfhdt.hdt.util.io.CountInputStream;
 import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.ParallelFileWriter;
 import org.rdfhdt.hdt.util.listener.IntermediateListener;
 
 import java.io.File;
@@ -69,40 +70,42 @@ MultipleSectionDictionaryBig extends MultipleBaseDictionary {
      */
     @Override
     public void save(OutputStream output, ControlInfo ci, ProgressListener listener) throws IOException {
-        ci.setType(ControlInfo.Type.DICTIONARY);
-        ci.setFormat(getType());
-        ci.setInt("elements", this.getNumberOfElements());
-        ci.save(output);
-
-        IntermediateListener iListener = new IntermediateListener(listener);
-        shared.save(output, iListener);
-        subjects.save(output, iListener);
-        predicates.save(output, iListener);
-
-        writeLiteralsMap(output, iListener);
+        ParallelFileWriter.write(output, getSaveParts(ci), new IntermediateListener(listener));
+    }
 
+    /* (non-Javadoc)
+     * @see hdt.dictionary.DictionaryPrivate#getSaveParts(hdt.options.ControlInfo)
+     */
+    @Override
+    public List<ParallelFileWriter.Part> getSaveParts(ControlInfo ci) {
+        List<ParallelFileWriter.Part> parts = new ArrayList<>();
+        parts.add((output, listener) -> {
+            ci.setType(ControlInfo.Type.DICTIONARY);
+            ci.setFormat(getType());
+            ci.setInt("elements", this.getNumberOfElements());
+            ci.save(output);
+            shared.save(output, listener);
+        });
+        parts.add(subjects::save);
+        parts.add(predicates::save);
+
+        List<String> types = new ArrayList<>(objects.keySet());
+        parts.add((output, listener) -> writeLiteralsMapTypes(output, types, listener));
+        for (String type : types) {
+            parts.add(objects.get(type)::save);
+        }
+        return parts;
     }
     /*
     ------------------
     |len| Literal URI|
     ------------------
      */
-    private void writeLiteralsMap(OutputStream output,ProgressListener listener) throws IOException {
-        Iterator hmIterator = objects.entrySet().iterator();
-        int numberOfTypes = objects.size();
-        output.write(numberOfTypes);
-
-        ArrayList<String> types = new ArrayList<>();
-
-        while (hmIterator.hasNext()){
-            Map.Entry entry = (Map.Entry)hmIterator.next();
-            String uri = (String)entry.getKey();
+    private void writeLiteralsMapTypes(OutputStream output, List<String> types, ProgressListener listener) throws IOException {
+        output.write(types.size());
+        for (String uri : types) {
             output.write(uri.length());
             IOUtil.writeBuffer(output, uri.getBytes(), 0, uri.getBytes().length, listener);
-            types.add(uri);
-        }
-        for(String type:types){
-            this.objects.get(type).save(output,listener);
         }
     }
     private void readLiteralsMap(InputStream input,ProgressListener listener) throws IOException {
@@ -149,6 +152,8 @@ MultipleSectionDictionaryBig extends MultipleBaseDictionary {
         predicates = DictionarySectionFactory.loadFrom(input, iListener);
 
         readLiteralsMap(input,listener);
+
+        cacheSections();
     }
 
     @Override
@@ -166,6 +171,8 @@ MultipleSectionDictionaryBig extends MultipleBaseDictionary {
 
         mapLiteralsMap(in,f,listener);
 
+        cacheSections();
+
         // Use cache only for predicates. Preload only up to 100K predicates.
         // FIXME: DISABLED
 //		predicates = new DictionarySectionCacheAll(predicates, predicates.getNumberOfElements()<100000);
@@ -0,0 +1,142 @@
+package org.rdfhdt.hdt.dictionary.impl.section;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+import org.rdfhdt.hdt.dictionary.TempDictionarySection;
+import org.rdfhdt.hdt.util.string.CharSequenceComparator;
+import org.rdfhdt.hdt.util.string.CompactString;
+
+/**
+ * Temporal dictionary section accepting concurrent {@link #add(CharSequence)} calls.
+ * <p>
+ * The strings are kept in a {@link ConcurrentHashMap}, so writers only contend when they hit the same bin,
+ * and the ids are taken from a shared counter, so they stay dense as in {@link HashDictionarySection}.
+ * The id-ordered list used by {@link #getEntries()} and {@link #extract(long)} is rebuilt lazily,
+ * those methods must not be called while other threads are still adding entries.
+ */
+public class ConcurrentHashDictionarySection implements TempDictionarySection {
+
+	private final ConcurrentHashMap<CharSequence, Long> map = new ConcurrentHashMap<>();
+	private final AtomicLong numElements = new AtomicLong();
+	private final LongAdder size = new LongAdder();
+	private CharSequence[] list;
+	private boolean sorted;
+
+	@Override
+	public long locate(CharSequence s) {
+		Long val = map.get(new CompactString(s));
+		if(val==null) {
+			return 0;
+		}
+		return val;
+	}
+
+	@Override
+	public CharSequence extract(long pos) {
+		if(pos<=0) {
+			return null;
+		}
+		return getList()[(int) (pos-1)];
+	}
+
+	@Override
+	public long size() {
+		return size.sum();
+	}
+
+	@Override
+	public long getNumberOfElements() {
+		return numElements.get();
+	}
+
+	@Override
+	public Iterator<? extends CharSequence> getSortedEntries() {
+		if(!sorted) {
+			return null;
+		}
+		return Arrays.asList(list).iterator();
+	}
+
+	@Override
+	public Iterator<? extends CharSequence> getEntries() {
+		return Arrays.asList(getList()).iterator();
+	}
+
+	@Override
+	public long add(CharSequence entry) {
+		CharSequence compact = new CompactString(entry);
+		Long pos = map.get(compact);
+		if(pos!=null) {
+			// Found return existing ID.
+			return pos;
+		}
+
+		// Not found, insert new unless another thread did it first
+		return map.computeIfAbsent(compact, key -> {
+			size.add(key.length());
+			return numElements.incrementAndGet();
+		});
+	}
+
+	@Override
+	public void remove(CharSequence seq) {
+		map.remove(seq);
+		sorted = false;
+	}
+
+	@Override
+	public void sort() {
+		CharSequence[] sortedList = map.keySet().toArray(new CharSequence[0]);
+		Arrays.parallelSort(sortedList, CharSequenceComparator.getInstance());
+
+		// Update map indexes
+		IntStream.range(0, sortedList.length).parallel().forEach(i -> map.put(sortedList[i], i + 1L));
+
+		list = sortedList;
+		numElements.set(sortedList.length);
+		sorted = true;
+	}
+
+	@Override
+	public boolean isSorted() {
+		return sorted;
+	}
+
+	@Override
+	public void clear() {
+		map.clear();
+		numElements.set(0);
+		size.reset();
+		list = null;
+		sorted = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		map.clear();
+		list = null;
+	}
+
+	/**
+	 * @return the entries indexed by id - 1, rebuilt if entries were added since the last call
+	 */
+	private CharSequence[] getList() {
+		long count = numElements.get();
+		if(list==null || list.length!=count) {
+			if(count>Integer.MAX_VALUE) {
+				throw new IllegalArgumentException("This section does not support more than 2G entries");
+			}
+			CharSequence[] newList = new CharSequence[(int) count];
+			map.forEach((str, id) -> newList[(int) (id - 1)] = str);
+			list = newList;
+			sorted = false;
+		}
+		return list;
+	}
+}
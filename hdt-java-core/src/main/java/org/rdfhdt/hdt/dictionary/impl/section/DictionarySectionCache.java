@@ -35,6 +35,7 @@ import java.util.LinkedHashMap;
 import java.util.Map;
 
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.IdRange;
 import org.rdfhdt.hdt.dictionary.TempDictionarySection;
 import org.rdfhdt.hdt.listener.ProgressListener;
 
@@ -97,6 +98,21 @@ public class DictionarySectionCache implements DictionarySectionPrivate {
  		return o;
 	}
 
+	@Override
+	public long locateLowerBound(CharSequence str) {
+		return child.locateLowerBound(str);
+	}
+
+	@Override
+	public IdRange locateRange(CharSequence from, CharSequence to) {
+		return child.locateRange(from, to);
+	}
+
+	@Override
+	public IdRange locatePrefix(CharSequence prefix) {
+		return child.locatePrefix(prefix);
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.dictionary.DictionarySection#size()
 	 */
@@ -0,0 +1,180 @@
+package org.rdfhdt.hdt.dictionary.impl.section;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.IdRange;
+import org.rdfhdt.hdt.dictionary.TempDictionarySection;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.util.concurrent.ClockCache;
+
+/**
+ * DictionarySection that caches results returned by a child DictionarySection to increase performance.
+ * Unlike {@link DictionarySectionCachePerThread}, the cache is shared by all the threads and bounded by
+ * an estimation of its memory usage, the entries are evicted with the CLOCK policy of {@link ClockCache}.
+ * <p>
+ * Half of the budget is used by the {@link #locate(CharSequence)} results and the other half by the
+ * {@link #extract(long)} results, the hits and misses of both are counted to help sizing the cache.
+ */
+public class DictionarySectionCacheShared implements DictionarySectionPrivate {
+
+	/** estimated memory used by a cache entry, without the chars of the string */
+	static final long ENTRY_OVERHEAD = 96;
+
+	private final DictionarySectionPrivate child;
+	private final ClockCache<String, Long> cacheString;
+	private final ClockCache<Long, CharSequence> cacheID;
+
+	/**
+	 * @param child    the cached section
+	 * @param maxBytes maximum estimated memory of the cache
+	 */
+	public DictionarySectionCacheShared(DictionarySectionPrivate child, long maxBytes) {
+		this.child = child;
+		cacheString = new ClockCache<>(maxBytes / 2, (str, id) -> ENTRY_OVERHEAD + 2L * str.length());
+		cacheID = new ClockCache<>(maxBytes / 2, (id, str) -> ENTRY_OVERHEAD + 2L * str.length());
+	}
+
+	/**
+	 * @return the cached section
+	 */
+	public DictionarySectionPrivate getChild() {
+		return child;
+	}
+
+	/**
+	 * @param section a section
+	 * @return the section, without the cache if it was wrapped by a {@link DictionarySectionCacheShared}
+	 */
+	public static DictionarySectionPrivate unwrap(DictionarySectionPrivate section) {
+		if (section instanceof DictionarySectionCacheShared) {
+			return ((DictionarySectionCacheShared) section).child;
+		}
+		return section;
+	}
+
+	@Override
+	public long locate(CharSequence s) {
+		// the callers can reuse mutable sequences, the key is always an immutable copy
+		String key = s.toString();
+		Long o = cacheString.get(key);
+		if (o == null) {
+			o = child.locate(s);
+			cacheString.put(key, o);
+		}
+		return o;
+	}
+
+	@Override
+	public CharSequence extract(long pos) {
+		CharSequence o = cacheID.get(pos);
+		if (o == null) {
+			o = child.extract(pos);
+			if (o != null) {
+				cacheID.put(pos, o);
+			}
+		}
+		return o;
+	}
+
+	/**
+	 * @return number of {@link #locate(CharSequence)} calls answered by the cache
+	 */
+	public long getLocateHits() {
+		return cacheString.getHits();
+	}
+
+	/**
+	 * @return number of {@link #locate(CharSequence)} calls sent to the child section
+	 */
+	public long getLocateMisses() {
+		return cacheString.getMisses();
+	}
+
+	/**
+	 * @return number of {@link #extract(long)} calls answered by the cache
+	 */
+	public long getExtractHits() {
+		return cacheID.getHits();
+	}
+
+	/**
+	 * @return number of {@link #extract(long)} calls sent to the child section
+	 */
+	public long getExtractMisses() {
+		return cacheID.getMisses();
+	}
+
+	/**
+	 * @return estimated memory used by the cached entries
+	 */
+	public long getCacheSize() {
+		return cacheString.getWeight() + cacheID.getWeight();
+	}
+
+	@Override
+	public long locateLowerBound(CharSequence str) {
+		return child.locateLowerBound(str);
+	}
+
+	@Override
+	public IdRange locateRange(CharSequence from, CharSequence to) {
+		return child.locateRange(from, to);
+	}
+
+	@Override
+	public IdRange locatePrefix(CharSequence prefix) {
+		return child.locatePrefix(prefix);
+	}
+
+	@Override
+	public long size() {
+		return child.size();
+	}
+
+	@Override
+	public long getNumberOfElements() {
+		return child.getNumberOfElements();
+	}
+
+	@Override
+	public Iterator<? extends CharSequence> getSortedEntries() {
+		return child.getSortedEntries();
+	}
+
+	@Override
+	public void save(OutputStream output, ProgressListener listener) throws IOException {
+		child.save(output, listener);
+	}
+
+	@Override
+	public void load(InputStream input, ProgressListener listener) throws IOException {
+		cacheString.clear();
+		cacheID.clear();
+		child.load(input, listener);
+	}
+
+	@Override
+	public void load(TempDictionarySection other, ProgressListener listener) {
+		cacheString.clear();
+		cacheID.clear();
+		child.load(other, listener);
+	}
+
+	@Override
+	public void close() throws IOException {
+		cacheString.clear();
+		cacheID.clear();
+		child.close();
+	}
+
+	@Override
+	public String toString() {
+		return "DictionarySectionCacheShared{locate hits=" + getLocateHits() + ", misses=" + getLocateMisses()
+				+ ", extract hits=" + getExtractHits() + ", misses=" + getExtractMisses()
+				+ ", size=" + getCacheSize() + "}";
+	}
+}
@@ -78,7 +78,8 @@ public class HashDictionarySection implements TempDictionarySection {
 	 */
 	@Override
 	public long locate(CharSequence s) {
-		CompactString compact = new CompactString(s);
+		// the map is only read, the section can be searched by multiple threads once it isn't modified
+		CompactString compact = s instanceof CompactString ? (CompactString) s : new CompactString(s);
 		Long val = map.get(compact);
 		if(val==null) {
 			return 0;
@@ -147,14 +148,12 @@ public class HashDictionarySection implements TempDictionarySection {
 
 		// custom for subsection literals ..
 		if(isCustom){
+			// the entry is new, the existing ones are returned above
 			String type = LiteralsUtils.getType(entry);
-			// check if the entry doesn't already exists
-			if(map.get(entry) == null) {
-				if (literalsCounts.containsKey(type)) {
-					literalsCounts.put(type, literalsCounts.get(type) + 1L);
-				} else
-					literalsCounts.put(type, 1L);
-			}
+			if (literalsCounts.containsKey(type)) {
+				literalsCounts.put(type, literalsCounts.get(type) + 1L);
+			} else
+				literalsCounts.put(type, 1L);
 		}
 		return list.size();
 	}
@@ -35,6 +35,7 @@ import java.util.Iterator;
 
 import org.rdfhdt.hdt.compact.integer.VByte;
 import org.rdfhdt.hdt.compact.sequence.SequenceLog64;
+import org.rdfhdt.hdt.dictionary.IdRange;
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
 import org.rdfhdt.hdt.dictionary.TempDictionarySection;
 import org.rdfhdt.hdt.exceptions.CRCException;
@@ -263,6 +264,62 @@ public class PFCDictionarySection implements DictionarySectionPrivate {
 		return idInBlock;
 	}
 	
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionarySection#locateLowerBound(java.lang.CharSequence)
+	 */
+	@Override
+	public long locateLowerBound(CharSequence str) {
+		if(text==null || blocks==null || numstrings==0) {
+			return 1;
+		}
+
+		ReplazableString target = ByteStringUtil.asReplazableString(str);
+		int blocknum = locateBlock(target);
+		if(blocknum>=0) {
+			// First string of a block
+			return ((long)blocknum*blocksize)+1;
+		}
+		// The first string of the block is lower, decode only this block
+		blocknum = -blocknum-2;
+		if(blocknum<0) {
+			return 1;
+		}
+		return ((long)blocknum*blocksize)+lowerBoundInBlock(blocknum, target)+1;
+	}
+
+	/**
+	 * @return the index in the block of the first string greater than or equal to target, the number of strings
+	 * of the block if they are all lower
+	 */
+	private int lowerBoundInBlock(int block, ReplazableString target) {
+		int count = (int) Math.min(blocksize, numstrings-(long)block*blocksize);
+		int pos = (int) blocks.get(block);
+		int len = ByteStringUtil.strlen(text, pos);
+
+		Mutable<Long> delta = new Mutable<>(0L);
+		ReplazableString tempString = new ReplazableString();
+		tempString.append(text, pos, len);
+
+		for(int i=1;i<count;i++) {
+			pos+=len+1;
+			pos += VByte.decode(text, pos, delta);
+			len = ByteStringUtil.strlen(text, pos);
+			tempString.replace(delta.getValue().intValue(), text, pos, len);
+			if(tempString.compareTo(target)>=0) {
+				return i;
+			}
+		}
+		return count;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionarySection#locatePrefix(java.lang.CharSequence)
+	 */
+	@Override
+	public IdRange locatePrefix(CharSequence prefix) {
+		return locateRange(prefix, ByteStringUtil.prefixUpperBound(prefix));
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.dictionary.DictionarySection#extract(int)
 	 */
@@ -39,6 +39,7 @@ import java.util.Iterator;
 
 import org.rdfhdt.hdt.compact.integer.VByte;
 import org.rdfhdt.hdt.compact.sequence.SequenceLog64Big;
+import org.rdfhdt.hdt.dictionary.IdRange;
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
 import org.rdfhdt.hdt.dictionary.TempDictionarySection;
 import org.rdfhdt.hdt.exceptions.CRCException;
@@ -336,6 +337,63 @@ public class PFCDictionarySectionBig implements DictionarySectionPrivate {
 		return idInBlock;
 	}
 
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionarySection#locateLowerBound(java.lang.CharSequence)
+	 */
+	@Override
+	public long locateLowerBound(CharSequence str) {
+		if(numstrings==0) {
+			return 1;
+		}
+
+		ReplazableString target = ByteStringUtil.asReplazableString(str);
+		long blocknum = locateBlock(target);
+		if(blocknum>=0) {
+			// First string of a block
+			return (blocknum*blocksize)+1;
+		}
+		// The first string of the block is lower, decode only this block
+		blocknum = -blocknum-2;
+		if(blocknum<0) {
+			return 1;
+		}
+		return (blocknum*blocksize)+lowerBoundInBlock(blocknum, target)+1;
+	}
+
+	/**
+	 * @return the index in the block of the first string greater than or equal to target, the number of strings
+	 * of the block if they are all lower
+	 */
+	private long lowerBoundInBlock(long blockid, ReplazableString target) {
+		long count = Math.min(blocksize, numstrings-blockid*blocksize);
+		BigByteBuffer block = data[(int) (blockid/BLOCK_PER_BUFFER)];
+		long pos = (blocks.get(blockid)-posFirst[(int) (blockid/BLOCK_PER_BUFFER)]);
+		int len = (int) ByteStringUtil.strlen(block, pos);
+
+		Mutable<Long> delta = new Mutable<>(0L);
+		ReplazableString tempString = new ReplazableString();
+		tempString.append(block, pos, len);
+
+		for(long i=1;i<count;i++) {
+			pos+=len+1;
+			pos += VByte.decode(block, pos, delta);
+			len = (int) ByteStringUtil.strlen(block, pos);
+			tempString.replace(delta.getValue().intValue(), block, pos, len);
+			if(tempString.compareTo(target)>=0) {
+				return i;
+			}
+		}
+		return count;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionarySection#locatePrefix(java.lang.CharSequence)
+	 */
+	@Override
+	public IdRange locatePrefix(CharSequence prefix) {
+		return locateRange(prefix, ByteStringUtil.prefixUpperBound(prefix));
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.dictionary.DictionarySection#extract(int)
 	 */
@@ -45,6 +45,7 @@ import java.util.Iterator;
 import org.rdfhdt.hdt.compact.integer.VByte;
 import org.rdfhdt.hdt.compact.sequence.Sequence;
 import org.rdfhdt.hdt.compact.sequence.SequenceFactory;
+import org.rdfhdt.hdt.dictionary.IdRange;
 import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
 import org.rdfhdt.hdt.dictionary.TempDictionarySection;
 import org.rdfhdt.hdt.exceptions.CRCException;
@@ -56,6 +57,9 @@ import org.rdfhdt.hdt.util.crc.CRCInputStream;
 import org.rdfhdt.hdt.util.io.BigMappedByteBuffer;
 import org.rdfhdt.hdt.util.io.CountInputStream;
 import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
+import org.rdfhdt.hdt.util.io.WarmUpProfile;
 import org.rdfhdt.hdt.util.string.ByteStringUtil;
 import org.rdfhdt.hdt.util.string.CompactString;
 import org.rdfhdt.hdt.util.string.ReplazableString;
@@ -66,7 +70,7 @@ import org.slf4j.LoggerFactory;
  * @author mario.arias
  * @author Dennis Diefenbach
  */
-public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeable {
+public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeable,Prefetchable {
 	private static final Logger log = LoggerFactory.getLogger(PFCDictionarySectionMap.class);
 
 	static final int BLOCKS_PER_BYTEBUFFER = 50000;
@@ -78,6 +82,8 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 	protected Sequence blocks;
 	protected long dataSize;
 
+	private WarmUpProfile.Recorder recorder;
+
 	private final File f;
 	private final long startOffset;
     private final long endOffset;
@@ -139,6 +145,12 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 		}
 	}
 
+	private void recordAccess(long block) {
+		if (recorder != null) {
+			recorder.access(blocks.get(block));
+		}
+	}
+
 	private long locateBlock(CharSequence str) {
 		if(blocks.getNumberOfElements()==0) {
 			return -1;
@@ -155,6 +167,7 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 			if(mid==max) {
 				cmp=-1;
 			} else {
+				recordAccess(mid);
 				BigMappedByteBuffer buffer = buffers[(int) (mid/BLOCKS_PER_BYTEBUFFER)];
 				cmp = ByteStringUtil.strcmp(str, buffer, blocks.get(mid)-posFirst[(int) (mid/BLOCKS_PER_BYTEBUFFER)]);
 			}
@@ -211,6 +224,7 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 		
 //		dumpBlock(block);
 
+		recordAccess(block);
 		BigMappedByteBuffer buffer = buffers[(int) (block/BLOCKS_PER_BYTEBUFFER)].duplicate();
 		buffer.position(blocks.get(block)-posFirst[(int) (block/BLOCKS_PER_BYTEBUFFER)]);
 		
@@ -256,6 +270,64 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 		}
 	}
 	
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionarySection#locateLowerBound(java.lang.CharSequence)
+	 */
+	@Override
+	public long locateLowerBound(CharSequence str) {
+		if(buffers==null || blocks==null || numstrings==0) {
+			return 1;
+		}
+
+		ReplazableString target = ByteStringUtil.asReplazableString(str);
+		long blocknum = locateBlock(target);
+		if(blocknum>=0) {
+			// First string of a block
+			return (blocknum*blocksize)+1;
+		}
+		// The first string of the block is lower, decode only this block
+		blocknum = -blocknum-2;
+		if(blocknum<0) {
+			return 1;
+		}
+		return (blocknum*blocksize)+lowerBoundInBlock(blocknum, target)+1;
+	}
+
+	/**
+	 * @return the index in the block of the first string greater than or equal to target, the number of strings
+	 * of the block if they are all lower
+	 */
+	private long lowerBoundInBlock(long block, ReplazableString target) {
+		long count = Math.min(blocksize, numstrings-block*blocksize);
+		recordAccess(block);
+		BigMappedByteBuffer buffer = buffers[(int) (block/BLOCKS_PER_BYTEBUFFER)].duplicate();
+		buffer.position(blocks.get(block)-posFirst[(int) (block/BLOCKS_PER_BYTEBUFFER)]);
+
+		try {
+			ReplazableString tempString = new ReplazableString();
+			tempString.replace(buffer, 0);
+
+			for(long i=1;i<count;i++) {
+				long delta = VByte.decode(buffer);
+				tempString.replace(buffer, (int) delta);
+				if(tempString.compareTo(target)>=0) {
+					return i;
+				}
+			}
+			return count;
+		} catch (IOException e) {
+			throw new RuntimeException("Can't read the block " + block, e);
+		}
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.dictionary.DictionarySection#locatePrefix(java.lang.CharSequence)
+	 */
+	@Override
+	public IdRange locatePrefix(CharSequence prefix) {
+		return locateRange(prefix, ByteStringUtil.prefixUpperBound(prefix));
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.dictionary.DictionarySection#extract(int)
 	 */
@@ -270,6 +342,7 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 		}
 		
 		long block = (id-1)/blocksize;
+		recordAccess(block);
 		BigMappedByteBuffer buffer = buffers[(int) (block/BLOCKS_PER_BYTEBUFFER)].duplicate();
 		buffer.position(blocks.get(block)-posFirst[(int) (block/BLOCKS_PER_BYTEBUFFER)]);
 		
@@ -363,9 +436,18 @@ public class PFCDictionarySectionMap implements DictionarySectionPrivate,Closeab
 			}
 			buffers = null;
 		}
+		recorder = null;
 		ch.close();
 	}
 
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		warmUp.addRegions(blocks, name + ".blocks", WarmUp.Priority.INDEX);
+		if (buffers != null) {
+			recorder = warmUp.add(name + ".data", priority, buffers);
+		}
+	}
+
 	@Override
 	public void load(TempDictionarySection other, ProgressListener listener) {
 		throw new NotImplementedException();
@@ -56,7 +56,7 @@ public class PFCOptimizedExtractor {
 			throw new IndexOutOfBoundsException("Trying to access position "+target+ " but PFC has "+numstrings+" elements.");
 		}
 
-		if(target>id && target<( (id%blocksize)+blocksize) ) {
+		if(id>0 && target>id && (target-1)/blocksize==(id-1)/blocksize) {
 			// If the searched string is in the current block, just continue
 
 			while(id<target) {
@@ -92,7 +92,7 @@ public class PFCOptimizedExtractor {
 
 			long block = (target-1)/blocksize;
 			bytebufferIndex = block/PFCDictionarySectionMap.BLOCKS_PER_BYTEBUFFER;
-			buffer = buffers[(int) bytebufferIndex++].duplicate();
+			buffer = buffers[(int) bytebufferIndex].duplicate();
 			buffer.position((int)(blocks.get(block)-posFirst[(int) (block/PFCDictionarySectionMap.BLOCKS_PER_BYTEBUFFER)]));
 
 			try {
@@ -0,0 +1,140 @@
+package org.rdfhdt.hdt.dictionary.impl.utilCat;
+
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64BigDisk;
+import org.rdfhdt.hdt.util.crc.CRC32;
+import org.rdfhdt.hdt.util.crc.CRC8;
+import org.rdfhdt.hdt.util.crc.CRCOutputStream;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.string.ByteStringUtil;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Write a PFC section in the file location+"section"+type from strings appended in sorted order, the number of
+ * strings doesn't have to be known in advance.
+ */
+public class CatSectionWriter implements Closeable {
+    private static final int DEFAULT_BLOCK_SIZE = 16;
+    private static final int BLOCK_PER_BUFFER = 1000000;
+
+    private final String location;
+    private final int type;
+    private final CRCOutputStream outBuffer;
+    private final SequenceLog64BigDisk blocks;
+    private ByteArrayOutputStream byteOut;
+    private CharSequence previousStr;
+    private long storedBuffersSize;
+    private long numBlocks;
+    private long numberElements;
+    private boolean closed;
+
+    /**
+     * @param location        directory prefix of the files
+     * @param type            type of the section, used in the file names
+     * @param estimateEntries estimated number of strings, to size the block pointers
+     * @throws IOException can't create the files
+     */
+    public CatSectionWriter(String location, int type, long estimateEntries) throws IOException {
+        this.location = location;
+        this.type = type;
+        this.outBuffer = new CRCOutputStream(new FileOutputStream(location + "section_buffer_" + type), new CRC32());
+        this.blocks = new SequenceLog64BigDisk(location + "SequenceLog64BigDisk" + type, 64, estimateEntries / 16);
+        this.byteOut = new ByteArrayOutputStream(16 * 1024);
+    }
+
+    /**
+     * append a string, greater than the previous one
+     *
+     * @param str the string
+     * @return the id of the string in the section
+     * @throws IOException can't write the buffer
+     */
+    public long append(CharSequence str) throws IOException {
+        if (numberElements % DEFAULT_BLOCK_SIZE == 0) {
+            blocks.append(storedBuffersSize + byteOut.size());
+            numBlocks++;
+
+            // if a buffer is filled, flush the byteOut and store it
+            if (((numBlocks - 1) % BLOCK_PER_BUFFER == 0) && ((numBlocks - 1) / BLOCK_PER_BUFFER != 0) || byteOut.size() > 200000) {
+                storedBuffersSize += byteOut.size();
+                byteOut.flush();
+                byte[] arr = byteOut.toByteArray();
+                IOUtil.writeBuffer(outBuffer, arr, 0, arr.length, null);
+                byteOut.close();
+                byteOut = new ByteArrayOutputStream(16 * 1024);
+            }
+
+            // Copy full string
+            ByteStringUtil.append(byteOut, str, 0);
+        } else {
+            // Find common part.
+            int delta = ByteStringUtil.longestCommonPrefix(previousStr, str);
+            // Write Delta in VByte
+            VByte.encode(byteOut, delta);
+            // Write remaining
+            ByteStringUtil.append(byteOut, str, delta);
+        }
+        byteOut.write(0); // End of string
+        previousStr = str;
+        numberElements += 1;
+        return numberElements;
+    }
+
+    /**
+     * @return the number of strings appended
+     */
+    public long getNumberOfElements() {
+        return numberElements;
+    }
+
+    /**
+     * complete the section file location+"section"+type and delete the temporary files
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            try (CRCOutputStream buffer = outBuffer) {
+                // Ending block pointer.
+                blocks.append(storedBuffersSize + byteOut.size());
+                // Trim text/blocks
+                blocks.aggressiveTrimToSize();
+                byteOut.flush();
+                byte[] arr = byteOut.toByteArray();
+                IOUtil.writeBuffer(buffer, arr, 0, arr.length, null);
+                buffer.writeCRC();
+            }
+            //Save the section conforming to the HDT format
+            try (CRCOutputStream out = new CRCOutputStream(new FileOutputStream(location + "section" + type), new CRC8())) {
+                //write the index type
+                out.write(2);
+                //write the number of strings
+                VByte.encode(out, numberElements);
+                //write the datasize
+                VByte.encode(out, storedBuffersSize + byteOut.size());
+                //wirte the blocksize
+                VByte.encode(out, DEFAULT_BLOCK_SIZE);
+                //write CRC
+                out.writeCRC();
+                //write the blocks
+                blocks.save(out, null);    // Write blocks directly to output, they have their own CRC check.
+                //write out_buffer
+                Files.copy(Path.of(location + "section_buffer_" + type), out);
+            }
+        } finally {
+            blocks.close();
+            Files.deleteIfExists(Paths.get(location + "section_buffer_" + type));
+            Files.deleteIfExists(Paths.get(location + "SequenceLog64BigDisk" + type));
+        }
+    }
+}
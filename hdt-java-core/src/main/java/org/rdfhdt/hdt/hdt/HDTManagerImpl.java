@@ -1,13 +1,16 @@
 package org.rdfhdt.hdt.hdt;
 
 import org.rdfhdt.hdt.compact.bitmap.Bitmap;
+import org.rdfhdt.hdt.dictionary.impl.MultipleBaseDictionary;
 import org.rdfhdt.hdt.dictionary.impl.MultipleSectionDictionary;
 import org.rdfhdt.hdt.enums.RDFNotation;
 import org.rdfhdt.hdt.exceptions.NotFoundException;
 import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.hdt.impl.HDTImpl;
 import org.rdfhdt.hdt.hdt.impl.TempHDTImporterOnePass;
+import org.rdfhdt.hdt.hdt.impl.TempHDTImporterOnePassParallel;
 import org.rdfhdt.hdt.hdt.impl.TempHDTImporterTwoPass;
+import org.rdfhdt.hdt.hdt.impl.diskimport.HDTDiskImporter;
 import org.rdfhdt.hdt.hdt.writer.TripleWriterHDT;
 import org.rdfhdt.hdt.header.HeaderUtil;
 import org.rdfhdt.hdt.listener.ProgressListener;
@@ -15,12 +18,17 @@ import org.rdfhdt.hdt.options.HDTOptions;
 import org.rdfhdt.hdt.options.HDTSpecification;
 import org.rdfhdt.hdt.rdf.TripleWriter;
 import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.io.IOUtil;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
 public class HDTManagerImpl extends HDTManager {
 
@@ -58,9 +66,8 @@ public class HDTManagerImpl extends HDTManager {
 
 	@Override
 	public HDT doLoadIndexedHDT(String hdtFileName, ProgressListener listener, HDTOptions spec) throws IOException {
-		HDTPrivate hdt = new HDTImpl(spec);
-		hdt.loadFromHDT(hdtFileName, listener);
-		hdt.loadOrCreateIndex(listener);
+		HDTImpl hdt = new HDTImpl(spec);
+		hdt.loadIndexedFromHDT(hdtFileName, listener);
 		return hdt;
 	}
 	
@@ -68,9 +75,8 @@ public class HDTManagerImpl extends HDTManager {
 
 	@Override
 	public HDT doMapIndexedHDT(String hdtFileName, ProgressListener listener, HDTOptions spec) throws IOException {
-		HDTPrivate hdt = new HDTImpl(spec);
-		hdt.mapFromHDT(new File(hdtFileName), 0, listener);
-		hdt.loadOrCreateIndex(listener);
+		HDTImpl hdt = new HDTImpl(spec);
+		hdt.mapIndexedFromHDT(new File(hdtFileName), listener);
 		return hdt;
 	}
 
@@ -92,9 +98,16 @@ public class HDTManagerImpl extends HDTManager {
 	public HDT doGenerateHDT(String rdfFileName, String baseURI, RDFNotation rdfNotation, HDTOptions spec, ProgressListener listener) throws IOException, ParserException {
 		//choose the importer
 		String loaderType = spec.get("loader.type");
+		if (HDTDiskImporter.LOADER_TYPE.equals(loaderType)) {
+			try (HDTDiskImporter importer = new HDTDiskImporter(spec, listener)) {
+				return importer.importRDF(rdfFileName, baseURI, rdfNotation, useSimple(spec));
+			}
+		}
 		TempHDTImporter loader;
 		if ("two-pass".equals(loaderType)) {
 			loader = new TempHDTImporterTwoPass(useSimple(spec));
+		} else if (TempHDTImporterOnePassParallel.LOADER_TYPE.equals(loaderType)) {
+			loader = new TempHDTImporterOnePassParallel(useSimple(spec));
 		} else {
 			loader = new TempHDTImporterOnePass(useSimple(spec));
 		}
@@ -121,11 +134,20 @@ public class HDTManagerImpl extends HDTManager {
 
 	@Override
 	public HDT doGenerateHDT(Iterator<TripleString> triples, String baseURI, HDTOptions spec, ProgressListener listener) throws IOException {
-		//choose the importer
-		TempHDTImporterOnePass loader = new TempHDTImporterOnePass(false);
+		if (HDTDiskImporter.LOADER_TYPE.equals(spec.get("loader.type"))) {
+			try (HDTDiskImporter importer = new HDTDiskImporter(spec, listener)) {
+				return importer.importTriples(triples, baseURI);
+			}
+		}
 
 		// Create TempHDT
-		try (TempHDT modHdt = loader.loadFromTriples(spec, triples, baseURI, listener)) {
+		TempHDT tempHDT;
+		if (TempHDTImporterOnePassParallel.LOADER_TYPE.equals(spec.get("loader.type"))) {
+			tempHDT = new TempHDTImporterOnePassParallel(false).loadFromTriples(spec, triples, baseURI, listener);
+		} else {
+			tempHDT = new TempHDTImporterOnePass(false).loadFromTriples(spec, triples, baseURI, listener);
+		}
+		try (TempHDT modHdt = tempHDT) {
 			// Convert to HDT
 			HDTImpl hdt = new HDTImpl(spec);
 			hdt.loadFromModifiableHDT(modHdt, listener);
@@ -169,6 +191,60 @@ public class HDTManagerImpl extends HDTManager {
 		}
 	}
 
+	@Override
+	public HDT doHDTCat(String location, List<String> hdtFileNames, HDTOptions hdtFormat, ProgressListener listener) throws IOException {
+		if (hdtFileNames.size() < 2) {
+			throw new IllegalArgumentException("At least 2 HDTs are required to cat, found " + hdtFileNames.size());
+		}
+		List<HDT> hdts = new ArrayList<>(hdtFileNames.size());
+		try {
+			boolean kCat = true;
+			for (String hdtFileName : hdtFileNames) {
+				HDT input = doMapHDT(hdtFileName, listener, hdtFormat);
+				hdts.add(input);
+				String type = input.getDictionary().getType();
+				kCat &= type.equals(hdts.get(0).getDictionary().getType())
+						&& (HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION.equals(type) || HDTVocabulary.DICTIONARY_TYPE_FOUR_PSFC_SECTION.equals(type));
+			}
+			if (!kCat) {
+				return catPairs(location, hdts, hdtFormat, listener);
+			}
+			HDTImpl hdt = new HDTImpl(hdtFormat);
+			hdt.cat(location, hdts, listener);
+			return hdt;
+		} finally {
+			IOUtil.closeAll(hdts);
+		}
+	}
+
+	/**
+	 * cat the hdts 2 by 2, used for the multiple section dictionaries and the inputs of different types
+	 */
+	private HDT catPairs(String location, List<HDT> hdts, HDTOptions hdtFormat, ProgressListener listener) throws IOException {
+		HDTImpl current = null;
+		String currentLocation = null;
+		for (int i = 1; i < hdts.size(); i++) {
+			String stepLocation = i == hdts.size() - 1 ? location : location + "step" + i + "_";
+			HDT previous = current == null ? hdts.get(0) : current;
+			HDTImpl hdt = new HDTImpl(hdtFormat);
+			if (previous.getDictionary() instanceof MultipleBaseDictionary
+					&& hdts.get(i).getDictionary() instanceof MultipleBaseDictionary) {
+				hdt.catCustom(stepLocation, previous, hdts.get(i), listener);
+			} else {
+				hdt.cat(stepLocation, previous, hdts.get(i), listener);
+			}
+			if (current != null) {
+				// remove the previous intermediate HDT
+				current.close();
+				Files.deleteIfExists(Paths.get(currentLocation + "dictionary"));
+				Files.deleteIfExists(Paths.get(currentLocation + "triples"));
+			}
+			current = hdt;
+			currentLocation = stepLocation;
+		}
+		return current;
+	}
+
 	@Override
 	public HDT doHDTDiff(String hdtFileName1, String hdtFileName2, HDTOptions hdtFormat, ProgressListener listener) throws IOException {
 		try (HDT hdt1 = doMapHDT(hdtFileName1, listener, hdtFormat);
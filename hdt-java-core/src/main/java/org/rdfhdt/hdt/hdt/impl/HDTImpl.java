@@ -35,15 +35,18 @@ import org.rdfhdt.hdt.dictionary.Dictionary;
 import org.rdfhdt.hdt.dictionary.DictionaryCat;
 import org.rdfhdt.hdt.dictionary.DictionaryDiff;
 import org.rdfhdt.hdt.dictionary.DictionaryFactory;
+import org.rdfhdt.hdt.dictionary.DictionaryKCat;
 import org.rdfhdt.hdt.dictionary.DictionaryPrivate;
 import org.rdfhdt.hdt.dictionary.DictionarySection;
 import org.rdfhdt.hdt.dictionary.TempDictionary;
 import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionary;
 import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionaryBig;
 import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionaryCat;
+import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionaryKCat;
 import org.rdfhdt.hdt.dictionary.impl.MultipleSectionDictionary;
 import org.rdfhdt.hdt.dictionary.impl.MultipleSectionDictionaryBig;
 import org.rdfhdt.hdt.dictionary.impl.MultipleSectionDictionaryCat;
+import org.rdfhdt.hdt.dictionary.impl.PSFCFourSectionDictionary;
 import org.rdfhdt.hdt.enums.ResultEstimationType;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdt.exceptions.IllegalFormatException;
@@ -77,11 +80,16 @@ import org.rdfhdt.hdt.triples.impl.BitmapTriples;
 import org.rdfhdt.hdt.triples.impl.BitmapTriplesCat;
 import org.rdfhdt.hdt.triples.impl.BitmapTriplesIteratorCat;
 import org.rdfhdt.hdt.triples.impl.BitmapTriplesIteratorDiff;
+import org.rdfhdt.hdt.triples.impl.BitmapTriplesIteratorKCat;
 import org.rdfhdt.hdt.triples.impl.BitmapTriplesIteratorMapDiff;
 import org.rdfhdt.hdt.util.StopWatch;
 import org.rdfhdt.hdt.util.StringUtil;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
 import org.rdfhdt.hdt.util.io.CountInputStream;
 import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.ParallelFileWriter;
+import org.rdfhdt.hdt.util.io.WarmUp;
+import org.rdfhdt.hdt.util.io.WarmUpProfile;
 import org.rdfhdt.hdt.util.listener.IntermediateListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -97,9 +105,12 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Date;
 import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.zip.GZIPInputStream;
 
 /**
@@ -109,6 +120,35 @@ import java.util.zip.GZIPInputStream;
 public class HDTImpl implements HDTPrivate {
 	private static final Logger log = LoggerFactory.getLogger(HDTImpl.class);
 
+	/**
+	 * Number of threads to write the sections of the HDT file in parallel with {@link #saveToHDT(String, ProgressListener)},
+	 * 0 for one per processor. If not set, the file is written sequentially. The file is the same in both cases.
+	 */
+	public static final String SAVE_THREADS = "save.threads";
+	/**
+	 * Number of threads to read the sections of an HDT file in parallel with {@link #loadFromHDT(String, ProgressListener)},
+	 * {@link #mapFromHDT(File, long, ProgressListener)} and the indexed variants, 0 for one per processor. The dictionary,
+	 * the triples and the index are then read with their own file channel. If not set, the file is read sequentially.
+	 */
+	public static final String LOAD_THREADS = "load.threads";
+	/**
+	 * "true" to read the mapped structures ahead after mapping an HDT file, see {@link WarmUp}
+	 */
+	public static final String WARMUP = "warmup";
+	/**
+	 * Number of threads of the warm-up, 0 or absent for one per processor
+	 */
+	public static final String WARMUP_THREADS = "warmup.threads";
+	/**
+	 * Maximum number of bytes read by the warm-up, 0 or absent to read all the mapped structures
+	 */
+	public static final String WARMUP_BUDGET = "warmup.budget";
+	/**
+	 * File of the warm-up profile. The chunks of the profile are read first by the warm-up, the chunks read by the
+	 * queries are then recorded and the profile is replaced when the HDT is closed or with {@link #saveWarmUpProfile()}.
+	 */
+	public static final String WARMUP_PROFILE = "warmup.profile";
+
 	private final HDTOptions spec;
 
 	protected HeaderPrivate header;
@@ -119,6 +159,7 @@ public class HDTImpl implements HDTPrivate {
 	private String baseUri;
 	private boolean isMapped;
 	private boolean isClosed=false;
+	private WarmUpProfile warmUpRecord;
 
 	private void createComponents() {
 		header = HeaderFactory.createHeader(spec);
@@ -135,7 +176,8 @@ public class HDTImpl implements HDTPrivate {
 		if(isClosed) {
 			throw new IllegalStateException("Cannot add header to a closed HDT.");
 		}
-		
+
+		this.baseUri = baseUri;
 		header.insert(baseUri, HDTVocabulary.RDF_TYPE, HDTVocabulary.HDT_DATASET);
 		header.insert(baseUri, HDTVocabulary.RDF_TYPE, HDTVocabulary.VOID_DATASET);
 
@@ -177,11 +219,7 @@ public class HDTImpl implements HDTPrivate {
 		createComponents();
 	}
 
-	@Override
-	public void loadFromHDT(InputStream input, ProgressListener listener) throws IOException {
-		ControlInfo ci = new ControlInformation();
-		IntermediateListener iListener = new IntermediateListener(listener);
-
+	private void loadHeader(InputStream input, ControlInfo ci, IntermediateListener iListener) throws IOException {
 		// Load Global ControlInformation
 		ci.clear();
 		ci.load(input);
@@ -206,19 +244,27 @@ public class HDTImpl implements HDTPrivate {
 		} catch (NotFoundException e) {
 			log.error("Unexpected exception.", e);
 		}
+	}
+
+	@Override
+	public void loadFromHDT(InputStream input, ProgressListener listener) throws IOException {
+		ControlInfo ci = new ControlInformation();
+		IntermediateListener iListener = new IntermediateListener(listener);
+
+		loadHeader(input, ci, iListener);
 
 		// Load dictionary
 		ci.clear();
 		ci.load(input);
 		iListener.setRange(5, 60);
-		dictionary = DictionaryFactory.createDictionary(ci);
+		dictionary = DictionaryFactory.createDictionary(ci, spec);
 		dictionary.load(input, ci, iListener);
 
 		// Load Triples
 		ci.clear();
 		ci.load(input);
 		iListener.setRange(60, 100);
-		triples = TriplesFactory.createTriples(ci);
+		triples = TriplesFactory.createTriples(ci, spec);
 		triples.load(input, ci, iListener);
 		
 		isClosed=false;
@@ -226,6 +272,25 @@ public class HDTImpl implements HDTPrivate {
 
 	@Override
 	public void loadFromHDT(String hdtFileName, ProgressListener listener)	throws IOException {
+		loadFromHDT(hdtFileName, false, listener);
+	}
+
+	/**
+	 * load an HDT file and its index, see {@link #loadOrCreateIndex(ProgressListener)}
+	 * @param hdtFileName the file
+	 * @param listener listener
+	 * @throws IOException error while reading the file
+	 */
+	public void loadIndexedFromHDT(String hdtFileName, ProgressListener listener) throws IOException {
+		loadFromHDT(hdtFileName, true, listener);
+	}
+
+	private void loadFromHDT(String hdtFileName, boolean loadIndex, ProgressListener listener) throws IOException {
+		if (spec.get(LOAD_THREADS) != null && !hdtFileName.endsWith(".gz")) {
+			this.hdtFileName = hdtFileName;
+			loadParallel(new File(hdtFileName), false, loadIndex, listener);
+			return;
+		}
 		InputStream in;
 		if(hdtFileName.endsWith(".gz")) {
 			in = new BufferedInputStream(new GZIPInputStream(new FileInputStream(hdtFileName)));
@@ -238,10 +303,28 @@ public class HDTImpl implements HDTPrivate {
 		this.hdtFileName = hdtFileName;
 		
 		isClosed=false;
+
+		if (loadIndex) {
+			loadOrCreateIndex(listener);
+		}
 	}
 
 	@Override
 	public void mapFromHDT(File f, long offset, ProgressListener listener) throws IOException {
+		mapFromHDT(f, false, listener);
+	}
+
+	/**
+	 * map an HDT file and its index, see {@link #loadOrCreateIndex(ProgressListener)}
+	 * @param f the file
+	 * @param listener listener
+	 * @throws IOException error while reading the file
+	 */
+	public void mapIndexedFromHDT(File f, ProgressListener listener) throws IOException {
+		mapFromHDT(f, true, listener);
+	}
+
+	private void mapFromHDT(File f, boolean loadIndex, ProgressListener listener) throws IOException {
 		this.hdtFileName = f.toString();
 		this.isMapped = true;
 
@@ -260,35 +343,18 @@ public class HDTImpl implements HDTPrivate {
 			}
 		}
 
+		if (spec.get(LOAD_THREADS) != null) {
+			loadParallel(f, true, loadIndex, listener);
+			warmUp(listener);
+			return;
+		}
+
 		input = new CountInputStream(new BufferedInputStream(new FileInputStream(hdtFileName)));
 
 		ControlInfo ci = new ControlInformation();
 		IntermediateListener iListener = new IntermediateListener(listener);
 
-		// Load Global ControlInformation
-		ci.clear();
-		ci.load(input);
-		String hdtFormat = ci.getFormat();
-		if(!hdtFormat.equals(HDTVocabulary.HDT_CONTAINER) && !hdtFormat.equals(HDTVocabulary.HDT_CONTAINER_2)) {
-			throw new IllegalFormatException("This software (v" + HDTVersion.HDT_VERSION + ".x.x | v"+HDTVersion.HDT_VERSION_2+".x.x) cannot open this version of HDT File (" + hdtFormat + ")");
-		}
-
-		// Load header
-		ci.clear();
-		ci.load(input);
-		iListener.setRange(0, 5);
-		header = HeaderFactory.createHeader(ci);
-		header.load(input, ci, iListener);
-
-		// Set base URI.
-		try {
-			IteratorTripleString it = header.search("", HDTVocabulary.RDF_TYPE, HDTVocabulary.HDT_DATASET);
-			if(it.hasNext()) {
-				this.baseUri = it.next().getSubject().toString();
-			}
-		} catch (NotFoundException e) {
-			log.error("Unexpected exception.", e);
-		}
+		loadHeader(input, ci, iListener);
 
 		// Load dictionary
 		ci.clear();
@@ -296,7 +362,7 @@ public class HDTImpl implements HDTPrivate {
 		ci.load(input);
 		input.reset();
 		iListener.setRange(5, 60);
-		dictionary = DictionaryFactory.createDictionary(ci);
+		dictionary = DictionaryFactory.createDictionary(ci, spec);
 		dictionary.mapFromFile(input, f, iListener);
 
 		// Load Triples
@@ -305,13 +371,190 @@ public class HDTImpl implements HDTPrivate {
 		ci.load(input);
 		input.reset();
 		iListener.setRange(60, 100);
-		triples = TriplesFactory.createTriples(ci);
+		triples = TriplesFactory.createTriples(ci, spec);
 		triples.mapFromFile(input, f, iListener);
 
 		// Close the file used to keep track of positions.
 		input.close();
 		
 		isClosed=false;
+
+		if (loadIndex) {
+			loadOrCreateIndex(listener);
+		}
+		warmUp(listener);
+	}
+
+	/**
+	 * read the mapped structures ahead and record the warm-up profile, see {@link #WARMUP} and {@link #WARMUP_PROFILE}
+	 */
+	private void warmUp(ProgressListener listener) throws IOException {
+		String profileFile = spec.get(WARMUP_PROFILE);
+		boolean enabled = "true".equalsIgnoreCase(spec.get(WARMUP));
+		if (!enabled && profileFile == null) {
+			return;
+		}
+		WarmUpProfile replay = null;
+		if (profileFile != null) {
+			try {
+				replay = WarmUpProfile.load(Paths.get(profileFile));
+			} catch (IOException | IllegalFormatException e) {
+				// a new profile is recorded
+				log.warn("Can't read the warm-up profile {}", profileFile, e);
+			}
+			warmUpRecord = new WarmUpProfile();
+		}
+		WarmUp warmUp = new WarmUp(replay, warmUpRecord);
+		warmUp.addRegions(dictionary, "dictionary", WarmUp.Priority.DATA);
+		warmUp.addRegions(triples, "triples", WarmUp.Priority.DATA);
+		if (enabled) {
+			StopWatch st = new StopWatch();
+			long bytes = warmUp.run(ParallelUtil.getThreadCount(spec, WARMUP_THREADS), spec.getInt(WARMUP_BUDGET), listener);
+			log.info("Warm-up of {} bytes of {} in {}", bytes, hdtFileName, st.stopAndShow());
+		}
+	}
+
+	/**
+	 * save the chunks read since the HDT was mapped to the warm-up profile file, see {@link #WARMUP_PROFILE}
+	 * @throws IOException error while writing the profile
+	 */
+	public void saveWarmUpProfile() throws IOException {
+		if (warmUpRecord != null) {
+			warmUpRecord.save(Paths.get(spec.get(WARMUP_PROFILE)));
+		}
+	}
+
+	private static CountInputStream openAt(File f, long offset) throws IOException {
+		FileInputStream in = new FileInputStream(f);
+		try {
+			in.getChannel().position(offset);
+		} catch (IOException e) {
+			in.close();
+			throw e;
+		}
+		return new CountInputStream(new BufferedInputStream(in), offset);
+	}
+
+	/**
+	 * read the sections of an HDT file in parallel. The dictionary is first mapped to find the start of the triples,
+	 * mapping a dictionary only reads the headers of its sections. The dictionary, the triples and the index are then
+	 * read with their own file channel, each one checking its CRCs.
+	 */
+	private void loadParallel(File f, boolean map, boolean loadIndex, ProgressListener listener) throws IOException {
+		int threads = ParallelUtil.getThreadCount(spec, LOAD_THREADS);
+		IntermediateListener iListener = new IntermediateListener(listener);
+		ControlInfo ci = new ControlInformation();
+		ControlInfo triplesCi = new ControlInformation();
+		long dictionaryOffset;
+		long triplesOffset;
+		DictionaryPrivate mappedDictionary = null;
+
+		try (CountInputStream input = new CountInputStream(new BufferedInputStream(new FileInputStream(f)))) {
+			loadHeader(input, ci, iListener);
+
+			dictionaryOffset = input.getTotalBytes();
+			ci.clear();
+			input.mark(1024);
+			ci.load(input);
+			input.reset();
+			mappedDictionary = DictionaryFactory.createDictionary(ci, spec);
+			mappedDictionary.mapFromFile(input, f, null);
+
+			triplesOffset = input.getTotalBytes();
+			input.mark(1024);
+			triplesCi.load(input);
+			input.reset();
+		} catch (IOException | RuntimeException e) {
+			IOUtil.closeQuietly(mappedDictionary);
+			throw e;
+		}
+
+		DictionaryPrivate dictionary;
+		if (map) {
+			dictionary = mappedDictionary;
+		} else {
+			mappedDictionary.close();
+			dictionary = DictionaryFactory.createDictionary(ci, spec);
+		}
+		TriplesPrivate triples = TriplesFactory.createTriples(triplesCi, spec);
+
+		File indexFile = loadIndex && triples instanceof BitmapTriples ? getIndexFile() : null;
+		ControlInfo indexCi = new ControlInformation();
+		AtomicBoolean indexRead = new AtomicBoolean();
+
+		iListener.setRange(5, 100);
+		iListener.notifyProgress(0, "Reading HDT sections in parallel");
+		boolean loaded = false;
+		try {
+			ParallelUtil.run("HDTLoad", threads, 3, task -> {
+				switch (task) {
+					case 0:
+						if (!map) {
+							try (CountInputStream input = openAt(f, dictionaryOffset)) {
+								ControlInfo dictionaryCi = new ControlInformation();
+								dictionaryCi.load(input);
+								dictionary.load(input, dictionaryCi, null);
+							}
+						}
+						break;
+					case 1:
+						try (CountInputStream input = openAt(f, triplesOffset)) {
+							if (map) {
+								triples.mapFromFile(input, f, null);
+							} else {
+								ControlInfo tci = new ControlInformation();
+								tci.load(input);
+								triples.load(input, tci, null);
+							}
+						}
+						break;
+					default:
+						if (indexFile == null) {
+							break;
+						}
+						// any error is handled after the load by generating the index
+						try (CountInputStream input = openAt(indexFile, 0)) {
+							indexCi.load(input);
+							if (map) {
+								((BitmapTriples) triples).readIndex(input, indexFile, indexCi, null);
+							} else {
+								((BitmapTriples) triples).readIndex(input, indexCi, null);
+							}
+							indexRead.set(true);
+						} catch (IOException | RuntimeException e) {
+							log.warn("Can't read the index {} in parallel: {}", indexFile, e.getMessage());
+						}
+						break;
+				}
+			});
+			loaded = true;
+		} finally {
+			if (!loaded) {
+				IOUtil.closeQuietly(triples);
+				IOUtil.closeQuietly(dictionary);
+			}
+		}
+
+		this.dictionary = dictionary;
+		this.triples = triples;
+		this.isMapped = map;
+		isClosed=false;
+
+		if (loadIndex) {
+			boolean valid = false;
+			if (indexRead.get()) {
+				try {
+					((BitmapTriples) triples).checkIndex(indexCi);
+					valid = true;
+				} catch (IllegalFormatException e) {
+					log.warn("Invalid index {}: {}", indexFile, e.getMessage());
+				}
+			}
+			if (!valid) {
+				loadOrCreateIndex(listener);
+			}
+		}
+		iListener.notifyProgress(100, "HDT sections read");
 	}
 
 	/*
@@ -321,25 +564,33 @@ public class HDTImpl implements HDTPrivate {
 	 */
 	@Override
 	public void saveToHDT(OutputStream output, ProgressListener listener) throws IOException {
-		ControlInfo ci = new ControlInformation();
-		IntermediateListener iListener = new IntermediateListener(listener);
-
-		ci.clear();
-		ci.setType(ControlInfo.Type.GLOBAL);
-		ci.setFormat(HDTVocabulary.HDT_CONTAINER);
-		ci.save(output);
-
-		ci.clear();
-		ci.setType(ControlInfo.Type.HEADER);
-		header.save(output, ci, iListener);
-
-		ci.clear();
-		ci.setType(ControlInfo.Type.DICTIONARY);
-		dictionary.save(output, ci, iListener);
+		ParallelFileWriter.write(output, getSaveParts(), new IntermediateListener(listener));
+	}
 
-		ci.clear();
-		ci.setType(ControlInfo.Type.TRIPLES);
-		triples.save(output, ci, iListener);
+	/**
+	 * @return the parts of the HDT file, in order
+	 */
+	private List<ParallelFileWriter.Part> getSaveParts() {
+		List<ParallelFileWriter.Part> parts = new ArrayList<>();
+		parts.add((output, listener) -> {
+			ControlInfo ci = new ControlInformation();
+			ci.setType(ControlInfo.Type.GLOBAL);
+			ci.setFormat(HDTVocabulary.HDT_CONTAINER);
+			ci.save(output);
+
+			ci.clear();
+			ci.setType(ControlInfo.Type.HEADER);
+			header.save(output, ci, listener);
+		});
+
+		ControlInfo dictionaryCi = new ControlInformation();
+		dictionaryCi.setType(ControlInfo.Type.DICTIONARY);
+		parts.addAll(dictionary.getSaveParts(dictionaryCi));
+
+		ControlInfo triplesCi = new ControlInformation();
+		triplesCi.setType(ControlInfo.Type.TRIPLES);
+		parts.addAll(triples.getSaveParts(triplesCi));
+		return parts;
 	}
 
 	/*
@@ -349,10 +600,15 @@ public class HDTImpl implements HDTPrivate {
 	 */
 	@Override
 	public void saveToHDT(String fileName, ProgressListener listener) throws IOException {
-		OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName));
-		//OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
-		saveToHDT(out, listener);
-		out.close();
+		if (spec.get(SAVE_THREADS) != null) {
+			int threads = ParallelUtil.getThreadCount(spec, SAVE_THREADS);
+			ParallelFileWriter.write(Paths.get(fileName), getSaveParts(), threads, listener);
+		} else {
+			OutputStream out = new BufferedOutputStream(new FileOutputStream(fileName));
+			//OutputStream out = new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(fileName)));
+			saveToHDT(out, listener);
+			out.close();
+		}
 
 		this.hdtFileName = fileName;
 	}
@@ -498,6 +754,25 @@ public class HDTImpl implements HDTPrivate {
         isClosed=false;
 	}
 
+	private String getVersionIndexName() {
+		String indexName = hdtFileName+ HDTVersion.get_index_suffix("-");
+		return indexName.replaceAll("\\.hdt\\.gz", "hdt");
+	}
+
+	/**
+	 * @return the index file of the HDT file, with the version suffix or the old suffix if only this one exists
+	 */
+	private File getIndexFile() {
+		File ff = new File(getVersionIndexName());
+		// backward compatibility
+		if (!ff.isFile() || !ff.canRead()){
+			String indexName = hdtFileName+ (".index");
+			indexName = indexName.replaceAll("\\.hdt\\.gz", "hdt");
+			ff = new File(indexName);
+		}
+		return ff;
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.hdt.HDT#generateIndex(hdt.listener.ProgressListener)
 	 */
@@ -508,22 +783,14 @@ public class HDTImpl implements HDTPrivate {
 			return;
 		}
 		ControlInfo ci = new ControlInformation();
-		String indexName = hdtFileName+ HDTVersion.get_index_suffix("-");
-		indexName = indexName.replaceAll("\\.hdt\\.gz", "hdt");
-		String versionName = indexName;
-		File ff = new File(indexName);
-		// backward compatibility
-		if (!ff.isFile() || !ff.canRead()){
-			indexName = hdtFileName+ (".index");
-			indexName = indexName.replaceAll("\\.hdt\\.gz", "hdt");
-			ff = new File(indexName);
-		}
+		String versionName = getVersionIndexName();
+		File ff = getIndexFile();
 		CountInputStream in=null;
 		try {
 			in = new CountInputStream(new BufferedInputStream(new FileInputStream(ff)));
 			ci.load(in);
 			if(isMapped) {
-				triples.mapIndex(in, new File(indexName), ci, listener);
+				triples.mapIndex(in, ff, ci, listener);
 			} else {
 				triples.loadIndex(in, ci, listener);
 			}
@@ -573,6 +840,12 @@ public class HDTImpl implements HDTPrivate {
 			return;
 		}
 		isClosed=true;
+		try {
+			saveWarmUpProfile();
+		} catch (IOException e) {
+			log.warn("Can't save the warm-up profile", e);
+		}
+		warmUpRecord = null;
 		dictionary.close();
 		triples.close();
 	}
@@ -751,6 +1024,66 @@ public class HDTImpl implements HDTPrivate {
 		this.populateHeaderStructure("http://wdaqua.eu/hdtCat/");
 	}
 
+	/**
+	 * Merges k hdt files on disk at location in a single pass, the dictionaries must be four section dictionaries
+	 * of the same type
+	 * @param location directory prefix of the generated files
+	 * @param hdts the hdts to merge
+	 * @param listener listener
+	 * @throws IOException can't write the files
+	 */
+	public void cat(String location, List<? extends HDT> hdts, ProgressListener listener) throws IOException {
+		String type = hdts.get(0).getDictionary().getType();
+		if (!HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION.equals(type) && !HDTVocabulary.DICTIONARY_TYPE_FOUR_PSFC_SECTION.equals(type)) {
+			throw new IllegalArgumentException("The k-way cat only supports four section dictionaries, found " + type);
+		}
+		List<Dictionary> dictionaries = new ArrayList<>(hdts.size());
+		List<Triples> hdtTriples = new ArrayList<>(hdts.size());
+		for (HDT hdt : hdts) {
+			if (!type.equals(hdt.getDictionary().getType())) {
+				throw new IllegalArgumentException("The dictionaries must have the same type: " + type + " != " + hdt.getDictionary().getType());
+			}
+			dictionaries.add(hdt.getDictionary());
+			hdtTriples.add(hdt.getTriples());
+		}
+		IntermediateListener il = new IntermediateListener(listener);
+		il.setRange(0, 50);
+		log.debug("Generating dictionary");
+		try (DictionaryKCat dictionaryKCat = new FourSectionDictionaryKCat(location, type)) {
+			dictionaryKCat.cat(dictionaries, il);
+			//map the generated dictionary
+			DictionaryPrivate dictionary;
+			if (HDTVocabulary.DICTIONARY_TYPE_FOUR_PSFC_SECTION.equals(type)) {
+				dictionary = new PSFCFourSectionDictionary(new HDTSpecification());
+			} else {
+				dictionary = new FourSectionDictionaryBig(new HDTSpecification());
+			}
+			try (CountInputStream fis = new CountInputStream(new BufferedInputStream(new FileInputStream(location + "dictionary")))) {
+				dictionary.mapFromFile(fis, new File(location + "dictionary"), null);
+			}
+			if (this.dictionary != null) {
+				this.dictionary.close();
+			}
+			this.dictionary = dictionary;
+			log.debug("Generating triples");
+			il.setRange(50, 100);
+			BitmapTriplesIteratorKCat it = new BitmapTriplesIteratorKCat(dictionaries, hdtTriples, dictionaryKCat);
+			new BitmapTriplesCat(location).cat(it, il);
+		}
+
+		//map the triples
+		try (CountInputStream fis = new CountInputStream(new BufferedInputStream(new FileInputStream(location + "triples")))) {
+			ControlInfo ci = new ControlInformation();
+			fis.mark(1024);
+			ci.load(fis);
+			fis.reset();
+			triples = TriplesFactory.createTriples(ci);
+			triples.mapFromFile(fis, new File(location + "triples"), null);
+		}
+		this.header = HeaderFactory.createHeader(spec);
+		this.populateHeaderStructure("http://wdaqua.eu/hdtCat/");
+	}
+
 	public void diff(HDT hdt1, HDT hdt2, ProgressListener listener) throws IOException {
 		ModifiableBitmap bitmap = BitmapFactory.createRWBitmap(hdt1.getTriples().getNumberOfElements());
 		BitmapTriplesIteratorDiff iterator = new BitmapTriplesIteratorDiff(hdt1, hdt2, bitmap);
@@ -57,12 +57,16 @@ public class TempHDTImpl implements TempHDT {
 	protected long rawsize;
 
 	public TempHDTImpl(HDTOptions spec, String baseUri, ModeOfLoading modeOfLoading) {
+		this(spec, baseUri, modeOfLoading, DictionaryFactory.createTempDictionary(spec));
+	}
+
+	public TempHDTImpl(HDTOptions spec, String baseUri, ModeOfLoading modeOfLoading, TempDictionary dictionary) {
 		
 		this.baseUri = baseUri;
 		this.modeOfLoading = modeOfLoading;
 
 		this.header = HeaderFactory.createHeader(spec);
-		this.dictionary = DictionaryFactory.createTempDictionary(spec);
+		this.dictionary = dictionary;
 		this.triples = TriplesFactory.createTempTriples(spec);
 	}
 	
@@ -83,7 +83,7 @@ public class TempHDTImporterOnePass implements TempHDTImporter {
 	public TempHDT loadFromRDF(HDTOptions specs, String filename, String baseUri, RDFNotation notation, ProgressListener listener)
 			throws ParserException {
 		
-		RDFParserCallback parser = RDFParserFactory.getParserCallback(notation, useSimple);
+		RDFParserCallback parser = RDFParserFactory.getParserCallback(notation, useSimple, specs);
 
 		// Create Modifiable Instance
 		TempHDT modHDT = new TempHDTImpl(specs, baseUri, ModeOfLoading.ONE_PASS);
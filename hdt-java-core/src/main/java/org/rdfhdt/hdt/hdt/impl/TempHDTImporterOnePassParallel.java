@@ -0,0 +1,316 @@
+package org.rdfhdt.hdt.hdt.impl;
+
+import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
+import org.rdfhdt.hdt.dictionary.TempDictionary;
+import org.rdfhdt.hdt.dictionary.impl.ConcurrentHashDictionary;
+import org.rdfhdt.hdt.enums.RDFNotation;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.hdt.TempHDT;
+import org.rdfhdt.hdt.hdt.TempHDTImporter;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.HDTOptions;
+import org.rdfhdt.hdt.rdf.RDFParserCallback;
+import org.rdfhdt.hdt.rdf.RDFParserCallback.RDFCallback;
+import org.rdfhdt.hdt.rdf.RDFParserFactory;
+import org.rdfhdt.hdt.triples.TempTriples;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.StopWatch;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * One-pass importer running the parsing, the string interning and the triple insertion as separate stages
+ * connected with bounded queues.
+ * <p>
+ * The parser thread groups the triples in batches, several threads insert the strings of the batches in the
+ * temporal dictionary and a single thread appends the resulting ids to the temporal triples. The interning
+ * is only concurrent with a {@link ConcurrentHashDictionary}, which is used unless another temporal
+ * dictionary is configured with <code>tempDictionary.impl</code>, otherwise the interning threads take turns.
+ */
+public class TempHDTImporterOnePassParallel implements TempHDTImporter {
+	private static final Logger log = LoggerFactory.getLogger(TempHDTImporterOnePassParallel.class);
+
+	/**
+	 * value of the <code>loader.type</code> option to select this importer
+	 */
+	public static final String LOADER_TYPE = "one-pass-parallel";
+	/**
+	 * number of interning threads, also used by the second pass of {@link TempHDTImporterTwoPass}, 0 or absent
+	 * for one per processor
+	 */
+	public static final String LOADER_THREADS = "loader.threads";
+
+	static final int BATCH_SIZE = 4096;
+
+	private final boolean useSimple;
+
+	public TempHDTImporterOnePassParallel(boolean useSimple) {
+		this.useSimple = useSimple;
+	}
+
+	private static TempHDTImpl createTempHDT(HDTOptions specs, String baseUri) {
+		String name = specs.get("tempDictionary.impl");
+		TempDictionary dictionary;
+		if (name == null || name.isEmpty() || DictionaryFactory.MOD_DICT_IMPL_HASH.equals(name)) {
+			// same output as the hash dictionary, but accepting concurrent inserts
+			dictionary = new ConcurrentHashDictionary(specs);
+		} else {
+			dictionary = DictionaryFactory.createTempDictionary(specs);
+		}
+		return new TempHDTImpl(specs, baseUri, ModeOfLoading.ONE_PASS, dictionary);
+	}
+
+	@Override
+	public TempHDT loadFromRDF(HDTOptions specs, String filename, String baseUri, RDFNotation notation, ProgressListener listener)
+			throws ParserException {
+
+		RDFParserCallback parser = RDFParserFactory.getParserCallback(notation, useSimple, specs);
+
+		// Create Modifiable Instance
+		TempHDT modHDT = createTempHDT(specs, baseUri);
+		TempDictionary dictionary = modHDT.getDictionary();
+		TempTriples triples = modHDT.getTriples();
+
+		// Load RDF in the dictionary and generate triples
+		long size;
+		StopWatch st = new StopWatch();
+		dictionary.startProcessing();
+		try (Pipeline pipeline = new Pipeline(dictionary, triples, ParallelUtil.getThreadCount(specs, LOADER_THREADS), listener)) {
+			parser.doParse(filename, baseUri, notation, true, pipeline);
+			pipeline.finish();
+			size = pipeline.size;
+			log.info("Loaded {} triples in {}", pipeline.num, st.stopAndShow());
+		}
+		dictionary.endProcessing();
+
+		// Reorganize both the dictionary and the triples
+		modHDT.reorganizeDictionary(listener);
+		modHDT.reorganizeTriples(listener);
+
+		modHDT.getHeader().insert("_:statistics", HDTVocabulary.ORIGINAL_SIZE, size);
+
+		return modHDT;
+	}
+
+	public TempHDT loadFromTriples(HDTOptions specs, Iterator<TripleString> iterator, String baseUri, ProgressListener listener) {
+
+		// Create Modifiable Instance
+		TempHDT modHDT = createTempHDT(specs, baseUri);
+		TempDictionary dictionary = modHDT.getDictionary();
+		TempTriples triples = modHDT.getTriples();
+
+		// Load RDF in the dictionary and generate triples
+		long size;
+		dictionary.startProcessing();
+		try (Pipeline pipeline = new Pipeline(dictionary, triples, ParallelUtil.getThreadCount(specs, LOADER_THREADS), listener)) {
+			while (iterator.hasNext()) {
+				pipeline.processTriple(iterator.next(), 0);
+			}
+			pipeline.finish();
+			size = pipeline.size;
+		}
+		dictionary.endProcessing();
+
+		// Reorganize both the dictionary and the triples
+		modHDT.reorganizeDictionary(listener);
+		modHDT.reorganizeTriples(listener);
+
+		modHDT.getHeader().insert("_:statistics", HDTVocabulary.ORIGINAL_SIZE, size);
+
+		return modHDT;
+	}
+
+	/**
+	 * The stages of the import. {@link #processTriple(TripleString, long)} is the parsing stage and must be
+	 * called by a single thread, followed by {@link #finish()} once the input is consumed.
+	 */
+	static class Pipeline implements RDFCallback, Closeable {
+		private static final List<TripleString> END_BATCH = new ArrayList<>();
+		private static final long[] END_IDS = new long[0];
+
+		final TempDictionary dict;
+		final TempTriples triples;
+		final ProgressListener listener;
+		final boolean concurrentDictionary;
+
+		private final BlockingQueue<List<TripleString>> parsedQueue;
+		private final BlockingQueue<long[]> idsQueue;
+		private final Thread[] interners;
+		private final Thread writer;
+		private final AtomicInteger runningInterners;
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		private List<TripleString> batch = new ArrayList<>(BATCH_SIZE);
+		long num;
+		long size;
+
+		Pipeline(TempDictionary dict, TempTriples triples, int numThreads, ProgressListener listener) {
+			this.dict = dict;
+			this.triples = triples;
+			this.listener = listener;
+			this.concurrentDictionary = dict instanceof ConcurrentHashDictionary;
+
+			parsedQueue = new ArrayBlockingQueue<>(numThreads * 2);
+			idsQueue = new ArrayBlockingQueue<>(numThreads * 2);
+			runningInterners = new AtomicInteger(numThreads);
+
+			interners = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				interners[i] = createThread("OnePassIntern-" + (i + 1), this::runInterner);
+			}
+			writer = createThread("OnePassTriples", this::runWriter);
+
+			for (Thread interner : interners) {
+				interner.start();
+			}
+			writer.start();
+		}
+
+		private Thread createThread(String name, Stage stage) {
+			Thread thread = new Thread(() -> {
+				try {
+					stage.run();
+				} catch (InterruptedException e) {
+					// closed after a failure
+				} catch (Throwable t) {
+					failure.compareAndSet(null, t);
+				}
+			}, name);
+			thread.setDaemon(true);
+			return thread;
+		}
+
+		@Override
+		public void processTriple(TripleString triple, long pos) {
+			// the parsers can reuse the triple, so the strings are detached from it
+			batch.add(new TripleString(
+					triple.getSubject().toString(),
+					triple.getPredicate().toString(),
+					triple.getObject().toString()
+			));
+			if (batch.size() == BATCH_SIZE) {
+				put(parsedQueue, batch);
+				batch = new ArrayList<>(BATCH_SIZE);
+			}
+			num++;
+			size += triple.getSubject().length() + triple.getPredicate().length() + triple.getObject().length() + 4;  // Spaces and final dot
+			ListenerUtil.notifyCond(listener, "Loaded " + num + " triples", num, 0, 100);
+		}
+
+		/**
+		 * send the last batch and wait for the other stages to complete
+		 */
+		void finish() {
+			if (!batch.isEmpty()) {
+				put(parsedQueue, batch);
+			}
+			batch = null;
+			for (int i = 0; i < interners.length; i++) {
+				put(parsedQueue, END_BATCH);
+			}
+			try {
+				while (writer.isAlive()) {
+					writer.join(100);
+					checkFailure();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for the import", e);
+			}
+			checkFailure();
+		}
+
+		private void runInterner() throws InterruptedException {
+			try {
+				List<TripleString> parsed;
+				while ((parsed = parsedQueue.take()) != END_BATCH) {
+					long[] ids;
+					if (concurrentDictionary) {
+						ids = intern(parsed);
+					} else {
+						synchronized (dict) {
+							ids = intern(parsed);
+						}
+					}
+					put(idsQueue, ids);
+				}
+			} finally {
+				if (runningInterners.decrementAndGet() == 0) {
+					idsQueue.put(END_IDS);
+				}
+			}
+		}
+
+		private long[] intern(List<TripleString> parsed) {
+			long[] ids = new long[parsed.size() * 3];
+			int i = 0;
+			for (TripleString triple : parsed) {
+				ids[i++] = dict.insert(triple.getSubject(), TripleComponentRole.SUBJECT);
+				ids[i++] = dict.insert(triple.getPredicate(), TripleComponentRole.PREDICATE);
+				ids[i++] = dict.insert(triple.getObject(), TripleComponentRole.OBJECT);
+			}
+			return ids;
+		}
+
+		private void runWriter() throws InterruptedException {
+			long[] ids;
+			while ((ids = idsQueue.take()) != END_IDS) {
+				for (int i = 0; i < ids.length; i += 3) {
+					triples.insert(ids[i], ids[i + 1], ids[i + 2]);
+				}
+			}
+		}
+
+		private <T> void put(BlockingQueue<T> queue, T element) {
+			try {
+				while (!queue.offer(element, 100, TimeUnit.MILLISECONDS)) {
+					checkFailure();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while importing", e);
+			}
+		}
+
+		private void checkFailure() {
+			Throwable t = failure.get();
+			if (t == null) {
+				return;
+			}
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			}
+			if (t instanceof Error) {
+				throw (Error) t;
+			}
+			throw new RuntimeException(t);
+		}
+
+		@Override
+		public void close() {
+			for (Thread interner : interners) {
+				interner.interrupt();
+			}
+			writer.interrupt();
+		}
+
+		@FunctionalInterface
+		private interface Stage {
+			void run() throws InterruptedException;
+		}
+	}
+}
@@ -27,6 +27,13 @@
 
 package org.rdfhdt.hdt.hdt.impl;
 
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
 import org.rdfhdt.hdt.dictionary.TempDictionary;
 import org.rdfhdt.hdt.enums.RDFNotation;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
@@ -40,7 +47,9 @@ import org.rdfhdt.hdt.rdf.RDFParserCallback.RDFCallback;
 import org.rdfhdt.hdt.rdf.RDFParserFactory;
 import org.rdfhdt.hdt.triples.TempTriples;
 import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
 import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.rdfhdt.hdt.util.string.CompactString;
 
 public class TempHDTImporterTwoPass implements TempHDTImporter {
 
@@ -99,6 +108,158 @@ public class TempHDTImporterTwoPass implements TempHDTImporter {
 		}
 	}
 
+	/**
+	 * Concurrent version of {@link TripleAppender2}. The parser thread groups the triples in batches, the ids of
+	 * the batches are searched in the organized dictionary by several threads, each thread keeps its ids in its
+	 * own buffer and inserts them in the triples when the buffer is full. The order of the triples isn't kept,
+	 * they are sorted by {@link TempHDT#reorganizeTriples(ProgressListener)}.
+	 */
+	static class ParallelTripleAppender implements RDFCallback, Closeable {
+		private static final CompactString[] END_BATCH = new CompactString[0];
+		// number of triples in the buffer of a worker
+		private static final int BUFFER_SIZE = 64 * 1024;
+
+		final TempDictionary dict;
+		final TempTriples triples;
+		final ProgressListener listener;
+
+		private final BlockingQueue<CompactString[]> batches;
+		private final Thread[] workers;
+		private final AtomicReference<Throwable> failure = new AtomicReference<>();
+		private CompactString[] batch = new CompactString[TempHDTImporterOnePassParallel.BATCH_SIZE * 3];
+		private int batchSize;
+		long count;
+
+		ParallelTripleAppender(TempDictionary dict, TempTriples triples, int numThreads, ProgressListener listener) {
+			this.dict = dict;
+			this.triples = triples;
+			this.listener = listener;
+			this.batches = new ArrayBlockingQueue<>(numThreads * 2);
+			this.workers = new Thread[numThreads];
+			for (int i = 0; i < numThreads; i++) {
+				Thread worker = new Thread(() -> {
+					try {
+						runWorker();
+					} catch (InterruptedException e) {
+						// closed after a failure
+					} catch (Throwable t) {
+						failure.compareAndSet(null, t);
+					}
+				}, "TwoPassTriples-" + (i + 1));
+				worker.setDaemon(true);
+				workers[i] = worker;
+			}
+			for (Thread worker : workers) {
+				worker.start();
+			}
+		}
+
+		@Override
+		public void processTriple(TripleString triple, long pos) {
+			// the parsers can reuse the triple, so the strings are detached from it
+			batch[batchSize++] = detach(triple.getSubject());
+			batch[batchSize++] = detach(triple.getPredicate());
+			batch[batchSize++] = detach(triple.getObject());
+			if (batchSize == batch.length) {
+				put(batch);
+				batch = new CompactString[batch.length];
+				batchSize = 0;
+			}
+			count++;
+			ListenerUtil.notifyCond(listener, "Generating triples "+count+" triples processed.", count, 0, 100);
+		}
+
+		/**
+		 * the terms set in a triple aren't modified after the callback, a CompactString is immutable and kept
+		 */
+		private CompactString detach(CharSequence term) {
+			return term instanceof CompactString ? (CompactString) term : new CompactString(term);
+		}
+
+		/**
+		 * send the last batch and wait for the workers to insert their ids
+		 */
+		void finish() {
+			if (batchSize != 0) {
+				put(Arrays.copyOf(batch, batchSize));
+			}
+			batch = null;
+			for (int i = 0; i < workers.length; i++) {
+				put(END_BATCH);
+			}
+			try {
+				for (Thread worker : workers) {
+					while (worker.isAlive()) {
+						worker.join(100);
+						checkFailure();
+					}
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while waiting for the import", e);
+			}
+			checkFailure();
+		}
+
+		private void runWorker() throws InterruptedException {
+			long[] buffer = new long[BUFFER_SIZE * 3];
+			int size = 0;
+			CompactString[] strings;
+			while ((strings = batches.take()) != END_BATCH) {
+				for (int i = 0; i < strings.length; i += 3) {
+					buffer[size++] = dict.stringToId(strings[i], TripleComponentRole.SUBJECT);
+					buffer[size++] = dict.stringToId(strings[i + 1], TripleComponentRole.PREDICATE);
+					buffer[size++] = dict.stringToId(strings[i + 2], TripleComponentRole.OBJECT);
+					if (size == buffer.length) {
+						flush(buffer, size);
+						size = 0;
+					}
+				}
+			}
+			flush(buffer, size);
+		}
+
+		private void flush(long[] buffer, int size) {
+			synchronized (triples) {
+				for (int i = 0; i < size; i += 3) {
+					triples.insert(buffer[i], buffer[i + 1], buffer[i + 2]);
+				}
+			}
+		}
+
+		private void put(CompactString[] strings) {
+			try {
+				while (!batches.offer(strings, 100, TimeUnit.MILLISECONDS)) {
+					checkFailure();
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new RuntimeException("Interrupted while importing", e);
+			}
+		}
+
+		private void checkFailure() {
+			Throwable t = failure.get();
+			if (t == null) {
+				return;
+			}
+			if (t instanceof RuntimeException) {
+				throw (RuntimeException) t;
+			}
+			if (t instanceof Error) {
+				throw (Error) t;
+			}
+			throw new RuntimeException(t);
+		}
+
+		@Override
+		public void close() {
+			for (Thread worker : workers) {
+				worker.interrupt();
+			}
+		}
+	}
+
 	private final boolean useSimple;
 
 	public TempHDTImporterTwoPass(boolean useSimple) {
@@ -109,7 +270,7 @@ public class TempHDTImporterTwoPass implements TempHDTImporter {
 	public TempHDT loadFromRDF(HDTOptions specs, String filename, String baseUri, RDFNotation notation, ProgressListener listener)
 			throws ParserException {
 		
-		RDFParserCallback parser = RDFParserFactory.getParserCallback(notation, useSimple);
+		RDFParserCallback parser = RDFParserFactory.getParserCallback(notation, useSimple, specs);
 
 		// Create Modifiable Instance and parser
 		TempHDT modHDT = new TempHDTImpl(specs, baseUri, ModeOfLoading.TWO_PASS);
@@ -125,8 +286,16 @@ public class TempHDTImporterTwoPass implements TempHDTImporter {
 		// Reorganize IDs before loading triples
 		modHDT.reorganizeDictionary(listener);
 
-		// Load triples (second pass)
-		parser.doParse(filename, baseUri, notation, true, new TripleAppender2(dictionary, triples, listener));
+		// Load triples (second pass), the dictionary is only read once organized
+		int threads = ParallelUtil.getThreadCount(specs, TempHDTImporterOnePassParallel.LOADER_THREADS);
+		if (threads == 1) {
+			parser.doParse(filename, baseUri, notation, true, new TripleAppender2(dictionary, triples, listener));
+		} else {
+			try (ParallelTripleAppender appender = new ParallelTripleAppender(dictionary, triples, threads, listener)) {
+				parser.doParse(filename, baseUri, notation, true, appender);
+				appender.finish();
+			}
+		}
 
 		//reorganize HDT
 		modHDT.reorganizeTriples(listener);
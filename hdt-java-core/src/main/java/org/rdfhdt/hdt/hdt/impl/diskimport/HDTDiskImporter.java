@@ -0,0 +1,616 @@
+package org.rdfhdt.hdt.hdt.impl.diskimport;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.Stream;
+
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
+import org.rdfhdt.hdt.dictionary.DictionaryPrivate;
+import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionary;
+import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionaryBig;
+import org.rdfhdt.hdt.dictionary.impl.section.PFCDictionarySection;
+import org.rdfhdt.hdt.dictionary.impl.section.PFCDictionarySectionBig;
+import org.rdfhdt.hdt.enums.RDFNotation;
+import org.rdfhdt.hdt.enums.ResultEstimationType;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.exceptions.NotImplementedException;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.hdt.impl.HDTImpl;
+import org.rdfhdt.hdt.header.HeaderFactory;
+import org.rdfhdt.hdt.header.HeaderPrivate;
+import org.rdfhdt.hdt.iterator.utils.MultiMerge;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.HDTOptions;
+import org.rdfhdt.hdt.rdf.RDFParserCallback;
+import org.rdfhdt.hdt.rdf.RDFParserFactory;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.TripleIDComparator;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.triples.impl.BitmapTriples;
+import org.rdfhdt.hdt.util.StopWatch;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
+import org.rdfhdt.hdt.util.disk.LongArrayDisk;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.listener.IntermediateListener;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.rdfhdt.hdt.util.string.CompactString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Generates an HDT without keeping the temporal dictionary and triples in memory.
+ * <p>
+ * The components of the triples are sorted in chunks and written as runs in a work directory, the runs are
+ * merged with {@link MultiMerge} to create the sections and to map every triple index to its ids. The id
+ * triples are then sorted the same way and merged into the {@link BitmapTriples}. The heap used by the
+ * temporal structures is bounded by the chunk size, only the final HDT is kept in memory.
+ * <p>
+ * Options:
+ * <ul>
+ *     <li><code>loader.disk.location</code>: work directory, a temporary directory by default</li>
+ *     <li><code>loader.disk.chunkSize</code>: estimated size in bytes of a chunk, 1/8 of the max heap by default</li>
+ *     <li><code>loader.disk.maxMergeFiles</code>: maximum number of runs merged at once, 256 by default</li>
+ * </ul>
+ */
+public class HDTDiskImporter implements Closeable {
+	private static final Logger log = LoggerFactory.getLogger(HDTDiskImporter.class);
+
+	/**
+	 * value of the <code>loader.type</code> option to select this importer
+	 */
+	public static final String LOADER_TYPE = "disk";
+	public static final String LOADER_DISK_LOCATION = "loader.disk.location";
+	public static final String LOADER_DISK_CHUNK_SIZE = "loader.disk.chunkSize";
+	public static final String LOADER_DISK_MAX_MERGE_FILES = "loader.disk.maxMergeFiles";
+
+	/**
+	 * estimated heap used by one component in a chunk, without the string bytes
+	 */
+	static final long STRING_OVERHEAD = 80;
+	/**
+	 * estimated heap used by one triple in a chunk
+	 */
+	static final long TRIPLE_OVERHEAD = 48;
+
+	private final HDTOptions spec;
+	private final ProgressListener listener;
+	private final Path workDir;
+	private final boolean deleteWorkDir;
+	private final long chunkSize;
+	private final int maxMergeFiles;
+
+	private final List<Run> subjectRuns = new ArrayList<>();
+	private final List<Run> predicateRuns = new ArrayList<>();
+	private final List<Run> objectRuns = new ArrayList<>();
+	private List<IndexedString> subjects = new ArrayList<>();
+	private List<IndexedString> predicates = new ArrayList<>();
+	private List<IndexedString> objects = new ArrayList<>();
+	private long chunkBytes;
+	private long numTriples;
+	private long rawSize;
+	private int nextFile;
+
+	public HDTDiskImporter(HDTOptions spec, ProgressListener listener) throws IOException {
+		this.spec = spec;
+		this.listener = listener;
+
+		String location = spec.get(LOADER_DISK_LOCATION);
+		if (location == null || location.isEmpty()) {
+			workDir = Files.createTempDirectory("hdt-disk-import");
+			deleteWorkDir = true;
+		} else {
+			workDir = Paths.get(location);
+			Files.createDirectories(workDir);
+			deleteWorkDir = false;
+		}
+
+		long size = spec.getInt(LOADER_DISK_CHUNK_SIZE);
+		if (size <= 0) {
+			size = Runtime.getRuntime().maxMemory() / 8;
+		}
+		chunkSize = Math.max(size, 1024);
+
+		long maxFiles = spec.getInt(LOADER_DISK_MAX_MERGE_FILES);
+		maxMergeFiles = (int) (maxFiles <= 0 ? 256 : Math.max(2, Math.min(maxFiles, Integer.MAX_VALUE)));
+	}
+
+	/**
+	 * generate an HDT from an RDF file
+	 */
+	public HDT importRDF(String filename, String baseUri, RDFNotation notation, boolean useSimple) throws IOException, ParserException {
+		RDFParserCallback parser = RDFParserFactory.getParserCallback(notation, useSimple, spec);
+		try {
+			parser.doParse(filename, baseUri, notation, true, (triple, pos) -> addTriple(triple));
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		return createHDT(baseUri);
+	}
+
+	/**
+	 * generate an HDT from a stream of triples
+	 */
+	public HDT importTriples(Iterator<TripleString> iterator, String baseUri) throws IOException {
+		while (iterator.hasNext()) {
+			addTriple(iterator.next());
+		}
+		return createHDT(baseUri);
+	}
+
+	private void addTriple(TripleString triple) {
+		CompactString subject = new CompactString(triple.getSubject());
+		CompactString predicate = new CompactString(triple.getPredicate());
+		CompactString object = new CompactString(triple.getObject());
+		subjects.add(new IndexedString(subject, numTriples));
+		predicates.add(new IndexedString(predicate, numTriples));
+		objects.add(new IndexedString(object, numTriples));
+		numTriples++;
+		rawSize += triple.getSubject().length() + triple.getPredicate().length() + triple.getObject().length() + 4;  // Spaces and final dot
+		chunkBytes += subject.length() + predicate.length() + object.length() + 3 * STRING_OVERHEAD;
+
+		if (chunkBytes >= chunkSize) {
+			try {
+				flushStrings();
+			} catch (IOException e) {
+				throw new UncheckedIOException(e);
+			}
+		}
+		ListenerUtil.notifyCond(listener, "Loaded " + numTriples + " triples", numTriples, 0, 100);
+	}
+
+	private Path nextFile(String name) {
+		return workDir.resolve(name + "-" + (nextFile++));
+	}
+
+	/**
+	 * sort the current chunk and write it as runs
+	 */
+	private void flushStrings() throws IOException {
+		if (subjects.isEmpty()) {
+			return;
+		}
+		List<List<IndexedString>> chunks = List.of(subjects, predicates, objects);
+		List<List<Run>> runs = List.of(subjectRuns, predicateRuns, objectRuns);
+		Path[] files = {nextFile("subjects"), nextFile("predicates"), nextFile("objects")};
+		Run[] created = new Run[3];
+		ParallelUtil.run("DiskImportSort", 3, 3, i -> {
+			List<IndexedString> chunk = chunks.get(i);
+			chunk.sort(IndexedString.getComparator());
+			try (IndexedStringWriter writer = new IndexedStringWriter(files[i])) {
+				for (IndexedString str : chunk) {
+					writer.write(str);
+				}
+				created[i] = new Run(files[i], writer.getCount());
+			}
+		});
+		for (int i = 0; i < 3; i++) {
+			runs.get(i).add(created[i]);
+		}
+		subjects = new ArrayList<>();
+		predicates = new ArrayList<>();
+		objects = new ArrayList<>();
+		chunkBytes = 0;
+	}
+
+	private HDT createHDT(String baseUri) throws IOException {
+		flushStrings();
+		log.info("Read {} triples in {} chunks", numTriples, subjectRuns.size());
+
+		IntermediateListener iListener = new IntermediateListener(listener);
+		StopWatch st = new StopWatch();
+		DictionaryPrivate dictionary;
+		BitmapTriples triples = new BitmapTriples(spec);
+
+		Path subjectIdsFile = workDir.resolve("subjectIds");
+		Path predicateIdsFile = workDir.resolve("predicateIds");
+		Path objectIdsFile = workDir.resolve("objectIds");
+		try (LongArrayDisk subjectIds = new LongArrayDisk(subjectIdsFile, numTriples, false);
+			 LongArrayDisk predicateIds = new LongArrayDisk(predicateIdsFile, numTriples, false);
+			 LongArrayDisk objectIds = new LongArrayDisk(objectIdsFile, numTriples, false)) {
+
+			iListener.setRange(0, 40);
+			dictionary = createDictionary(subjectIds, predicateIds, objectIds, iListener);
+			log.info("Dictionary created in {}", st.stopAndShow());
+
+			st.reset();
+			iListener.setRange(40, 100);
+			createTriples(triples, dictionary.getNshared(), subjectIds, predicateIds, objectIds, iListener);
+			log.info("Triples created in {}", st.stopAndShow());
+		} finally {
+			Files.deleteIfExists(subjectIdsFile);
+			Files.deleteIfExists(predicateIdsFile);
+			Files.deleteIfExists(objectIdsFile);
+		}
+
+		HeaderPrivate header = HeaderFactory.createHeader(spec);
+		HDTImpl hdt = new HDTImpl(spec);
+		hdt.loadFromParts(header, dictionary, triples);
+		hdt.populateHeaderStructure(baseUri);
+		hdt.getHeader().insert("_:statistics", HDTVocabulary.ORIGINAL_SIZE, rawSize);
+		return hdt;
+	}
+
+	/**
+	 * merge the runs into the sections, the ids are stored by triple index as (id &lt;&lt; 1) | shared
+	 */
+	private DictionaryPrivate createDictionary(LongArrayDisk subjectIds, LongArrayDisk predicateIds, LongArrayDisk objectIds,
+			ProgressListener listener) throws IOException {
+		Path sharedFile = workDir.resolve("shared");
+		Path subjectsFile = workDir.resolve("subjects");
+		Path predicatesFile = workDir.resolve("predicates");
+		Path objectsFile = workDir.resolve("objects");
+
+		long nShared, nSubjects, nPredicates, nObjects;
+		List<Closeable> readers = new ArrayList<>();
+		try {
+			try (IndexedStringWriter sharedWriter = new IndexedStringWriter(sharedFile);
+				 IndexedStringWriter subjectsWriter = new IndexedStringWriter(subjectsFile);
+				 IndexedStringWriter objectsWriter = new IndexedStringWriter(objectsFile)) {
+				Iterator<IndexedString> itSubject = merge(subjectRuns, readers);
+				Iterator<IndexedString> itObject = merge(objectRuns, readers);
+				IndexedString subject = itSubject.hasNext() ? itSubject.next() : null;
+				IndexedString object = itObject.hasNext() ? itObject.next() : null;
+				Comparator<IndexedString> comparator = IndexedString.getComparator();
+
+				long count = 0;
+				while (subject != null || object != null) {
+					int cmp;
+					if (subject == null) {
+						cmp = 1;
+					} else if (object == null) {
+						cmp = -1;
+					} else {
+						cmp = comparator.compare(subject, object);
+					}
+					CompactString str = cmp <= 0 ? subject.str : object.str;
+
+					// same rule as the temporal dictionaries, literals are never shared
+					boolean shared = cmp == 0 && str.length() > 0 && str.charAt(0) != '"';
+					long subjectValue = 0;
+					long objectValue = 0;
+					if (shared) {
+						sharedWriter.write(str, 0);
+						subjectValue = objectValue = (sharedWriter.getCount() << 1) | 1;
+					} else {
+						if (cmp <= 0) {
+							subjectsWriter.write(str, 0);
+							subjectValue = subjectsWriter.getCount() << 1;
+						}
+						if (cmp >= 0) {
+							objectsWriter.write(str, 0);
+							objectValue = objectsWriter.getCount() << 1;
+						}
+					}
+
+					if (cmp <= 0) {
+						while (subject != null && subject.str.equals(str)) {
+							subjectIds.set(subject.index, subjectValue);
+							subject = itSubject.hasNext() ? itSubject.next() : null;
+							count++;
+						}
+					}
+					if (cmp >= 0) {
+						while (object != null && object.str.equals(str)) {
+							objectIds.set(object.index, objectValue);
+							object = itObject.hasNext() ? itObject.next() : null;
+							count++;
+						}
+					}
+					ListenerUtil.notifyCond(listener, "Merging subjects and objects", count, count, numTriples * 2);
+				}
+				nShared = sharedWriter.getCount();
+				nSubjects = subjectsWriter.getCount();
+				nObjects = objectsWriter.getCount();
+			}
+
+			try (IndexedStringWriter predicatesWriter = new IndexedStringWriter(predicatesFile)) {
+				Iterator<IndexedString> itPredicate = merge(predicateRuns, readers);
+				CompactString last = null;
+				while (itPredicate.hasNext()) {
+					IndexedString predicate = itPredicate.next();
+					if (last == null || !last.equals(predicate.str)) {
+						predicatesWriter.write(predicate.str, 0);
+						last = predicate.str;
+					}
+					predicateIds.set(predicate.index, predicatesWriter.getCount());
+				}
+				nPredicates = predicatesWriter.getCount();
+			}
+		} finally {
+			IOUtil.closeAll(readers);
+			deleteRuns(subjectRuns);
+			deleteRuns(predicateRuns);
+			deleteRuns(objectRuns);
+		}
+
+		try {
+			String type = spec.get("dictionary.type");
+			DictionarySectionPrivate shared, subjects, predicates, objects;
+			if (DictionaryFactory.DICTIONARY_TYPE_FOUR_SECTION_BIG.equals(type)) {
+				shared = new PFCDictionarySectionBig(spec);
+				subjects = new PFCDictionarySectionBig(spec);
+				predicates = new PFCDictionarySectionBig(spec);
+				objects = new PFCDictionarySectionBig(spec);
+			} else if (type == null || HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION.equals(type)) {
+				shared = new PFCDictionarySection(spec);
+				subjects = new PFCDictionarySection(spec);
+				predicates = new PFCDictionarySection(spec);
+				objects = new PFCDictionarySection(spec);
+			} else {
+				throw new NotImplementedException("The disk loader can't create a dictionary of type " + type);
+			}
+			loadSection(shared, sharedFile, nShared, listener);
+			loadSection(subjects, subjectsFile, nSubjects, listener);
+			loadSection(predicates, predicatesFile, nPredicates, listener);
+			loadSection(objects, objectsFile, nObjects, listener);
+
+			if (shared instanceof PFCDictionarySectionBig) {
+				return new FourSectionDictionaryBig(spec, subjects, predicates, objects, shared);
+			}
+			return new FourSectionDictionary(spec, subjects, predicates, objects, shared);
+		} finally {
+			Files.deleteIfExists(sharedFile);
+			Files.deleteIfExists(subjectsFile);
+			Files.deleteIfExists(predicatesFile);
+			Files.deleteIfExists(objectsFile);
+		}
+	}
+
+	private static void loadSection(DictionarySectionPrivate section, Path file, long count, ProgressListener listener) throws IOException {
+		try (IndexedStringReader reader = new IndexedStringReader(file, count)) {
+			Iterator<CharSequence> it = new Iterator<CharSequence>() {
+				@Override
+				public boolean hasNext() {
+					return reader.hasNext();
+				}
+
+				@Override
+				public CharSequence next() {
+					return reader.next().str;
+				}
+			};
+			if (section instanceof PFCDictionarySectionBig) {
+				((PFCDictionarySectionBig) section).load(it, count, listener);
+			} else {
+				((PFCDictionarySection) section).load(it, count, listener);
+			}
+		}
+	}
+
+	/**
+	 * sort the id triples in chunks and merge them into the triples
+	 */
+	private void createTriples(BitmapTriples triples, long nShared, LongArrayDisk subjectIds, LongArrayDisk predicateIds,
+			LongArrayDisk objectIds, ProgressListener listener) throws IOException {
+		TripleComponentOrder order = triples.getOrder();
+		Comparator<TripleID> comparator = TripleIDComparator.getComparator(order);
+		int chunkTriples = (int) Math.max(1, Math.min(Integer.MAX_VALUE - 8, chunkSize / TRIPLE_OVERHEAD));
+
+		List<Run> tripleRuns = new ArrayList<>();
+		List<Closeable> readers = new ArrayList<>();
+		try {
+			List<TripleID> chunk = new ArrayList<>();
+			for (long start = 0; start < numTriples; start += chunkTriples) {
+				long end = Math.min(numTriples, start + chunkTriples);
+				chunk.clear();
+				for (long i = start; i < end; i++) {
+					chunk.add(new TripleID(
+							toGlobalId(subjectIds.get(i), nShared),
+							predicateIds.get(i),
+							toGlobalId(objectIds.get(i), nShared)
+					));
+				}
+				chunk.sort(comparator);
+
+				Path file = nextFile("triples");
+				try (TripleIDRunWriter writer = new TripleIDRunWriter(file)) {
+					TripleID last = null;
+					for (TripleID triple : chunk) {
+						if (last == null || !last.equals(triple)) {
+							writer.write(triple);
+						}
+						last = triple;
+					}
+					tripleRuns.add(new Run(file, writer.getCount()));
+				}
+				ListenerUtil.notify(listener, "Sorting triples", end, numTriples);
+			}
+			chunk = null;
+
+			Iterator<TripleID> merged = mergeTriples(tripleRuns, comparator, readers);
+			triples.load(new DedupTripleIDIterator(merged, numTriples, order), listener);
+		} finally {
+			IOUtil.closeAll(readers);
+			deleteRuns(tripleRuns);
+		}
+	}
+
+	private Iterator<TripleID> mergeTriples(List<Run> runs, Comparator<TripleID> comparator, List<Closeable> readers) throws IOException {
+		// merge groups of runs until they can be opened at once
+		while (runs.size() > maxMergeFiles) {
+			List<Run> group = new ArrayList<>(runs.subList(0, maxMergeFiles));
+			runs.subList(0, maxMergeFiles).clear();
+			Path file = nextFile("triples");
+			List<Closeable> groupReaders = new ArrayList<>();
+			try (TripleIDRunWriter writer = new TripleIDRunWriter(file)) {
+				Iterator<TripleID> it = mergeTriples(group, comparator, groupReaders);
+				while (it.hasNext()) {
+					writer.write(it.next());
+				}
+				runs.add(new Run(file, writer.getCount()));
+			} finally {
+				IOUtil.closeAll(groupReaders);
+				deleteRuns(group);
+			}
+		}
+		List<Iterator<TripleID>> its = new ArrayList<>();
+		for (Run run : runs) {
+			TripleIDRunReader reader = new TripleIDRunReader(run.file, run.count);
+			readers.add(reader);
+			its.add(reader);
+		}
+		return new MultiMerge<>(its.iterator(), comparator);
+	}
+
+	private static long toGlobalId(long value, long nShared) {
+		long id = value >>> 1;
+		return (value & 1) != 0 ? id : nShared + id;
+	}
+
+	private Iterator<IndexedString> merge(List<Run> runs, List<Closeable> readers) throws IOException {
+		// merge groups of runs until they can be opened at once
+		while (runs.size() > maxMergeFiles) {
+			List<Run> group = new ArrayList<>(runs.subList(0, maxMergeFiles));
+			runs.subList(0, maxMergeFiles).clear();
+			Path file = nextFile("strings");
+			List<Closeable> groupReaders = new ArrayList<>();
+			try (IndexedStringWriter writer = new IndexedStringWriter(file)) {
+				Iterator<IndexedString> it = merge(group, groupReaders);
+				while (it.hasNext()) {
+					writer.write(it.next());
+				}
+				runs.add(new Run(file, writer.getCount()));
+			} finally {
+				IOUtil.closeAll(groupReaders);
+				deleteRuns(group);
+			}
+		}
+		List<Iterator<IndexedString>> its = new ArrayList<>();
+		for (Run run : runs) {
+			IndexedStringReader reader = new IndexedStringReader(run.file, run.count);
+			readers.add(reader);
+			its.add(reader);
+		}
+		return new MultiMerge<>(its.iterator(), IndexedString.getComparator());
+	}
+
+	private static void deleteRuns(List<Run> runs) throws IOException {
+		for (Run run : runs) {
+			Files.deleteIfExists(run.file);
+		}
+		runs.clear();
+	}
+
+	@Override
+	public void close() throws IOException {
+		deleteRuns(subjectRuns);
+		deleteRuns(predicateRuns);
+		deleteRuns(objectRuns);
+		if (deleteWorkDir) {
+			try (Stream<Path> files = Files.list(workDir)) {
+				for (Iterator<Path> it = files.iterator(); it.hasNext(); ) {
+					Files.deleteIfExists(it.next());
+				}
+			}
+			Files.deleteIfExists(workDir);
+		}
+	}
+
+	private static class Run {
+		final Path file;
+		final long count;
+
+		Run(Path file, long count) {
+			this.file = file;
+			this.count = count;
+		}
+	}
+
+	/**
+	 * Skips the duplicates of a sorted merge. The previous triple is kept by value because
+	 * {@link BitmapTriples#load(IteratorTripleID, ProgressListener)} reorders the returned triples in place.
+	 */
+	private static class DedupTripleIDIterator implements IteratorTripleID {
+		private final Iterator<TripleID> it;
+		private final long estimation;
+		private final TripleComponentOrder order;
+		private final TripleID last = new TripleID();
+		private TripleID next;
+
+		DedupTripleIDIterator(Iterator<TripleID> it, long estimation, TripleComponentOrder order) {
+			this.it = it;
+			this.estimation = estimation;
+			this.order = order;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (next == null && it.hasNext()) {
+				TripleID triple = it.next();
+				if (!triple.equals(last)) {
+					last.assign(triple);
+					next = triple;
+				}
+			}
+			return next != null;
+		}
+
+		@Override
+		public TripleID next() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			TripleID triple = next;
+			next = null;
+			return triple;
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			return false;
+		}
+
+		@Override
+		public TripleID previous() {
+			throw new NotImplementedException();
+		}
+
+		@Override
+		public void goToStart() {
+			throw new NotImplementedException();
+		}
+
+		@Override
+		public boolean canGoTo() {
+			return false;
+		}
+
+		@Override
+		public void goTo(long pos) {
+			throw new NotImplementedException();
+		}
+
+		@Override
+		public long estimatedNumResults() {
+			return estimation;
+		}
+
+		@Override
+		public ResultEstimationType numResultEstimation() {
+			return ResultEstimationType.UP_TO;
+		}
+
+		@Override
+		public TripleComponentOrder getOrder() {
+			return order;
+		}
+
+		@Override
+		public long getLastTriplePosition() {
+			throw new NotImplementedException();
+		}
+	}
+}
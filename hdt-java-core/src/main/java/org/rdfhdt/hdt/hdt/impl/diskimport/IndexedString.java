@@ -0,0 +1,34 @@
+package org.rdfhdt.hdt.hdt.impl.diskimport;
+
+import java.util.Comparator;
+
+import org.rdfhdt.hdt.util.string.CharSequenceComparator;
+import org.rdfhdt.hdt.util.string.CompactString;
+
+/**
+ * A component string with the index of the triple it was read from.
+ */
+public class IndexedString {
+	private static final Comparator<IndexedString> COMPARATOR =
+			(a, b) -> CharSequenceComparator.getInstance().compare(a.str, b.str);
+
+	public static Comparator<IndexedString> getComparator() {
+		return COMPARATOR;
+	}
+
+	final CompactString str;
+	final long index;
+
+	public IndexedString(CompactString str, long index) {
+		this.str = str;
+		this.index = index;
+	}
+
+	public CompactString getString() {
+		return str;
+	}
+
+	public long getIndex() {
+		return index;
+	}
+}
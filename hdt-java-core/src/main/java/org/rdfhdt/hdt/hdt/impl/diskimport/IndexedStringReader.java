@@ -0,0 +1,60 @@
+package org.rdfhdt.hdt.hdt.impl.diskimport;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.util.string.CompactString;
+import org.rdfhdt.hdt.util.string.ReplazableString;
+
+/**
+ * Reads a run written by {@link IndexedStringWriter}.
+ */
+public class IndexedStringReader implements Iterator<IndexedString>, Closeable {
+	private final DataInputStream in;
+	private final ReplazableString buffer = new ReplazableString();
+	private byte[] suffixBuffer = new byte[64];
+	private long remaining;
+
+	public IndexedStringReader(Path file, long count) throws IOException {
+		in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)));
+		remaining = count;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return remaining > 0;
+	}
+
+	@Override
+	public IndexedString next() {
+		if (remaining <= 0) {
+			throw new NoSuchElementException();
+		}
+		try {
+			int prefix = (int) VByte.decode(in);
+			int suffix = (int) VByte.decode(in);
+			if (suffixBuffer.length < suffix) {
+				suffixBuffer = new byte[Math.max(suffix, suffixBuffer.length * 2)];
+			}
+			in.readFully(suffixBuffer, 0, suffix);
+			buffer.replace(prefix, suffixBuffer, 0, suffix);
+			long index = VByte.decode(in);
+			remaining--;
+			return new IndexedString(new CompactString(buffer), index);
+		} catch (IOException e) {
+			throw new RuntimeException("Can't read sorted run", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
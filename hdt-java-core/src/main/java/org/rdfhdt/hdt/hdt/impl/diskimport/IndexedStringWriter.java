@@ -0,0 +1,56 @@
+package org.rdfhdt.hdt.hdt.impl.diskimport;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.util.string.CompactString;
+
+/**
+ * Writes a sorted run of {@link IndexedString}, each string is stored as the length of the prefix shared with
+ * the previous one and the remaining bytes, followed by the triple index.
+ */
+public class IndexedStringWriter implements Closeable {
+	private final OutputStream out;
+	private byte[] previous = new byte[0];
+	private long count;
+
+	public IndexedStringWriter(Path file) throws IOException {
+		out = new BufferedOutputStream(Files.newOutputStream(file));
+	}
+
+	public void write(IndexedString str) throws IOException {
+		write(str.str, str.index);
+	}
+
+	public void write(CompactString str, long index) throws IOException {
+		byte[] data = str.getData();
+		int prefix = 0;
+		int max = Math.min(previous.length, data.length);
+		while (prefix < max && previous[prefix] == data[prefix]) {
+			prefix++;
+		}
+		VByte.encode(out, prefix);
+		VByte.encode(out, data.length - prefix);
+		out.write(data, prefix, data.length - prefix);
+		VByte.encode(out, index);
+		previous = data;
+		count++;
+	}
+
+	/**
+	 * @return number of strings written
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
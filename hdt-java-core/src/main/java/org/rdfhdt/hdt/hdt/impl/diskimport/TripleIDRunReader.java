@@ -0,0 +1,52 @@
+package org.rdfhdt.hdt.hdt.impl.diskimport;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.triples.TripleID;
+
+/**
+ * Reads a run written by {@link TripleIDRunWriter}.
+ */
+public class TripleIDRunReader implements Iterator<TripleID>, Closeable {
+	private final InputStream in;
+	private long remaining;
+
+	public TripleIDRunReader(Path file, long count) throws IOException {
+		in = new BufferedInputStream(Files.newInputStream(file));
+		remaining = count;
+	}
+
+	@Override
+	public boolean hasNext() {
+		return remaining > 0;
+	}
+
+	@Override
+	public TripleID next() {
+		if (remaining <= 0) {
+			throw new NoSuchElementException();
+		}
+		try {
+			long subject = VByte.decode(in);
+			long predicate = VByte.decode(in);
+			long object = VByte.decode(in);
+			remaining--;
+			return new TripleID(subject, predicate, object);
+		} catch (IOException e) {
+			throw new RuntimeException("Can't read sorted run", e);
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		in.close();
+	}
+}
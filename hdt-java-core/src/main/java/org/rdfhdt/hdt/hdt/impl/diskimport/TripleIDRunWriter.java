@@ -0,0 +1,42 @@
+package org.rdfhdt.hdt.hdt.impl.diskimport;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.triples.TripleID;
+
+/**
+ * Writes a sorted run of triples as three VByte numbers per triple.
+ */
+public class TripleIDRunWriter implements Closeable {
+	private final OutputStream out;
+	private long count;
+
+	public TripleIDRunWriter(Path file) throws IOException {
+		out = new BufferedOutputStream(Files.newOutputStream(file));
+	}
+
+	public void write(TripleID triple) throws IOException {
+		VByte.encode(out, triple.getSubject());
+		VByte.encode(out, triple.getPredicate());
+		VByte.encode(out, triple.getObject());
+		count++;
+	}
+
+	/**
+	 * @return number of triples written
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		out.close();
+	}
+}
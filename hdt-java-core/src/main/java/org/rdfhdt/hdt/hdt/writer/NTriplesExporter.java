@@ -0,0 +1,359 @@
+package org.rdfhdt.hdt.hdt.writer;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorOutputStream;
+import org.rdfhdt.hdt.compact.bitmap.Bitmap;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.NotFoundException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.triples.IteratorTripleString;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.triples.impl.BitmapTriples;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
+import org.rdfhdt.hdt.util.io.NonCloseOutputStream;
+import org.rdfhdt.hdt.util.io.ParallelFileWriter;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+
+/**
+ * Export an HDT as N-Triples using multiple threads.
+ * <p>
+ * The SPO triples are split into partitions of consecutive subjects holding about the same number of triples, the
+ * bounds are found with the rank/select operations of the bitmaps. Each partition is decoded by its own worker,
+ * the ids of a block of triples are translated in sorted order so the dictionary reads stay local. The partitions
+ * are then concatenated in order, so the output is the same as the sequential export of
+ * {@link HDT#search(CharSequence, CharSequence, CharSequence)}.
+ * <p>
+ * HDTs that are not {@link BitmapTriples} in SPO order are exported sequentially.
+ */
+public class NTriplesExporter {
+	/** number of triples translated at once by a worker */
+	private static final int BLOCK_SIZE = 4096;
+	/** size of the buffer of a partition */
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	/**
+	 * Compression of the output, each partition is a compressed member, the concatenation of members is a valid
+	 * gzip or zstd stream.
+	 */
+	public enum Compression {
+		NONE(""),
+		GZIP(".gz"),
+		ZSTD(".zst");
+
+		private final String extension;
+
+		Compression(String extension) {
+			this.extension = extension;
+		}
+
+		/**
+		 * @return the file extension of the compression, empty for {@link #NONE}
+		 */
+		public String getExtension() {
+			return extension;
+		}
+
+		/**
+		 * read a compression name
+		 *
+		 * @param name the name, case insensitive: none, gzip (or gz) or zstd (or zst)
+		 * @return the compression
+		 * @throws IllegalArgumentException unknown name
+		 */
+		public static Compression parse(String name) {
+			switch (name.toLowerCase()) {
+				case "":
+				case "none":
+					return NONE;
+				case "gz":
+				case "gzip":
+					return GZIP;
+				case "zst":
+				case "zstd":
+					return ZSTD;
+				default:
+					throw new IllegalArgumentException("Unknown compression: " + name);
+			}
+		}
+
+		/**
+		 * wrap a stream, closing the returned stream completes the compressed member but doesn't close the
+		 * original stream
+		 *
+		 * @param output the stream
+		 * @return compressing stream
+		 * @throws IOException can't create the compressor
+		 */
+		public OutputStream wrap(OutputStream output) throws IOException {
+			OutputStream out = new NonCloseOutputStream(output);
+			switch (this) {
+				case GZIP:
+					return new GZIPOutputStream(out, BUFFER_SIZE);
+				case ZSTD:
+					return new ZstdCompressorOutputStream(out);
+				default:
+					return out;
+			}
+		}
+	}
+
+	/**
+	 * range of consecutive subjects, with the positions of its first triple
+	 */
+	static class Partition {
+		final long subject;
+		final long posY;
+		final long posZ;
+		final long endZ;
+
+		Partition(long subject, long posY, long posZ, long endZ) {
+			this.subject = subject;
+			this.posY = posY;
+			this.posZ = posZ;
+			this.endZ = endZ;
+		}
+	}
+
+	private final HDT hdt;
+	private final BitmapTriples triples;
+
+	/**
+	 * @param hdt the HDT to export
+	 */
+	public NTriplesExporter(HDT hdt) {
+		this.hdt = hdt;
+		if (hdt.getTriples() instanceof BitmapTriples
+				&& ((BitmapTriples) hdt.getTriples()).getOrder() == TripleComponentOrder.SPO) {
+			this.triples = (BitmapTriples) hdt.getTriples();
+		} else {
+			this.triples = null;
+		}
+	}
+
+	/**
+	 * export the HDT in a stream
+	 *
+	 * @param output      the stream, not closed
+	 * @param tempDir     directory of the temporary partition files, null for the default temporary directory
+	 * @param compression compression of the output
+	 * @param numThreads  number of workers
+	 * @param listener    listener
+	 * @throws IOException error while writing
+	 */
+	public void export(OutputStream output, Path tempDir, Compression compression, int numThreads, ProgressListener listener) throws IOException {
+		// a few partitions by thread to balance the work
+		List<ParallelFileWriter.Part> parts = getParts(compression, numThreads == 1 ? 1 : numThreads * 4);
+		if (tempDir == null) {
+			tempDir = Paths.get(System.getProperty("java.io.tmpdir"));
+		}
+		ParallelFileWriter.write(output, tempDir, parts, numThreads, listener);
+		output.flush();
+	}
+
+	/**
+	 * export the HDT in shard files named prefix-00000.nt[.gz|.zst], the concatenation of the shards is the
+	 * complete export
+	 *
+	 * @param dir         directory of the shards
+	 * @param prefix      prefix of the shard names
+	 * @param numShards   maximum number of shards, can be less with few subjects
+	 * @param compression compression of the shards
+	 * @param numThreads  number of workers
+	 * @param listener    listener
+	 * @return the shard files, in order
+	 * @throws IOException error while writing
+	 */
+	public List<Path> exportShards(Path dir, String prefix, int numShards, Compression compression, int numThreads, ProgressListener listener) throws IOException {
+		Files.createDirectories(dir);
+		List<ParallelFileWriter.Part> parts = getParts(compression, numShards);
+		List<Path> shards = new ArrayList<>(parts.size());
+		for (int i = 0; i < parts.size(); i++) {
+			shards.add(dir.resolve(String.format("%s-%05d.nt%s", prefix, i, compression.getExtension())));
+		}
+		AtomicInteger done = new AtomicInteger();
+		ParallelUtil.run("NTriplesExporter", numThreads, parts.size(), index -> {
+			try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(shards.get(index)))) {
+				parts.get(index).write(out, null);
+			}
+			synchronized (shards) {
+				ListenerUtil.notify(listener, "Writing shards", done.incrementAndGet(), parts.size());
+			}
+		});
+		return shards;
+	}
+
+	private List<ParallelFileWriter.Part> getParts(Compression compression, int numPartitions) {
+		List<ParallelFileWriter.Part> parts = new ArrayList<>();
+		if (triples == null) {
+			parts.add((out, listener) -> {
+				try (Writer writer = createWriter(compression, out)) {
+					writeSequential(writer);
+				}
+			});
+			return parts;
+		}
+
+		CharSequence[] predicates = extractPredicates();
+		for (Partition partition : getPartitions(numPartitions)) {
+			parts.add((out, listener) -> {
+				try (Writer writer = createWriter(compression, out)) {
+					writePartition(writer, partition, predicates);
+				}
+			});
+		}
+		return parts;
+	}
+
+	private static Writer createWriter(Compression compression, OutputStream out) throws IOException {
+		return new BufferedWriter(new OutputStreamWriter(compression.wrap(out), StandardCharsets.UTF_8), BUFFER_SIZE);
+	}
+
+	/**
+	 * split the triples in subject ranges with about the same number of triples
+	 *
+	 * @param numPartitions maximum number of partitions
+	 * @return the partitions, empty without triples
+	 */
+	List<Partition> getPartitions(int numPartitions) {
+		Bitmap bitmapY = triples.getBitmapY();
+		Bitmap bitmapZ = triples.getBitmapZ();
+		long numTriples = triples.getSeqZ().getNumberOfElements();
+		if (numTriples == 0) {
+			return new ArrayList<>();
+		}
+
+		List<Long> subjects = new ArrayList<>();
+		subjects.add(1L);
+		for (int k = 1; k < numPartitions; k++) {
+			long z = numTriples * k / numPartitions;
+			if (z == 0) {
+				continue;
+			}
+			// subject of the triple z
+			long y = bitmapZ.rank1(z - 1);
+			long subject = (y == 0 ? 0 : bitmapY.rank1(y - 1)) + 1;
+			if (subject > subjects.get(subjects.size() - 1)) {
+				subjects.add(subject);
+			}
+		}
+
+		List<Partition> partitions = new ArrayList<>(subjects.size());
+		long[] posY = new long[subjects.size() + 1];
+		long[] posZ = new long[subjects.size() + 1];
+		for (int i = 0; i < subjects.size(); i++) {
+			long subject = subjects.get(i);
+			posY[i] = subject == 1 ? 0 : bitmapY.select1(subject - 1) + 1;
+			posZ[i] = posY[i] == 0 ? 0 : bitmapZ.select1(posY[i]) + 1;
+		}
+		posZ[subjects.size()] = numTriples;
+		for (int i = 0; i < subjects.size(); i++) {
+			partitions.add(new Partition(subjects.get(i), posY[i], posZ[i], posZ[i + 1]));
+		}
+		return partitions;
+	}
+
+	private CharSequence[] extractPredicates() {
+		Dictionary dictionary = hdt.getDictionary();
+		CharSequence[] predicates = new CharSequence[(int) dictionary.getNpredicates() + 1];
+		for (int p = 1; p < predicates.length; p++) {
+			predicates[p] = dictionary.idToString(p, TripleComponentRole.PREDICATE).toString();
+		}
+		return predicates;
+	}
+
+	private void writeSequential(Writer writer) throws IOException {
+		try {
+			IteratorTripleString it = hdt.search("", "", "");
+			while (it.hasNext()) {
+				it.next().dumpNtriple(writer);
+			}
+		} catch (NotFoundException e) {
+			// empty HDT
+		}
+	}
+
+	private void writePartition(Writer writer, Partition partition, CharSequence[] predicates) throws IOException {
+		Dictionary dictionary = hdt.getDictionary();
+		Sequence seqY = triples.getSeqY();
+		Sequence seqZ = triples.getSeqZ();
+		Bitmap bitmapY = triples.getBitmapY();
+		Bitmap bitmapZ = triples.getBitmapZ();
+
+		long[] blockS = new long[BLOCK_SIZE];
+		long[] blockP = new long[BLOCK_SIZE];
+		long[] blockO = new long[BLOCK_SIZE];
+		long[] sortedO = new long[BLOCK_SIZE];
+		CharSequence[] objects = new CharSequence[BLOCK_SIZE];
+		TripleString triple = new TripleString();
+
+		long subject = partition.subject;
+		long posY = partition.posY;
+		long predicate = seqY.get(posY);
+		long lastSubject = 0;
+		CharSequence subjectString = null;
+		int size = 0;
+
+		for (long posZ = partition.posZ; posZ < partition.endZ; posZ++) {
+			blockS[size] = subject;
+			blockP[size] = predicate;
+			blockO[size] = seqZ.get(posZ);
+			size++;
+
+			if (bitmapZ.access(posZ)) {
+				// end of the objects of this predicate
+				if (bitmapY.access(posY)) {
+					// end of the predicates of this subject
+					subject++;
+				}
+				posY++;
+				if (posZ + 1 < partition.endZ) {
+					predicate = seqY.get(posY);
+				}
+			}
+
+			if (size == BLOCK_SIZE || posZ + 1 == partition.endZ) {
+				// translate the objects in id order
+				System.arraycopy(blockO, 0, sortedO, 0, size);
+				Arrays.sort(sortedO, 0, size);
+				int unique = 0;
+				for (int i = 0; i < size; i++) {
+					if (unique == 0 || sortedO[unique - 1] != sortedO[i]) {
+						sortedO[unique] = sortedO[i];
+						objects[unique] = dictionary.idToString(sortedO[i], TripleComponentRole.OBJECT);
+						unique++;
+					}
+				}
+
+				for (int i = 0; i < size; i++) {
+					if (blockS[i] != lastSubject) {
+						lastSubject = blockS[i];
+						subjectString = dictionary.idToString(lastSubject, TripleComponentRole.SUBJECT);
+					}
+					CharSequence object = objects[Arrays.binarySearch(sortedO, 0, unique, blockO[i])];
+					triple.setAll(subjectString, predicates[(int) blockP[i]], object);
+					triple.dumpNtriple(writer);
+				}
+				size = 0;
+			}
+		}
+	}
+}
@@ -29,42 +29,62 @@ package org.rdfhdt.hdt.rdf;
 
 import org.rdfhdt.hdt.enums.RDFNotation;
 import org.rdfhdt.hdt.exceptions.NotImplementedException;
+import org.rdfhdt.hdt.options.HDTOptions;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserDir;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserHDT;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserList;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserRAR;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserRIOT;
-import org.rdfhdt.hdt.rdf.parsers.RDFParserSimple;
+import org.rdfhdt.hdt.rdf.parsers.RDFParserSimpleParallel;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserTar;
 import org.rdfhdt.hdt.rdf.parsers.RDFParserZip;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
 
 /**
  * @author mario.arias
  *
  */
 public class RDFParserFactory {
+	/**
+	 * key of the number of threads of the parser, 0 or absent for one per available processor
+	 */
+	public static final String PARSER_THREADS = "parser.threads";
+
 	public static RDFParserCallback getParserCallback(RDFNotation notation) {
 		return getParserCallback(notation, false);
 	}
 	public static RDFParserCallback getParserCallback(RDFNotation notation, boolean useSimple) {
+		return getParserCallback(notation, useSimple, 0);
+	}
+	/**
+	 * @param spec options, the number of threads is read from {@link #PARSER_THREADS}, can be null
+	 */
+	public static RDFParserCallback getParserCallback(RDFNotation notation, boolean useSimple, HDTOptions spec) {
+		return getParserCallback(notation, useSimple, ParallelUtil.getThreadCount(spec, PARSER_THREADS));
+	}
+	/**
+	 * @param threads number of threads of the parser, 0 or negative for one per available processor, 1 when the
+	 *                parser is already run by a parallel caller
+	 */
+	public static RDFParserCallback getParserCallback(RDFNotation notation, boolean useSimple, int threads) {
 		switch(notation) {
 			case NTRIPLES:
+			case NQUAD:
 				if (useSimple) {
-					return new RDFParserSimple();
+					return new RDFParserSimpleParallel(threads, RDFParserSimpleParallel.DEFAULT_CHUNK_SIZE);
 				}
-			case NQUAD:
 			case TURTLE:
 			case N3:
 			case RDFXML:
-				return new RDFParserRIOT();
+				return new RDFParserRIOT(threads);
 			case DIR:
-				return new RDFParserDir(useSimple);
+				return new RDFParserDir(useSimple, threads);
 			case LIST:
 				return new RDFParserList();
 			case ZIP:
-				return new RDFParserZip(useSimple);
+				return new RDFParserZip(useSimple, threads);
 			case TAR:
-				return new RDFParserTar(useSimple);
+				return new RDFParserTar(useSimple, threads);
 			case RAR:
 				return new RDFParserRAR(useSimple);
 			case HDT:
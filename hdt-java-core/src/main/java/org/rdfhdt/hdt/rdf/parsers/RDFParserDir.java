@@ -6,6 +6,7 @@ import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.rdf.RDFParserCallback;
 import org.rdfhdt.hdt.rdf.RDFParserFactory;
 import org.rdfhdt.hdt.util.ContainerException;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -14,16 +15,32 @@ import java.io.InputStream;
 import java.nio.file.Files;
 import java.nio.file.InvalidPathException;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
 
 /**
+ * Parse the files of a directory and of its sub-directories, the files are parsed concurrently and their
+ * triples are sent to the callback one at a time.
+ *
  * @author Antoine Willerval
  */
 public class RDFParserDir implements RDFParserCallback {
 	private static final Logger log = LoggerFactory.getLogger(RDFParserDir.class);
 	private final boolean simple;
+	private final int threads;
 
-	public RDFParserDir(boolean simple) {
+	/**
+	 * @param simple  use the simple parser for the N-Triples files
+	 * @param threads number of files parsed at the same time, 0 or negative for one per available processor
+	 */
+	public RDFParserDir(boolean simple, int threads) {
 		this.simple = simple;
+		this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	public RDFParserDir(boolean simple) {
+		this(simple, 0);
 	}
 
 	public RDFParserDir() {
@@ -39,30 +56,44 @@ public class RDFParserDir implements RDFParserCallback {
 		}
 	}
 
+	private void listFiles(Path p, List<Path> files) throws IOException {
+		try (Stream<Path> children = Files.list(p)) {
+			for (Path child : (Iterable<Path>) children::iterator) {
+				if (Files.isDirectory(child)) {
+					listFiles(child, files);
+				} else {
+					files.add(child);
+				}
+			}
+		}
+	}
+
 	private void doParse(Path p, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
 		if (notation != RDFNotation.DIR) {
 			throw new IllegalArgumentException("Can't parse notation different than " + RDFNotation.DIR + "!");
 		}
+		RDFCallback synchronizedCallback = new SynchronizedRDFCallback(callback);
 		try {
-			Files.list(p).forEach(child -> {
+			List<Path> files = new ArrayList<>();
+			listFiles(p, files);
+			ParallelUtil.run("RDFParserDir", threads, files.size(), index -> {
+				Path child = files.get(index);
+				RDFParserCallback rdfParserCallback;
+				RDFNotation childNotation;
+				try {
+					// get the notation of the file
+					childNotation = RDFNotation.guess(child.toFile());
+					// the files are already parsed concurrently, a single file can use all the threads
+					rdfParserCallback = RDFParserFactory.getParserCallback(childNotation, simple, files.size() == 1 ? threads : 1);
+				} catch (IllegalArgumentException e) {
+					log.warn("Ignore file {}", child, e);
+					return;
+				}
+				log.debug("parse {}", child);
+				// we can parse it, parsing it
 				try {
-					if (Files.isDirectory(child)) {
-						doParse(child, baseUri, RDFNotation.DIR, keepBNode, callback);
-						return;
-					}
-					RDFParserCallback rdfParserCallback;
-					RDFNotation childNotation;
-					try {
-						// get the notation of the file
-						childNotation = RDFNotation.guess(child.toFile());
-						rdfParserCallback = RDFParserFactory.getParserCallback(childNotation, simple);
-					} catch (IllegalArgumentException e) {
-						log.warn("Ignore file {}", child, e);
-						return;
-					}
-					log.debug("parse {}", child);
-					// we can parse it, parsing it
-					rdfParserCallback.doParse(child.toAbsolutePath().toString(), baseUri, childNotation, keepBNode, callback);
+					rdfParserCallback.doParse(child.toAbsolutePath().toString(), baseUri, childNotation, keepBNode,
+							files.size() == 1 ? callback : synchronizedCallback);
 				} catch (ParserException e) {
 					throw new ContainerException(e);
 				}
@@ -1,20 +1,38 @@
 package org.rdfhdt.hdt.rdf.parsers;
 
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
+import org.rdfhdt.hdt.dictionary.DictionaryPrivate;
 import org.rdfhdt.hdt.enums.RDFNotation;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
 import org.rdfhdt.hdt.exceptions.NotFoundException;
 import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.hdt.HDTVersion;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.header.HeaderFactory;
+import org.rdfhdt.hdt.options.ControlInfo;
+import org.rdfhdt.hdt.options.ControlInformation;
 import org.rdfhdt.hdt.rdf.RDFParserCallback;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.triples.TriplesFactory;
+import org.rdfhdt.hdt.triples.TriplesPrivate;
+import org.rdfhdt.hdt.triples.impl.BitmapTriplesStreamReader;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.nio.file.Path;
 
 /**
+ * Parse the triples of an HDT. A file is mapped, a stream is read without copy: the header and the dictionary are
+ * loaded, then the triples are decoded while they are read, see {@link BitmapTriplesStreamReader}.
+ *
  * @author Antoine Willerval
  */
 public class RDFParserHDT implements RDFParserCallback {
@@ -33,14 +51,47 @@ public class RDFParserHDT implements RDFParserCallback {
 	@Override
 	public void doParse(InputStream in, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
 		try {
-			// create a temp
-			Path tempFile = Files.createTempFile("hdtjava-reader", ".hdt");
-			log.warn("Create temp file to store the HDT stream {}", tempFile);
-			try {
-				Files.copy(in, tempFile);
-				doParse(tempFile.toAbsolutePath().toString(), baseUri, notation, keepBNode, callback);
-			} finally {
-				Files.deleteIfExists(tempFile);
+			// the sections are read with mark/reset
+			InputStream input = new BufferedInputStream(in);
+			ControlInfo ci = new ControlInformation();
+
+			// Load Global ControlInformation
+			ci.load(input);
+			String hdtFormat = ci.getFormat();
+			if (!hdtFormat.equals(HDTVocabulary.HDT_CONTAINER) && !hdtFormat.equals(HDTVocabulary.HDT_CONTAINER_2)) {
+				throw new IllegalFormatException("This software (v" + HDTVersion.HDT_VERSION + ".x.x | v" + HDTVersion.HDT_VERSION_2 + ".x.x) cannot open this version of HDT File (" + hdtFormat + ")");
+			}
+
+			// Skip the header, it is read to know its end
+			ci.clear();
+			ci.load(input);
+			HeaderFactory.createHeader(ci).load(input, ci, null);
+
+			// Load dictionary
+			ci.clear();
+			ci.load(input);
+			try (DictionaryPrivate dictionary = DictionaryFactory.createDictionary(ci)) {
+				dictionary.load(input, ci, null);
+
+				// Read the triples while they are decoded
+				ci.clear();
+				ci.load(input);
+				TripleString triple = new TripleString();
+				if (HDTVocabulary.TRIPLES_TYPE_BITMAP.equals(ci.getFormat())) {
+					BitmapTriplesStreamReader reader = new BitmapTriplesStreamReader(input, ci, null);
+					TripleID tid;
+					while ((tid = reader.next()) != null) {
+						processTriple(dictionary, tid, triple, callback);
+					}
+				} else {
+					try (TriplesPrivate triples = TriplesFactory.createTriples(ci)) {
+						triples.load(input, ci, null);
+						IteratorTripleID it = triples.searchAll();
+						while (it.hasNext()) {
+							processTriple(dictionary, it.next(), triple, callback);
+						}
+					}
+				}
 			}
 		} catch (IOException e) {
 			log.error("Unexpected exception.", e);
@@ -48,4 +99,13 @@ public class RDFParserHDT implements RDFParserCallback {
 		}
 	}
 
+	private static void processTriple(Dictionary dictionary, TripleID tid, TripleString triple, RDFCallback callback) {
+		triple.setAll(
+				dictionary.idToString(tid.getSubject(), TripleComponentRole.SUBJECT),
+				dictionary.idToString(tid.getPredicate(), TripleComponentRole.PREDICATE),
+				dictionary.idToString(tid.getObject(), TripleComponentRole.OBJECT)
+		);
+		callback.processTriple(triple, 0);
+	}
+
 }
@@ -52,6 +52,19 @@ import org.slf4j.LoggerFactory;
  */
 public class RDFParserRIOT implements RDFParserCallback, StreamRDF {
 	private static final Logger log = LoggerFactory.getLogger(RDFParserRIOT.class);
+
+	private final int threads;
+
+	public RDFParserRIOT() {
+		this(0);
+	}
+
+	/**
+	 * @param threads number of threads used to decompress a file, 0 or negative for one per available processor
+	 */
+	public RDFParserRIOT(int threads) {
+		this.threads = threads;
+	}
 	private void parse(InputStream stream, String baseUri, Lang lang, boolean keepBNode) {
 		if (keepBNode) {
 			RDFParser.source(stream).base(baseUri).lang(lang).labelToNode(LabelToNode.createUseLabelAsGiven()).parse(this);
@@ -68,7 +81,7 @@ public class RDFParserRIOT implements RDFParserCallback, StreamRDF {
 	 */
 	@Override
 	public void doParse(String fileName, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
-		try (InputStream input = IOUtil.getFileInputStream(fileName)) {
+		try (InputStream input = IOUtil.getFileInputStream(fileName, threads)) {
 			doParse(input, baseUri, notation, keepBNode, callback);
 		} catch (FileNotFoundException e) {
 			throw new ParserException(e);
@@ -0,0 +1,523 @@
+package org.rdfhdt.hdt.rdf.parsers;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.rdfhdt.hdt.enums.RDFNotation;
+import org.rdfhdt.hdt.exceptions.NotImplementedException;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.rdf.RDFParserCallback;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.string.CompactString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * N-Triples and N-Quads parser reading the input by chunks cut at the end of a line, the chunks are parsed by
+ * worker threads directly from the UTF-8 bytes, the escape sequences are decoded into the bytes of the terms.
+ * <p>
+ * The triples of each chunk are delivered in the order of the input by the thread calling doParse, with the
+ * same terms as {@link RDFParserSimple}, the graph of a quad is ignored. The {@link TripleString} is reused for the
+ * next triple, but its terms are new {@link CompactString}s and can be kept by the callback.
+ */
+public class RDFParserSimpleParallel implements RDFParserCallback {
+	private static final Logger log = LoggerFactory.getLogger(RDFParserSimpleParallel.class);
+	/**
+	 * default size of the chunks
+	 */
+	public static final int DEFAULT_CHUNK_SIZE = 4 * 1024 * 1024;
+
+	private final int threads;
+	private final int chunkSize;
+
+	/**
+	 * create a parser using one thread per available processor
+	 */
+	public RDFParserSimpleParallel() {
+		this(0, DEFAULT_CHUNK_SIZE);
+	}
+
+	/**
+	 * @param threads   number of parsing threads, 0 or negative for one thread per available processor
+	 * @param chunkSize size of the chunks, a chunk is extended if a line is longer
+	 */
+	public RDFParserSimpleParallel(int threads, int chunkSize) {
+		this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+		this.chunkSize = Math.max(16, chunkSize);
+	}
+
+	@Override
+	public void doParse(String fileName, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
+		try (InputStream input = IOUtil.getFileInputStream(fileName, threads)) {
+			doParse(input, baseUri, notation, keepBNode, callback);
+		} catch (IOException e) {
+			throw new ParserException(e);
+		}
+	}
+
+	@Override
+	public void doParse(InputStream input, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
+		if (notation != RDFNotation.NTRIPLES && notation != RDFNotation.NQUAD) {
+			throw new NotImplementedException("Parser not found for format " + notation);
+		}
+		boolean quads = notation == RDFNotation.NQUAD;
+		if (threads == 1) {
+			parseSequential(input, quads, callback);
+			return;
+		}
+
+		AtomicInteger threadId = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "RDFParserSimpleParallel-" + threadId.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			int maxPending = threads * 2;
+			ArrayDeque<Future<Chunk>> pending = new ArrayDeque<>(maxPending);
+			ArrayDeque<Chunk> free = new ArrayDeque<>(maxPending);
+			ChunkReader reader = new ChunkReader(input);
+			Delivery delivery = new Delivery(callback);
+			while (true) {
+				if (pending.size() == maxPending) {
+					Chunk parsed = await(pending.poll());
+					delivery.deliver(parsed);
+					free.add(parsed);
+				}
+				Chunk chunk = free.isEmpty() ? new Chunk(chunkSize) : free.poll();
+				if (!reader.read(chunk)) {
+					break;
+				}
+				pending.add(executor.submit(() -> {
+					chunk.parse(quads);
+					return chunk;
+				}));
+			}
+			while (!pending.isEmpty()) {
+				delivery.deliver(await(pending.poll()));
+			}
+		} catch (IOException | RuntimeException e) {
+			throw new ParserException(e);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private void parseSequential(InputStream input, boolean quads, RDFCallback callback) throws ParserException {
+		try {
+			ChunkReader reader = new ChunkReader(input);
+			Delivery delivery = new Delivery(callback);
+			Chunk chunk = new Chunk(chunkSize);
+			while (reader.read(chunk)) {
+				chunk.parse(quads);
+				delivery.deliver(chunk);
+			}
+		} catch (IOException | RuntimeException e) {
+			throw new ParserException(e);
+		}
+	}
+
+	private static Chunk await(Future<Chunk> future) throws ParserException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new ParserException(e);
+		} catch (ExecutionException e) {
+			throw new ParserException(e.getCause());
+		}
+	}
+
+	/**
+	 * fill the chunks with complete lines of the input
+	 */
+	private class ChunkReader {
+		private final InputStream input;
+		// start of the line cut at the end of the previous chunk
+		private byte[] carry = new byte[chunkSize];
+		private int carryLength;
+		private boolean end;
+
+		ChunkReader(InputStream input) {
+			this.input = input;
+		}
+
+		/**
+		 * @param chunk the chunk to fill
+		 * @return false if the input is consumed
+		 */
+		boolean read(Chunk chunk) throws IOException {
+			if (end) {
+				return false;
+			}
+			byte[] buffer = chunk.input;
+			if (buffer.length < carryLength + 1) {
+				buffer = new byte[Math.max(chunkSize, carryLength * 2)];
+			}
+			System.arraycopy(carry, 0, buffer, 0, carryLength);
+			int length = carryLength;
+			int searchStart = carryLength;
+			while (true) {
+				while (length < buffer.length) {
+					int read = input.read(buffer, length, buffer.length - length);
+					if (read == -1) {
+						end = true;
+						break;
+					}
+					length += read;
+				}
+				if (end) {
+					carryLength = 0;
+					chunk.input = buffer;
+					chunk.length = length;
+					return length != 0;
+				}
+				int cut = length;
+				while (cut > searchStart && buffer[cut - 1] != '\n') {
+					cut--;
+				}
+				if (cut > searchStart) {
+					carryLength = length - cut;
+					if (carry.length < carryLength) {
+						carry = new byte[carryLength];
+					}
+					System.arraycopy(buffer, cut, carry, 0, carryLength);
+					chunk.input = buffer;
+					chunk.length = cut;
+					return true;
+				}
+				// line longer than the chunk
+				searchStart = length;
+				buffer = Arrays.copyOf(buffer, buffer.length * 2);
+			}
+		}
+	}
+
+	/**
+	 * deliver the triples of the parsed chunks to the callback
+	 */
+	private static class Delivery {
+		private final RDFCallback callback;
+		private final TripleString triple = new TripleString();
+		private long lines;
+
+		Delivery(RDFCallback callback) {
+			this.callback = callback;
+		}
+
+		void deliver(Chunk chunk) throws ParserException {
+			byte[] terms = chunk.terms;
+			int[] ends = chunk.ends;
+			int start = 0;
+			for (int i = 0; i < chunk.numTriples * 3; i += 3) {
+				triple.setAll(
+						new CompactString(terms, start, ends[i] - start),
+						new CompactString(terms, ends[i], ends[i + 1] - ends[i]),
+						new CompactString(terms, ends[i + 1], ends[i + 2] - ends[i + 1])
+				);
+				start = ends[i + 2];
+				callback.processTriple(triple, 0);
+			}
+			for (Chunk.Warning warning : chunk.warnings) {
+				log.warn("Could not parse triple at line {}, ignored and not processed.\n{}", lines + warning.line, warning.text);
+			}
+			if (chunk.error != null) {
+				throw new ParserException("Error at line " + (lines + chunk.errorLine) + ": " + chunk.error.getMessage());
+			}
+			lines += chunk.numLines;
+		}
+	}
+
+	/**
+	 * lines of the input and the decoded terms of their triples
+	 */
+	private static class Chunk {
+		private static class Warning {
+			final long line;
+			final String text;
+
+			Warning(long line, String text) {
+				this.line = line;
+				this.text = text;
+			}
+		}
+
+		byte[] input;
+		int length;
+		// decoded terms, one after the other, a decoded term isn't longer than its escaped form
+		byte[] terms = new byte[0];
+		int termsLength;
+		// end of each term in terms
+		int[] ends = new int[3 * 1024];
+		int numTriples;
+		int numLines;
+		final List<Warning> warnings = new ArrayList<>();
+		IllegalArgumentException error;
+		int errorLine;
+
+		Chunk(int size) {
+			input = new byte[size];
+		}
+
+		void parse(boolean quads) {
+			if (terms.length < length) {
+				terms = new byte[input.length];
+			}
+			termsLength = 0;
+			numTriples = 0;
+			numLines = 0;
+			warnings.clear();
+			error = null;
+
+			int lineStart = 0;
+			while (lineStart < length) {
+				int lineEnd = lineStart;
+				while (lineEnd < length && input[lineEnd] != '\n') {
+					lineEnd++;
+				}
+				numLines++;
+				try {
+					if (!parseLine(lineStart, lineEnd, quads)) {
+						warnings.add(new Warning(numLines, new String(input, lineStart, lineEnd - lineStart, StandardCharsets.UTF_8)));
+					}
+				} catch (IllegalArgumentException e) {
+					error = e;
+					errorLine = numLines;
+					return;
+				}
+				lineStart = lineEnd + 1;
+			}
+		}
+
+		private static boolean isSpace(byte b) {
+			return b == ' ' || b == '\t' || b == '\r';
+		}
+
+		private int skipSpaces(int pos, int end) {
+			while (pos < end && isSpace(input[pos])) {
+				pos++;
+			}
+			return pos;
+		}
+
+		/**
+		 * @return false if the line can't be read as a triple
+		 */
+		private boolean parseLine(int start, int end, boolean quads) {
+			start = skipSpaces(start, end);
+			while (end > start && isSpace(input[end - 1])) {
+				end--;
+			}
+			// empty line or comment
+			if (end - start < 3 || input[start] == '#') {
+				return true;
+			}
+			int termsStart = termsLength;
+			int pos = start;
+			for (int term = 0; term < 3; term++) {
+				pos = skipSpaces(pos, end);
+				int next = readTerm(pos, end, term == 2);
+				if (next == -1) {
+					termsLength = termsStart;
+					return false;
+				}
+				if (numTriples * 3 + term >= ends.length) {
+					ends = Arrays.copyOf(ends, ends.length * 2);
+				}
+				ends[numTriples * 3 + term] = termsLength;
+				pos = next;
+			}
+			if (!quads) {
+				// the rest of the line is the final dot
+				numTriples++;
+				return true;
+			}
+			pos = skipSpaces(pos, end);
+			if (pos < end && input[pos] != '.') {
+				// graph, ignored
+				int termsEnd = termsLength;
+				if (readTerm(pos, end, true) == -1) {
+					termsLength = termsStart;
+					return false;
+				}
+				termsLength = termsEnd;
+			}
+			numTriples++;
+			return true;
+		}
+
+		/**
+		 * read a term, decode it at the end of terms
+		 *
+		 * @return the end of the term in the input, -1 if the term is empty or isn't terminated
+		 */
+		private int readTerm(int start, int end, boolean last) {
+			if (start >= end) {
+				return -1;
+			}
+			byte first = input[start];
+			if (first == '<') {
+				int close = start + 1;
+				while (close < end && input[close] != '>') {
+					close++;
+				}
+				if (close == end || close == start + 1) {
+					return -1;
+				}
+				decode(start + 1, close);
+				return close + 1;
+			}
+			int pos;
+			if (first == '"') {
+				pos = start + 1;
+				while (pos < end && input[pos] != '"') {
+					pos += input[pos] == '\\' ? 2 : 1;
+				}
+				if (pos >= end) {
+					return -1;
+				}
+				pos++;
+				if (pos < end && input[pos] == '@') {
+					pos++;
+					while (pos < end && (isLetterOrDigit(input[pos]) || input[pos] == '-')) {
+						pos++;
+					}
+				} else if (pos + 2 < end && input[pos] == '^' && input[pos + 1] == '^' && input[pos + 2] == '<') {
+					pos += 3;
+					while (pos < end && input[pos] != '>') {
+						pos++;
+					}
+					if (pos == end) {
+						return -1;
+					}
+					pos++;
+				}
+			} else {
+				// blank node or another token, until the next space
+				pos = start;
+				while (pos < end && !isSpace(input[pos])) {
+					pos++;
+				}
+				if (last && pos == end && pos - 1 > start && input[pos - 1] == '.') {
+					pos--;
+				}
+			}
+			decode(start, pos);
+			return pos;
+		}
+
+		private static boolean isLetterOrDigit(byte b) {
+			return (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9');
+		}
+
+		/**
+		 * decode the escape sequences of an escaped term and add it at the end of terms
+		 */
+		private void decode(int start, int end) {
+			int pos = start;
+			while (pos < end) {
+				int backSlash = pos;
+				while (backSlash < end && input[backSlash] != '\\') {
+					backSlash++;
+				}
+				System.arraycopy(input, pos, terms, termsLength, backSlash - pos);
+				termsLength += backSlash - pos;
+				if (backSlash == end) {
+					return;
+				}
+				if (backSlash + 1 >= end) {
+					throw new IllegalArgumentException("Unescaped backslash in: " + termString(start, end));
+				}
+				byte c = input[backSlash + 1];
+				pos = backSlash + 2;
+				switch (c) {
+					case 't':
+						terms[termsLength++] = '\t';
+						break;
+					case 'r':
+						terms[termsLength++] = '\r';
+						break;
+					case 'n':
+						terms[termsLength++] = '\n';
+						break;
+					case '"':
+						terms[termsLength++] = '"';
+						break;
+					case '\\':
+						terms[termsLength++] = '\\';
+						break;
+					case 'u':
+					case 'U': {
+						int digits = c == 'u' ? 4 : 8;
+						int codePoint = readHex(pos, digits, start, end);
+						pos += digits;
+						if (Character.isHighSurrogate((char) codePoint) && pos + 6 <= end
+								&& input[pos] == '\\' && input[pos + 1] == 'u') {
+							int low = readHex(pos + 2, 4, start, end);
+							if (Character.isLowSurrogate((char) low)) {
+								codePoint = Character.toCodePoint((char) codePoint, (char) low);
+								pos += 6;
+							}
+						}
+						encodeUTF8(codePoint);
+						break;
+					}
+					default:
+						throw new IllegalArgumentException("Unescaped backslash in: " + termString(start, end));
+				}
+			}
+		}
+
+		private int readHex(int pos, int digits, int start, int end) {
+			if (pos + digits > end) {
+				throw new IllegalArgumentException("Incomplete Unicode escape sequence in: " + termString(start, end));
+			}
+			int value = 0;
+			for (int i = pos; i < pos + digits; i++) {
+				int digit = Character.digit(input[i], 16);
+				if (digit == -1) {
+					throw new IllegalArgumentException("Illegal Unicode escape sequence in: " + termString(start, end));
+				}
+				value = (value << 4) | digit;
+			}
+			if (!Character.isValidCodePoint(value)) {
+				throw new IllegalArgumentException("Illegal Unicode escape sequence in: " + termString(start, end));
+			}
+			return value;
+		}
+
+		private void encodeUTF8(int codePoint) {
+			if (codePoint < 0x80) {
+				terms[termsLength++] = (byte) codePoint;
+			} else if (codePoint < 0x800) {
+				terms[termsLength++] = (byte) (0xC0 | (codePoint >> 6));
+				terms[termsLength++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else if (codePoint < 0x10000) {
+				terms[termsLength++] = (byte) (0xE0 | (codePoint >> 12));
+				terms[termsLength++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				terms[termsLength++] = (byte) (0x80 | (codePoint & 0x3F));
+			} else {
+				terms[termsLength++] = (byte) (0xF0 | (codePoint >> 18));
+				terms[termsLength++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+				terms[termsLength++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+				terms[termsLength++] = (byte) (0x80 | (codePoint & 0x3F));
+			}
+		}
+
+		private String termString(int start, int end) {
+			return new String(input, start, end - start, StandardCharsets.UTF_8);
+		}
+	}
+
+}
@@ -12,7 +12,15 @@ import org.rdfhdt.hdt.util.io.NonCloseInputStream;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Parses a tar file (optionally .tgz or .tar.gz or .tar.bz2) directly, processing each file that contains rdf separately.
@@ -26,10 +34,24 @@ import java.io.InputStream;
 
 public class RDFParserTar implements RDFParserCallback {
 	private static final Logger log = LoggerFactory.getLogger(RDFParserTar.class);
+	/**
+	 * maximum size of an entry read in memory to be parsed concurrently
+	 */
+	public static final long MAX_BUFFERED_ENTRY_SIZE = 32 * 1024 * 1024;
 	private final boolean simple;
+	private final int threads;
 
-	public RDFParserTar(boolean simple) {
+	/**
+	 * @param simple  use the simple parser for the N-Triples entries
+	 * @param threads number of entries parsed at the same time, 0 or negative for one per available processor
+	 */
+	public RDFParserTar(boolean simple, int threads) {
 		this.simple = simple;
+		this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	public RDFParserTar(boolean simple) {
+		this(simple, 0);
 	}
 
 	public RDFParserTar() {
@@ -42,7 +64,7 @@ public class RDFParserTar implements RDFParserCallback {
 	@Override
 	public void doParse(String fileName, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
 		try {
-			InputStream input = IOUtil.getFileInputStream(fileName);
+			InputStream input = IOUtil.getFileInputStream(fileName, threads);
 			this.doParse(input, baseUri, notation, keepBNode, callback);
 			input.close();
 		} catch (Exception e) {
@@ -53,6 +75,17 @@ public class RDFParserTar implements RDFParserCallback {
 
 	@Override
 	public void doParse(InputStream input, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
+		// the entries read in memory are parsed by the executor while the next entries are read
+		RDFCallback entryCallback = threads == 1 ? callback : new SynchronizedRDFCallback(callback);
+		AtomicInteger threadId = new AtomicInteger();
+		ExecutorService executor = threads == 1 ? null : Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, "RDFParserTar-" + threadId.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		// bound the number of entries in memory
+		Semaphore buffered = new Semaphore(threads * 2);
+		List<Future<?>> tasks = new ArrayList<>();
 		try {
 
 			final TarArchiveInputStream debInputStream = (TarArchiveInputStream) new ArchiveStreamFactory().createArchiveInputStream("tar", input);
@@ -67,17 +100,40 @@ public class RDFParserTar implements RDFParserCallback {
 					try {
 						RDFNotation guessnot = RDFNotation.guess(entry.getName());
 						log.info("Parse from tar: {} as {}", entry.getName(), guessnot);
-						RDFParserCallback parser = RDFParserFactory.getParserCallback(guessnot, simple);
+						// the entries are parsed concurrently, one thread per entry
+						RDFParserCallback parser = RDFParserFactory.getParserCallback(guessnot, simple, 1);
 
-						parser.doParse(nonCloseIn, baseUri, guessnot, keepBNode, callback);
+						if (executor != null && entry.getSize() <= MAX_BUFFERED_ENTRY_SIZE) {
+							buffered.acquire();
+							byte[] data = IOUtil.readBuffer(nonCloseIn, (int) entry.getSize(), null);
+							String name = entry.getName();
+							tasks.add(executor.submit(() -> {
+								try {
+									parser.doParse(new ByteArrayInputStream(data), baseUri, guessnot, keepBNode, entryCallback);
+								} catch (ParserException e1) {
+									log.error("Unexpected exception parsing {}.", name, e1);
+								} finally {
+									buffered.release();
+								}
+							}));
+						} else {
+							parser.doParse(nonCloseIn, baseUri, guessnot, keepBNode, entryCallback);
+						}
 					}catch (IllegalArgumentException | ParserException e1) {
 						log.error("Unexpected exception.", e1);
 					}
 				}
 			}
+			for (Future<?> task : tasks) {
+				task.get();
+			}
 		} catch (Exception e) {
 			e.printStackTrace();
 			throw new ParserException();
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
 		}
 	}
 
@@ -1,16 +1,22 @@
 package org.rdfhdt.hdt.rdf.parsers;
 
-import java.io.FileNotFoundException;
+import java.io.File;
 import java.io.InputStream;
+import java.util.List;
+import java.util.stream.Collectors;
 import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import java.util.zip.ZipInputStream;
 
 import org.rdfhdt.hdt.enums.RDFNotation;
 import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.rdf.RDFParserCallback;
 import org.rdfhdt.hdt.rdf.RDFParserFactory;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
 import org.rdfhdt.hdt.util.io.IOUtil;
 import org.rdfhdt.hdt.util.io.NonCloseInputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Parses a tar file (optionally .tgz or .tar.gz or .tar.bz2) directly, processing each file that contains rdf separately.
@@ -23,11 +29,23 @@ import org.rdfhdt.hdt.util.io.NonCloseInputStream;
  */
 
 public class RDFParserZip implements RDFParserCallback {
+	private static final Logger log = LoggerFactory.getLogger(RDFParserZip.class);
 
 	private final boolean simple;
+	private final int threads;
 
-	public RDFParserZip(boolean simple) {
+	/**
+	 * @param simple  use the simple parser for the N-Triples entries
+	 * @param threads number of entries of a zip file parsed at the same time, 0 or negative for one per
+	 *                available processor
+	 */
+	public RDFParserZip(boolean simple, int threads) {
 		this.simple = simple;
+		this.threads = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	}
+
+	public RDFParserZip(boolean simple) {
+		this(simple, 0);
 	}
 
 	public RDFParserZip() {
@@ -39,16 +57,49 @@ public class RDFParserZip implements RDFParserCallback {
 	 */
 	@Override
 	public void doParse(String fileName, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
+		File file = new File(fileName);
+		if (file.isFile()) {
+			doParse(file, baseUri, keepBNode, callback);
+			return;
+		}
 		try {
-			InputStream input = IOUtil.getFileInputStream(fileName);
+			InputStream input = IOUtil.getFileInputStream(fileName, threads);
 			this.doParse(input, baseUri, notation, keepBNode, callback);
 			input.close();
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("Unexpected exception parsing file: {}", fileName, e);
 			throw new ParserException();
 		} 
 	}
 
+	/**
+	 * parse the entries of a zip file concurrently, the triples are sent to the callback one at a time
+	 */
+	private void doParse(File file, String baseUri, boolean keepBNode, RDFCallback callback) throws ParserException {
+		try (ZipFile zip = new ZipFile(file)) {
+			List<? extends ZipEntry> entries = zip.stream()
+					.filter(zipEntry -> !zipEntry.isDirectory())
+					.collect(Collectors.toList());
+			RDFCallback entryCallback = entries.size() == 1 ? callback : new SynchronizedRDFCallback(callback);
+			ParallelUtil.run("RDFParserZip", threads, entries.size(), index -> {
+				ZipEntry zipEntry = entries.get(index);
+				try (InputStream in = zip.getInputStream(zipEntry)) {
+					RDFNotation guessnot = RDFNotation.guess(zipEntry.getName());
+					log.info("Parse from zip: {} as {}", zipEntry.getName(), guessnot);
+					// the entries are already parsed concurrently, a single entry can use all the threads
+					RDFParserCallback parser = RDFParserFactory.getParserCallback(guessnot, simple, entries.size() == 1 ? threads : 1);
+
+					parser.doParse(in, baseUri, guessnot, keepBNode, entryCallback);
+				} catch (IllegalArgumentException | ParserException e1) {
+					log.error("Unexpected exception parsing {}.", zipEntry.getName(), e1);
+				}
+			});
+		} catch (Exception e) {
+			log.error("Unexpected exception parsing file: {}", file, e);
+			throw new ParserException(e);
+		}
+	}
+
 	@Override
 	public void doParse(InputStream input, String baseUri, RDFNotation notation, boolean keepBNode, RDFCallback callback) throws ParserException {
 		try {
@@ -62,19 +113,20 @@ public class RDFParserZip implements RDFParserCallback {
 	        	if(!zipEntry.isDirectory()) {
 					try {
 						RDFNotation guessnot = RDFNotation.guess(zipEntry.getName());
-						System.out.println("Parse from zip: "+zipEntry.getName()+" as "+guessnot);
-						RDFParserCallback parser = RDFParserFactory.getParserCallback(guessnot, simple);
+						log.info("Parse from zip: {} as {}", zipEntry.getName(), guessnot);
+						// the entries of a stream are parsed one after the other
+						RDFParserCallback parser = RDFParserFactory.getParserCallback(guessnot, simple, threads);
 
 						parser.doParse(nonCloseIn, baseUri, guessnot, keepBNode, callback);
 					} catch (IllegalArgumentException | ParserException e1) {
-						e1.printStackTrace();
+						log.error("Unexpected exception parsing {}.", zipEntry.getName(), e1);
 					}
 	        	}
 	        }
 	        // Don't close passed stream.
 
 		} catch (Exception e) {
-			e.printStackTrace();
+			log.error("Unexpected exception.", e);
 			throw new ParserException(e);
 		}
 	}
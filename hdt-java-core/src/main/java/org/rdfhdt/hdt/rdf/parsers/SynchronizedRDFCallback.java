@@ -0,0 +1,23 @@
+package org.rdfhdt.hdt.rdf.parsers;
+
+import org.rdfhdt.hdt.rdf.RDFParserCallback.RDFCallback;
+import org.rdfhdt.hdt.triples.TripleString;
+
+/**
+ * Callback used by the parsers of multiple files running concurrently, the triples are sent to the wrapped
+ * callback one at a time.
+ */
+class SynchronizedRDFCallback implements RDFCallback {
+	private final RDFCallback callback;
+
+	SynchronizedRDFCallback(RDFCallback callback) {
+		this.callback = callback;
+	}
+
+	@Override
+	public void processTriple(TripleString triple, long pos) {
+		synchronized (this) {
+			callback.processTriple(triple, pos);
+		}
+	}
+}
@@ -27,12 +27,14 @@
 
 package org.rdfhdt.hdt.triples;
 
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
 import org.rdfhdt.hdt.hdt.HDTVocabulary;
 import org.rdfhdt.hdt.options.ControlInfo;
 import org.rdfhdt.hdt.options.HDTOptions;
 import org.rdfhdt.hdt.options.HDTSpecification;
 import org.rdfhdt.hdt.triples.impl.BitmapTriples;
 import org.rdfhdt.hdt.triples.impl.TriplesList;
+import org.rdfhdt.hdt.triples.impl.TriplesListArray;
 
 /**
  * Factory that creates Triples objects
@@ -41,6 +43,7 @@ import org.rdfhdt.hdt.triples.impl.TriplesList;
 public class TriplesFactory {
 		
 	public static final String TEMP_TRIPLES_IMPL_LIST = "list";
+	public static final String TEMP_TRIPLES_IMPL_ARRAY = "array";
 
 	private TriplesFactory() {}
 	
@@ -50,12 +53,15 @@ public class TriplesFactory {
 	 * @return TempTriples
 	 */
 	static public TempTriples createTempTriples(HDTOptions spec) {		
-//		String triplesImpl = spec.get("tempTriples.impl");
+		String triplesImpl = spec.get("tempTriples.impl");
 
 		// Implementations available in the Core
-//		if (triplesImpl==null || triplesImpl.equals("") || TEMP_TRIPLES_IMPL_LIST.equals(triplesImpl)) {
+		if (triplesImpl==null || triplesImpl.equals("") || TEMP_TRIPLES_IMPL_ARRAY.equals(triplesImpl)) {
+			return new TriplesListArray(spec);
+		} else if (TEMP_TRIPLES_IMPL_LIST.equals(triplesImpl)) {
 			return new TriplesList(spec);
-//		}
+		}
+		throw new IllegalFormatException("Implementation of temp triples not found for "+triplesImpl);
 	}
 	
 	/**
@@ -87,12 +93,25 @@ public class TriplesFactory {
 	 * @return Triples
 	 */
 	public static TriplesPrivate createTriples(ControlInfo ci) {
+		return createTriples(ci, new HDTSpecification());
+	}
+
+	/**
+	 * Creates a new Triples based on a ControlInformation, configured with an HDTOptions
+	 * 
+	 * @param ci
+	 *            The ControlInfo to read
+	 * @param spec
+	 *            The HDTOptions used to configure the implementation (index generation...)
+	 * @return Triples
+	 */
+	public static TriplesPrivate createTriples(ControlInfo ci, HDTOptions spec) {
 		String format = ci.getFormat();
 		
 		if(HDTVocabulary.TRIPLES_TYPE_TRIPLESLIST.equals(format)) {
-			return new TriplesList(new HDTSpecification());
+			return new TriplesList(spec);
 		} else if(HDTVocabulary.TRIPLES_TYPE_BITMAP.equals(format)) {
-			return new BitmapTriples();
+			return new BitmapTriples(spec);
 		} else {
 			throw new IllegalArgumentException("No implementation for Triples type: "+format);
 		}
@@ -4,11 +4,13 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.List;
 
 import org.rdfhdt.hdt.iterator.SuppliableIteratorTripleID;
 import org.rdfhdt.hdt.listener.ProgressListener;
 import org.rdfhdt.hdt.options.ControlInfo;
 import org.rdfhdt.hdt.util.io.CountInputStream;
+import org.rdfhdt.hdt.util.io.ParallelFileWriter;
 
 public interface TriplesPrivate extends Triples {
 	/**
@@ -19,6 +21,17 @@ public interface TriplesPrivate extends Triples {
 	 */
 	void save(OutputStream output, ControlInfo ci, ProgressListener listener) throws IOException;
 
+	/**
+	 * Split {@link #save(OutputStream, ControlInfo, ProgressListener)} in parts that can be written
+	 * concurrently, written one after the other they create the same bytes as save.
+	 *
+	 * @param ci the control information to save, used by one of the parts
+	 * @return the parts, in order
+	 */
+	default List<ParallelFileWriter.Part> getSaveParts(ControlInfo ci) {
+		return List.of((output, listener) -> save(output, ci, listener));
+	}
+
 	/**
 	 * Iterates over all triples that match the pattern.
 	 *
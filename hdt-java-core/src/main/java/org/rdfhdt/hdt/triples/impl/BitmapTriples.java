@@ -32,6 +32,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
@@ -39,6 +40,7 @@ import java.util.List;
 import org.rdfhdt.hdt.compact.bitmap.AdjacencyList;
 import org.rdfhdt.hdt.compact.bitmap.Bitmap;
 import org.rdfhdt.hdt.compact.bitmap.Bitmap375;
+import org.rdfhdt.hdt.compact.bitmap.Bitmap375Select;
 import org.rdfhdt.hdt.compact.bitmap.BitmapFactory;
 import org.rdfhdt.hdt.compact.bitmap.ModifiableBitmap;
 import org.rdfhdt.hdt.compact.sequence.*;
@@ -59,8 +61,12 @@ import org.rdfhdt.hdt.triples.TripleID;
 import org.rdfhdt.hdt.triples.TriplesPrivate;
 import org.rdfhdt.hdt.util.BitUtil;
 import org.rdfhdt.hdt.util.StopWatch;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
 import org.rdfhdt.hdt.util.io.CountInputStream;
 import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.ParallelFileWriter;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
 import org.rdfhdt.hdt.util.listener.IntermediateListener;
 import org.rdfhdt.hdt.util.listener.ListenerUtil;
 import org.slf4j.Logger;
@@ -70,7 +76,7 @@ import org.slf4j.LoggerFactory;
  * @author mario.arias
  *
  */
-public class BitmapTriples implements TriplesPrivate {
+public class BitmapTriples implements TriplesPrivate, Prefetchable {
 	private static final Logger log = LoggerFactory.getLogger(BitmapTriples.class);
 
 	protected TripleComponentOrder order=TripleComponentOrder.SPO;
@@ -82,6 +88,16 @@ public class BitmapTriples implements TriplesPrivate {
 	
 	// Index for Y
 	public PredicateIndex predicateIndex;
+
+	// number of triples by Y value, computed by the first ?P? count
+	private volatile long[] triplesByY;
+	// number of triples before each entry of the predicate index, computed by the first ?P? goTo
+	private volatile Sequence predicateIndexTriples;
+
+	// Options of the index generation
+	private int indexThreads;
+	private long indexBucketSize;
+	private boolean indexLegacy;
 	
 	private boolean isClosed;
 
@@ -103,9 +119,47 @@ public class BitmapTriples implements TriplesPrivate {
 
 		adjY = new AdjacencyList(seqY, bitmapY);
 		adjZ = new AdjacencyList(seqZ, bitmapZ);
+
+		indexThreads = ParallelUtil.getThreadCount(spec, "bitmaptriples.index.threads");
+		indexBucketSize = spec.getInt("bitmaptriples.index.bucketsize");
+		indexLegacy = "legacy".equals(spec.get("bitmaptriples.index.method"));
 		
 		isClosed=false;
 	}
+
+	/**
+	 * create a bitmap of an index of the triples, with the select hints of the Y bitmap if it has them
+	 * @param nbits the number of bits
+	 * @return bitmap
+	 */
+	Bitmap375 createIndexBitmap(long nbits) {
+		return createBitmap(bitmapY, nbits);
+	}
+
+	private static Bitmap375 createBitmap(Bitmap type, long nbits) {
+		if (type != null && HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT.equals(type.getType())) {
+			return new Bitmap375Select(nbits);
+		}
+		return new Bitmap375(nbits);
+	}
+
+	/**
+	 * encode a built sequence with the compressed sequence type of the spec, if any
+	 * @param type the sequence created from the spec
+	 * @param values the values
+	 * @return the sequence to use
+	 */
+	private static Sequence encode(Sequence type, DynamicSequence values) {
+		if (type instanceof SequenceBlockFOR) {
+			((SequenceBlockFOR) type).add(values);
+			return type;
+		}
+		if (type instanceof SequenceEliasFano) {
+			((SequenceEliasFano) type).add(values);
+			return type;
+		}
+		return values;
+	}
 	
 	public BitmapTriples(Sequence seqY, Sequence seqZ, Bitmap bitY, Bitmap bitZ, TripleComponentOrder order) {
 		this.seqY = seqY;
@@ -117,6 +171,8 @@ public class BitmapTriples implements TriplesPrivate {
 		adjY = new AdjacencyList(seqY, bitmapY);
 		adjZ = new AdjacencyList(seqZ, bitmapZ);
 
+		indexThreads = Runtime.getRuntime().availableProcessors();
+
 		isClosed=false;
 	}
 	
@@ -132,8 +188,8 @@ public class BitmapTriples implements TriplesPrivate {
 		DynamicSequence vectorY = new SequenceLog64Big(BitUtil.log2(number), number);
 		DynamicSequence vectorZ = new SequenceLog64Big(BitUtil.log2(number), number);
 		
-		ModifiableBitmap bitY = new Bitmap375(number);
-		ModifiableBitmap bitZ = new Bitmap375(number);
+		ModifiableBitmap bitY = createBitmap(bitmapY, number);
+		ModifiableBitmap bitZ = createBitmap(bitmapZ, number);
 		
 		long lastX=0, lastY=0, lastZ=0;
 		long x, y, z;
@@ -202,13 +258,14 @@ public class BitmapTriples implements TriplesPrivate {
 		vectorZ.trimToSize();
 		
 		// Assign local variables to BitmapTriples Object
-		seqY = vectorY;
-		seqZ = vectorZ;
+		seqY = encode(seqY, vectorY);
+		seqZ = encode(seqZ, vectorZ);
 		bitmapY = bitY;
 		bitmapZ = bitZ;
 		
 		adjY = new AdjacencyList(seqY, bitmapY);
 		adjZ = new AdjacencyList(seqZ, bitmapZ);
+		triplesByY = null;
 
 		// DEBUG
 //		adjY.dump();
@@ -271,6 +328,10 @@ public class BitmapTriples implements TriplesPrivate {
 			}
 		}
 
+		if(patternString.equals("S?O")) {
+			return new BitmapTriplesIteratorXZ(this, pattern);
+		}
+
 		SuppliableIteratorTripleID bitIt = new BitmapTriplesIterator(this, pattern);
 		if(patternString.equals("???") || patternString.equals("S??") || patternString.equals("SP?") || patternString.equals("SPO")) {
 			return bitIt;
@@ -288,6 +349,175 @@ public class BitmapTriples implements TriplesPrivate {
 		return this.search(new TripleID());
 	}
 
+	/**
+	 * Count the triples matching a pattern with the rank/select of the bitmaps, without iterating over the triples.
+	 * <ul>
+	 *     <li>???, S??, SP?, SPO: bounds of the Y and Z lists, O(log n)</li>
+	 *     <li>?P?: number of triples by predicate, computed with one pass over the Z level when the index is
+	 *     generated or the first time, see {@link #isTriplesByYComputed()}</li>
+	 *     <li>??O, ?PO: bounds of the object list in the Z index, O(log n), iterate if the index isn't loaded</li>
+	 *     <li>S?O: binary search of the object in each Z list of the subject</li>
+	 * </ul>
+	 *
+	 * @param pattern the pattern to match against
+	 * @return the exact number of triples matching the pattern
+	 */
+	@Override
+	public long count(TripleID pattern) {
+		if(isClosed) {
+			throw new IllegalStateException("Cannot count on BitmapTriples if it's already closed");
+		}
+
+		if (getNumberOfElements() == 0 || pattern.isNoMatch()) {
+			return 0;
+		}
+
+		TripleID reorderedPat = new TripleID(pattern);
+		TripleOrderConvert.swapComponentOrder(reorderedPat, TripleComponentOrder.SPO, order);
+		long x = reorderedPat.getSubject();
+		long y = reorderedPat.getPredicate();
+		long z = reorderedPat.getObject();
+
+		if (x > adjY.countListsX()) {
+			return 0;
+		}
+
+		if (x != 0) {
+			long minY = adjY.find(x - 1);
+			long maxY = adjY.last(x - 1);
+			if (y != 0) {
+				long posY = adjY.binSearch(y, minY, maxY);
+				if (posY == -1) {
+					return 0;
+				}
+				minY = posY;
+				maxY = posY;
+			}
+			if (z == 0) {
+				return adjZ.last(maxY) - adjZ.find(minY) + 1;
+			}
+			long count = 0;
+			for (long posY = minY; posY <= maxY; posY++) {
+				if (adjZ.binSearch(z, adjZ.find(posY), adjZ.last(posY)) != -1) {
+					count++;
+				}
+			}
+			return count;
+		}
+
+		if (z == 0) {
+			if (y == 0) {
+				return getNumberOfElements();
+			}
+			long[] counts = getTriplesByY();
+			return y <= counts.length ? counts[(int) (y - 1)] : 0;
+		}
+
+		if (indexZ == null || bitmapIndexZ == null) {
+			return TriplesPrivate.super.count(pattern);
+		}
+
+		if (z > adjIndex.countListsX()) {
+			return 0;
+		}
+		long minIndex = adjIndex.find(z - 1);
+		long maxIndex = adjIndex.last(z - 1);
+		if (y == 0) {
+			return maxIndex - minIndex + 1;
+		}
+		// the object list is sorted by Y, count the positions with this Y
+		return lowerBoundIndexZ(y + 1, minIndex, maxIndex + 1) - lowerBoundIndexZ(y, minIndex, maxIndex + 1);
+	}
+
+	/**
+	 * @return the first position of [begin, end[ in the Z index with a Y greater or equal to y, end if none
+	 */
+	private long lowerBoundIndexZ(long y, long begin, long end) {
+		while (begin < end) {
+			long mid = (begin + end) >>> 1;
+			if (adjY.get(adjIndex.get(mid)) < y) {
+				begin = mid + 1;
+			} else {
+				end = mid;
+			}
+		}
+		return begin;
+	}
+
+	/**
+	 * @return if the number of triples by Y value is computed, otherwise the first ?P? {@link #count(TripleID)}
+	 * computes it with one pass over the Z level
+	 */
+	public boolean isTriplesByYComputed() {
+		return triplesByY != null;
+	}
+
+	/**
+	 * @return the number of triples by Y value, computed with one pass over the Z level the first time
+	 */
+	private long[] getTriplesByY() {
+		long[] counts = triplesByY;
+		if (counts != null) {
+			return counts;
+		}
+		synchronized (this) {
+			if (triplesByY != null) {
+				return triplesByY;
+			}
+			StopWatch st = new StopWatch();
+			counts = new long[16];
+			long posY = 0;
+			long numZ = seqZ.getNumberOfElements();
+			for (long posZ = 0; posZ < numZ; posZ++) {
+				int val = (int) seqY.get(posY);
+				if (val > counts.length) {
+					counts = Arrays.copyOf(counts, Math.max(val, counts.length * 2));
+				}
+				counts[val - 1]++;
+				if (bitmapZ.access(posZ)) {
+					posY++;
+				}
+			}
+			int numY = counts.length;
+			while (numY > 0 && counts[numY - 1] == 0) {
+				numY--;
+			}
+			counts = Arrays.copyOf(counts, numY);
+			log.debug("Counted the triples of {} Y values in {}", numY, st.stopAndShow());
+			triplesByY = counts;
+			return counts;
+		}
+	}
+
+	/**
+	 * @return the number of triples before each entry of the predicate index, with one more entry for the total,
+	 * computed with one pass over the predicate index the first time
+	 */
+	Sequence getPredicateIndexTriples() {
+		Sequence prefix = predicateIndexTriples;
+		if (prefix != null) {
+			return prefix;
+		}
+		synchronized (this) {
+			if (predicateIndexTriples != null) {
+				return predicateIndexTriples;
+			}
+			StopWatch st = new StopWatch();
+			long numY = seqY.getNumberOfElements();
+			SequenceLog64Big triplesBefore = new SequenceLog64Big(BitUtil.log2(seqZ.getNumberOfElements()), numY + 1);
+			long total = 0;
+			triplesBefore.append(total);
+			for (long i = 0; i < numY; i++) {
+				// the occurrences of all the predicates are stored one after the other
+				total += adjZ.countItemsY(predicateIndex.getOccurrence(0, i + 1));
+				triplesBefore.append(total);
+			}
+			log.debug("Counted the triples of the predicate index in {}", st.stopAndShow());
+			predicateIndexTriples = triplesBefore;
+			return triplesBefore;
+		}
+	}
+
 	/* (non-Javadoc)
 	 * @see hdt.triples.Triples#getNumberOfElements()
 	 */
@@ -311,17 +541,27 @@ public class BitmapTriples implements TriplesPrivate {
 	 */
 	@Override
 	public void save(OutputStream output, ControlInfo ci, ProgressListener listener) throws IOException {
-		ci.clear();
-		ci.setFormat(getType());
-		ci.setInt("order", order.ordinal());
-		ci.setType(ControlInfo.Type.TRIPLES);
-		ci.save(output);
-		
-		IntermediateListener iListener = new IntermediateListener(listener);
-		bitmapY.save(output, iListener);
-		bitmapZ.save(output, iListener);
-		seqY.save(output, iListener);
-		seqZ.save(output, iListener);
+		ParallelFileWriter.write(output, getSaveParts(ci), new IntermediateListener(listener));
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.triples.TriplesPrivate#getSaveParts(hdt.options.ControlInfo)
+	 */
+	@Override
+	public List<ParallelFileWriter.Part> getSaveParts(ControlInfo ci) {
+		return List.of(
+				(output, listener) -> {
+					ci.clear();
+					ci.setFormat(getType());
+					ci.setInt("order", order.ordinal());
+					ci.setType(ControlInfo.Type.TRIPLES);
+					ci.save(output);
+					bitmapY.save(output, listener);
+				},
+				bitmapZ::save,
+				seqY::save,
+				seqZ::save
+		);
 	}
 
 	/* (non-Javadoc)
@@ -342,10 +582,10 @@ public class BitmapTriples implements TriplesPrivate {
 		
 		IntermediateListener iListener = new IntermediateListener(listener);
 		
-		bitmapY = BitmapFactory.createBitmap(input);
+		bitmapY = BitmapFactory.createBitmap(input, bitmapY.getType());
 		bitmapY.load(input, iListener);
 		
-		bitmapZ = BitmapFactory.createBitmap(input);
+		bitmapZ = BitmapFactory.createBitmap(input, bitmapZ.getType());
 		bitmapZ.load(input, iListener);
 		
 		seqY = SequenceFactory.createStream(input);
@@ -356,6 +596,7 @@ public class BitmapTriples implements TriplesPrivate {
 		
 		adjY = new AdjacencyList(seqY, bitmapY);
 		adjZ = new AdjacencyList(seqZ, bitmapZ);
+		triplesByY = null;
 		
 		isClosed=false;
 	}
@@ -378,10 +619,10 @@ public class BitmapTriples implements TriplesPrivate {
 		
 		IntermediateListener iListener = new IntermediateListener(listener);
 		
-		bitmapY = BitmapFactory.createBitmap(input);
+		bitmapY = BitmapFactory.createBitmap(input, bitmapY.getType());
 		bitmapY.load(input, iListener);
 		
-		bitmapZ = BitmapFactory.createBitmap(input);
+		bitmapZ = BitmapFactory.createBitmap(input, bitmapZ.getType());
 		bitmapZ.load(input, iListener);
 		
 		seqY = SequenceFactory.createStream(input, f);
@@ -389,6 +630,7 @@ public class BitmapTriples implements TriplesPrivate {
 		
 		adjY = new AdjacencyList(seqY, bitmapY);
 		adjZ = new AdjacencyList(seqZ, bitmapZ);
+		triplesByY = null;
 		
 		isClosed=false;
 	}
@@ -427,7 +669,7 @@ public class BitmapTriples implements TriplesPrivate {
 		st.reset();
 
 		// Calculate bitmap that separates each object sublist.
-		Bitmap375 bitmapIndex = new Bitmap375(seqZ.getNumberOfElements());
+		Bitmap375 bitmapIndex = createIndexBitmap(seqZ.getNumberOfElements());
 		long tmpCount=0;
 		for(long i=0;i<numDifferentObjects;i++) {
 			tmpCount += objectCount.get(i);
@@ -550,6 +792,16 @@ public class BitmapTriples implements TriplesPrivate {
 		log.info("Index generated in {}", global.stopAndShow());
 	}
 	
+	private void createIndexObjectParallel(ProgressListener listener) throws IOException {
+		BitmapTriplesIndexBuilder builder = new BitmapTriplesIndexBuilder(this, indexThreads, indexBucketSize);
+		builder.build(listener);
+
+		this.predicateCount = builder.getPredicateCount();
+		this.indexZ = builder.getIndexZ();
+		this.bitmapIndexZ = builder.getBitmapIndexZ();
+		this.adjIndex = new AdjacencyList(this.indexZ, this.bitmapIndexZ);
+	}
+	
 	@SuppressWarnings("unused")
 	private void createIndexObjects() {
 		// FIXME: Fast but very memory inefficient.
@@ -593,7 +845,7 @@ public class BitmapTriples implements TriplesPrivate {
 		System.out.println("Serialize object lists");
 		// Serialize
 		SequenceLog64 indexZ = new SequenceLog64(BitUtil.log2(seqY.getNumberOfElements()), list.size());
-		Bitmap375 bitmapIndexZ = new Bitmap375(seqY.getNumberOfElements());
+		Bitmap375 bitmapIndexZ = createIndexBitmap(seqY.getNumberOfElements());
 		long pos = 0;
 		
 		total = list.size();
@@ -655,10 +907,18 @@ public class BitmapTriples implements TriplesPrivate {
 	@Override
 	public void generateIndex(ProgressListener listener) throws IOException{
 		predicateIndex = new PredicateIndexArray(this);
+		predicateIndexTriples = null;
 		predicateIndex.generate(listener);
 		
 		//createIndexObjects();
-		createIndexObjectMemoryEfficient();	
+		if(indexLegacy) {
+			createIndexObjectMemoryEfficient();
+		} else {
+			createIndexObjectParallel(listener);
+		}
+
+		// count the triples by Y now, and not on the first ?P? count
+		getTriplesByY();
 	}
 
 	/* (non-Javadoc)
@@ -748,8 +1008,19 @@ public class BitmapTriples implements TriplesPrivate {
 	 */
 	@Override
 	public void loadIndex(InputStream input, ControlInfo ci, ProgressListener listener) throws IOException {
-		IntermediateListener iListener = new IntermediateListener(listener);
-		
+		checkIndexFormat(ci);
+		checkIndex(ci);
+		readIndex(input, ci, listener);
+	}
+
+	@Override
+	public void mapIndex(CountInputStream input, File f, ControlInfo ci, ProgressListener listener) throws IOException {
+		checkIndexFormat(ci);
+		checkIndex(ci);
+		readIndex(input, f, ci, listener);
+	}
+
+	private static void checkIndexFormat(ControlInfo ci) {
 		if(ci.getType()!=ControlInfo.Type.INDEX) {
 			throw new IllegalFormatException("Trying to read an Index Section but it was not an Index.");
 		}
@@ -757,7 +1028,14 @@ public class BitmapTriples implements TriplesPrivate {
 		if(!HDTVocabulary.INDEX_TYPE_FOQ.equals(ci.getFormat())) {
 			throw new IllegalFormatException("Trying to read wrong format of Index. Remove the .hdt.index file and let the app regenerate it.");
 		}
-		
+	}
+
+	/**
+	 * check that an index read with {@link #readIndex(InputStream, ControlInfo, ProgressListener)} is associated to these triples
+	 * @param ci the control information of the index
+	 * @throws IllegalFormatException if the index doesn't match the triples
+	 */
+	public void checkIndex(ControlInfo ci) {
 		long numTriples = ci.getInt("numTriples");
 		if(this.getNumberOfElements()!=numTriples) {
 			throw new IllegalFormatException("This index is not associated to the HDT file");
@@ -767,15 +1045,28 @@ public class BitmapTriples implements TriplesPrivate {
 		if(indexOrder != order) {
 			throw new IllegalFormatException("The order of the triples is not the same of the index.");
 		}
-		
+	}
 
-		bitmapIndexZ = BitmapFactory.createBitmap(input);
+	/**
+	 * load the index without checking it against the triples, to read it while the triples are loaded.
+	 * {@link #checkIndex(ControlInfo)} has to be called once both are loaded.
+	 * @param input the index stream, after its control information
+	 * @param ci the control information of the index
+	 * @param listener listener
+	 * @throws IOException error while reading the index
+	 */
+	public void readIndex(InputStream input, ControlInfo ci, ProgressListener listener) throws IOException {
+		checkIndexFormat(ci);
+		IntermediateListener iListener = new IntermediateListener(listener);
+
+		bitmapIndexZ = BitmapFactory.createBitmap(input, bitmapY.getType());
 		bitmapIndexZ.load(input, iListener);
 		
 		indexZ = SequenceFactory.createStream(input);
 		indexZ.load(input, iListener);
 
 		predicateIndex = new PredicateIndexArray(this);
+		predicateIndexTriples = null;
 		predicateIndex.load(input);
 		
 		predicateCount = SequenceFactory.createStream(input);
@@ -784,34 +1075,25 @@ public class BitmapTriples implements TriplesPrivate {
 		this.adjIndex = new AdjacencyList(this.indexZ, this.bitmapIndexZ);
 	}
 
-	@Override
-	public void mapIndex(CountInputStream input, File f, ControlInfo ci, ProgressListener listener) throws IOException {
+	/**
+	 * map the index without checking it against the triples, see {@link #readIndex(InputStream, ControlInfo, ProgressListener)}
+	 * @param input the index stream, after its control information
+	 * @param f the index file
+	 * @param ci the control information of the index
+	 * @param listener listener
+	 * @throws IOException error while reading the index
+	 */
+	public void readIndex(CountInputStream input, File f, ControlInfo ci, ProgressListener listener) throws IOException {
+		checkIndexFormat(ci);
 		IntermediateListener iListener = new IntermediateListener(listener);
-		
-		if(ci.getType()!=ControlInfo.Type.INDEX) {
-			throw new IllegalFormatException("Trying to read an Index Section but it was not an Index.");
-		}
-		
-		if(!HDTVocabulary.INDEX_TYPE_FOQ.equals(ci.getFormat())) {
-			throw new IllegalFormatException("Trying to read wrong format of Index. Remove the .hdt.index file and let the app regenerate it.");
-		}
-		
-		long numTriples = ci.getInt("numTriples");
-		if(this.getNumberOfElements()!=numTriples) {
-			throw new IllegalFormatException("This index is not associated to the HDT file");
-		}
-		
-		TripleComponentOrder indexOrder = TripleComponentOrder.values()[(int)ci.getInt("order")];
-		if(indexOrder != order) {
-			throw new IllegalFormatException("The order of the triples is not the same of the index.");
-		}
 
-		bitmapIndexZ = BitmapFactory.createBitmap(input);
+		bitmapIndexZ = BitmapFactory.createBitmap(input, bitmapY.getType());
 		bitmapIndexZ.load(input, iListener);
 		
 		indexZ = SequenceFactory.createStream(input, f);
 
 		predicateIndex = new PredicateIndexArray(this);
+		predicateIndexTriples = null;
 		predicateIndex.mapIndex(input, f, iListener);
 
 		predicateCount = SequenceFactory.createStream(input, f);
@@ -819,6 +1101,19 @@ public class BitmapTriples implements TriplesPrivate {
 		this.adjIndex = new AdjacencyList(this.indexZ, this.bitmapIndexZ);
 	}
 
+	/**
+	 * the Y sequence and the predicate index are read by most of the patterns, they are added as
+	 * {@link WarmUp.Priority#INDEX}.
+	 */
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		warmUp.addRegions(seqY, name + ".seqY", WarmUp.Priority.INDEX);
+		warmUp.addRegions(predicateIndex, name + ".predicateIndex", WarmUp.Priority.INDEX);
+		warmUp.addRegions(predicateCount, name + ".predicateCount", WarmUp.Priority.INDEX);
+		warmUp.addRegions(seqZ, name + ".seqZ", priority);
+		warmUp.addRegions(indexZ, name + ".indexZ", priority);
+	}
+
 	@Override
 	public void close() throws IOException {
 		isClosed=true;
@@ -837,6 +1132,7 @@ public class BitmapTriples implements TriplesPrivate {
 		if(predicateIndex!=null) {
 			predicateIndex.close(); predicateIndex=null;
 		}
+		predicateIndexTriples=null;
 	}
 
 	public TripleComponentOrder getOrder() {
@@ -0,0 +1,450 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.rdfhdt.hdt.compact.bitmap.Bitmap;
+import org.rdfhdt.hdt.compact.bitmap.Bitmap375;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64Big;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64BigDisk;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.util.BitUtil;
+import org.rdfhdt.hdt.util.StopWatch;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
+import org.rdfhdt.hdt.util.disk.LongArrayDisk;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Parallel builder of the object index (OPS) of a {@link BitmapTriples}.
+ * <p>
+ * The Z level is split in one chunk per thread. Each thread counts how many of its objects fall
+ * into each object range (bucket), the counts are merged with a prefix sum and every thread
+ * scatters the positions of its triples into a disk array grouped by bucket. Since the buckets
+ * are contiguous ranges of objects, each bucket is also a contiguous range of the final index.
+ * The consecutive buckets are grouped by their number of triples into sort units of at most the
+ * bucket size, sorted independently in memory on primitive arrays and written back in place
+ * before being packed into a {@link SequenceLog64BigDisk}.
+ * <p>
+ * A bucket with more triples than the bucket size, i.e. with a very frequent object such as the
+ * class of a rdf:type, is sorted on disk with two stable counting sorts, by predicate then by
+ * object. The heap used at any time is bounded by the number of threads times the size of a
+ * bucket, plus the counters of the objects and the predicates of the sorted buckets.
+ */
+class BitmapTriplesIndexBuilder {
+	private static final Logger log = LoggerFactory.getLogger(BitmapTriplesIndexBuilder.class);
+
+	/** Default number of triples for each bucket sorted in memory */
+	public static final long DEFAULT_BUCKET_SIZE = 1 << 24;
+
+	private static final int MAX_BUCKETS = 1 << 16;
+	private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 16;
+
+	private final BitmapTriples triples;
+	private final Sequence seqY, seqZ;
+	private final Bitmap bitmapZ;
+	private final int numThreads;
+	private final long bucketSize;
+
+	private Sequence indexZ;
+	private Bitmap375 bitmapIndexZ;
+	private Sequence predicateCount;
+
+	BitmapTriplesIndexBuilder(BitmapTriples triples, int numThreads, long bucketSize) {
+		this.triples = triples;
+		this.seqY = triples.getSeqY();
+		this.seqZ = triples.getSeqZ();
+		this.bitmapZ = triples.getBitmapZ();
+		this.numThreads = Math.max(1, numThreads);
+		this.bucketSize = bucketSize > 0 ? bucketSize : DEFAULT_BUCKET_SIZE;
+	}
+
+	public void build(ProgressListener listener) throws IOException {
+		StopWatch global = new StopWatch();
+		StopWatch st = new StopWatch();
+
+		final long numTriples = seqZ.getNumberOfElements();
+		final long numY = seqY.getNumberOfElements();
+
+		// Make sure the rank directory of the bitmap is built before the threads share it.
+		bitmapZ.rank1(0);
+
+		this.predicateCount = countPredicates();
+		log.info("Count predicates in {}", st.stopAndShow());
+		st.reset();
+
+		final int numChunks = (int) Math.max(1, Math.min(numThreads, numTriples));
+		final long chunkSize = (numTriples + numChunks - 1) / numChunks;
+
+		// Find the number of objects
+		final long[] maxObject = new long[numChunks];
+		ParallelUtil.run("IndexObjectCount", numThreads, numChunks, chunk -> {
+			long start = chunk * chunkSize;
+			long end = Math.min(numTriples, start + chunkSize);
+			long max = 0;
+			for (long i = start; i < end; i++) {
+				long val = seqZ.get(i);
+				if (val == 0) {
+					throw new RuntimeException("ERROR: There is a zero value in the Z level.");
+				}
+				max = Math.max(max, val);
+			}
+			maxObject[chunk] = max;
+		});
+		final long numObjects = Arrays.stream(maxObject).max().orElse(0);
+
+		// Count the triples of each chunk that go to each bucket, the buckets are small to split the
+		// sort units by their number of triples
+		final int numBuckets = (int) Math.max(1, Math.min(numObjects, MAX_BUCKETS));
+		final long[][] offsets = new long[numChunks][numBuckets];
+		ParallelUtil.run("IndexObjectCount", numThreads, numChunks, chunk -> {
+			long start = chunk * chunkSize;
+			long end = Math.min(numTriples, start + chunkSize);
+			long[] counts = offsets[chunk];
+			for (long i = start; i < end; i++) {
+				counts[bucketOf(seqZ.get(i), numObjects, numBuckets)]++;
+			}
+		});
+
+		// Prefix sum, bucket by bucket and chunk by chunk inside each bucket.
+		final long[] bucketStart = new long[numBuckets + 1];
+		long acc = 0;
+		for (int b = 0; b < numBuckets; b++) {
+			bucketStart[b] = acc;
+			for (int c = 0; c < numChunks; c++) {
+				long count = offsets[c][b];
+				offsets[c][b] = acc;
+				acc += count;
+			}
+		}
+		bucketStart[numBuckets] = acc;
+
+		// Group the consecutive buckets in sort units of at most bucketSize triples
+		final List<int[]> units = new ArrayList<>();
+		for (int b = 0; b < numBuckets; ) {
+			int first = b++;
+			while (b < numBuckets && bucketStart[b + 1] - bucketStart[first] <= bucketSize) {
+				b++;
+			}
+			units.add(new int[]{first, b});
+		}
+		log.info("Count objects in {}, {} objects in {} buckets, {} sort units", st.stopAndShow(), numObjects, numBuckets, units.size());
+		ListenerUtil.notify(listener, "Counted objects", 20, 100);
+		st.reset();
+
+		Path tempPath = Files.createTempFile("objectsPositions", ".tmp");
+		try (LongArrayDisk positions = new LongArrayDisk(tempPath, Math.max(1, numTriples), false)) {
+			// Scatter the triple positions grouped by bucket
+			ParallelUtil.run("IndexObjectScatter", numThreads, numChunks, chunk -> {
+				long start = chunk * chunkSize;
+				long end = Math.min(numTriples, start + chunkSize);
+				long[] next = offsets[chunk];
+				for (long i = start; i < end; i++) {
+					int bucket = bucketOf(seqZ.get(i), numObjects, numBuckets);
+					positions.set(next[bucket]++, i);
+				}
+			});
+			log.info("Object references in {}", st.stopAndShow());
+			ListenerUtil.notify(listener, "Scattered object references", 40, 100);
+			st.reset();
+
+			// Sort each bucket by (object, predicate, position) and mark the end of each object list.
+			final Bitmap375 bitmapIndex = triples.createIndexBitmap(numTriples);
+			final int posBits = BitUtil.log2(numY);
+			final int predBits = BitUtil.log2(predicateCount.getNumberOfElements());
+			final boolean packed = posBits + predBits < 64;
+			ParallelUtil.run("IndexObjectSort", numThreads, units.size(), unit -> {
+				int first = units.get(unit)[0];
+				int last = units.get(unit)[1];
+				long start = bucketStart[first];
+				long end = bucketStart[last];
+				long firstObject = firstObjectOf(first, numObjects, numBuckets);
+				long endObject = firstObjectOf(last, numObjects, numBuckets);
+				if (end - start > bucketSize) {
+					sortBucketOnDisk(positions, bitmapIndex, start, end, firstObject, endObject);
+				} else {
+					sortBucket(positions, bitmapIndex, start, end, firstObject, endObject, posBits, packed);
+				}
+			});
+			bitmapIndex.set(numTriples - 1, true);
+			log.info("Sort object sublists in {}", st.stopAndShow());
+			ListenerUtil.notify(listener, "Sorted object sublists", 80, 100);
+			st.reset();
+
+			// Pack the positions, each worker writes a range of whole words.
+			File file = File.createTempFile("objectsArray", ".tmp");
+			final SequenceLog64BigDisk objectArray = new SequenceLog64BigDisk(file.getAbsolutePath(), posBits, numTriples);
+			objectArray.resize(numTriples);
+			final long packChunk = ((chunkSize + 63) / 64) * 64;
+			ParallelUtil.run("IndexObjectPack", numThreads, numChunks, chunk -> {
+				long start = chunk * packChunk;
+				long end = Math.min(numTriples, start + packChunk);
+				for (long i = start; i < end; i++) {
+					objectArray.set(i, positions.get(i));
+				}
+			});
+			this.indexZ = objectArray;
+			this.bitmapIndexZ = bitmapIndex;
+			log.info("Pack object index in {}", st.stopAndShow());
+			st.reset();
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+		ListenerUtil.notify(listener, "Object index generated", 100, 100);
+
+		log.info("Index generated in {} using {} threads", global.stopAndShow(), numThreads);
+	}
+
+	private void sortBucket(LongArrayDisk positions, Bitmap375 bitmapIndex, long start, long end,
+							long firstObject, long endObject, int posBits, boolean packed) {
+		long size = end - start;
+		if (size == 0) {
+			return;
+		}
+		if (size > MAX_ARRAY_SIZE || endObject - firstObject > MAX_ARRAY_SIZE) {
+			throw new IllegalStateException("Bucket of " + size + " triples too big to be sorted in memory, reduce the bucket size");
+		}
+		int len = (int) size;
+
+		// Counting sort by object, stable: the positions of a bucket are already in increasing order.
+		int[] objectStart = new int[(int) (endObject - firstObject) + 1];
+		long[] triplePos = new long[len];
+		for (int k = 0; k < len; k++) {
+			triplePos[k] = positions.get(start + k);
+			objectStart[(int) (seqZ.get(triplePos[k]) - firstObject)]++;
+		}
+		int sum = 0;
+		for (int o = 0; o < objectStart.length; o++) {
+			int count = objectStart[o];
+			objectStart[o] = sum;
+			sum += count;
+		}
+
+		long[] keys = new long[len];
+		long[] values = packed ? null : new long[len];
+		int[] next = Arrays.copyOf(objectStart, objectStart.length);
+		for (int k = 0; k < len; k++) {
+			long i = triplePos[k];
+			long posY = i > 0 ? bitmapZ.rank1(i - 1) : 0;
+			long predicate = seqY.get(posY);
+			int dest = next[(int) (seqZ.get(i) - firstObject)]++;
+			if (packed) {
+				keys[dest] = (predicate << posBits) | posY;
+			} else {
+				keys[dest] = predicate;
+				values[dest] = posY;
+			}
+		}
+		triplePos = null;
+
+		// Sort each object sublist by predicate then position
+		long mask = BitUtil.maxVal(posBits);
+		for (int o = 0; o < objectStart.length; o++) {
+			int first = objectStart[o];
+			int last = o + 1 < objectStart.length ? objectStart[o + 1] : len;
+			if (first == last) {
+				continue;
+			}
+			if (last - first > 1) {
+				if (packed) {
+					Arrays.sort(keys, first, last);
+				} else {
+					sortPairs(keys, values, first, last);
+				}
+			}
+			setBit(bitmapIndex, start + last - 1, start, end);
+		}
+
+		for (int k = 0; k < len; k++) {
+			positions.set(start + k, packed ? keys[k] & mask : values[k]);
+		}
+	}
+
+	/**
+	 * Sort a bucket too big for the heap by (object, predicate, position) with two stable counting
+	 * sorts on disk arrays, the positions of a bucket are already in increasing order.
+	 */
+	private void sortBucketOnDisk(LongArrayDisk positions, Bitmap375 bitmapIndex, long start, long end,
+								  long firstObject, long endObject) throws IOException {
+		if (endObject - firstObject > MAX_ARRAY_SIZE) {
+			throw new IllegalStateException("Bucket of " + (endObject - firstObject) + " objects too big to be sorted");
+		}
+		long size = end - start;
+		int numPredicates = (int) predicateCount.getNumberOfElements();
+		Path tempPath = Files.createTempFile("objectsBucket", ".tmp");
+		try (LongArrayDisk byPredicate = new LongArrayDisk(tempPath, size, false)) {
+			// by predicate, the triple positions of the bucket are moved to the temporary array
+			long[] predicateStart = new long[numPredicates + 1];
+			for (long k = start; k < end; k++) {
+				predicateStart[(int) predicateOf(positions.get(k)) - 1]++;
+			}
+			toOffsets(predicateStart);
+			for (long k = start; k < end; k++) {
+				long i = positions.get(k);
+				byPredicate.set(predicateStart[(int) predicateOf(i) - 1]++, i);
+			}
+			predicateStart = null;
+
+			// by object, the Y positions are written back to the bucket
+			long[] objectStart = new long[(int) (endObject - firstObject) + 1];
+			for (long k = 0; k < size; k++) {
+				objectStart[(int) (seqZ.get(byPredicate.get(k)) - firstObject)]++;
+			}
+			toOffsets(objectStart);
+			for (long k = 0; k < size; k++) {
+				long i = byPredicate.get(k);
+				long posY = i > 0 ? bitmapZ.rank1(i - 1) : 0;
+				positions.set(start + objectStart[(int) (seqZ.get(i) - firstObject)]++, posY);
+			}
+			// the offsets are now the end of each object sublist
+			long previous = 0;
+			for (int o = 0; o < objectStart.length - 1; o++) {
+				if (objectStart[o] != previous) {
+					setBit(bitmapIndex, start + objectStart[o] - 1, start, end);
+					previous = objectStart[o];
+				}
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	private long predicateOf(long triplePosition) {
+		return seqY.get(triplePosition > 0 ? bitmapZ.rank1(triplePosition - 1) : 0);
+	}
+
+	/**
+	 * replace the counts by the start offsets, the last element is unused
+	 */
+	private static void toOffsets(long[] counts) {
+		long sum = 0;
+		for (int i = 0; i < counts.length; i++) {
+			long count = counts[i];
+			counts[i] = sum;
+			sum += count;
+		}
+	}
+
+	/**
+	 * Only the first and last words of a bucket can be shared with other buckets.
+	 */
+	private static void setBit(Bitmap375 bitmap, long pos, long start, long end) {
+		long word = pos >>> 6;
+		if (word == (start >>> 6) || word == ((end - 1) >>> 6)) {
+			synchronized (bitmap) {
+				bitmap.set(pos, true);
+			}
+		} else {
+			bitmap.set(pos, true);
+		}
+	}
+
+	/**
+	 * Stable sort of keys[from,to) carrying the values, used when a (predicate, position) pair
+	 * does not fit in a long. The values are already ordered inside each object sublist.
+	 */
+	private static void sortPairs(long[] keys, long[] values, int from, int to) {
+		int len = to - from;
+		long[] tmpKeys = new long[len];
+		long[] tmpValues = new long[len];
+		for (int width = 1; width < len; width <<= 1) {
+			for (int lo = from; lo < to - width; lo += width << 1) {
+				int mid = lo + width;
+				int hi = Math.min(mid + width, to);
+				int i = lo, j = mid, k = 0;
+				while (i < mid && j < hi) {
+					if (keys[j] < keys[i]) {
+						tmpKeys[k] = keys[j];
+						tmpValues[k++] = values[j++];
+					} else {
+						tmpKeys[k] = keys[i];
+						tmpValues[k++] = values[i++];
+					}
+				}
+				while (i < mid) {
+					tmpKeys[k] = keys[i];
+					tmpValues[k++] = values[i++];
+				}
+				while (j < hi) {
+					tmpKeys[k] = keys[j];
+					tmpValues[k++] = values[j++];
+				}
+				System.arraycopy(tmpKeys, 0, keys, lo, k);
+				System.arraycopy(tmpValues, 0, values, lo, k);
+			}
+		}
+	}
+
+	private Sequence countPredicates() throws IOException {
+		final long numY = seqY.getNumberOfElements();
+		final int numChunks = (int) Math.max(1, Math.min(numThreads, numY));
+		final long chunkSize = (numY + numChunks - 1) / numChunks;
+		final long[][] counts = new long[numChunks][];
+		ParallelUtil.run("IndexPredicateCount", numThreads, numChunks, chunk -> {
+			long start = chunk * chunkSize;
+			long end = Math.min(numY, start + chunkSize);
+			long[] count = new long[16];
+			for (long i = start; i < end; i++) {
+				int val = (int) seqY.get(i);
+				if (count.length < val) {
+					count = Arrays.copyOf(count, Math.max(val, count.length * 2));
+				}
+				count[val - 1]++;
+			}
+			counts[chunk] = count;
+		});
+
+		int numPredicates = 0;
+		long[] total = new long[0];
+		for (long[] count : counts) {
+			if (total.length < count.length) {
+				total = Arrays.copyOf(total, count.length);
+			}
+			for (int p = 0; p < count.length; p++) {
+				total[p] += count[p];
+				if (count[p] != 0) {
+					numPredicates = Math.max(numPredicates, p + 1);
+				}
+			}
+		}
+
+		SequenceLog64Big predCount = new SequenceLog64Big(BitUtil.log2(numY), numPredicates);
+		predCount.resize(numPredicates);
+		for (int p = 0; p < numPredicates; p++) {
+			predCount.set(p, total[p]);
+		}
+		predCount.trimToSize();
+		return predCount;
+	}
+
+	private static int bucketOf(long object, long numObjects, int numBuckets) {
+		return (int) (((object - 1) * numBuckets) / numObjects);
+	}
+
+	/**
+	 * @return the first object of the bucket, or numObjects+1 for the bucket after the last one
+	 */
+	private static long firstObjectOf(int bucket, long numObjects, int numBuckets) {
+		// smallest object o such that (o-1)*numBuckets/numObjects >= bucket
+		return (bucket * numObjects + numBuckets - 1) / numBuckets + 1;
+	}
+
+	public Sequence getIndexZ() {
+		return indexZ;
+	}
+
+	public Bitmap375 getBitmapIndexZ() {
+		return bitmapIndexZ;
+	}
+
+	public Sequence getPredicateCount() {
+		return predicateCount;
+	}
+}
@@ -254,7 +254,8 @@ public class BitmapTriplesIterator implements SuppliableIteratorTripleID {
 	 */
 	@Override
 	public boolean canGoTo() {
-		return pattern.isEmpty();
+		// the range of the other patterns has to be filtered
+		return patX != 0 ? (patY != 0 || patZ == 0) : (patY == 0 && patZ == 0);
 	}
 
 	/*
@@ -268,11 +269,11 @@ public class BitmapTriplesIterator implements SuppliableIteratorTripleID {
 			throw new IllegalAccessError("Cannot goto on this bitmaptriples pattern");
 		}
 
-		if (pos >= adjZ.getNumberOfElements()) {
+		if (pos < 0 || minZ + pos >= maxZ) {
 			throw new ArrayIndexOutOfBoundsException("Cannot goTo beyond last triple");
 		}
 
-		posZ = pos;
+		posZ = minZ + pos;
 		posY = adjZ.findListIndex(posZ);
 
 		z = adjZ.get(posZ);
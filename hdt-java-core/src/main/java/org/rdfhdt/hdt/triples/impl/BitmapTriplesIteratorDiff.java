@@ -1,13 +1,33 @@
 package org.rdfhdt.hdt.triples.impl;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.rdfhdt.hdt.compact.bitmap.AdjacencyList;
 import org.rdfhdt.hdt.compact.bitmap.ModifiableBitmap;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64Big;
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
 import org.rdfhdt.hdt.exceptions.NotFoundException;
 import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
 import org.rdfhdt.hdt.triples.IteratorTripleString;
+import org.rdfhdt.hdt.triples.Triples;
 import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.BitUtil;
+import org.rdfhdt.hdt.util.string.CompactString;
 
 /**
  * Class to compute inside a bitmap the elements that are into 2 HDTs
+ * <p>
+ * If both HDTs are SPO {@link BitmapTriples} with a four section or a multiple section dictionary of the same type,
+ * the diff is done with the IDs. The sorted sections of the dictionaries are merged to map the IDs of the original
+ * HDT to the IDs of the second HDT, then the triples of each subject are merged with the triples of the same subject
+ * in the second HDT. Otherwise, each triple of the original HDT is searched with its strings in the second HDT.
  */
 public class BitmapTriplesIteratorDiff {
     private final HDT hdtOriginal;
@@ -30,6 +50,29 @@ public class BitmapTriplesIteratorDiff {
      * fill the diff bitmap
      */
     public void fillBitmap() {
+        if (canDiffIds()) {
+            fillBitmapIds();
+        } else {
+            fillBitmapStrings();
+        }
+    }
+
+    /**
+     * @return if the triples and the dictionaries of both HDTs can be merged with their IDs
+     */
+    boolean canDiffIds() {
+        return isSPOBitmapTriples(hdtOriginal.getTriples())
+                && isSPOBitmapTriples(hdtDiff.getTriples())
+                && hdtOriginal.getDictionary().getType().equals(hdtDiff.getDictionary().getType())
+                && (hdtOriginal.getDictionary().getType().equals(HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION)
+                || hdtOriginal.getDictionary().getType().equals(HDTVocabulary.DICTIONARY_TYPE_MULT_SECTION));
+    }
+
+    private static boolean isSPOBitmapTriples(Triples triples) {
+        return triples instanceof BitmapTriples && ((BitmapTriples) triples).getOrder() == TripleComponentOrder.SPO;
+    }
+
+    void fillBitmapStrings() {
         IteratorTripleString iterator1;
         try {
             // search all the triples of the first HDT
@@ -55,4 +98,190 @@ public class BitmapTriplesIteratorDiff {
             }
         }
     }
+
+    void fillBitmapIds() {
+        Dictionary dict1 = hdtOriginal.getDictionary();
+        Dictionary dict2 = hdtDiff.getDictionary();
+        Sequence subjects = mapIds(subjectSections(dict1), subjectSections(dict2), dict1.getNsubjects(), dict2.getNsubjects());
+        Sequence predicates = mapIds(predicateSections(dict1), predicateSections(dict2), dict1.getNpredicates(), dict2.getNpredicates());
+        Sequence objects = mapIds(objectSections(dict1), objectSections(dict2), dict1.getNobjects(), dict2.getNobjects());
+
+        BitmapTriples triples1 = (BitmapTriples) hdtOriginal.getTriples();
+        BitmapTriples triples2 = (BitmapTriples) hdtDiff.getTriples();
+        Sequence seqY1 = triples1.getSeqY();
+        Sequence seqY2 = triples2.getSeqY();
+        Sequence seqZ1 = triples1.getSeqZ();
+        Sequence seqZ2 = triples2.getSeqZ();
+        AdjacencyList adjY1 = new AdjacencyList(seqY1, triples1.getBitmapY());
+        AdjacencyList adjY2 = new AdjacencyList(seqY2, triples2.getBitmapY());
+        AdjacencyList adjZ1 = new AdjacencyList(seqZ1, triples1.getBitmapZ());
+        AdjacencyList adjZ2 = new AdjacencyList(seqZ2, triples2.getBitmapZ());
+        long numSubjects1 = triples1.getNumberOfElements() == 0 ? 0 : triples1.getBitmapY().countOnes();
+        long numSubjects2 = triples2.getNumberOfElements() == 0 ? 0 : triples2.getBitmapY().countOnes();
+
+        for (long s1 = 1; s1 <= numSubjects1; s1++) {
+            long s2 = subjects.get(s1);
+            if (s2 == 0 || s2 > numSubjects2) {
+                continue;
+            }
+            // the predicates of a subject are sorted in both HDTs and the predicate mapping is increasing
+            long y1 = adjY1.find(s1 - 1);
+            long endY1 = adjY1.last(s1 - 1);
+            long y2 = adjY2.find(s2 - 1);
+            long endY2 = adjY2.last(s2 - 1);
+            while (y1 <= endY1 && y2 <= endY2) {
+                long p1 = predicates.get(seqY1.get(y1));
+                if (p1 == 0) {
+                    y1++;
+                    continue;
+                }
+                long p2 = seqY2.get(y2);
+                if (p1 < p2) {
+                    y1++;
+                } else if (p1 > p2) {
+                    y2++;
+                } else {
+                    mergeObjects(objects, seqZ1, adjZ1.find(y1), adjZ1.last(y1), seqZ2, adjZ2.find(y2), adjZ2.last(y2));
+                    y1++;
+                    y2++;
+                }
+            }
+        }
+    }
+
+    private void mergeObjects(Sequence objects, Sequence seqZ1, long z1, long endZ1, Sequence seqZ2, long startZ2, long endZ2) {
+        // the object mapping is increasing inside a dictionary section, the position in the second list is searched
+        // again when the mapped objects are going back to another section
+        long z2 = startZ2;
+        long last = 0;
+        for (; z1 <= endZ1; z1++) {
+            long o = objects.get(seqZ1.get(z1));
+            if (o == 0) {
+                continue;
+            }
+            if (o < last) {
+                z2 = lowerBound(seqZ2, o, startZ2, endZ2);
+            }
+            last = o;
+            while (z2 <= endZ2 && seqZ2.get(z2) < o) {
+                z2++;
+            }
+            if (z2 <= endZ2 && seqZ2.get(z2) == o) {
+                bitmap.set(z1, true);
+            }
+        }
+    }
+
+    private static long lowerBound(Sequence seq, long value, long begin, long end) {
+        long low = begin;
+        long high = end + 1;
+        while (low < high) {
+            long mid = (low + high) >>> 1;
+            if (seq.get(mid) < value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * section of a dictionary with the offset of its IDs for a role
+     */
+    private static class Section {
+        private final DictionarySection section;
+        private final long offset;
+        // type of the strings of the section, null if the section can contain any string
+        private final String type;
+
+        Section(DictionarySection section, long offset, String type) {
+            this.section = section;
+            this.offset = offset;
+            this.type = type;
+        }
+
+        boolean canShare(Section other) {
+            return type == null || other.type == null || type.equals(other.type);
+        }
+    }
+
+    private static List<Section> subjectSections(Dictionary dict) {
+        List<Section> sections = new ArrayList<>();
+        sections.add(new Section(dict.getShared(), 0, null));
+        sections.add(new Section(dict.getSubjects(), dict.getNshared(), null));
+        return sections;
+    }
+
+    private static List<Section> predicateSections(Dictionary dict) {
+        List<Section> sections = new ArrayList<>();
+        sections.add(new Section(dict.getPredicates(), 0, null));
+        return sections;
+    }
+
+    private static List<Section> objectSections(Dictionary dict) {
+        List<Section> sections = new ArrayList<>();
+        if (dict.getType().equals(HDTVocabulary.DICTIONARY_TYPE_MULT_SECTION)) {
+            // the shared section only contains resources, the literals are in one section per datatype
+            sections.add(new Section(dict.getShared(), 0, "NO_DATATYPE"));
+            long offset = dict.getNshared();
+            for (Map.Entry<String, DictionarySection> e : dict.getAllObjects().entrySet()) {
+                sections.add(new Section(e.getValue(), offset, e.getKey()));
+                offset += e.getValue().getNumberOfElements();
+            }
+        } else {
+            sections.add(new Section(dict.getShared(), 0, null));
+            sections.add(new Section(dict.getObjects(), dict.getNshared(), null));
+        }
+        return sections;
+    }
+
+    /**
+     * map the IDs of a role of the first dictionary to the IDs of the second dictionary
+     *
+     * @return the mapping, the ID in the second dictionary of each ID, 0 if the string isn't in the second dictionary
+     */
+    private static Sequence mapIds(List<Section> sections1, List<Section> sections2, long count1, long count2) {
+        SequenceLog64Big map = new SequenceLog64Big(BitUtil.log2(count2), count1 + 1, true);
+        for (Section section1 : sections1) {
+            for (Section section2 : sections2) {
+                if (section1.canShare(section2)) {
+                    merge(section1, section2, map);
+                }
+            }
+        }
+        return map;
+    }
+
+    private static CompactString next(Iterator<? extends CharSequence> it) {
+        return it.hasNext() ? new CompactString(it.next()) : null;
+    }
+
+    private static void merge(Section section1, Section section2, SequenceLog64Big map) {
+        if (section1.section.getNumberOfElements() == 0 || section2.section.getNumberOfElements() == 0) {
+            return;
+        }
+        Iterator<? extends CharSequence> it1 = section1.section.getSortedEntries();
+        Iterator<? extends CharSequence> it2 = section2.section.getSortedEntries();
+        long id1 = 1;
+        long id2 = 1;
+        CompactString str1 = next(it1);
+        CompactString str2 = next(it2);
+        while (str1 != null && str2 != null) {
+            int cmp = str1.compareTo(str2);
+            if (cmp < 0) {
+                str1 = next(it1);
+                id1++;
+            } else if (cmp > 0) {
+                str2 = next(it2);
+                id2++;
+            } else {
+                map.set(section1.offset + id1, section2.offset + id2);
+                str1 = next(it1);
+                id1++;
+                str2 = next(it2);
+                id2++;
+            }
+        }
+    }
 }
@@ -0,0 +1,183 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionaryKCat;
+import org.rdfhdt.hdt.enums.ResultEstimationType;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.exceptions.NotImplementedException;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.TripleIDComparator;
+import org.rdfhdt.hdt.triples.Triples;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Iterate over the triples of k HDTs mapped to the ids of a {@link DictionaryKCat}, sorted in SPO order and without
+ * duplicates.
+ * <p>
+ * The subjects of an input are read in 3 runs where the merged ids are increasing: the shared subjects, the subjects
+ * becoming shared and the subjects staying subjects. The runs of all the inputs are merged with a heap on the
+ * merged subject id, the triples of a merged subject are read from each input having it and sorted.
+ */
+public class BitmapTriplesIteratorKCat implements IteratorTripleID {
+
+    /**
+     * range of subjects of an input, filtered to have increasing merged ids
+     */
+    private class SubjectRun implements Comparable<SubjectRun> {
+        final int input;
+        final long end;
+        final boolean shared;
+        long oldId;
+        long newId;
+
+        SubjectRun(int input, long start, long end, boolean shared) {
+            this.input = input;
+            this.oldId = start - 1;
+            this.end = end;
+            this.shared = shared;
+        }
+
+        boolean next() {
+            while (++oldId <= end) {
+                newId = dictionaryKCat.mapSubject(input, oldId);
+                if ((newId <= dictionaryKCat.getNumShared()) == shared) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public int compareTo(SubjectRun o) {
+            return Long.compare(newId, o.newId);
+        }
+    }
+
+    private final List<? extends Triples> triples;
+    private final DictionaryKCat dictionaryKCat;
+    private final PriorityQueue<SubjectRun> queue = new PriorityQueue<>();
+    private final TripleIDComparator tripleIDComparator = new TripleIDComparator(TripleComponentOrder.SPO);
+    private final List<TripleID> buffer = new ArrayList<>();
+    private int bufferIndex;
+
+    /**
+     * @param dictionaries   the dictionaries of the inputs
+     * @param triples        the triples of the inputs
+     * @param dictionaryKCat the merged dictionary
+     */
+    public BitmapTriplesIteratorKCat(List<? extends Dictionary> dictionaries, List<? extends Triples> triples, DictionaryKCat dictionaryKCat) {
+        this.triples = triples;
+        this.dictionaryKCat = dictionaryKCat;
+        for (int i = 0; i < dictionaries.size(); i++) {
+            long nshared = dictionaries.get(i).getNshared();
+            long nsubjects = dictionaries.get(i).getNsubjects();
+            addRun(new SubjectRun(i, 1, nshared, true));
+            addRun(new SubjectRun(i, nshared + 1, nsubjects, true));
+            addRun(new SubjectRun(i, nshared + 1, nsubjects, false));
+        }
+    }
+
+    private void addRun(SubjectRun run) {
+        if (run.next()) {
+            queue.add(run);
+        }
+    }
+
+    private void fillBuffer() {
+        buffer.clear();
+        bufferIndex = 0;
+        while (buffer.isEmpty() && !queue.isEmpty()) {
+            long subject = queue.peek().newId;
+            // one run by input at most can have this subject
+            while (!queue.isEmpty() && queue.peek().newId == subject) {
+                SubjectRun run = queue.remove();
+                IteratorTripleID it = triples.get(run.input).search(new TripleID(run.oldId, 0, 0));
+                while (it.hasNext()) {
+                    TripleID triple = it.next();
+                    buffer.add(new TripleID(
+                            subject,
+                            dictionaryKCat.mapPredicate(run.input, triple.getPredicate()),
+                            dictionaryKCat.mapObject(run.input, triple.getObject())
+                    ));
+                }
+                addRun(run);
+            }
+        }
+        buffer.sort(tripleIDComparator);
+        // remove the triples in more than one input
+        int size = 0;
+        for (TripleID triple : buffer) {
+            if (size == 0 || tripleIDComparator.compare(buffer.get(size - 1), triple) != 0) {
+                buffer.set(size++, triple);
+            }
+        }
+        buffer.subList(size, buffer.size()).clear();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (bufferIndex < buffer.size()) {
+            return true;
+        }
+        fillBuffer();
+        return bufferIndex < buffer.size();
+    }
+
+    @Override
+    public TripleID next() {
+        return buffer.get(bufferIndex++);
+    }
+
+    @Override
+    public boolean hasPrevious() {
+        return false;
+    }
+
+    @Override
+    public TripleID previous() {
+        throw new NotImplementedException();
+    }
+
+    @Override
+    public void goToStart() {
+        throw new NotImplementedException();
+    }
+
+    @Override
+    public boolean canGoTo() {
+        return false;
+    }
+
+    @Override
+    public void goTo(long pos) {
+        throw new NotImplementedException();
+    }
+
+    @Override
+    public long estimatedNumResults() {
+        long count = 0;
+        for (Triples t : triples) {
+            count += t.getNumberOfElements();
+        }
+        return count;
+    }
+
+    @Override
+    public ResultEstimationType numResultEstimation() {
+        return ResultEstimationType.UP_TO;
+    }
+
+    @Override
+    public TripleComponentOrder getOrder() {
+        return TripleComponentOrder.SPO;
+    }
+
+    @Override
+    public long getLastTriplePosition() {
+        throw new NotImplementedException();
+    }
+}
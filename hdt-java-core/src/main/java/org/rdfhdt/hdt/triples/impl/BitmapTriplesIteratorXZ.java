@@ -0,0 +1,219 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import java.util.Arrays;
+
+import org.rdfhdt.hdt.compact.bitmap.AdjacencyList;
+import org.rdfhdt.hdt.enums.ResultEstimationType;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.iterator.SuppliableIteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+
+/**
+ * Iterates over the triples of a BitmapTriples with a fixed X and Z, i.e. S?O in SPO. The Z value is searched in
+ * each Z list of the Y list of X, instead of filtering all the triples of X.
+ * <p>
+ * The positions in Y of the results are computed on the first {@link #goTo(long)}, the next calls don't search
+ * the Z lists again.
+ */
+public class BitmapTriplesIteratorXZ implements SuppliableIteratorTripleID {
+	private final BitmapTriples triples;
+	private final TripleID returnTriple;
+	private final long patX, patZ;
+
+	private final AdjacencyList adjY, adjZ;
+	private final long minY, maxY;
+	// position in Y to search the next result from
+	private long posY;
+	// next result, -1 if there is no next result, only valid if nextFound
+	private long nextY, nextZ;
+	private boolean nextFound;
+	private long lastPosition;
+	// positions in Y of the results, computed on the first goTo
+	private long[] resultsY;
+
+	public BitmapTriplesIteratorXZ(BitmapTriples triples, TripleID pattern) {
+		this.triples = triples;
+		this.returnTriple = new TripleID();
+
+		TripleID reorderedPat = new TripleID(pattern);
+		TripleOrderConvert.swapComponentOrder(reorderedPat, TripleComponentOrder.SPO, triples.order);
+		patX = reorderedPat.getSubject();
+		patZ = reorderedPat.getObject();
+		if(patX==0 || reorderedPat.getPredicate()!=0 || patZ==0) {
+			throw new IllegalArgumentException("This structure is not meant to process this pattern");
+		}
+
+		adjY = triples.adjY;
+		adjZ = triples.adjZ;
+
+		minY = adjY.find(patX-1);
+		maxY = adjY.last(patX-1);
+
+		goToStart();
+	}
+
+	/**
+	 * @return the position in Z of the value in the list posY, -1 if it isn't in the list
+	 */
+	private long findZ(long posY) {
+		return adjZ.binSearch(patZ, adjZ.find(posY), adjZ.last(posY));
+	}
+
+	private void findNext() {
+		if(nextFound) {
+			return;
+		}
+		nextFound = true;
+		for(long pos = posY; pos <= maxY; pos++) {
+			long z = findZ(pos);
+			if(z!=-1) {
+				nextY = pos;
+				nextZ = z;
+				return;
+			}
+		}
+		nextY = nextZ = -1;
+	}
+
+	private TripleID updateOutput(long foundY, long foundZ) {
+		lastPosition = foundZ;
+		returnTriple.setAll(patX, adjY.get(foundY), patZ);
+		TripleOrderConvert.swapComponentOrder(returnTriple, triples.order, TripleComponentOrder.SPO);
+		return returnTriple;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#hasNext()
+	 */
+	@Override
+	public boolean hasNext() {
+		findNext();
+		return nextY!=-1;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#next()
+	 */
+	@Override
+	public TripleID next() {
+		findNext();
+		nextFound = false;
+		posY = nextY+1;
+		return updateOutput(nextY, nextZ);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#hasPrevious()
+	 */
+	@Override
+	public boolean hasPrevious() {
+		for(long pos = posY-1; pos >= minY; pos--) {
+			if(findZ(pos)!=-1) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#previous()
+	 */
+	@Override
+	public TripleID previous() {
+		for(long pos = posY-1; pos >= minY; pos--) {
+			long z = findZ(pos);
+			if(z!=-1) {
+				nextFound = false;
+				posY = pos;
+				return updateOutput(pos, z);
+			}
+		}
+		throw new IndexOutOfBoundsException();
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#goToStart()
+	 */
+	@Override
+	public void goToStart() {
+		posY = minY;
+		nextFound = false;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#estimatedNumResults()
+	 */
+	@Override
+	public long estimatedNumResults() {
+		return maxY-minY+1;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#numResultEstimation()
+	 */
+	@Override
+	public ResultEstimationType numResultEstimation() {
+		return ResultEstimationType.UP_TO;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#canGoTo()
+	 */
+	@Override
+	public boolean canGoTo() {
+		return true;
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#goTo(long)
+	 */
+	@Override
+	public void goTo(long pos) {
+		if(resultsY==null) {
+			resultsY = findResults();
+		}
+		if(pos<0 || pos>=resultsY.length) {
+			throw new IndexOutOfBoundsException();
+		}
+		posY = resultsY[(int) pos];
+		nextFound = false;
+	}
+
+	/**
+	 * @return the positions in Y of all the results, one binary search by predicate of the subject
+	 */
+	private long[] findResults() {
+		long[] results = new long[(int) Math.max(1, Math.min(estimatedNumResults(), 16))];
+		int size = 0;
+		for(long p = minY; p <= maxY; p++) {
+			if(findZ(p)!=-1) {
+				if(size==results.length) {
+					results = Arrays.copyOf(results, size*2);
+				}
+				results[size++] = p;
+			}
+		}
+		return Arrays.copyOf(results, size);
+	}
+
+	/* (non-Javadoc)
+	 * @see hdt.iterator.IteratorTripleID#getOrder()
+	 */
+	@Override
+	public TripleComponentOrder getOrder() {
+		return triples.order;
+	}
+
+	/* (non-Javadoc)
+	 * @see java.util.Iterator#remove()
+	 */
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	@Override
+	public long getLastTriplePosition() {
+		return lastPosition;
+	}
+}
@@ -28,6 +28,7 @@
 package org.rdfhdt.hdt.triples.impl;
 
 import org.rdfhdt.hdt.compact.bitmap.AdjacencyList;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
 import org.rdfhdt.hdt.enums.ResultEstimationType;
 import org.rdfhdt.hdt.enums.TripleComponentOrder;
 import org.rdfhdt.hdt.iterator.SuppliableIteratorTripleID;
@@ -187,7 +188,7 @@ public class BitmapTriplesIteratorYFOQ implements SuppliableIteratorTripleID {
 		 */
 		@Override
 		public boolean canGoTo() {
-			return false;
+			return true;
 		}
 
 		/* (non-Javadoc)
@@ -195,9 +196,33 @@ public class BitmapTriplesIteratorYFOQ implements SuppliableIteratorTripleID {
 		 */
 		@Override
 		public void goTo(long pos) {
-			if(!canGoTo()) {
-				throw new IllegalAccessError("Cannot goto on this bitmaptriples pattern");
+			Sequence triplesBefore = triples.getPredicateIndexTriples();
+			long start = triplesBefore.get(predBase);
+			if(pos<0 || start+pos>=triplesBefore.get(predBase+numOccurrences)) {
+				throw new IndexOutOfBoundsException();
 			}
+
+			// Find the last occurrence starting before the position
+			long min = 1;
+			long max = numOccurrences;
+			while(min<max) {
+				long mid = (min+max+1)/2;
+				if(triplesBefore.get(predBase+mid-1)-start<=pos) {
+					min = mid;
+				} else {
+					max = mid-1;
+				}
+			}
+
+			numOccurrence = min;
+			posY = triples.predicateIndex.getOccurrence(predBase, numOccurrence);
+
+			prevZ = adjZ.find(posY);
+			nextZ = adjZ.last(posY);
+			posZ = prevZ+pos-(triplesBefore.get(predBase+numOccurrence-1)-start);
+
+			x = adjY.findListIndex(posY)+1;
+			y = adjY.get(posY);
 		}
 		
 		/* (non-Javadoc)
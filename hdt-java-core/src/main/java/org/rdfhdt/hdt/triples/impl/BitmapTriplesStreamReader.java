@@ -0,0 +1,191 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.rdfhdt.hdt.compact.bitmap.Bitmap;
+import org.rdfhdt.hdt.compact.bitmap.BitmapFactory;
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.compact.sequence.SequenceFactory;
+import org.rdfhdt.hdt.compact.sequence.SequenceLog64;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.exceptions.CRCException;
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.ControlInfo;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.util.BitUtil;
+import org.rdfhdt.hdt.util.crc.CRC32;
+import org.rdfhdt.hdt.util.crc.CRC8;
+import org.rdfhdt.hdt.util.crc.CRCInputStream;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.listener.IntermediateListener;
+
+/**
+ * Read the triples of a {@link BitmapTriples} section from a stream without loading the section.
+ * <p>
+ * The bitmaps and the Y sequence are written before the Z sequence, they are loaded in memory, they are smaller than
+ * the Z sequence with one bit per triple and one entry per subject-predicate pair. The entries of the Z sequence, one
+ * per triple, are then decoded while they are read from the stream. The stream is read until the end of the section.
+ */
+public class BitmapTriplesStreamReader {
+	private static final int W = 64;
+
+	private final CRCInputStream in;
+	private final TripleComponentOrder order;
+	private final Bitmap bitmapY;
+	private final Bitmap bitmapZ;
+	private final Sequence seqY;
+	// Z sequence if it isn't a log sequence, read with the section
+	private final Sequence seqZ;
+	private final long numTriples;
+	private final int numbits;
+	private final long numwords;
+	private final TripleID triple = new TripleID();
+	private long wordsRead;
+	private long word;
+	// used bits of the current word
+	private int bitOffset = W;
+	private long posZ;
+	private long posY;
+	private long x = 1;
+	private boolean end;
+
+	/**
+	 * read the header of the section, the bitmaps and the Y sequence
+	 *
+	 * @param input    the stream, after the control information of the triples, it must support mark
+	 * @param ci       the control information of the triples
+	 * @param listener listener
+	 * @throws IOException read error
+	 */
+	public BitmapTriplesStreamReader(InputStream input, ControlInfo ci, ProgressListener listener) throws IOException {
+		if (ci.getType() != ControlInfo.Type.TRIPLES) {
+			throw new IllegalFormatException("Trying to read a triples section, but was not triples.");
+		}
+
+		if (!ci.getFormat().equals(HDTVocabulary.TRIPLES_TYPE_BITMAP)) {
+			throw new IllegalFormatException("Trying to read BitmapTriples, but the data does not seem to be BitmapTriples");
+		}
+
+		order = TripleComponentOrder.values()[(int) ci.getInt("order")];
+
+		IntermediateListener iListener = new IntermediateListener(listener);
+
+		bitmapY = BitmapFactory.createBitmap(input);
+		bitmapY.load(input, iListener);
+
+		bitmapZ = BitmapFactory.createBitmap(input);
+		bitmapZ.load(input, iListener);
+
+		seqY = SequenceFactory.createStream(input);
+		seqY.load(input, iListener);
+
+		input.mark(1);
+		int type = input.read();
+		input.reset();
+		if (type != SequenceFactory.TYPE_SEQLOG) {
+			// no streaming decoder for this sequence, read it with the section
+			seqZ = SequenceFactory.createStream(input);
+			seqZ.load(input, iListener);
+			numTriples = seqZ.getNumberOfElements();
+			in = null;
+			numbits = 0;
+			numwords = 0;
+			return;
+		}
+		seqZ = null;
+		in = new CRCInputStream(input, new CRC8());
+		in.read();
+		numbits = in.read();
+		numTriples = VByte.decode(in);
+
+		if (!in.readCRCAndCheck()) {
+			throw new CRCException("CRC Error while reading LogArray64 header.");
+		}
+
+		if (numbits > W) {
+			throw new IllegalFormatException("LogArray64 cannot deal with more than 64bit per entry");
+		}
+
+		in.setCRC(new CRC32());
+		numwords = SequenceLog64.numWordsFor(numbits, numTriples);
+	}
+
+	/**
+	 * @return the order of the triples
+	 */
+	public TripleComponentOrder getOrder() {
+		return order;
+	}
+
+	/**
+	 * @return the number of triples of the section
+	 */
+	public long getNumberOfElements() {
+		return numTriples;
+	}
+
+	/**
+	 * read the next triple, the triples are returned in the order of the section
+	 *
+	 * @return the triple, in SPO order, the instance is reused by the next call, null after the last triple
+	 * @throws IOException read error
+	 */
+	public TripleID next() throws IOException {
+		if (posZ == numTriples) {
+			if (!end) {
+				end = true;
+				if (in != null && !in.readCRCAndCheck()) {
+					throw new CRCException("CRC Error while reading LogArray64 data.");
+				}
+			}
+			return null;
+		}
+		long z = seqZ != null ? seqZ.get(posZ) : nextField();
+		triple.setAll(x, seqY.get(posY), z);
+		TripleOrderConvert.swapComponentOrder(triple, order, TripleComponentOrder.SPO);
+
+		// the last object of a list, the next object is for the next predicate
+		if (bitmapZ.access(posZ)) {
+			// the last predicate of a list, the next predicate is for the next subject
+			if (bitmapY.access(posY)) {
+				x++;
+			}
+			posY++;
+		}
+		posZ++;
+		return triple;
+	}
+
+	private long readWord() throws IOException {
+		if (wordsRead++ < numwords - 1) {
+			return IOUtil.readLong(in);
+		}
+		// Read only used bits from last entry (byte aligned, little endian)
+		return BitUtil.readLowerBitsByteAligned(SequenceLog64.lastWordNumBits(numbits, numTriples), in);
+	}
+
+	private long nextField() throws IOException {
+		if (numbits == 0) {
+			return 0;
+		}
+		if (bitOffset == W) {
+			word = readWord();
+			bitOffset = 0;
+		}
+		long result;
+		if (bitOffset + numbits <= W) {
+			result = (word << (W - bitOffset - numbits)) >>> (W - numbits);
+			bitOffset += numbits;
+		} else {
+			long next = readWord();
+			result = (word >>> bitOffset) | ((next << ((W << 1) - bitOffset - numbits)) >>> (W - numbits));
+			word = next;
+			bitOffset += numbits - W;
+		}
+		return result;
+	}
+}
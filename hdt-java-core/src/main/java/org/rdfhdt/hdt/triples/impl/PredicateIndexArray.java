@@ -14,12 +14,14 @@ import org.rdfhdt.hdt.util.BitUtil;
 import org.rdfhdt.hdt.util.StopWatch;
 import org.rdfhdt.hdt.util.io.CountInputStream;
 import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.io.Prefetchable;
+import org.rdfhdt.hdt.util.io.WarmUp;
 import org.rdfhdt.hdt.util.listener.IntermediateListener;
 import org.rdfhdt.hdt.util.listener.ListenerUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-class PredicateIndexArray implements PredicateIndex {
+class PredicateIndexArray implements PredicateIndex, Prefetchable {
 	private static final Logger log = LoggerFactory.getLogger(PredicateIndexArray.class);
 
 	BitmapTriples triples;
@@ -50,7 +52,7 @@ class PredicateIndexArray implements PredicateIndex {
 
 	@Override
 	public void load(InputStream input) throws IOException {
-		bitmap = BitmapFactory.createBitmap(input);
+		bitmap = BitmapFactory.createBitmap(input, triples.getBitmapY().getType());
 		bitmap.load(input, null);
 
 		array = SequenceFactory.createStream(input);
@@ -90,7 +92,7 @@ class PredicateIndexArray implements PredicateIndex {
 	    predCount.aggressiveTrimToSize();
 
 	    // Convert predicate count to bitmap
-	    Bitmap375 bitmap = new Bitmap375(triples.getSeqY().getNumberOfElements());
+	    Bitmap375 bitmap = triples.createIndexBitmap(triples.getSeqY().getNumberOfElements());
 	    long tempCountPred=0;
 	    for(long i=0;i<predCount.getNumberOfElements();i++) {
 	        tempCountPred += predCount.get(i);
@@ -131,12 +133,17 @@ class PredicateIndexArray implements PredicateIndex {
 
 	@Override
 	public void mapIndex(CountInputStream input, File f, ProgressListener listener) throws IOException {
-		bitmap = BitmapFactory.createBitmap(input);
+		bitmap = BitmapFactory.createBitmap(input, triples.getBitmapY().getType());
 		bitmap.load(input, null);
 
 		array = new SequenceLog64Map(input, f);
 	}
 
+	@Override
+	public void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority) {
+		warmUp.addRegions(array, name, priority);
+	}
+
 	@Override
 	public void close() throws IOException {
 		bitmap=null;
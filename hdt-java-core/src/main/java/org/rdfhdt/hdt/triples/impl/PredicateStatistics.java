@@ -0,0 +1,523 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.PriorityQueue;
+
+import org.rdfhdt.hdt.compact.bitmap.Bitmap;
+import org.rdfhdt.hdt.compact.integer.VByte;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.exceptions.CRCException;
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.ControlInfo;
+import org.rdfhdt.hdt.options.ControlInformation;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+import org.rdfhdt.hdt.util.StopWatch;
+import org.rdfhdt.hdt.util.crc.CRC32;
+import org.rdfhdt.hdt.util.crc.CRCInputStream;
+import org.rdfhdt.hdt.util.crc.CRCOutputStream;
+import org.rdfhdt.hdt.util.disk.LongArrayDisk;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cardinality statistics of the predicates of a {@link BitmapTriples}: number of triples, distinct subjects,
+ * distinct objects and the most frequent objects of each predicate.
+ * <p>
+ * The statistics are computed once and saved next to the HDT file ({@link #getFileName(String)}), like the
+ * .index file, they are used by the query planners to estimate the selectivity of the triple patterns.
+ */
+public class PredicateStatistics {
+	private static final Logger log = LoggerFactory.getLogger(PredicateStatistics.class);
+
+	/** Suffix of the statistics file, after the name of the HDT file */
+	public static final String FILE_SUFFIX = ".stats.v1";
+	/** Default number of frequent objects kept by predicate */
+	public static final int DEFAULT_TOP_K = 16;
+	/** Default number of objects sorted in memory when the objects of a predicate are counted without the object index */
+	public static final int DEFAULT_SORT_BUFFER_SIZE = 1 << 24;
+
+	private static final long[] EMPTY = new long[0];
+
+	private final long numTriples;
+	private final long[] counts;
+	private final long[] distinctSubjects;
+	private final long[] distinctObjects;
+	// frequent objects by predicate, sorted by decreasing count
+	private final long[][] topObjects;
+	private final long[][] topCounts;
+
+	private PredicateStatistics(long numTriples, int numPredicates) {
+		this.numTriples = numTriples;
+		this.counts = new long[numPredicates];
+		this.distinctSubjects = new long[numPredicates];
+		this.distinctObjects = new long[numPredicates];
+		this.topObjects = new long[numPredicates][];
+		this.topCounts = new long[numPredicates][];
+		Arrays.fill(topObjects, EMPTY);
+		Arrays.fill(topCounts, EMPTY);
+	}
+
+	/**
+	 * @param hdtFileName HDT file
+	 * @return the statistics file of this HDT file
+	 */
+	public static String getFileName(String hdtFileName) {
+		return hdtFileName.replaceAll("\\.hdt\\.gz$", ".hdt") + FILE_SUFFIX;
+	}
+
+	/**
+	 * Compute the statistics of BitmapTriples in SPO order. The distinct objects and the frequent objects are
+	 * read with the object index if it was generated, otherwise with one search by predicate.
+	 *
+	 * @param triples       the triples
+	 * @param numPredicates number of predicates of the dictionary
+	 * @param numObjects    number of objects of the dictionary
+	 * @param topK          number of frequent objects to keep by predicate
+	 * @param listener      listener
+	 * @return the statistics
+	 * @throws IOException error while sorting the objects on disk
+	 */
+	public static PredicateStatistics generate(BitmapTriples triples, long numPredicates, long numObjects, int topK, ProgressListener listener) throws IOException {
+		return generate(triples, numPredicates, numObjects, topK, DEFAULT_SORT_BUFFER_SIZE, listener);
+	}
+
+	static PredicateStatistics generate(BitmapTriples triples, long numPredicates, long numObjects, int topK, int sortBufferSize, ProgressListener listener) throws IOException {
+		if (triples.getOrder() != TripleComponentOrder.SPO) {
+			throw new IllegalArgumentException("The predicate statistics need triples in SPO order, not " + triples.getOrder());
+		}
+		if (numPredicates > Integer.MAX_VALUE - 1) {
+			throw new IllegalArgumentException("Too many predicates: " + numPredicates);
+		}
+		StopWatch st = new StopWatch();
+		PredicateStatistics stats = new PredicateStatistics(triples.getNumberOfElements(), (int) numPredicates);
+
+		// SPO: each position of Y is a distinct subject of the predicate, its children in Z are its triples
+		Sequence seqY = triples.getSeqY();
+		Bitmap bitmapZ = triples.getBitmapZ();
+		long numY = seqY.getNumberOfElements();
+		long posZ = 0;
+		for (long posY = 0; posY < numY; posY++) {
+			int p = (int) seqY.get(posY) - 1;
+			stats.distinctSubjects[p]++;
+			long start = posZ;
+			while (!bitmapZ.access(posZ)) {
+				posZ++;
+			}
+			posZ++;
+			stats.counts[p] += posZ - start;
+			ListenerUtil.notifyCond(listener, "Counting predicates", posY, numY);
+		}
+
+		if (triples.getIndexZ() != null) {
+			stats.countObjectsByObject(triples, numObjects, topK, listener);
+		} else {
+			stats.countObjectsByPredicate(triples, topK, sortBufferSize, listener);
+		}
+		log.debug("Predicate statistics generated in {}", st.stopAndShow());
+		return stats;
+	}
+
+	private static PriorityQueue<long[]> createQueue() {
+		// smallest count on top, to be removed first
+		return new PriorityQueue<>(Comparator.<long[]>comparingLong(e -> e[1]).thenComparingLong(e -> -e[0]));
+	}
+
+	private static void offer(PriorityQueue<long[]> queue, int topK, long object, long count) {
+		if (queue.size() < topK) {
+			queue.add(new long[]{object, count});
+		} else if (topK > 0 && queue.peek()[1] < count) {
+			queue.poll();
+			queue.add(new long[]{object, count});
+		}
+	}
+
+	private void setTop(int p, PriorityQueue<long[]> queue) {
+		int size = queue.size();
+		topObjects[p] = new long[size];
+		topCounts[p] = new long[size];
+		for (int i = size - 1; i >= 0; i--) {
+			long[] e = queue.poll();
+			topObjects[p][i] = e[0];
+			topCounts[p][i] = e[1];
+		}
+	}
+
+	/**
+	 * one ??O search by object, memory in the number of predicates
+	 */
+	private void countObjectsByObject(Triples triples, long numObjects, int topK, ProgressListener listener) {
+		int numPredicates = counts.length;
+		long[] objectCount = new long[numPredicates];
+		int[] touched = new int[numPredicates];
+		PriorityQueue<long[]>[] queues = createQueues(numPredicates);
+
+		for (long o = 1; o <= numObjects; o++) {
+			int numTouched = 0;
+			IteratorTripleID it = triples.search(new TripleID(0, 0, o));
+			while (it.hasNext()) {
+				int p = (int) it.next().getPredicate() - 1;
+				if (objectCount[p]++ == 0) {
+					touched[numTouched++] = p;
+				}
+			}
+			for (int i = 0; i < numTouched; i++) {
+				int p = touched[i];
+				distinctObjects[p]++;
+				offer(queues[p], topK, o, objectCount[p]);
+				objectCount[p] = 0;
+			}
+			ListenerUtil.notifyCond(listener, "Counting objects", o, numObjects);
+		}
+		for (int p = 0; p < numPredicates; p++) {
+			setTop(p, queues[p]);
+		}
+	}
+
+	/**
+	 * one ?P? search by predicate, the objects of a predicate are sorted in memory by runs of at most
+	 * bufferSize objects, the runs of the predicates with more triples are written to a temporary file and merged
+	 */
+	private void countObjectsByPredicate(Triples triples, int topK, int bufferSize, ProgressListener listener) throws IOException {
+		int numPredicates = counts.length;
+		long maxCount = Arrays.stream(counts).max().orElse(0);
+		long[] buffer = new long[(int) Math.max(1, Math.min(bufferSize, maxCount))];
+		for (int p = 0; p < numPredicates; p++) {
+			IteratorTripleID it = triples.search(new TripleID(0, p + 1, 0));
+			ObjectCounter counter = new ObjectCounter(topK);
+			if (counts[p] <= buffer.length) {
+				int size = readRun(it, buffer);
+				Arrays.sort(buffer, 0, size);
+				for (int i = 0; i < size; i++) {
+					counter.add(buffer[i]);
+				}
+			} else {
+				mergeRuns(it, counts[p], buffer, counter);
+			}
+			distinctObjects[p] = counter.finish();
+			setTop(p, counter.queue);
+			ListenerUtil.notifyCond(listener, "Counting objects", p, numPredicates);
+		}
+	}
+
+	private static int readRun(IteratorTripleID it, long[] buffer) {
+		int size = 0;
+		while (size < buffer.length && it.hasNext()) {
+			buffer[size++] = it.next().getObject();
+		}
+		return size;
+	}
+
+	private static void mergeRuns(IteratorTripleID it, long count, long[] buffer, ObjectCounter counter) throws IOException {
+		Path tempPath = Files.createTempFile("predicateObjects", ".tmp");
+		try (LongArrayDisk objects = new LongArrayDisk(tempPath, count, false)) {
+			// sorted runs of the size of the buffer, the cursors are {object, position, end of the run}
+			PriorityQueue<long[]> cursors = new PriorityQueue<>(Comparator.comparingLong(c -> c[0]));
+			long size = 0;
+			int len;
+			while (size < count && (len = readRun(it, buffer)) > 0) {
+				Arrays.sort(buffer, 0, len);
+				for (int i = 0; i < len; i++) {
+					objects.set(size + i, buffer[i]);
+				}
+				cursors.add(new long[]{buffer[0], size, size + len});
+				size += len;
+			}
+			while (!cursors.isEmpty()) {
+				long[] cursor = cursors.poll();
+				counter.add(cursor[0]);
+				if (++cursor[1] < cursor[2]) {
+					cursor[0] = objects.get(cursor[1]);
+					cursors.add(cursor);
+				}
+			}
+		} finally {
+			Files.deleteIfExists(tempPath);
+		}
+	}
+
+	/**
+	 * count the distinct objects of a sorted list and keep the most frequent ones
+	 */
+	private static class ObjectCounter {
+		final PriorityQueue<long[]> queue = createQueue();
+		final int topK;
+		long distinct;
+		long last;
+		long lastCount;
+
+		ObjectCounter(int topK) {
+			this.topK = topK;
+		}
+
+		void add(long object) {
+			if (lastCount > 0 && object == last) {
+				lastCount++;
+				return;
+			}
+			finish();
+			last = object;
+			lastCount = 1;
+		}
+
+		/**
+		 * @return the number of distinct objects
+		 */
+		long finish() {
+			if (lastCount > 0) {
+				distinct++;
+				offer(queue, topK, last, lastCount);
+				lastCount = 0;
+			}
+			return distinct;
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PriorityQueue<long[]>[] createQueues(int size) {
+		PriorityQueue<long[]>[] queues = new PriorityQueue[size];
+		for (int i = 0; i < size; i++) {
+			queues[i] = createQueue();
+		}
+		return queues;
+	}
+
+	/**
+	 * Load the statistics file of an HDT file, or generate and save it if it doesn't exist.
+	 *
+	 * @param hdt         the HDT, with BitmapTriples
+	 * @param hdtFileName the HDT file, null to only generate the statistics
+	 * @param listener    listener
+	 * @return the statistics
+	 * @throws IOException error while writing the file
+	 */
+	public static PredicateStatistics loadOrCreate(HDT hdt, String hdtFileName, ProgressListener listener) throws IOException {
+		if (!(hdt.getTriples() instanceof BitmapTriples)) {
+			throw new IllegalArgumentException("The predicate statistics need BitmapTriples");
+		}
+		if (hdtFileName != null) {
+			PredicateStatistics stats = loadIfExists(hdt, hdtFileName);
+			if (stats != null) {
+				return stats;
+			}
+		}
+
+		PredicateStatistics stats = generate(
+				(BitmapTriples) hdt.getTriples(),
+				hdt.getDictionary().getNpredicates(),
+				hdt.getDictionary().getNobjects(),
+				DEFAULT_TOP_K,
+				listener
+		);
+		if (hdtFileName != null) {
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(getFileName(hdtFileName)))) {
+				stats.save(out);
+			}
+		}
+		return stats;
+	}
+
+	/**
+	 * Load the statistics file of an HDT file if it exists.
+	 *
+	 * @param hdt         the HDT
+	 * @param hdtFileName the HDT file
+	 * @return the statistics, null if there is no statistics file for this HDT
+	 */
+	public static PredicateStatistics loadIfExists(HDT hdt, String hdtFileName) {
+		File file = new File(getFileName(hdtFileName));
+		if (!file.isFile()) {
+			return null;
+		}
+		try {
+			PredicateStatistics stats = load(file);
+			if (stats.matches(hdt)) {
+				return stats;
+			}
+			log.warn("The statistics file {} is not associated to the HDT file.", file);
+		} catch (IOException | IllegalFormatException e) {
+			log.warn("Error reading the statistics file {}.", file, e);
+		}
+		return null;
+	}
+
+	private static PredicateStatistics load(File file) throws IOException {
+		try (InputStream in = new BufferedInputStream(new FileInputStream(file))) {
+			return load(in);
+		}
+	}
+
+	private boolean matches(HDT hdt) {
+		return hdt.getTriples().getNumberOfElements() == numTriples
+				&& hdt.getDictionary().getNpredicates() == counts.length;
+	}
+
+	public void save(OutputStream output) throws IOException {
+		ControlInfo ci = new ControlInformation();
+		ci.setType(ControlInfo.Type.INDEX);
+		ci.setFormat(HDTVocabulary.INDEX_TYPE_PREDICATE_STATISTICS);
+		ci.setInt("numTriples", numTriples);
+		ci.setInt("numPredicates", counts.length);
+		ci.save(output);
+
+		CRCOutputStream out = new CRCOutputStream(output, new CRC32());
+		for (int p = 0; p < counts.length; p++) {
+			VByte.encode(out, counts[p]);
+			VByte.encode(out, distinctSubjects[p]);
+			VByte.encode(out, distinctObjects[p]);
+			VByte.encode(out, topObjects[p].length);
+			for (int i = 0; i < topObjects[p].length; i++) {
+				VByte.encode(out, topObjects[p][i]);
+				VByte.encode(out, topCounts[p][i]);
+			}
+		}
+		out.writeCRC();
+	}
+
+	@SuppressWarnings("resource")
+	public static PredicateStatistics load(InputStream input) throws IOException {
+		ControlInfo ci = new ControlInformation();
+		ci.load(input);
+		if (ci.getType() != ControlInfo.Type.INDEX || !HDTVocabulary.INDEX_TYPE_PREDICATE_STATISTICS.equals(ci.getFormat())) {
+			throw new IllegalFormatException("Trying to read predicate statistics from data that is not of the suitable type");
+		}
+		long numPredicates = ci.getInt("numPredicates");
+		if (numPredicates < 0 || numPredicates > Integer.MAX_VALUE - 1) {
+			throw new IllegalFormatException("Invalid number of predicates: " + numPredicates);
+		}
+		PredicateStatistics stats = new PredicateStatistics(ci.getInt("numTriples"), (int) numPredicates);
+
+		CRCInputStream in = new CRCInputStream(input, new CRC32());
+		for (int p = 0; p < numPredicates; p++) {
+			stats.counts[p] = VByte.decode(in);
+			stats.distinctSubjects[p] = VByte.decode(in);
+			stats.distinctObjects[p] = VByte.decode(in);
+			int size = (int) VByte.decode(in);
+			stats.topObjects[p] = new long[size];
+			stats.topCounts[p] = new long[size];
+			for (int i = 0; i < size; i++) {
+				stats.topObjects[p][i] = VByte.decode(in);
+				stats.topCounts[p][i] = VByte.decode(in);
+			}
+		}
+		if (!in.readCRCAndCheck()) {
+			throw new CRCException("CRC Error while reading the predicate statistics.");
+		}
+		return stats;
+	}
+
+	public long getNumberOfTriples() {
+		return numTriples;
+	}
+
+	public long getNumberOfPredicates() {
+		return counts.length;
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return number of triples with this predicate
+	 */
+	public long getCount(long predicate) {
+		return counts[(int) predicate - 1];
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return number of distinct subjects of this predicate
+	 */
+	public long getDistinctSubjects(long predicate) {
+		return distinctSubjects[(int) predicate - 1];
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return number of distinct objects of this predicate
+	 */
+	public long getDistinctObjects(long predicate) {
+		return distinctObjects[(int) predicate - 1];
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return the ids of the most frequent objects of this predicate, by decreasing frequency
+	 */
+	public long[] getTopObjects(long predicate) {
+		return topObjects[(int) predicate - 1].clone();
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return the counts of the objects of {@link #getTopObjects(long)}
+	 */
+	public long[] getTopObjectCounts(long predicate) {
+		return topCounts[(int) predicate - 1].clone();
+	}
+
+	/**
+	 * Estimation of the number of triples of a ?PO pattern, exact if the object is one of the frequent
+	 * objects of the predicate, otherwise the average count of the other objects.
+	 *
+	 * @param predicate predicate id
+	 * @param object    object id
+	 * @return estimated number of triples
+	 */
+	public long estimateObjectCount(long predicate, long object) {
+		int p = (int) predicate - 1;
+		long[] objects = topObjects[p];
+		long[] objectCounts = topCounts[p];
+		long topSum = 0;
+		for (int i = 0; i < objects.length; i++) {
+			if (objects[i] == object) {
+				return objectCounts[i];
+			}
+			topSum += objectCounts[i];
+		}
+		long others = distinctObjects[p] - objects.length;
+		if (others <= 0) {
+			// all the objects are in the top list
+			return 0;
+		}
+		long average = (counts[p] - topSum + others - 1) / others;
+		if (objects.length != 0) {
+			// can't be more frequent than the last frequent object
+			average = Math.min(average, objectCounts[objects.length - 1]);
+		}
+		return average;
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return average number of triples of a pattern S P ? with a subject of this predicate
+	 */
+	public double getAverageObjectsPerSubject(long predicate) {
+		int p = (int) predicate - 1;
+		return distinctSubjects[p] == 0 ? 0 : (double) counts[p] / distinctSubjects[p];
+	}
+
+	/**
+	 * @param predicate predicate id
+	 * @return average number of triples of a pattern ? P O with an object of this predicate
+	 */
+	public double getAverageSubjectsPerObject(long predicate) {
+		int p = (int) predicate - 1;
+		return distinctObjects[p] == 0 ? 0 : (double) counts[p] / distinctObjects[p];
+	}
+}
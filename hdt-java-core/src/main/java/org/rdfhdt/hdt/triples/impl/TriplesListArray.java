@@ -0,0 +1,570 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import org.rdfhdt.hdt.dictionary.impl.DictionaryIDMapping;
+import org.rdfhdt.hdt.enums.ResultEstimationType;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.exceptions.NotImplementedException;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.header.Header;
+import org.rdfhdt.hdt.iterator.SequentialSearchIteratorTripleID;
+import org.rdfhdt.hdt.iterator.SuppliableIteratorTripleID;
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.options.ControlInfo;
+import org.rdfhdt.hdt.options.HDTOptions;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TempTriples;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+import org.rdfhdt.hdt.util.RDFInfo;
+import org.rdfhdt.hdt.util.io.CountInputStream;
+import org.rdfhdt.hdt.util.io.IOUtil;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+import org.visnow.jlargearrays.LargeArrayUtils;
+import org.visnow.jlargearrays.LongLargeArray;
+
+/**
+ * Implementation of TempTriples storing the triples as three consecutive longs of a {@link LongLargeArray},
+ * 24 bytes per triple without any object, the array is allocated off-heap once it is too big for a java array.
+ * <p>
+ * The triples are sorted in place with an introsort on the components of the order and the duplicates are
+ * removed by compacting the array.
+ */
+public class TriplesListArray implements TempTriples {
+	private static final int INSERTION_SORT_THRESHOLD = 16;
+
+	/** The array holding the subject, predicate and object of each triple */
+	private LongLargeArray data;
+	/** number of triples in the array, including the removed ones */
+	private long numTriples;
+	private long numValidTriples;
+
+	/** The order of the triples */
+	private TripleComponentOrder order;
+	private boolean sorted;
+
+	/**
+	 * Constructor, given an order to sort by
+	 *
+	 * @param specification
+	 *            The specification to sort by
+	 */
+	public TriplesListArray(HDTOptions specification) {
+		//precise allocation of the array (minimal memory wasting)
+		long capacity = RDFInfo.getTriples(specification);
+		capacity = (capacity>0)?capacity:100;
+		data = new LongLargeArray(capacity * 3);
+
+		//choosing starting(or default) component order
+		String orderStr = specification.get("triplesOrder");
+		if(orderStr==null) {
+			orderStr = "SPO";
+		}
+		this.order = TripleComponentOrder.valueOf(orderStr);
+	}
+
+	private long get(long triple, int component) {
+		return data.getLong(triple * 3 + component);
+	}
+
+	private void set(long triple, long subject, long predicate, long object) {
+		long index = triple * 3;
+		data.setLong(index, subject);
+		data.setLong(index + 1, predicate);
+		data.setLong(index + 2, object);
+	}
+
+	private boolean isRemoved(long triple) {
+		return get(triple, 0) == 0 && get(triple, 1) == 0 && get(triple, 2) == 0;
+	}
+
+	private TripleID getTriple(long triple) {
+		return new TripleID(get(triple, 0), get(triple, 1), get(triple, 2));
+	}
+
+	private void ensureCapacity(long triples) {
+		long capacity = data.length() / 3;
+		if (triples <= capacity) {
+			return;
+		}
+		long newCapacity = Math.max(triples, capacity + (capacity >> 1));
+		LongLargeArray newData = new LongLargeArray(newCapacity * 3);
+		LargeArrayUtils.arraycopy(data, 0, newData, 0, numTriples * 3);
+		data = newData;
+	}
+
+	@Override
+	public SuppliableIteratorTripleID search(TripleID pattern) {
+		String patternStr = pattern.getPatternString();
+		if(patternStr.equals("???")) {
+			return new TriplesListArrayIterator(this);
+		} else {
+			return new SequentialSearchIteratorTripleID(pattern, new TriplesListArrayIterator(this));
+		}
+	}
+
+	@Override
+	public IteratorTripleID searchAll() {
+		return this.search(new TripleID(0,0,0));
+	}
+
+	@Override
+	public long getNumberOfElements() {
+		return numValidTriples;
+	}
+
+	@Override
+	public long size() {
+		return this.getNumberOfElements()*TripleID.size();
+	}
+
+	@Override
+	public void save(OutputStream output, ControlInfo controlInformation, ProgressListener listener) throws IOException {
+		controlInformation.clear();
+		controlInformation.setInt("numTriples", numValidTriples);
+		controlInformation.setFormat(HDTVocabulary.TRIPLES_TYPE_TRIPLESLIST);
+		controlInformation.setInt("order", order.ordinal());
+		controlInformation.save(output);
+
+		DataOutputStream dout = new DataOutputStream(output);
+		for (long i = 0; i < numTriples; i++) {
+			if(!isRemoved(i)) {
+				dout.writeInt((int) get(i, 0));
+				dout.writeInt((int) get(i, 1));
+				dout.writeInt((int) get(i, 2));
+			}
+			ListenerUtil.notifyCond(listener, "Saving TriplesList", i, numTriples);
+		}
+	}
+
+	@Override
+	public void load(InputStream input, ControlInfo controlInformation, ProgressListener listener) throws IOException {
+		order = TripleComponentOrder.values()[(int)controlInformation.getInt("order")];
+		long totalTriples = controlInformation.getInt("numTriples");
+
+		ensureCapacity(numTriples + totalTriples);
+		for (long numRead = 0; numRead < totalTriples; numRead++) {
+			insert(IOUtil.readInt(input), IOUtil.readInt(input), IOUtil.readInt(input));
+			ListenerUtil.notifyCond(listener, "Loading TriplesList", numRead, totalTriples);
+		}
+	}
+
+	@Override
+	public void load(TempTriples input, ProgressListener listener) {
+		IteratorTripleID iterator = input.searchAll();
+		ensureCapacity(numTriples + input.getNumberOfElements());
+		while (iterator.hasNext()) {
+			TripleID triple = iterator.next();
+			insert(triple.getSubject(), triple.getPredicate(), triple.getObject());
+		}
+	}
+
+	@Override
+	public void load(Triples triples, ProgressListener listener) {
+		this.clear();
+		IteratorTripleID it = triples.searchAll();
+		ensureCapacity(triples.getNumberOfElements());
+		while(it.hasNext()) {
+			TripleID triple = it.next();
+			this.insert(triple.getSubject(), triple.getPredicate(), triple.getObject());
+		}
+	}
+
+	@Override
+	public void setOrder(TripleComponentOrder order) {
+		if (this.order.equals(order))
+			return;
+		this.order = order;
+		sorted = false;
+	}
+
+	@Override
+	public TripleComponentOrder getOrder() {
+		return order;
+	}
+
+	@Override
+	public boolean insert(TripleID... triples) {
+		for (TripleID triple : triples) {
+			insert(triple.getSubject(), triple.getPredicate(), triple.getObject());
+		}
+		return true;
+	}
+
+	@Override
+	public boolean insert(long subject, long predicate, long object) {
+		ensureCapacity(numTriples + 1);
+		set(numTriples++, subject, predicate, object);
+		numValidTriples++;
+		sorted = false;
+		return true;
+	}
+
+	@Override
+	public boolean remove(TripleID... patterns) {
+		boolean removed = false;
+		TripleID triple = new TripleID();
+		for (long i = 0; i < numTriples; i++) {
+			if (isRemoved(i)) {
+				continue;
+			}
+			triple.setAll(get(i, 0), get(i, 1), get(i, 2));
+			for(TripleID pattern : patterns) {
+				if(triple.match(pattern)) {
+					set(i, 0, 0, 0);
+					removed = true;
+					numValidTriples--;
+					break;
+				}
+			}
+		}
+		return removed;
+	}
+
+	@Override
+	public void sort(ProgressListener listener) {
+		if(!sorted) {
+			new Sorter(order).sort();
+		}
+		sorted = true;
+	}
+
+	/**
+	 * If called while triples not sorted nothing will happen!
+	 */
+	@Override
+	public void removeDuplicates(ProgressListener listener) {
+		if(numTriples<=1 || !sorted) {
+			return;
+		}
+
+		if(order==TripleComponentOrder.Unknown) {
+			throw new IllegalArgumentException("Cannot remove duplicates unless sorted");
+		}
+
+		// compact the array, skipping the duplicates and the removed triples
+		long j = -1;
+		for (long i = 0; i < numTriples; i++) {
+			if (isRemoved(i)) {
+				continue;
+			}
+			if (j < 0 || get(i, 0) != get(j, 0) || get(i, 1) != get(j, 1) || get(i, 2) != get(j, 2)) {
+				j++;
+				if (j != i) {
+					set(j, get(i, 0), get(i, 1), get(i, 2));
+				}
+			}
+			ListenerUtil.notifyCond(listener, "Removing duplicate triples", i, numTriples);
+		}
+		numTriples = numValidTriples = j + 1;
+	}
+
+	@Override
+	public void replaceAllIds(DictionaryIDMapping mapSubj, DictionaryIDMapping mapPred, DictionaryIDMapping mapObj) {
+		sorted=false;
+		for (long i = 0; i < numTriples; i++) {
+			if (isRemoved(i)) {
+				continue;
+			}
+			set(i,
+					mapSubj.getNewID(get(i, 0)-1),
+					mapPred.getNewID(get(i, 1)-1),
+					mapObj.getNewID(get(i, 2)-1)
+			);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "TriplesListArray [" + numValidTriples + " triples, order=" + order + "]";
+	}
+
+	@Override
+	public void populateHeader(Header header, String rootNode) {
+		header.insert(rootNode, HDTVocabulary.TRIPLES_TYPE, HDTVocabulary.TRIPLES_TYPE_TRIPLESLIST);
+		header.insert(rootNode, HDTVocabulary.TRIPLES_NUM_TRIPLES, getNumberOfElements() );
+		header.insert(rootNode, HDTVocabulary.TRIPLES_ORDER, order.ordinal() );
+	}
+
+	@Override
+	public String getType() {
+		return HDTVocabulary.TRIPLES_TYPE_TRIPLESLIST;
+	}
+
+	@Override
+	public TripleID findTriple(long position) {
+		return getTriple(position);
+	}
+
+	@Override
+	public void generateIndex(ProgressListener listener) {
+		// Not needed
+	}
+
+	@Override
+	public void loadIndex(InputStream input, ControlInfo ci, ProgressListener listener) throws IOException {
+		// Not needed
+	}
+
+	@Override
+	public void saveIndex(OutputStream output, ControlInfo ci, ProgressListener listener) throws IOException {
+		// Not needed
+	}
+
+	@Override
+	public void mapFromFile(CountInputStream in, File f, ProgressListener listener) throws IOException {
+		throw new NotImplementedException();
+	}
+
+	@Override
+	public void mapIndex(CountInputStream input, File f, ControlInfo ci, ProgressListener listener) throws IOException {
+	}
+
+	@Override
+	public void clear() {
+		data = new LongLargeArray(300);
+		numTriples = 0;
+		numValidTriples = 0;
+		this.order = TripleComponentOrder.Unknown;
+		sorted = false;
+	}
+
+	@Override
+	public void close() throws IOException {
+		data = new LongLargeArray(3);
+		numTriples = 0;
+		numValidTriples = 0;
+	}
+
+	/**
+	 * In place introsort of the triples, comparing the components in the order of a {@link TripleComponentOrder}
+	 */
+	private class Sorter {
+		private final int c1, c2, c3;
+
+		Sorter(TripleComponentOrder order) {
+			// component indexes, 0: subject, 1: predicate, 2: object
+			switch (order) {
+				case SPO: c1 = 0; c2 = 1; c3 = 2; break;
+				case SOP: c1 = 0; c2 = 2; c3 = 1; break;
+				case PSO: c1 = 1; c2 = 0; c3 = 2; break;
+				case POS: c1 = 1; c2 = 2; c3 = 0; break;
+				case OSP: c1 = 2; c2 = 0; c3 = 1; break;
+				case OPS: c1 = 2; c2 = 1; c3 = 0; break;
+				default: c1 = c2 = c3 = -1; break; // Unknown order, nothing to sort
+			}
+		}
+
+		void sort() {
+			if (c1 < 0) {
+				return;
+			}
+			int depth = 2 * (64 - Long.numberOfLeadingZeros(Math.max(1, numTriples)));
+			introSort(0, numTriples, depth);
+		}
+
+		private int compare(long a, long b) {
+			int cmp = Long.compare(get(a, c1), get(b, c1));
+			if (cmp != 0) {
+				return cmp;
+			}
+			cmp = Long.compare(get(a, c2), get(b, c2));
+			if (cmp != 0) {
+				return cmp;
+			}
+			return Long.compare(get(a, c3), get(b, c3));
+		}
+
+		private int compare(long a, long k1, long k2, long k3) {
+			int cmp = Long.compare(get(a, c1), k1);
+			if (cmp != 0) {
+				return cmp;
+			}
+			cmp = Long.compare(get(a, c2), k2);
+			if (cmp != 0) {
+				return cmp;
+			}
+			return Long.compare(get(a, c3), k3);
+		}
+
+		private void swap(long a, long b) {
+			long ia = a * 3;
+			long ib = b * 3;
+			for (int i = 0; i < 3; i++) {
+				long tmp = data.getLong(ia + i);
+				data.setLong(ia + i, data.getLong(ib + i));
+				data.setLong(ib + i, tmp);
+			}
+		}
+
+		private void introSort(long lo, long hi, int depth) {
+			while (hi - lo > INSERTION_SORT_THRESHOLD) {
+				if (depth-- == 0) {
+					heapSort(lo, hi);
+					return;
+				}
+
+				// median of three as pivot
+				long mid = lo + ((hi - lo) >>> 1);
+				if (compare(mid, lo) < 0) swap(mid, lo);
+				if (compare(hi - 1, lo) < 0) swap(hi - 1, lo);
+				if (compare(hi - 1, mid) < 0) swap(hi - 1, mid);
+				long k1 = get(mid, c1);
+				long k2 = get(mid, c2);
+				long k3 = get(mid, c3);
+
+				// three-way partition, the duplicates end in the middle part
+				long lt = lo;
+				long gt = hi - 1;
+				long i = lo;
+				while (i <= gt) {
+					int cmp = compare(i, k1, k2, k3);
+					if (cmp < 0) {
+						swap(lt++, i++);
+					} else if (cmp > 0) {
+						swap(i, gt--);
+					} else {
+						i++;
+					}
+				}
+
+				// recurse on the smallest part to bound the stack
+				if (lt - lo < hi - gt - 1) {
+					introSort(lo, lt, depth);
+					lo = gt + 1;
+				} else {
+					introSort(gt + 1, hi, depth);
+					hi = lt;
+				}
+			}
+			insertionSort(lo, hi);
+		}
+
+		private void insertionSort(long lo, long hi) {
+			for (long i = lo + 1; i < hi; i++) {
+				for (long j = i; j > lo && compare(j - 1, j) > 0; j--) {
+					swap(j - 1, j);
+				}
+			}
+		}
+
+		private void heapSort(long lo, long hi) {
+			long n = hi - lo;
+			for (long i = n / 2 - 1; i >= 0; i--) {
+				siftDown(lo, i, n);
+			}
+			for (long end = n - 1; end > 0; end--) {
+				swap(lo, lo + end);
+				siftDown(lo, 0, end);
+			}
+		}
+
+		private void siftDown(long lo, long node, long n) {
+			while (true) {
+				long child = 2 * node + 1;
+				if (child >= n) {
+					return;
+				}
+				if (child + 1 < n && compare(lo + child + 1, lo + child) > 0) {
+					child++;
+				}
+				if (compare(lo + node, lo + child) >= 0) {
+					return;
+				}
+				swap(lo + node, lo + child);
+				node = child;
+			}
+		}
+	}
+
+	/**
+	 * Iterator implementation to iterate over a TriplesListArray object, skipping the removed triples
+	 */
+	public static class TriplesListArrayIterator implements SuppliableIteratorTripleID {
+		private final TriplesListArray triples;
+		private long lastPosition;
+		private long pos;
+
+		public TriplesListArrayIterator(TriplesListArray triples) {
+			this.triples = triples;
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (pos < triples.numTriples && triples.isRemoved(pos)) {
+				pos++;
+			}
+			return pos < triples.numTriples;
+		}
+
+		@Override
+		public TripleID next() {
+			hasNext();
+			lastPosition = pos;
+			return triples.getTriple(pos++);
+		}
+
+		@Override
+		public boolean hasPrevious() {
+			long p = pos - 1;
+			while (p >= 0 && triples.isRemoved(p)) {
+				p--;
+			}
+			return p >= 0;
+		}
+
+		@Override
+		public TripleID previous() {
+			do {
+				pos--;
+			} while (triples.isRemoved(pos));
+			lastPosition = pos;
+			return triples.getTriple(pos);
+		}
+
+		@Override
+		public void goToStart() {
+			pos = 0;
+		}
+
+		@Override
+		public long estimatedNumResults() {
+			return triples.getNumberOfElements();
+		}
+
+		@Override
+		public ResultEstimationType numResultEstimation() {
+			return ResultEstimationType.EXACT;
+		}
+
+		@Override
+		public boolean canGoTo() {
+			return true;
+		}
+
+		@Override
+		public void goTo(long pos) {
+			this.pos = pos;
+		}
+
+		@Override
+		public TripleComponentOrder getOrder() {
+			return triples.getOrder();
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long getLastTriplePosition() {
+			return lastPosition;
+		}
+	}
+}
@@ -0,0 +1,187 @@
+package org.rdfhdt.hdt.util.concurrent;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent cache bounded by an estimated size in bytes, evicting the entries with the CLOCK (second chance)
+ * policy.
+ * <p>
+ * The keys are spread over independent segments. A read never locks, it only marks the entry as referenced,
+ * the insertions lock the segment of their key and evict from it the oldest entries not referenced since the
+ * last sweep of the clock hand.
+ *
+ * @param <K> key type
+ * @param <V> value type
+ */
+public class ClockCache<K, V> {
+
+	/**
+	 * Estimate the memory used by an entry of the cache.
+	 */
+	@FunctionalInterface
+	public interface Weigher<K, V> {
+		long weight(K key, V value);
+	}
+
+	/** minimum budget of a segment, the cache uses fewer segments rather than going below it */
+	private static final long MIN_SEGMENT_WEIGHT = 64 * 1024;
+
+	private final Segment<K, V>[] segments;
+	private final int mask;
+	private final Weigher<? super K, ? super V> weigher;
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+
+	/**
+	 * create a cache
+	 *
+	 * @param maxWeight maximum sum of the weights of the entries
+	 * @param weigher   estimation of the weight of an entry
+	 */
+	@SuppressWarnings("unchecked")
+	public ClockCache(long maxWeight, Weigher<? super K, ? super V> weigher) {
+		this.weigher = weigher;
+		int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors() * 4) * 2 - 1);
+		while (count > 1 && maxWeight / count < MIN_SEGMENT_WEIGHT) {
+			count >>= 1;
+		}
+		segments = new Segment[count];
+		for (int i = 0; i < count; i++) {
+			segments[i] = new Segment<>(maxWeight / count);
+		}
+		mask = count - 1;
+	}
+
+	private Segment<K, V> segmentFor(Object key) {
+		int h = key.hashCode();
+		return segments[(h ^ (h >>> 16)) & mask];
+	}
+
+	/**
+	 * @param key the key
+	 * @return the cached value, null if the key isn't in the cache
+	 */
+	public V get(K key) {
+		Entry<K, V> entry = segmentFor(key).map.get(key);
+		if (entry == null) {
+			misses.increment();
+			return null;
+		}
+		if (!entry.referenced) {
+			// only write when needed, to keep the hot entries shared between the cores
+			entry.referenced = true;
+		}
+		hits.increment();
+		return entry.value;
+	}
+
+	/**
+	 * add a value, the value is ignored if the key is already in the cache or if its weight is above the
+	 * budget of a segment
+	 *
+	 * @param key   the key, not null
+	 * @param value the value, not null
+	 */
+	public void put(K key, V value) {
+		segmentFor(key).put(new Entry<>(key, value, weigher.weight(key, value)));
+	}
+
+	/**
+	 * @return the number of successful {@link #get(Object)} calls
+	 */
+	public long getHits() {
+		return hits.sum();
+	}
+
+	/**
+	 * @return the number of {@link #get(Object)} calls without value
+	 */
+	public long getMisses() {
+		return misses.sum();
+	}
+
+	/**
+	 * @return the number of entries in the cache
+	 */
+	public long size() {
+		long size = 0;
+		for (Segment<K, V> segment : segments) {
+			size += segment.map.size();
+		}
+		return size;
+	}
+
+	/**
+	 * @return the sum of the weights of the entries in the cache
+	 */
+	public long getWeight() {
+		long weight = 0;
+		for (Segment<K, V> segment : segments) {
+			synchronized (segment) {
+				weight += segment.weight;
+			}
+		}
+		return weight;
+	}
+
+	/**
+	 * remove all the entries, the counters are kept
+	 */
+	public void clear() {
+		for (Segment<K, V> segment : segments) {
+			segment.clear();
+		}
+	}
+
+	private static class Entry<K, V> {
+		final K key;
+		final V value;
+		final long weight;
+		volatile boolean referenced;
+
+		Entry(K key, V value, long weight) {
+			this.key = key;
+			this.value = value;
+			this.weight = weight;
+		}
+	}
+
+	private static class Segment<K, V> {
+		final ConcurrentHashMap<K, Entry<K, V>> map = new ConcurrentHashMap<>();
+		/** entries in insertion order, the head is the clock hand */
+		final ArrayDeque<Entry<K, V>> clock = new ArrayDeque<>();
+		final long maxWeight;
+		long weight;
+
+		Segment(long maxWeight) {
+			this.maxWeight = maxWeight;
+		}
+
+		synchronized void put(Entry<K, V> entry) {
+			if (entry.weight > maxWeight || map.putIfAbsent(entry.key, entry) != null) {
+				return;
+			}
+			clock.addLast(entry);
+			weight += entry.weight;
+			while (weight > maxWeight) {
+				Entry<K, V> hand = clock.pollFirst();
+				if (hand.referenced) {
+					// second chance
+					hand.referenced = false;
+					clock.addLast(hand);
+				} else {
+					map.remove(hand.key);
+					weight -= hand.weight;
+				}
+			}
+		}
+
+		synchronized void clear() {
+			map.clear();
+			clock.clear();
+			weight = 0;
+		}
+	}
+}
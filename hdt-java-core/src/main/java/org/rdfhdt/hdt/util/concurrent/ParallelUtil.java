@@ -0,0 +1,128 @@
+package org.rdfhdt.hdt.util.concurrent;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.rdfhdt.hdt.options.HDTOptions;
+
+/**
+ * Small helpers to run indexed tasks on a bounded number of worker threads.
+ */
+public class ParallelUtil {
+
+	private ParallelUtil() {}
+
+	/**
+	 * A task identified by its index, allowed to throw IOException.
+	 */
+	@FunctionalInterface
+	public interface IndexedTask {
+		void run(int index) throws IOException;
+	}
+
+	/**
+	 * Read a thread count from the options, 0 or absent means one per available processor.
+	 *
+	 * @param spec options, can be null
+	 * @param key  key of the property
+	 * @return number of threads, at least 1
+	 */
+	public static int getThreadCount(HDTOptions spec, String key) {
+		long threads = spec != null ? spec.getInt(key) : 0;
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+		return (int) Math.max(1, threads);
+	}
+
+	/**
+	 * Run the tasks [0, numTasks) using at most numThreads threads. The tasks are handed to the
+	 * workers in order, the method returns when all of them are completed.
+	 *
+	 * @param name       name prefix for the worker threads
+	 * @param numThreads maximum number of threads
+	 * @param numTasks   number of tasks
+	 * @param task       the task to run
+	 * @throws IOException if any task throws it, the other exceptions are rethrown unchecked
+	 */
+	public static void run(String name, int numThreads, int numTasks, IndexedTask task) throws IOException {
+		run(name, numThreads, numTasks, task, index -> {
+		});
+	}
+
+	/**
+	 * Run the tasks [0, numTasks) using at most numThreads threads. Once the tasks [0, i] are completed,
+	 * completed is called with i in the calling thread, in the order of the tasks, while the next tasks are
+	 * still running.
+	 *
+	 * @param name       name prefix for the worker threads
+	 * @param numThreads maximum number of threads
+	 * @param numTasks   number of tasks
+	 * @param task       the task to run
+	 * @param completed  called in order after each task
+	 * @throws IOException if any task or completed throws it, the other exceptions are rethrown unchecked
+	 */
+	public static void run(String name, int numThreads, int numTasks, IndexedTask task, IndexedTask completed) throws IOException {
+		if (numTasks <= 0) {
+			return;
+		}
+		int threads = Math.max(1, Math.min(numThreads, numTasks));
+		if (threads == 1) {
+			for (int i = 0; i < numTasks; i++) {
+				task.run(i);
+				completed.run(i);
+			}
+			return;
+		}
+
+		AtomicInteger threadId = new AtomicInteger();
+		ExecutorService executor = Executors.newFixedThreadPool(threads, r -> {
+			Thread t = new Thread(r, name + "-" + threadId.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		try {
+			List<Future<?>> futures = new ArrayList<>(numTasks);
+			for (int i = 0; i < numTasks; i++) {
+				final int index = i;
+				futures.add(executor.submit(() -> {
+					task.run(index);
+					return null;
+				}));
+			}
+			for (int i = 0; i < numTasks; i++) {
+				join(futures.get(i));
+				completed.run(i);
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static void join(Future<?> future) throws IOException {
+		try {
+			future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while waiting for a parallel task", e);
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException) {
+				throw (IOException) cause;
+			}
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+			throw new RuntimeException(cause);
+		}
+	}
+}
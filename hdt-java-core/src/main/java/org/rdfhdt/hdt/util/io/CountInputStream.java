@@ -50,6 +50,16 @@ public class CountInputStream extends InputStream {
 		total = 0;
 		partial = 0;
 	}
+
+	/**
+	 * @param input the stream
+	 * @param offset position of the stream in its file, the total bytes start at this position
+	 */
+	public CountInputStream(InputStream input, long offset) {
+		this.in = input;
+		total = offset;
+		partial = 0;
+	}
 	
 	public long getTotalBytes() {
 		return total;
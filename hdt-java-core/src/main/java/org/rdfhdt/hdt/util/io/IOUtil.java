@@ -165,6 +165,19 @@ public class IOUtil {
 	}
 
 	public static InputStream getFileInputStream(String fileName) throws IOException {
+		return getFileInputStream(fileName, 0);
+	}
+
+	/**
+	 * open a file, an url or the standard input with "-", the compressed inputs are decompressed
+	 *
+	 * @param fileName the file
+	 * @param threads  number of threads used to decompress the input, 0 or negative for one per available
+	 *                 processor, 1 to decompress the input in the reading thread
+	 * @return stream
+	 * @throws IOException open error
+	 */
+	public static InputStream getFileInputStream(String fileName, int threads) throws IOException {
 		InputStream input;
 		String name = fileName.toLowerCase();
 		if(name.startsWith("http:/") || name.startsWith("ftp:/")) {
@@ -178,14 +191,32 @@ public class IOUtil {
 			input = new BufferedInputStream(new FileInputStream(fileName));
 		}
 
+		if (threads <= 0) {
+			threads = Runtime.getRuntime().availableProcessors();
+		}
+		InputStream decompressed;
+		// the decompression is done on other threads, the BGZF members and the bzip2 blocks are decoded concurrently
 		if(name.endsWith(".gz")||name.endsWith(".tgz")) {
-			input = new GZIPInputStream(input);
+			if (threads > 1) {
+				if (!input.markSupported()) {
+					input = new BufferedInputStream(input);
+				}
+				if (ParallelGZIPInputStream.isBGZF(input)) {
+					return new ParallelGZIPInputStream(input, threads);
+				}
+			}
+			decompressed = new GZIPInputStream(input);
 		} else if(name.endsWith("bz2") || name.endsWith("bz")) {
-			input = new BZip2CompressorInputStream(input, true);
+			if (threads > 1) {
+				return new ParallelBZip2InputStream(input, threads);
+			}
+			decompressed = new BZip2CompressorInputStream(input, true);
 		} else if(name.endsWith("xz")) {
-			input = new XZCompressorInputStream(input, true);
+			decompressed = new XZCompressorInputStream(input, true);
+		} else {
+			return input;
 		}
-		return input;
+		return threads > 1 ? new ReadAheadInputStream(decompressed) : decompressed;
 	}
 
 	public static BufferedReader getFileReader(String fileName) throws IOException {
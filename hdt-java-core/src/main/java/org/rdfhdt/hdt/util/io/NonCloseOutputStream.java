@@ -0,0 +1,53 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Intercepts calls to close() to make sure that when passing an OutputStream to a wrapping stream (for example a
+ * compressor), closing the wrapper only flushes the original stream.
+ *
+ * The stream can be closed using the original OutputStream close(), or by calling doClose();
+ */
+public class NonCloseOutputStream extends OutputStream {
+
+	private final OutputStream out;
+
+	/**
+	 * @param output the stream to protect
+	 */
+	public NonCloseOutputStream(OutputStream output) {
+		this.out = output;
+	}
+
+	@Override
+	public void write(int b) throws IOException {
+		out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b) throws IOException {
+		out.write(b);
+	}
+
+	@Override
+	public void write(byte[] b, int off, int len) throws IOException {
+		out.write(b, off, len);
+	}
+
+	@Override
+	public void flush() throws IOException {
+		out.flush();
+	}
+
+	@Override
+	public void close() throws IOException {
+		// NOT CLOSE!!
+		out.flush();
+	}
+
+	public void doClose() throws IOException {
+		// We are sure, do close.
+		out.close();
+	}
+}
@@ -0,0 +1,445 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+
+/**
+ * Decompress a bzip2 stream, the blocks of the stream are split on a separate thread and decoded concurrently,
+ * the decoded blocks are returned in order.
+ * <p>
+ * A block starts with the 48 bits magic 0x314159265359 and a stream ends with the 48 bits magic 0x177245385090,
+ * the blocks aren't byte aligned, so the magics are searched bit by bit. Each block is decoded as a stream with
+ * one block. A magic can also appear inside the compressed data of a block, a part which can't be decoded is
+ * merged with the next parts until it can be decoded.
+ * <p>
+ * Concatenated streams are read, like a {@link BZip2CompressorInputStream} with decompressConcatenated.
+ */
+public class ParallelBZip2InputStream extends InputStream {
+	private static final long BLOCK_MAGIC = 0x314159265359L;
+	private static final long END_MAGIC = 0x177245385090L;
+	private static final long MAGIC_MASK = (1L << 48) - 1;
+	// "BZh" and the block size
+	private static final int HEADER_SIZE = 4;
+	// end magic and combined CRC
+	private static final int TRAILER_BITS = 48 + 32;
+	// bound of the compressed size of a block, 900k bytes with the worst expansion of the huffman coding
+	private static final long MAX_BLOCK_BITS = 4L * 1024 * 1024 * 8;
+	// number of blocks decoded by the same task
+	private static final int BLOCKS_PER_TASK = 4;
+
+	/**
+	 * bits of a part of the stream, from a magic to the next one
+	 */
+	static class Segment {
+		final byte[] data;
+		final long bits;
+
+		Segment(byte[] data, long bits) {
+			this.data = data;
+			this.bits = bits;
+		}
+	}
+
+	/**
+	 * segments of a task
+	 */
+	private static class Blocks {
+		final List<Segment> segments = new ArrayList<>(BLOCKS_PER_TASK);
+		// decoded segments, null if a segment can't be decoded alone
+		byte[][] decoded;
+		IOException[] failures;
+	}
+
+	private static final Future<Blocks> END = CompletableFuture.completedFuture(new Blocks());
+
+	private final InputStream in;
+	private final ExecutorService executor;
+	private final BlockingQueue<Future<Blocks>> decoded;
+	private final Thread reader;
+	private volatile boolean closed;
+	private volatile IOException failure;
+	private Blocks blocks;
+	private int blockIndex;
+	// segments which can't be decoded yet
+	private Segment pending;
+	private IOException pendingFailure;
+	private byte[] block;
+	private int position;
+	private boolean end;
+
+	/**
+	 * @param in      the bzip2 stream
+	 * @param threads number of decoding threads
+	 */
+	public ParallelBZip2InputStream(InputStream in, int threads) {
+		this.in = in;
+		int numThreads = Math.max(1, threads);
+		AtomicInteger threadId = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(numThreads, r -> {
+			Thread t = new Thread(r, "ParallelBZip2InputStream-" + threadId.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.decoded = new ArrayBlockingQueue<>(numThreads * 2);
+		this.reader = new Thread(this::readSegments, "ParallelBZip2InputStreamReader");
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	private void readSegments() {
+		try {
+			byte[] header = new byte[HEADER_SIZE];
+			int headerLength = 0;
+			while (headerLength < HEADER_SIZE) {
+				int read = in.read(header, headerLength, HEADER_SIZE - headerLength);
+				if (read == -1) {
+					break;
+				}
+				headerLength += read;
+			}
+			if (headerLength < HEADER_SIZE || !isHeader(header, 0)) {
+				throw new IOException("Stream is not in the BZip2 format");
+			}
+			Blocks task = new Blocks();
+			// bytes of the current segment, raw[0] is the byte rawStart of the stream
+			byte[] raw = new byte[1 << 20];
+			int rawLength = 0;
+			long rawStart = HEADER_SIZE;
+			long bitPos = HEADER_SIZE * 8L;
+			long window = 0;
+			// start and magic of the current segment, -1 before the first magic
+			long start = -1;
+			long magic = 0;
+			byte[] buffer = new byte[1 << 16];
+			int read;
+			while (!closed && (read = in.read(buffer)) != -1) {
+				if (rawLength + read > raw.length) {
+					raw = Arrays.copyOf(raw, Math.max(raw.length * 2, rawLength + read));
+				}
+				System.arraycopy(buffer, 0, raw, rawLength, read);
+				rawLength += read;
+				for (int i = 0; i < read; i++) {
+					int b = buffer[i];
+					for (int shift = 7; shift >= 0; shift--) {
+						window = ((window << 1) | ((b >>> shift) & 1)) & MAGIC_MASK;
+						bitPos++;
+						if (window != BLOCK_MAGIC && window != END_MAGIC) {
+							continue;
+						}
+						long magicStart = bitPos - 48;
+						if (start == -1) {
+							if (magicStart != HEADER_SIZE * 8L) {
+								throw new IOException("Stream is not in the BZip2 format");
+							}
+						} else if (magic == BLOCK_MAGIC || !isEnd(raw, rawStart, start, magicStart, false)) {
+							task.segments.add(extract(raw, rawStart, start, magicStart));
+							if (task.segments.size() == BLOCKS_PER_TASK) {
+								submit(task);
+								task = new Blocks();
+							}
+						}
+						start = magicStart;
+						magic = window;
+					}
+				}
+				if (start == -1) {
+					if (bitPos >= HEADER_SIZE * 8L + 48) {
+						throw new IOException("Stream is not in the BZip2 format");
+					}
+					continue;
+				}
+				if (bitPos - start > MAX_BLOCK_BITS) {
+					throw new IOException("Corrupt bzip2 stream, block too large");
+				}
+				// remove the bytes before the current segment
+				int first = (int) (start / 8 - rawStart);
+				System.arraycopy(raw, first, raw, 0, rawLength - first);
+				rawLength -= first;
+				rawStart += first;
+			}
+			if (!closed) {
+				if (start == -1 || magic != END_MAGIC || !isEnd(raw, rawStart, start, bitPos, true)) {
+					throw new IOException("Unexpected end of the bzip2 stream");
+				}
+				submit(task);
+			}
+		} catch (IOException e) {
+			failure = e;
+		} catch (Throwable t) {
+			failure = new IOException(t);
+		}
+		try {
+			put(END);
+		} catch (InterruptedException e) {
+			// closed
+		}
+	}
+
+	private static boolean isHeader(byte[] data, int offset) {
+		return data[offset] == 'B' && data[offset + 1] == 'Z' && data[offset + 2] == 'h'
+				&& data[offset + 3] >= '1' && data[offset + 3] <= '9';
+	}
+
+	/**
+	 * check if a segment starting with the end magic is the end of a stream, the end magic and the combined CRC
+	 * padded to a byte, followed by the end of the input or by the header of the next stream
+	 */
+	private static boolean isEnd(byte[] raw, long rawStart, long start, long stop, boolean last) {
+		long trailerStop = (start + TRAILER_BITS + 7) / 8 * 8;
+		if (last) {
+			return stop == trailerStop;
+		}
+		return stop == trailerStop + HEADER_SIZE * 8L && isHeader(raw, (int) (trailerStop / 8 - rawStart));
+	}
+
+	/**
+	 * copy the bits [start, stop[ of the stream
+	 */
+	private static Segment extract(byte[] raw, long rawStart, long start, long stop) {
+		long bits = stop - start;
+		byte[] data = new byte[(int) ((bits + 7) / 8)];
+		int offset = (int) (start / 8 - rawStart);
+		int shift = (int) (start % 8);
+		for (int i = 0; i < data.length; i++) {
+			int high = raw[offset + i] & 0xFF;
+			int low = shift == 0 ? 0 : (raw[offset + i + 1] & 0xFF) >>> (8 - shift);
+			data[i] = (byte) ((high << shift) | low);
+		}
+		return new Segment(data, bits);
+	}
+
+	private static boolean readBit(byte[] data, long bit) {
+		return (data[(int) (bit >>> 3)] & (0x80 >>> (bit & 7))) != 0;
+	}
+
+	private static void writeBit(byte[] data, long bit, boolean value) {
+		int index = (int) (bit >>> 3);
+		int mask = 0x80 >>> (bit & 7);
+		if (value) {
+			data[index] |= (byte) mask;
+		} else {
+			data[index] &= (byte) ~mask;
+		}
+	}
+
+	private static long writeBits(byte[] data, long bit, long value, int count) {
+		for (int i = count - 1; i >= 0; i--) {
+			writeBit(data, bit++, ((value >>> i) & 1) != 0);
+		}
+		return bit;
+	}
+
+	/**
+	 * @return the bits of a followed by the bits of b
+	 */
+	static Segment concat(Segment a, Segment b) {
+		byte[] data = Arrays.copyOf(a.data, (int) ((a.bits + b.bits + 7) / 8));
+		for (long i = 0; i < b.bits; i++) {
+			writeBit(data, a.bits + i, readBit(b.data, i));
+		}
+		return new Segment(data, a.bits + b.bits);
+	}
+
+	/**
+	 * decode a block as a stream with one block, the combined CRC of this stream is the CRC of the block
+	 *
+	 * @param segment the block, from its magic
+	 * @return the decoded block
+	 * @throws IOException if the segment isn't a valid block
+	 */
+	static byte[] decode(Segment segment) throws IOException {
+		long magic = 0;
+		long crc = 0;
+		for (int i = 0; i < 48 && i < segment.bits; i++) {
+			magic = (magic << 1) | (readBit(segment.data, i) ? 1 : 0);
+		}
+		if (segment.bits < TRAILER_BITS || magic != BLOCK_MAGIC) {
+			throw new IOException("Corrupt bzip2 block");
+		}
+		for (int i = 48; i < 48 + 32; i++) {
+			crc = (crc << 1) | (readBit(segment.data, i) ? 1 : 0);
+		}
+		byte[] stream = new byte[(int) (HEADER_SIZE + (segment.bits + TRAILER_BITS + 7) / 8)];
+		stream[0] = 'B';
+		stream[1] = 'Z';
+		stream[2] = 'h';
+		stream[3] = '9';
+		System.arraycopy(segment.data, 0, stream, HEADER_SIZE, (int) ((segment.bits + 7) / 8));
+		long bit = writeBits(stream, HEADER_SIZE * 8L + segment.bits, END_MAGIC, 48);
+		bit = writeBits(stream, bit, crc, 32);
+		writeBits(stream, bit, 0, (int) ((8 - bit % 8) % 8));
+		ByteArrayOutputStream out = new ByteArrayOutputStream(segment.data.length * 4);
+		try (InputStream bz = new BZip2CompressorInputStream(new ByteArrayInputStream(stream))) {
+			byte[] buffer = new byte[1 << 16];
+			int read;
+			while ((read = bz.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		} catch (RuntimeException e) {
+			throw new IOException("Corrupt bzip2 block", e);
+		}
+		return out.toByteArray();
+	}
+
+	private static Blocks decode(Blocks task) {
+		int size = task.segments.size();
+		task.decoded = new byte[size][];
+		task.failures = new IOException[size];
+		for (int i = 0; i < size; i++) {
+			try {
+				task.decoded[i] = decode(task.segments.get(i));
+			} catch (IOException e) {
+				task.failures[i] = e;
+			}
+		}
+		return task;
+	}
+
+	private void submit(Blocks task) throws InterruptedException {
+		if (!task.segments.isEmpty()) {
+			put(executor.submit(() -> decode(task)));
+		}
+	}
+
+	private void put(Future<Blocks> future) throws InterruptedException {
+		while (!closed) {
+			if (decoded.offer(future, 100, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		}
+	}
+
+	private boolean nextTask() throws IOException {
+		Future<Blocks> next;
+		try {
+			next = decoded.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading", e);
+		}
+		if (next == END) {
+			end = true;
+			if (failure != null) {
+				throw failure;
+			}
+			if (pending != null) {
+				throw pendingFailure;
+			}
+			return false;
+		}
+		try {
+			blocks = next.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading", e);
+		} catch (ExecutionException e) {
+			throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+		}
+		blockIndex = 0;
+		return true;
+	}
+
+	private boolean nextBlock() throws IOException {
+		while (!end) {
+			if (blocks == null || blockIndex == blocks.segments.size()) {
+				if (!nextTask()) {
+					return false;
+				}
+				continue;
+			}
+			Segment segment = blocks.segments.get(blockIndex);
+			byte[] next = blocks.decoded[blockIndex];
+			IOException nextFailure = blocks.failures[blockIndex];
+			blockIndex++;
+			if (pending == null) {
+				if (next == null) {
+					pending = segment;
+					pendingFailure = nextFailure;
+					continue;
+				}
+			} else {
+				// the pending segment was split by a magic inside its data, the next part can't be a block
+				if (next != null) {
+					throw pendingFailure;
+				}
+				pending = concat(pending, segment);
+				if (pending.bits > MAX_BLOCK_BITS) {
+					throw pendingFailure;
+				}
+				try {
+					next = decode(pending);
+				} catch (IOException e) {
+					continue;
+				}
+				pending = null;
+				pendingFailure = null;
+			}
+			block = next;
+			position = 0;
+			if (block.length != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (block == null || position == block.length) {
+			if (!nextBlock()) {
+				return -1;
+			}
+		}
+		return block[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (block == null || position == block.length) {
+			if (!nextBlock()) {
+				return -1;
+			}
+		}
+		int count = Math.min(len, block.length - position);
+		System.arraycopy(block, position, b, off, count);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		decoded.clear();
+		try {
+			reader.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while closing", e);
+		} finally {
+			executor.shutdownNow();
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,130 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
+import org.rdfhdt.hdt.util.listener.ListenerUtil;
+
+/**
+ * Write a file made of independent parts. Each part is written concurrently into its own temporary file in
+ * the directory of the destination, a temporary file is appended to the destination with
+ * {@link FileChannel#transferTo(long, long, java.nio.channels.WritableByteChannel)} and deleted as soon as it and
+ * the previous parts are written, so the result is the same as writing the parts one after the other in a single
+ * stream.
+ */
+public class ParallelFileWriter {
+	/**
+	 * A part of a file, it must only depend on its own bytes (for example its own CRC)
+	 */
+	@FunctionalInterface
+	public interface Part {
+		void write(OutputStream output, ProgressListener listener) throws IOException;
+	}
+
+	private ParallelFileWriter() {
+	}
+
+	/**
+	 * write the parts in a stream, one after the other
+	 *
+	 * @param output   the stream
+	 * @param parts    the parts
+	 * @param listener listener
+	 * @throws IOException error while writing a part
+	 */
+	public static void write(OutputStream output, List<Part> parts, ProgressListener listener) throws IOException {
+		for (Part part : parts) {
+			part.write(output, listener);
+		}
+	}
+
+	/**
+	 * write the parts concurrently in a file
+	 *
+	 * @param file       the file to write
+	 * @param parts      the parts, in the order of the file
+	 * @param numThreads maximum number of parts written at the same time
+	 * @param listener   listener, notified after each part
+	 * @throws IOException error while writing a part or the file
+	 */
+	public static void write(Path file, List<Part> parts, int numThreads, ProgressListener listener) throws IOException {
+		Path dir = file.toAbsolutePath().getParent();
+		try (FileChannel out = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			write(out, dir, file.getFileName().toString(), parts, numThreads, listener);
+		}
+	}
+
+	/**
+	 * write the parts concurrently in a stream, the parts are buffered in temporary files
+	 *
+	 * @param output     the stream
+	 * @param tempDir    directory of the temporary files
+	 * @param parts      the parts, in the order of the stream
+	 * @param numThreads maximum number of parts written at the same time
+	 * @param listener   listener, notified after each part
+	 * @throws IOException error while writing a part or the stream
+	 */
+	public static void write(OutputStream output, Path tempDir, List<Part> parts, int numThreads, ProgressListener listener) throws IOException {
+		if (numThreads <= 1) {
+			write(output, parts, listener);
+			return;
+		}
+		write(Channels.newChannel(output), tempDir, "stream", parts, numThreads, listener);
+		output.flush();
+	}
+
+	private static void write(WritableByteChannel out, Path dir, String name, List<Part> parts, int numThreads, ProgressListener listener) throws IOException {
+		String prefix = name + ".";
+		Path[] tempFiles = new Path[parts.size()];
+		try {
+			AtomicInteger done = new AtomicInteger();
+			ParallelUtil.run("ParallelFileWriter", numThreads, parts.size(), index -> {
+				Path tempFile = Files.createTempFile(dir, prefix, ".part" + index);
+				synchronized (tempFiles) {
+					tempFiles[index] = tempFile;
+				}
+				try (OutputStream partOut = new BufferedOutputStream(Files.newOutputStream(tempFile))) {
+					parts.get(index).write(partOut, null);
+				}
+				synchronized (tempFiles) {
+					ListenerUtil.notify(listener, "Writing parts", done.incrementAndGet(), parts.size());
+				}
+			}, index -> {
+				// the previous parts are already copied
+				Path tempFile;
+				synchronized (tempFiles) {
+					tempFile = tempFiles[index];
+					tempFiles[index] = null;
+				}
+				try (FileChannel in = FileChannel.open(tempFile, StandardOpenOption.READ)) {
+					long size = in.size();
+					long position = 0;
+					while (position < size) {
+						position += in.transferTo(position, size - position, out);
+					}
+				} finally {
+					Files.deleteIfExists(tempFile);
+				}
+			});
+		} finally {
+			synchronized (tempFiles) {
+				for (Path tempFile : tempFiles) {
+					if (tempFile != null) {
+						Files.deleteIfExists(tempFile);
+					}
+				}
+			}
+		}
+	}
+}
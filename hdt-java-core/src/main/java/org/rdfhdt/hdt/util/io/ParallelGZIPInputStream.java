@@ -0,0 +1,335 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.Inflater;
+
+/**
+ * Decompress a BGZF stream (the blocked gzip of bgzip), the gzip members of a BGZF stream contain their
+ * compressed size, so they are read on a separate thread and inflated concurrently, the inflated blocks are
+ * returned in order.
+ * <p>
+ * If a member without the BGZF size is found, the rest of the stream is read with a {@link GZIPInputStream}.
+ */
+public class ParallelGZIPInputStream extends InputStream {
+	private static final int HEADER_SIZE = 18;
+	private static final int FEXTRA = 4;
+	// number of members inflated by the same task
+	private static final int MEMBERS_PER_TASK = 16;
+
+	/**
+	 * check if a stream starts with a BGZF member, the stream is reset after the check
+	 *
+	 * @param in the stream, it must support mark
+	 * @return true if the first member is a BGZF member
+	 * @throws IOException read error
+	 */
+	public static boolean isBGZF(InputStream in) throws IOException {
+		in.mark(HEADER_SIZE);
+		try {
+			byte[] header = new byte[HEADER_SIZE];
+			int length = 0;
+			while (length < HEADER_SIZE) {
+				int read = in.read(header, length, HEADER_SIZE - length);
+				if (read == -1) {
+					return false;
+				}
+				length += read;
+			}
+			return (header[0] & 0xFF) == 31 && (header[1] & 0xFF) == 139 && header[2] == 8
+					&& (header[3] & FEXTRA) != 0 && readShort(header, 10) >= 6
+					&& header[12] == 'B' && header[13] == 'C' && readShort(header, 14) == 2;
+		} finally {
+			in.reset();
+		}
+	}
+
+	private static int readShort(byte[] data, int offset) {
+		return (data[offset] & 0xFF) | ((data[offset + 1] & 0xFF) << 8);
+	}
+
+	private static int readInt(byte[] data, int offset) {
+		return readShort(data, offset) | (readShort(data, offset + 2) << 16);
+	}
+
+	/**
+	 * raw members of a task
+	 */
+	private static class Members {
+		final List<byte[]> members = new ArrayList<>(MEMBERS_PER_TASK);
+		// offset of the deflate data in each member
+		final List<Integer> starts = new ArrayList<>(MEMBERS_PER_TASK);
+	}
+
+	private static final Future<byte[]> END = CompletableFuture.completedFuture(new byte[0]);
+
+	private final InputStream in;
+	private final ExecutorService executor;
+	private final BlockingQueue<Future<byte[]>> inflated;
+	private final Thread reader;
+	private volatile boolean closed;
+	private volatile IOException failure;
+	// rest of the stream after a member without the BGZF size
+	private volatile InputStream tail;
+	private byte[] block;
+	private int position;
+	private boolean end;
+
+	/**
+	 * @param in      the BGZF stream
+	 * @param threads number of inflating threads
+	 */
+	public ParallelGZIPInputStream(InputStream in, int threads) {
+		this.in = in;
+		int numThreads = Math.max(1, threads);
+		AtomicInteger threadId = new AtomicInteger();
+		this.executor = Executors.newFixedThreadPool(numThreads, r -> {
+			Thread t = new Thread(r, "ParallelGZIPInputStream-" + threadId.incrementAndGet());
+			t.setDaemon(true);
+			return t;
+		});
+		this.inflated = new ArrayBlockingQueue<>(numThreads * 2);
+		this.reader = new Thread(this::readMembers, "ParallelGZIPInputStreamReader");
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	private void readMembers() {
+		try {
+			Members task = new Members();
+			while (!closed) {
+				byte[] header = new byte[12];
+				int headerLength = readFully(header, 0, header.length);
+				if (headerLength == 0) {
+					break;
+				}
+				if (headerLength < header.length) {
+					throw new EOFException("Unexpected end of the gzip stream");
+				}
+				if ((header[0] & 0xFF) != 31 || (header[1] & 0xFF) != 139 || header[2] != 8) {
+					throw new IOException("Not in gzip format");
+				}
+				byte[] extra = null;
+				int blockSize = -1;
+				if ((header[3] & FEXTRA) != 0) {
+					extra = new byte[readShort(header, 10)];
+					if (readFully(extra, 0, extra.length) < extra.length) {
+						throw new EOFException("Unexpected end of the gzip stream");
+					}
+					blockSize = findBlockSize(extra);
+				}
+				if (blockSize == -1) {
+					// not a BGZF member, read the rest of the stream as a gzip stream
+					byte[] read = extra == null ? header : concat(header, extra);
+					submit(task);
+					task = new Members();
+					tail = new GZIPInputStream(new SequenceInputStream(new ByteArrayInputStream(read), new NonCloseInputStream(in)));
+					break;
+				}
+				byte[] member = new byte[blockSize];
+				System.arraycopy(header, 0, member, 0, header.length);
+				System.arraycopy(extra, 0, member, header.length, extra.length);
+				int start = header.length + extra.length;
+				if (readFully(member, start, blockSize - start) < blockSize - start) {
+					throw new EOFException("Unexpected end of the gzip stream");
+				}
+				task.members.add(member);
+				task.starts.add(start);
+				if (task.members.size() == MEMBERS_PER_TASK) {
+					submit(task);
+					task = new Members();
+				}
+			}
+			submit(task);
+		} catch (IOException e) {
+			failure = e;
+		} catch (Throwable t) {
+			failure = new IOException(t);
+		}
+		try {
+			put(END);
+		} catch (InterruptedException e) {
+			// closed
+		}
+	}
+
+	private static byte[] concat(byte[] a, byte[] b) {
+		byte[] data = new byte[a.length + b.length];
+		System.arraycopy(a, 0, data, 0, a.length);
+		System.arraycopy(b, 0, data, a.length, b.length);
+		return data;
+	}
+
+	private static int findBlockSize(byte[] extra) {
+		int offset = 0;
+		while (offset + 4 <= extra.length) {
+			int length = readShort(extra, offset + 2);
+			if (extra[offset] == 'B' && extra[offset + 1] == 'C' && length == 2 && offset + 6 <= extra.length) {
+				return readShort(extra, offset + 4) + 1;
+			}
+			offset += 4 + length;
+		}
+		return -1;
+	}
+
+	private int readFully(byte[] buffer, int offset, int length) throws IOException {
+		int done = 0;
+		while (done < length) {
+			int read = in.read(buffer, offset + done, length - done);
+			if (read == -1) {
+				break;
+			}
+			done += read;
+		}
+		return done;
+	}
+
+	private void submit(Members task) throws InterruptedException {
+		if (!task.members.isEmpty()) {
+			put(executor.submit(() -> inflate(task)));
+		}
+	}
+
+	private void put(Future<byte[]> future) throws InterruptedException {
+		while (!closed) {
+			if (inflated.offer(future, 100, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		}
+	}
+
+	private static byte[] inflate(Members task) throws IOException {
+		int size = 0;
+		for (byte[] member : task.members) {
+			size += readInt(member, member.length - 4);
+		}
+		byte[] output = new byte[size];
+		int offset = 0;
+		Inflater inflater = new Inflater(true);
+		CRC32 crc = new CRC32();
+		try {
+			for (int i = 0; i < task.members.size(); i++) {
+				byte[] member = task.members.get(i);
+				int start = task.starts.get(i);
+				int memberSize = readInt(member, member.length - 4);
+				inflater.reset();
+				inflater.setInput(member, start, member.length - 8 - start);
+				int done = 0;
+				while (done < memberSize && !inflater.finished()) {
+					int count = inflater.inflate(output, offset + done, memberSize - done);
+					if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+						break;
+					}
+					done += count;
+				}
+				if (done != memberSize || (memberSize != 0 && !inflater.finished())) {
+					throw new IOException("Corrupt BGZF member");
+				}
+				crc.reset();
+				crc.update(output, offset, memberSize);
+				if ((int) crc.getValue() != readInt(member, member.length - 8)) {
+					throw new IOException("Corrupt BGZF member, bad CRC");
+				}
+				offset += memberSize;
+			}
+		} catch (DataFormatException e) {
+			throw new IOException("Corrupt BGZF member", e);
+		} finally {
+			inflater.end();
+		}
+		return output;
+	}
+
+	private boolean nextBlock() throws IOException {
+		while (!end) {
+			Future<byte[]> next;
+			try {
+				next = inflated.take();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while reading", e);
+			}
+			if (next == END) {
+				end = true;
+				if (failure != null) {
+					throw failure;
+				}
+				return false;
+			}
+			try {
+				block = next.get();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				throw new IOException("Interrupted while reading", e);
+			} catch (ExecutionException e) {
+				throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+			}
+			position = 0;
+			if (block.length != 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (block == null || position == block.length) {
+			if (!nextBlock()) {
+				return tail == null ? -1 : tail.read();
+			}
+		}
+		return block[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (block == null || position == block.length) {
+			if (!nextBlock()) {
+				return tail == null ? -1 : tail.read(b, off, len);
+			}
+		}
+		int count = Math.min(len, block.length - position);
+		System.arraycopy(block, position, b, off, count);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		inflated.clear();
+		try {
+			reader.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while closing", e);
+		} finally {
+			executor.shutdownNow();
+			IOUtil.closeAll(tail, in);
+		}
+	}
+}
@@ -0,0 +1,16 @@
+package org.rdfhdt.hdt.util.io;
+
+/**
+ * A structure with memory mapped regions, the regions can be read in advance by a {@link WarmUp}.
+ */
+public interface Prefetchable {
+	/**
+	 * add the mapped regions of this structure to a warm-up
+	 *
+	 * @param warmUp   the warm-up
+	 * @param name     name of the structure, prefix of the names of its regions, it should be the same for the
+	 *                 same structure of the same file between two runs
+	 * @param priority priority of the data of the structure, its directories can use {@link WarmUp.Priority#INDEX}
+	 */
+	void addRegions(WarmUp warmUp, String name, WarmUp.Priority priority);
+}
@@ -0,0 +1,173 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read a stream on a separate thread, the read blocks are kept in a bounded queue until they are consumed.
+ * <p>
+ * It moves the cost of the wrapped stream, for example a decompression, out of the reading thread. The wrapped
+ * stream is closed by the reading thread, once the stream is read or this stream is closed.
+ */
+public class ReadAheadInputStream extends InputStream {
+	/**
+	 * default size of the read blocks
+	 */
+	public static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+	/**
+	 * default number of blocks read in advance
+	 */
+	public static final int DEFAULT_BLOCKS = 8;
+	private static final byte[] END = new byte[0];
+
+	private final InputStream in;
+	private final int blockSize;
+	private final BlockingQueue<byte[]> blocks;
+	private final Thread reader;
+	private volatile boolean closed;
+	private volatile IOException failure;
+	// current block, the last block can be shorter than the block size
+	private byte[] block;
+	private int blockLength;
+	private int position;
+	private boolean end;
+
+	/**
+	 * @param in the stream to read
+	 */
+	public ReadAheadInputStream(InputStream in) {
+		this(in, DEFAULT_BLOCK_SIZE, DEFAULT_BLOCKS);
+	}
+
+	/**
+	 * @param in        the stream to read
+	 * @param blockSize size of the read blocks
+	 * @param numBlocks maximum number of blocks read in advance
+	 */
+	public ReadAheadInputStream(InputStream in, int blockSize, int numBlocks) {
+		this.in = in;
+		this.blockSize = blockSize;
+		this.blocks = new ArrayBlockingQueue<>(numBlocks);
+		this.reader = new Thread(this::readBlocks, "ReadAheadInputStream");
+		reader.setDaemon(true);
+		reader.start();
+	}
+
+	private void readBlocks() {
+		try (InputStream input = in) {
+			while (!closed) {
+				byte[] buffer = new byte[blockSize];
+				int length = 0;
+				while (length < blockSize) {
+					int read = input.read(buffer, length, blockSize - length);
+					if (read == -1) {
+						break;
+					}
+					length += read;
+				}
+				if (length != 0) {
+					put(length == blockSize ? buffer : trim(buffer, length));
+				}
+				if (length < blockSize) {
+					break;
+				}
+			}
+		} catch (IOException e) {
+			failure = e;
+		} catch (Throwable t) {
+			failure = new IOException(t);
+		}
+		try {
+			put(END);
+		} catch (InterruptedException e) {
+			// closed
+		}
+	}
+
+	private static byte[] trim(byte[] buffer, int length) {
+		byte[] trimmed = new byte[length];
+		System.arraycopy(buffer, 0, trimmed, 0, length);
+		return trimmed;
+	}
+
+	private void put(byte[] buffer) throws InterruptedException {
+		while (!closed) {
+			if (blocks.offer(buffer, 100, TimeUnit.MILLISECONDS)) {
+				return;
+			}
+		}
+	}
+
+	private boolean nextBlock() throws IOException {
+		if (end) {
+			return false;
+		}
+		byte[] next;
+		try {
+			next = blocks.take();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while reading", e);
+		}
+		if (next == END) {
+			end = true;
+			if (failure != null) {
+				throw failure;
+			}
+			return false;
+		}
+		block = next;
+		blockLength = next.length;
+		position = 0;
+		return true;
+	}
+
+	@Override
+	public int read() throws IOException {
+		if (block == null || position == blockLength) {
+			if (!nextBlock()) {
+				return -1;
+			}
+		}
+		return block[position++] & 0xFF;
+	}
+
+	@Override
+	public int read(byte[] b, int off, int len) throws IOException {
+		if (len == 0) {
+			return 0;
+		}
+		if (block == null || position == blockLength) {
+			if (!nextBlock()) {
+				return -1;
+			}
+		}
+		int count = Math.min(len, blockLength - position);
+		System.arraycopy(block, position, b, off, count);
+		position += count;
+		return count;
+	}
+
+	@Override
+	public int available() {
+		return block == null ? 0 : blockLength - position;
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		blocks.clear();
+		try {
+			reader.join();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IOException("Interrupted while closing", e);
+		}
+	}
+}
@@ -0,0 +1,216 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.rdfhdt.hdt.listener.ProgressListener;
+import org.rdfhdt.hdt.util.concurrent.ParallelUtil;
+
+/**
+ * Read the memory mapped regions of the structures of an HDT to load them in the page cache before the first
+ * queries, one byte of each page is read.
+ * <p>
+ * The chunks of a replayed {@link WarmUpProfile} are read first, then the regions by {@link Priority}, until the
+ * budget is reached. When a profile to record is set, the structures mark the chunks they are reading in it.
+ */
+public class WarmUp {
+	/**
+	 * size of the chunks of a region, unit of a profile and of the budget
+	 */
+	public static final int CHUNK_SIZE = 64 * 1024;
+	private static final int PAGE_SIZE = 4096;
+	// a planned chunk is the region index and the chunk index in one long
+	private static final int REGION_SHIFT = 40;
+	private static final long CHUNK_MASK = (1L << REGION_SHIFT) - 1;
+
+	public enum Priority {
+		/**
+		 * directories read by most of the queries, the blocks of the dictionary sections or the predicate index
+		 */
+		INDEX,
+		/**
+		 * the data, the strings of the dictionary or the triples
+		 */
+		DATA
+	}
+
+	private static class Region {
+		private final String name;
+		private final Priority priority;
+		private final CloseMappedByteBuffer[] buffers;
+		// offset of each buffer in the region, with the length of the region
+		private final long[] starts;
+
+		Region(String name, Priority priority, CloseMappedByteBuffer[] buffers) {
+			this.name = name;
+			this.priority = priority;
+			this.buffers = buffers;
+			this.starts = new long[buffers.length + 1];
+			for (int i = 0; i < buffers.length; i++) {
+				starts[i + 1] = starts[i] + buffers[i].capacity();
+			}
+		}
+
+		long length() {
+			return starts[buffers.length];
+		}
+
+		int read(long offset) {
+			int buffer = Arrays.binarySearch(starts, offset);
+			if (buffer < 0) {
+				buffer = -buffer - 2;
+			}
+			return buffers[buffer].get((int) (offset - starts[buffer]));
+		}
+	}
+
+	private final List<Region> regions = new ArrayList<>();
+	private final WarmUpProfile replay;
+	private final WarmUpProfile record;
+
+	/**
+	 * @param replay profile of the chunks to read first, can be null
+	 * @param record profile to record the chunks read by the structures, can be null
+	 */
+	public WarmUp(WarmUpProfile replay, WarmUpProfile record) {
+		this.replay = replay;
+		this.record = record;
+	}
+
+	/**
+	 * add the regions of a structure if it is {@link Prefetchable}
+	 *
+	 * @param structure the structure
+	 * @param name      the name of the structure
+	 * @param priority  the priority of the data of the structure
+	 */
+	public void addRegions(Object structure, String name, Priority priority) {
+		if (structure instanceof Prefetchable) {
+			((Prefetchable) structure).addRegions(this, name, priority);
+		}
+	}
+
+	/**
+	 * add a region, the buffers are read as one region
+	 *
+	 * @param name     the name of the region
+	 * @param priority the priority
+	 * @param buffers  the buffers of the region, the null buffers are ignored
+	 * @return the recorder for this region, null if no profile is recorded
+	 */
+	public WarmUpProfile.Recorder add(String name, Priority priority, CloseMappedByteBuffer... buffers) {
+		Region region = new Region(name, priority, Arrays.stream(buffers).filter(Objects::nonNull).toArray(CloseMappedByteBuffer[]::new));
+		regions.add(region);
+		return record == null ? null : record.recorder(name, region.length());
+	}
+
+	/**
+	 * add a region, the buffers are read as one region
+	 *
+	 * @param name     the name of the region
+	 * @param priority the priority
+	 * @param buffers  the buffers of the region, the null buffers are ignored
+	 * @return the recorder for this region, null if no profile is recorded
+	 */
+	public WarmUpProfile.Recorder add(String name, Priority priority, BigMappedByteBuffer... buffers) {
+		return add(name, priority, Arrays.stream(buffers)
+				.filter(Objects::nonNull)
+				.flatMap(b -> b.getBuffers().stream())
+				.toArray(CloseMappedByteBuffer[]::new));
+	}
+
+	/**
+	 * @return the number of bytes of the regions
+	 */
+	public long getSize() {
+		return regions.stream().mapToLong(Region::length).sum();
+	}
+
+	/**
+	 * read the regions
+	 *
+	 * @param threads  number of threads
+	 * @param budget   maximum number of bytes to read, 0 or negative to read all the regions
+	 * @param listener listener
+	 * @return the number of bytes in the read chunks
+	 * @throws IOException if a task fails
+	 */
+	public long run(int threads, long budget, ProgressListener listener) throws IOException {
+		long maxBytes = budget <= 0 ? Long.MAX_VALUE : budget;
+		List<Region> sorted = new ArrayList<>(regions);
+		sorted.sort(Comparator.comparing(r -> r.priority));
+
+		// region and chunk of each chunk to read, in order
+		long totalChunks = 0;
+		List<boolean[]> selected = new ArrayList<>();
+		for (Region region : sorted) {
+			long numChunks = WarmUpProfile.numChunks(region.length());
+			selected.add(new boolean[(int) numChunks]);
+			totalChunks += numChunks;
+		}
+		long[] plan = new long[(int) totalChunks];
+		int planSize = 0;
+		long planned = 0;
+		if (replay != null) {
+			for (int r = 0; r < sorted.size() && planned < maxBytes; r++) {
+				Region region = sorted.get(r);
+				WarmUpProfile.Recorder recorder = replay.get(region.name, region.length());
+				if (recorder == null) {
+					continue;
+				}
+				boolean[] regionSelected = selected.get(r);
+				for (int chunk = 0; chunk < regionSelected.length && planned < maxBytes; chunk++) {
+					if (recorder.isAccessed(chunk)) {
+						regionSelected[chunk] = true;
+						plan[planSize++] = ((long) r << REGION_SHIFT) | chunk;
+						planned += chunkLength(region, chunk);
+					}
+				}
+			}
+		}
+		for (int r = 0; r < sorted.size() && planned < maxBytes; r++) {
+			Region region = sorted.get(r);
+			boolean[] regionSelected = selected.get(r);
+			for (int chunk = 0; chunk < regionSelected.length && planned < maxBytes; chunk++) {
+				if (!regionSelected[chunk]) {
+					plan[planSize++] = ((long) r << REGION_SHIFT) | chunk;
+					planned += chunkLength(region, chunk);
+				}
+			}
+		}
+
+		// each thread reads every threads-th chunk to keep the plan order
+		int size = planSize;
+		int tasks = Math.max(1, Math.min(threads, size));
+		AtomicLong done = new AtomicLong();
+		AtomicLong sink = new AtomicLong();
+		ParallelUtil.run("HDTWarmUp", tasks, tasks, task -> {
+			long sum = 0;
+			for (int i = task; i < size; i += tasks) {
+				Region region = sorted.get((int) (plan[i] >>> REGION_SHIFT));
+				long chunk = plan[i] & CHUNK_MASK;
+				long start = chunk * CHUNK_SIZE;
+				long end = start + chunkLength(region, chunk);
+				for (long offset = start; offset < end; offset += PAGE_SIZE) {
+					sum += region.read(offset);
+				}
+				long count = done.incrementAndGet();
+				if (listener != null && count % 1024 == 0) {
+					listener.notifyProgress(count * 100f / size, "Warming up " + region.name);
+				}
+			}
+			// keep the reads
+			sink.addAndGet(sum);
+		});
+		return planned;
+	}
+
+	private static long chunkLength(Region region, long chunk) {
+		return Math.min(CHUNK_SIZE, region.length() - chunk * CHUNK_SIZE);
+	}
+}
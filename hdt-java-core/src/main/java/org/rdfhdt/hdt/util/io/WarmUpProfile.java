@@ -0,0 +1,177 @@
+package org.rdfhdt.hdt.util.io;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.rdfhdt.hdt.exceptions.IllegalFormatException;
+
+/**
+ * Chunks accessed in the mapped regions of an HDT, recorded by the structures while they are used and replayed
+ * by a {@link WarmUp} on the next startup.
+ * <p>
+ * A chunk is marked without synchronization, an access done at the same time as another access to a chunk of
+ * the same 64 chunks can be lost, what is not an issue for a profile of a running server.
+ */
+public class WarmUpProfile {
+	private static final int MAGIC = 0x48445457; // HDTW
+
+	/**
+	 * accessed chunks of a region
+	 */
+	public static class Recorder {
+		private final long length;
+		private final long[] chunks;
+
+		Recorder(long length) {
+			this.length = length;
+			this.chunks = new long[(int) ((numChunks(length) + 63) >>> 6)];
+		}
+
+		/**
+		 * mark the chunk at an offset as accessed
+		 *
+		 * @param offset the offset in the region
+		 */
+		public void access(long offset) {
+			long chunk = offset / WarmUp.CHUNK_SIZE;
+			int word = (int) (chunk >>> 6);
+			long bit = 1L << chunk;
+			// read before write to keep the cache line shared once the chunk is marked
+			long value = chunks[word];
+			if ((value & bit) == 0) {
+				chunks[word] = value | bit;
+			}
+		}
+
+		/**
+		 * @param chunk the chunk index
+		 * @return if the chunk was accessed
+		 */
+		public boolean isAccessed(long chunk) {
+			return (chunks[(int) (chunk >>> 6)] & (1L << chunk)) != 0;
+		}
+
+		/**
+		 * @return the number of accessed chunks
+		 */
+		public long countAccessed() {
+			long count = 0;
+			for (long word : chunks) {
+				count += Long.bitCount(word);
+			}
+			return count;
+		}
+
+		public long getLength() {
+			return length;
+		}
+	}
+
+	static long numChunks(long length) {
+		return (length + WarmUp.CHUNK_SIZE - 1) / WarmUp.CHUNK_SIZE;
+	}
+
+	private final Map<String, Recorder> regions = new TreeMap<>();
+
+	/**
+	 * get the recorder of a region, a new one is created if the region doesn't exist or doesn't have the same length
+	 *
+	 * @param name   the name of the region
+	 * @param length the length of the region
+	 * @return recorder
+	 */
+	public synchronized Recorder recorder(String name, long length) {
+		Recorder recorder = regions.get(name);
+		if (recorder == null || recorder.length != length) {
+			recorder = new Recorder(length);
+			regions.put(name, recorder);
+		}
+		return recorder;
+	}
+
+	/**
+	 * @param name   the name of the region
+	 * @param length the length of the region
+	 * @return the recorder of the region, null if the profile doesn't have this region with this length
+	 */
+	public synchronized Recorder get(String name, long length) {
+		Recorder recorder = regions.get(name);
+		if (recorder == null || recorder.length != length) {
+			return null;
+		}
+		return recorder;
+	}
+
+	/**
+	 * @return the number of regions of the profile
+	 */
+	public synchronized int getNumberOfRegions() {
+		return regions.size();
+	}
+
+	/**
+	 * @return the number of accessed chunks of all the regions
+	 */
+	public synchronized long countAccessed() {
+		return regions.values().stream().mapToLong(Recorder::countAccessed).sum();
+	}
+
+	/**
+	 * save the profile, the file is replaced once the profile is written
+	 *
+	 * @param file the file
+	 * @throws IOException write error
+	 */
+	public synchronized void save(Path file) throws IOException {
+		Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+			out.writeInt(MAGIC);
+			out.writeInt(regions.size());
+			for (Map.Entry<String, Recorder> e : regions.entrySet()) {
+				out.writeUTF(e.getKey());
+				out.writeLong(e.getValue().length);
+				for (long word : e.getValue().chunks) {
+					out.writeLong(word);
+				}
+			}
+		}
+		Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	/**
+	 * read a profile
+	 *
+	 * @param file the file
+	 * @return profile, empty if the file doesn't exist
+	 * @throws IOException read error
+	 */
+	public static WarmUpProfile load(Path file) throws IOException {
+		WarmUpProfile profile = new WarmUpProfile();
+		if (!Files.exists(file)) {
+			return profile;
+		}
+		try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (in.readInt() != MAGIC) {
+				throw new IllegalFormatException("The file " + file + " isn't a warm-up profile");
+			}
+			int count = in.readInt();
+			for (int i = 0; i < count; i++) {
+				String name = in.readUTF();
+				Recorder recorder = new Recorder(in.readLong());
+				for (int j = 0; j < recorder.chunks.length; j++) {
+					recorder.chunks[j] = in.readLong();
+				}
+				profile.regions.put(name, recorder);
+			}
+		}
+		return profile;
+	}
+}
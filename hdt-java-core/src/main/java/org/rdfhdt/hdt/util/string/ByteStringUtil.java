@@ -110,6 +110,41 @@ public class ByteStringUtil {
 		return delta-from;
 	}
 
+	/**
+	 * @param str a string
+	 * @return the UTF-8 bytes of the string in a ReplazableString, to compare it with the strings of the sections
+	 */
+	public static ReplazableString asReplazableString(CharSequence str) {
+		str = DelayedString.unwrap(str);
+		if(str instanceof ReplazableString) {
+			return (ReplazableString) str;
+		}
+		byte [] data = str instanceof CompactString ? ((CompactString) str).getData() : str.toString().getBytes(STRING_ENCODING);
+		ReplazableString replazable = new ReplazableString(data.length);
+		replazable.append(data, 0, data.length);
+		return replazable;
+	}
+
+	/**
+	 * @param prefix a prefix
+	 * @return the lowest string greater than all the strings starting with the prefix in the UTF-8 byte order,
+	 * null if there is none
+	 */
+	public static ReplazableString prefixUpperBound(CharSequence prefix) {
+		ReplazableString bytes = asReplazableString(prefix);
+		int len = bytes.used;
+		while(len>0 && (bytes.buffer[len-1] & 0xFF)==0xFF) {
+			len--;
+		}
+		if(len==0) {
+			return null;
+		}
+		ReplazableString upper = new ReplazableString(len);
+		upper.append(bytes.buffer, 0, len);
+		upper.buffer[len-1]++;
+		return upper;
+	}
+
 	public static int strcmp(CharSequence str, byte [] buff2, int off2) {
 		byte [] buff1;
 		int off1;
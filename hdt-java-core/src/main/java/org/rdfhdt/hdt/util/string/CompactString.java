@@ -66,7 +66,15 @@ public class CompactString implements CharSequence, Serializable, Comparable<Com
 	}
 	
 	public CompactString(CharSequence other) {
-		data = other.toString().getBytes(ByteStringUtil.STRING_ENCODING);
+		if (other instanceof ReplazableString) {
+			// already encoded, avoid the String round trip
+			ReplazableString str = (ReplazableString) other;
+			data = Arrays.copyOf(str.buffer, str.used);
+		} else if (other instanceof CompactString) {
+			data = Arrays.copyOf(((CompactString) other).data, ((CompactString) other).data.length);
+		} else {
+			data = other.toString().getBytes(ByteStringUtil.STRING_ENCODING);
+		}
 	}
 	
 	public byte [] getData() {
@@ -77,6 +85,17 @@ public class CompactString implements CharSequence, Serializable, Comparable<Com
 		this.data = data;
 	}
 
+	/**
+	 * copy a range of encoded bytes
+	 *
+	 * @param data   the buffer
+	 * @param offset the start of the string in the buffer
+	 * @param length the length of the string
+	 */
+	public CompactString(byte[] data, int offset, int length) {
+		this.data = Arrays.copyOfRange(data, offset, offset + length);
+	}
+
 	public int indexOf(char ch) {
 		for (int i = 0; i < data.length; i++) {
 			if ((char) (data[i] & 0xff) == ch) {
@@ -128,15 +147,18 @@ public class CompactString implements CharSequence, Serializable, Comparable<Com
 	@Override
 	public int hashCode() {
 		// FNV Hash function: http://isthe.com/chongo/tech/comp/fnv/
-		if(hash==0){
-			hash = (int) 2166136261L; 				
+		// Computed in a local so a concurrent reader never sees a partial value
+		int h = hash;
+		if(h==0){
+			h = (int) 2166136261L;
 			int i = data.length;
-					
+
 			while(i-- != 0) {
-				hash = 	(hash * 16777619) ^ data[i];
+				h = (h * 16777619) ^ data[i];
 			}
+			hash = h;
 		}
-		return hash;
+		return h;
 	}
 	
 	@Override
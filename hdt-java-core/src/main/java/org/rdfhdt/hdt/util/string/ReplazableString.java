@@ -245,12 +245,12 @@ public final class ReplazableString implements CharSequence, Comparable<Replazab
 		}
 		if(o instanceof CompactString) {
 			CompactString cmp = (CompactString) o;
-			if(buffer.length!=cmp.data.length) {
+			if(used!=cmp.data.length) {
 				return false;
 			}
 			
 			// Byte by byte comparison
-			int i = buffer.length;
+			int i = used;
 			while(i-- != 0) {
 				if(buffer[i]!=cmp.data[i]) {
 					return false;
@@ -0,0 +1,118 @@
+package org.rdfhdt.hdt.compact.bitmap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+
+public class Bitmap375SelectTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static void fill(ModifiableBitmap a, ModifiableBitmap b, long numBits, double density, long seed) {
+		Random random = new Random(seed);
+		for (long i = 0; i < numBits; i++) {
+			boolean value = random.nextDouble() < density;
+			a.set(i, value);
+			b.set(i, value);
+		}
+	}
+
+	private static void assertSameSelect(Bitmap expected, Bitmap actual) {
+		assertEquals(expected.countOnes(), actual.countOnes());
+		assertEquals(expected.countZeros(), actual.countZeros());
+		long ones = expected.countOnes();
+		long zeros = expected.countZeros();
+		for (long x = 0; x <= ones + 1; x++) {
+			assertEquals("select1 " + x, expected.select1(x), actual.select1(x));
+		}
+		for (long x = 0; x <= zeros + 1; x++) {
+			assertEquals("select0 " + x, expected.select0(x), actual.select0(x));
+		}
+		for (long x = 1; x <= ones; x++) {
+			assertEquals(x, actual.rank1(actual.select1(x)));
+		}
+	}
+
+	@Test
+	public void selectTest() {
+		double[] densities = {0, 0.0005, 0.01, 0.5, 0.99, 1};
+		long[] sizes = {1, 100, 70_000, 300_000};
+		for (long size : sizes) {
+			for (double density : densities) {
+				Bitmap375 plain = new Bitmap375(size);
+				Bitmap375Select select = new Bitmap375Select(size);
+				fill(plain, select, size, density, size * 31 + (long) (density * 1000));
+				plain.updateIndex();
+				select.updateIndex();
+				assertSameSelect(plain, select);
+			}
+		}
+	}
+
+	@Test
+	public void diskSelectTest() throws IOException {
+		double[] densities = {0, 0.0005, 0.01, 0.5, 0.99, 1};
+		long[] sizes = {1, 100, 70_000, 300_000};
+		int file = 0;
+		for (long size : sizes) {
+			for (double density : densities) {
+				Bitmap375 plain = new Bitmap375(size);
+				ModifiableBitmap disk = BitmapFactory.createDiskBitmap(
+						new File(tempDir.getRoot(), "plain" + file).getAbsolutePath(), size, HDTVocabulary.BITMAP_TYPE_PLAIN);
+				ModifiableBitmap select = BitmapFactory.createDiskBitmap(
+						new File(tempDir.getRoot(), "select" + file++).getAbsolutePath(), size, HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT);
+				try {
+					assertEquals(Bitmap375Disk.class, disk.getClass());
+					assertEquals(Bitmap375DiskSelect.class, select.getClass());
+					fill(plain, disk, size, density, size * 31 + (long) (density * 1000));
+					fill(new Bitmap375(size), select, size, density, size * 31 + (long) (density * 1000));
+					plain.updateIndex();
+					((Bitmap375Disk) disk).updateIndex();
+					((Bitmap375Disk) select).updateIndex();
+					assertSameSelect(plain, disk);
+					assertSameSelect(plain, select);
+				} finally {
+					((Closeable) disk).close();
+					((Closeable) select).close();
+				}
+			}
+		}
+	}
+
+	@Test
+	public void loadTest() throws IOException {
+		long size = 100_000;
+		Bitmap375 plain = new Bitmap375(size);
+		Bitmap375Select select = new Bitmap375Select(size);
+		fill(plain, select, size, 0.3, 42);
+
+		// the select bitmap is saved as a plain bitmap
+		ByteArrayOutputStream plainOut = new ByteArrayOutputStream();
+		plain.save(plainOut, null);
+		ByteArrayOutputStream selectOut = new ByteArrayOutputStream();
+		select.save(selectOut, null);
+		assertEquals(plainOut.toString("ISO-8859-1"), selectOut.toString("ISO-8859-1"));
+
+		InputStream input = new ByteArrayInputStream(plainOut.toByteArray());
+		Bitmap loaded = BitmapFactory.createBitmap(input, HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT);
+		assertTrue(loaded instanceof Bitmap375Select);
+		loaded.load(input, null);
+		assertSameSelect(plain, loaded);
+
+		input = new ByteArrayInputStream(plainOut.toByteArray());
+		assertEquals(Bitmap375.class, BitmapFactory.createBitmap(input, HDTVocabulary.BITMAP_TYPE_PLAIN).getClass());
+		assertEquals(Bitmap375Select.class, BitmapFactory.createBitmap(HDTVocabulary.BITMAP_TYPE_PLAIN_SELECT).getClass());
+	}
+}
@@ -0,0 +1,190 @@
+package org.rdfhdt.hdt.compact.sequence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
+import org.rdfhdt.hdt.iterator.utils.SequenceIterator;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.impl.BitmapTriples;
+import org.rdfhdt.hdt.util.BitUtil;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+import org.rdfhdt.hdt.util.io.CountInputStream;
+
+public class SequenceEncodingTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static SequenceLog64Big monotone(long size, int maxGap, long seed) {
+		Random random = new Random(seed);
+		SequenceLog64Big values = new SequenceLog64Big(63);
+		long value = 0;
+		for (long i = 0; i < size; i++) {
+			value += random.nextInt(maxGap);
+			values.append(value);
+		}
+		return values;
+	}
+
+	private static SequenceLog64Big clustered(long size, long seed) {
+		Random random = new Random(seed);
+		SequenceLog64Big values = new SequenceLog64Big(63);
+		long center = 0;
+		for (long i = 0; i < size; i++) {
+			if (random.nextInt(1000) == 0) {
+				center = random.nextInt(1_000_000_000);
+			}
+			values.append(center + random.nextInt(1000));
+		}
+		return values;
+	}
+
+	private static void assertSameValues(Sequence expected, Sequence actual) {
+		assertEquals(expected.getNumberOfElements(), actual.getNumberOfElements());
+		for (long i = 0; i < expected.getNumberOfElements(); i++) {
+			assertEquals("index " + i, expected.get(i), actual.get(i));
+		}
+	}
+
+	private void assertLoadAndMap(Sequence expected, Sequence sequence) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		sequence.save(out, null);
+
+		ByteArrayInputStream input = new ByteArrayInputStream(out.toByteArray());
+		Sequence loaded = SequenceFactory.createStream(input);
+		assertEquals(sequence.getClass(), loaded.getClass());
+		loaded.load(input, null);
+		assertEquals(-1, input.read());
+		assertSameValues(expected, loaded);
+
+		// mapped after another structure, with an end marker to check the read position
+		File file = tempDir.newFile();
+		try (OutputStream fileOut = new BufferedOutputStream(new FileOutputStream(file))) {
+			fileOut.write(new byte[]{1, 2, 3});
+			sequence.save(fileOut, null);
+			fileOut.write(42);
+		}
+		try (CountInputStream fileIn = new CountInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+			assertEquals(3, fileIn.skip(3));
+			try (Sequence mapped = SequenceFactory.createStream(fileIn, file)) {
+				assertEquals(sequence.getClass(), mapped.getClass());
+				assertEquals(42, fileIn.read());
+				assertSameValues(expected, mapped);
+			}
+		}
+	}
+
+	@Test
+	public void eliasFanoTest() throws IOException {
+		long[] sizes = {0, 1, 2, 1000, 50_000};
+		int[] gaps = {1, 2, 100, 100_000};
+		for (long size : sizes) {
+			for (int gap : gaps) {
+				SequenceLog64Big values = monotone(size, gap, size + gap);
+				SequenceEliasFano ef = new SequenceEliasFano();
+				ef.add(values);
+				assertSameValues(values, ef);
+				assertLoadAndMap(values, ef);
+			}
+		}
+
+		// sparse values use fewer bits than the fixed width sequence
+		SequenceLog64Big values = monotone(100_000, 1000, 42);
+		SequenceEliasFano ef = new SequenceEliasFano();
+		ef.add(new SequenceIterator(values));
+		SequenceLog64 log = new SequenceLog64(BitUtil.log2(values.get(values.getNumberOfElements() - 1)), values.getNumberOfElements(), true);
+		assertSameValues(values, ef);
+		assertTrue(ef.size() + " " + log.size(), ef.size() < log.size() * 3 / 4);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void eliasFanoNotMonotoneTest() {
+		SequenceLog64Big values = new SequenceLog64Big(63);
+		values.append(5);
+		values.append(4);
+		new SequenceEliasFano().add(values);
+	}
+
+	@Test
+	public void blockFORTest() throws IOException {
+		long[] sizes = {0, 1, 127, 128, 129, 50_000};
+		for (long size : sizes) {
+			SequenceLog64Big values = clustered(size, size);
+			for (int blockSize : new int[]{1, 7, SequenceBlockFOR.DEFAULT_BLOCK_SIZE}) {
+				SequenceBlockFOR seq = new SequenceBlockFOR(blockSize);
+				seq.add(values);
+				assertSameValues(values, seq);
+				assertLoadAndMap(values, seq);
+			}
+		}
+		// constant and large values
+		SequenceLog64Big values = new SequenceLog64Big(63);
+		for (int i = 0; i < 300; i++) {
+			values.append(i < 200 ? 7 : Long.MAX_VALUE - i);
+		}
+		values.append(0);
+		SequenceBlockFOR seq = new SequenceBlockFOR();
+		seq.add(values);
+		assertSameValues(values, seq);
+		assertLoadAndMap(values, seq);
+
+		// clustered values use fewer bits than the fixed width sequence
+		values = clustered(100_000, 34);
+		seq = new SequenceBlockFOR();
+		seq.add(values);
+		SequenceLog64 log = new SequenceLog64(30, values.getNumberOfElements(), true);
+		assertTrue(seq.size() + " " + log.size(), seq.size() < log.size() * 3 / 4);
+	}
+
+	@Test
+	public void bitmapTriplesTest() throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 42);
+		supplier.maxElementSplit = 20;
+		HDTSpecification spec = new HDTSpecification();
+		spec.set("seq.y", HDTVocabulary.SEQ_TYPE_BLOCK_FOR);
+		spec.set("seq.z", HDTVocabulary.SEQ_TYPE_BLOCK_FOR);
+		File expectedFile = tempDir.newFile("expected.hdt");
+		File actualFile = tempDir.newFile("actual.hdt");
+		supplier.createAndSaveFakeHDT(new HDTSpecification(), expectedFile.getAbsolutePath());
+		supplier.reset();
+		supplier.createAndSaveFakeHDT(spec, actualFile.getAbsolutePath());
+
+		try (HDT expected = HDTManager.loadHDT(expectedFile.getAbsolutePath());
+			 HDT loaded = HDTManager.loadHDT(actualFile.getAbsolutePath());
+			 HDT mapped = HDTManager.mapHDT(actualFile.getAbsolutePath())) {
+			for (HDT actual : new HDT[]{loaded, mapped}) {
+				BitmapTriples triples = (BitmapTriples) actual.getTriples();
+				assertEquals(HDTVocabulary.SEQ_TYPE_BLOCK_FOR, triples.getSeqZ().getType());
+				assertEquals(HDTVocabulary.SEQ_TYPE_BLOCK_FOR, triples.getSeqY().getType());
+				IteratorTripleID it = expected.getTriples().searchAll();
+				IteratorTripleID it2 = actual.getTriples().searchAll();
+				while (it.hasNext()) {
+					assertTrue(it2.hasNext());
+					assertEquals(it.next(), it2.next());
+				}
+				assertTrue(!it2.hasNext());
+				TripleID pattern = new TripleID(1, 0, 0);
+				assertEquals(expected.getTriples().search(pattern).estimatedNumResults(), actual.getTriples().search(pattern).estimatedNumResults());
+			}
+		}
+	}
+}
@@ -0,0 +1,174 @@
+package org.rdfhdt.hdt.dictionary.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.LongStream;
+
+import org.junit.Test;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+
+public class LiteralValueIndexTest {
+	private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+	private static HDT createHDT(Set<String> literals) throws IOException, ParserException {
+		List<TripleString> triples = new ArrayList<>();
+		int i = 0;
+		for (String literal : literals) {
+			triples.add(new TripleString("http://example.org/s" + (i++ % 100), "http://example.org/p", literal));
+		}
+		triples.add(new TripleString("http://example.org/s0", "http://example.org/p", "\"text\""));
+		triples.add(new TripleString("http://example.org/s0", "http://example.org/p", "http://example.org/o"));
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions("tempDictionary.impl=multHash;dictionary.type=dictionaryMultiObj;");
+		return HDTManager.generateHDT(triples.iterator(), "http://example.org/", spec, null);
+	}
+
+	private static long[] expectedIds(HDT hdt, Map<String, Comparable<?>> values, Comparable<?> min, boolean minInclusive, Comparable<?> max, boolean maxInclusive) {
+		return values.entrySet().stream()
+				.filter(e -> min == null || (minInclusive ? compare(e.getValue(), min) >= 0 : compare(e.getValue(), min) > 0))
+				.filter(e -> max == null || (maxInclusive ? compare(e.getValue(), max) <= 0 : compare(e.getValue(), max) < 0))
+				.mapToLong(e -> hdt.getDictionary().stringToId(e.getKey(), TripleComponentRole.OBJECT))
+				.sorted()
+				.toArray();
+	}
+
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	private static int compare(Comparable<?> a, Comparable<?> b) {
+		if (a instanceof Double || b instanceof Double) {
+			double da = ((Number) a).doubleValue();
+			double db = ((Number) b).doubleValue();
+			return da < db ? -1 : (da > db ? 1 : 0);
+		}
+		return ((Comparable) a).compareTo(b);
+	}
+
+	@Test
+	public void numericTest() throws IOException, ParserException {
+		Random random = new Random(42);
+		// literal -> value, BigDecimal for the exact values and Double for the floating ones
+		Map<String, Comparable<?>> values = new HashMap<>();
+		for (int i = 0; i < 300; i++) {
+			int value = random.nextInt(2000) - 1000;
+			values.put("\"" + value + "\"^^<" + XSD + "int>", new BigDecimal(value));
+			BigDecimal decimal = BigDecimal.valueOf(random.nextInt(200000) - 100000, 2);
+			values.put("\"" + decimal.toPlainString() + "\"^^<" + XSD + "decimal>", decimal);
+			double d = (random.nextDouble() - 0.5) * 3000;
+			values.put("\"" + d + "\"^^<" + XSD + "double>", d);
+		}
+		values.put("\"+12\"^^<" + XSD + "integer>", new BigDecimal(12));
+		values.put("\"-INF\"^^<" + XSD + "double>", Double.NEGATIVE_INFINITY);
+		Set<String> literals = new LinkedHashSet<>(values.keySet());
+		// invalid values, not in the index
+		literals.add("\"abc\"^^<" + XSD + "int>");
+		literals.add("\"1.5\"^^<" + XSD + "int>");
+		literals.add("\"NaN\"^^<" + XSD + "double>");
+
+		try (HDT hdt = createHDT(literals)) {
+			MultipleSectionDictionary dictionary = (MultipleSectionDictionary) hdt.getDictionary();
+			assertNull(dictionary.getValueIndex(XSD + "string"));
+			assertNull(dictionary.getValueIndex(XSD + "long"));
+			LiteralValueIndex intIndex = dictionary.getValueIndex(XSD + "int");
+			assertNotNull(intIndex);
+			assertSame(intIndex, dictionary.getValueIndex(XSD + "int"));
+			assertEquals(LiteralValueIndex.ValueType.NUMERIC, intIndex.getValueType());
+			assertEquals(values.keySet().stream().filter(s -> s.endsWith("int>")).count(), intIndex.getNumberOfValues());
+
+			assertArrayEquals(expectedIds(hdt, values, null, true, null, true),
+					dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, null, true, null, true));
+			for (int i = 0; i < 200; i++) {
+				Comparable<?> min = random.nextBoolean() ? new BigDecimal(random.nextInt(3000) - 1500) : (Comparable<?>) ((random.nextDouble() - 0.5) * 3000);
+				Comparable<?> max = random.nextInt(4) == 0 ? null : (Comparable<?>) BigDecimal.valueOf(random.nextInt(300000) - 150000, 2);
+				boolean minInclusive = random.nextBoolean();
+				boolean maxInclusive = random.nextBoolean();
+				assertArrayEquals(min + " " + max,
+						expectedIds(hdt, values, min, minInclusive, max, maxInclusive),
+						dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, min, minInclusive, max, maxInclusive));
+			}
+			// bound equal to existing values
+			for (Comparable<?> value : new ArrayList<>(values.values()).subList(0, 50)) {
+				assertArrayEquals(expectedIds(hdt, values, value, true, value, true),
+						dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, (Number) value, true, (Number) value, true));
+				assertEquals(0, dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, (Number) value, false, (Number) value, false).length);
+			}
+			// the IDs aren't read if the range has too many values
+			long[] all = dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, null, true, null, true);
+			assertArrayEquals(all, dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, null, true, null, true, all.length));
+			assertNull(dictionary.searchValues(LiteralValueIndex.ValueType.NUMERIC, null, true, null, true, all.length - 1));
+			assertNull(intIndex.search(null, true, null, true, intIndex.getNumberOfValues() - 1));
+		}
+	}
+
+	@Test
+	public void dateTimeTest() throws IOException, ParserException {
+		Random random = new Random(34);
+		Map<String, Comparable<?>> values = new HashMap<>();
+		long start = Instant.parse("2000-01-01T00:00:00Z").getEpochSecond();
+		for (int i = 0; i < 300; i++) {
+			Instant instant = Instant.ofEpochSecond(start + random.nextInt(1000 * 86400));
+			values.put("\"" + instant + "\"^^<" + XSD + "dateTime>", instant);
+		}
+		// same instant with a timezone
+		values.put("\"2001-06-01T12:30:00.5+02:00\"^^<" + XSD + "dateTime>", Instant.parse("2001-06-01T10:30:00.5Z"));
+		Set<String> literals = new LinkedHashSet<>(values.keySet());
+		String local = "\"2001-01-01T00:00:00\"^^<" + XSD + "dateTime>";
+		literals.add(local);
+		literals.add("\"2001-02-30T00:00:00Z\"^^<" + XSD + "dateTime>");
+		literals.add("\"2001-01-01\"^^<" + XSD + "date>");
+
+		try (HDT hdt = createHDT(literals)) {
+			MultipleSectionDictionary dictionary = (MultipleSectionDictionary) hdt.getDictionary();
+			LiteralValueIndex index = dictionary.getValueIndex(XSD + "dateTime");
+			assertEquals(values.size() + 1, index.getNumberOfValues());
+			long localId = dictionary.stringToId(local, TripleComponentRole.OBJECT);
+
+			for (int i = 0; i < 200; i++) {
+				Instant min = Instant.ofEpochSecond(start + random.nextInt(1000 * 86400));
+				Instant max = Instant.ofEpochSecond(min.getEpochSecond() + random.nextInt(300 * 86400));
+				long[] ids = index.search(min.toString(), true, max.toString(), false);
+				long[] expected = expectedIds(hdt, values, min, true, max, false);
+				// the local value is only compared to a zoned bound with a 14 hours margin
+				Instant localValue = Instant.parse("2001-01-01T00:00:00Z");
+				if (localValue.plusSeconds(14 * 3600).compareTo(min) >= 0 && localValue.minusSeconds(14 * 3600).compareTo(max) <= 0) {
+					assertTrue(min + " " + max, Arrays.binarySearch(ids, localId) >= 0);
+					expected = LongStream.concat(Arrays.stream(expected), LongStream.of(localId)).sorted().toArray();
+				}
+				assertArrayEquals(min + " " + max, expected, ids);
+			}
+
+			LiteralValueIndex dateIndex = dictionary.getValueIndex(XSD + "date");
+			assertEquals(LiteralValueIndex.ValueType.DATE, dateIndex.getValueType());
+			assertEquals(1, dateIndex.search("2001-01-01", true, null, true).length);
+			assertEquals(0, dateIndex.search("2001-01-01", false, null, true).length);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void invalidBoundTest() throws IOException, ParserException {
+		Set<String> literals = new LinkedHashSet<>();
+		literals.add("\"1\"^^<" + XSD + "int>");
+		try (HDT hdt = createHDT(literals)) {
+			((MultipleSectionDictionary) hdt.getDictionary()).getValueIndex(XSD + "int").search("1", true, null, true);
+		}
+	}
+}
@@ -0,0 +1,132 @@
+package org.rdfhdt.hdt.dictionary.impl.section;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.stream.IntStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.NotFoundException;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleString;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class DictionarySectionCacheSharedTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private String createHDTFile() throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 67);
+		supplier.maxElementSplit = 50;
+		String file = new File(tempDir.getRoot(), "test.hdt").getAbsolutePath();
+		supplier.createAndSaveFakeHDT(new HDTSpecification(), file);
+		return file;
+	}
+
+	private static HDTSpecification cacheSpec(long size) {
+		HDTSpecification spec = new HDTSpecification();
+		spec.set(DictionaryFactory.DICTIONARY_CACHE_SIZE, String.valueOf(size));
+		return spec;
+	}
+
+	private static void assertSameDictionary(Dictionary expected, Dictionary actual) {
+		for (TripleComponentRole role : TripleComponentRole.values()) {
+			long max;
+			switch (role) {
+				case SUBJECT:
+					max = expected.getNsubjects();
+					break;
+				case PREDICATE:
+					max = expected.getNpredicates();
+					break;
+				default:
+					max = expected.getNobjects();
+					break;
+			}
+			for (long id = 1; id <= max; id++) {
+				CharSequence str = expected.idToString(id, role);
+				assertEquals(str.toString(), actual.idToString(id, role).toString());
+				assertEquals(id, actual.stringToId(str, role));
+			}
+			assertEquals(-1, actual.stringToId("http://unknown.example.org/", role));
+		}
+	}
+
+	@Test
+	public void mapTest() throws IOException, ParserException, NotFoundException {
+		String file = createHDTFile();
+		try (HDT expected = HDTManager.mapHDT(file);
+			 HDT actual = HDTManager.mapHDT(file, null, cacheSpec(1 << 20))) {
+			DictionarySectionCacheShared subjects = (DictionarySectionCacheShared) actual.getDictionary().getSubjects();
+
+			assertSameDictionary(expected.getDictionary(), actual.getDictionary());
+			assertEquals(0, subjects.getExtractHits());
+			// the second time the strings are in the cache
+			assertSameDictionary(expected.getDictionary(), actual.getDictionary());
+			assertTrue(subjects.getExtractHits() > 0);
+			assertTrue(subjects.getLocateHits() > 0);
+
+			// the buffered iterators of the mapped HDT work on the cached sections
+			IteratorTripleString it = actual.search("", "", "");
+			long count = 0;
+			while (it.hasNext()) {
+				it.next();
+				count++;
+			}
+			assertEquals(expected.getTriples().getNumberOfElements(), count);
+		}
+	}
+
+	@Test
+	public void loadTest() throws IOException, ParserException {
+		String file = createHDTFile();
+		try (HDT expected = HDTManager.loadHDT(file);
+			 HDT actual = HDTManager.loadHDT(file, null, cacheSpec(1 << 20))) {
+			assertTrue(actual.getDictionary().getObjects() instanceof DictionarySectionCacheShared);
+			assertSameDictionary(expected.getDictionary(), actual.getDictionary());
+		}
+	}
+
+	@Test
+	public void noCacheTest() throws IOException, ParserException {
+		String file = createHDTFile();
+		try (HDT hdt = HDTManager.mapHDT(file)) {
+			assertFalse(hdt.getDictionary().getObjects() instanceof DictionarySectionCacheShared);
+		}
+	}
+
+	@Test
+	public void budgetTest() throws IOException, ParserException {
+		String file = createHDTFile();
+		long budget = 16 * 1024;
+		try (HDT expected = HDTManager.mapHDT(file);
+			 HDT actual = HDTManager.mapHDT(file, null, cacheSpec(budget))) {
+			DictionarySectionCacheShared objects = (DictionarySectionCacheShared) actual.getDictionary().getObjects();
+			Dictionary dict = actual.getDictionary();
+			long numObjects = dict.getNobjects();
+
+			// concurrent readers on the same cache
+			IntStream.range(0, 8).parallel().forEach(t -> {
+				for (long id = 1; id <= numObjects; id++) {
+					assertEquals(
+							expected.getDictionary().idToString(id, TripleComponentRole.OBJECT).toString(),
+							dict.idToString(id, TripleComponentRole.OBJECT).toString()
+					);
+				}
+			});
+			assertTrue(objects.getCacheSize() <= budget);
+			assertTrue(objects.getExtractMisses() > 0);
+		}
+	}
+}
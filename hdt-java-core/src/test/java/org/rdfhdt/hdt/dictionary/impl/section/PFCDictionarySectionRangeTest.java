@@ -0,0 +1,194 @@
+package org.rdfhdt.hdt.dictionary.impl.section;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.dictionary.DictionaryUtil;
+import org.rdfhdt.hdt.dictionary.IdRange;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.util.io.CountInputStream;
+
+public class PFCDictionarySectionRangeTest {
+	private static final String[] PREFIXES = {
+			"http://dbpedia.org/resource/", "http://dbpedia.org/ontology/", "http://example.org/", "\"lit", "_:b"
+	};
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static List<String> createStrings(int count) {
+		Random random = new Random(42);
+		TreeSet<String> set = new TreeSet<>(DictionaryUtil::compareCodePoints);
+		while (set.size() < count) {
+			StringBuilder sb = new StringBuilder(PREFIXES[random.nextInt(PREFIXES.length)]);
+			int len = 1 + random.nextInt(6);
+			for (int i = 0; i < len; i++) {
+				switch (random.nextInt(8)) {
+					case 0:
+						sb.append('\u00e9');
+						break;
+					case 1:
+						sb.appendCodePoint(0x1F600);
+						break;
+					case 2:
+						sb.append('\uffee');
+						break;
+					default:
+						sb.append((char) ('A' + random.nextInt(6)));
+						break;
+				}
+			}
+			set.add(sb.toString());
+		}
+		return new ArrayList<>(set);
+	}
+
+	/**
+	 * the section with only the default implementations of the range methods
+	 */
+	private static DictionarySection defaultSection(DictionarySection section) {
+		return new DictionarySection() {
+			@Override
+			public long locate(CharSequence s) {
+				return section.locate(s);
+			}
+
+			@Override
+			public CharSequence extract(long pos) {
+				return section.extract(pos);
+			}
+
+			@Override
+			public long size() {
+				return section.size();
+			}
+
+			@Override
+			public long getNumberOfElements() {
+				return section.getNumberOfElements();
+			}
+
+			@Override
+			public Iterator<? extends CharSequence> getSortedEntries() {
+				return section.getSortedEntries();
+			}
+
+			@Override
+			public void close() throws IOException {
+				section.close();
+			}
+		};
+	}
+
+	private static long expectedLowerBound(List<String> strings, String str) {
+		int id = 0;
+		while (id < strings.size() && DictionaryUtil.compareCodePoints(strings.get(id), str) < 0) {
+			id++;
+		}
+		return id + 1;
+	}
+
+	private static IdRange expectedPrefix(List<String> strings, String prefix) {
+		long first = expectedLowerBound(strings, prefix);
+		long last = first - 1;
+		while (last < strings.size() && strings.get((int) last).startsWith(prefix)) {
+			last++;
+		}
+		return new IdRange(first, last);
+	}
+
+	private static void assertRanges(List<String> strings, DictionarySection section) {
+		assertEquals(strings.size(), section.getNumberOfElements());
+
+		List<String> queries = new ArrayList<>();
+		queries.add("");
+		queries.add("\uffff");
+		for (String prefix : PREFIXES) {
+			queries.add(prefix);
+			queries.add(prefix + "B");
+			queries.add(prefix + "\u00e9");
+		}
+		Random random = new Random(34);
+		for (int i = 0; i < 200; i++) {
+			String str = strings.get(random.nextInt(strings.size()));
+			queries.add(str);
+			int end = random.nextInt(str.length() + 1);
+			if (end > 0 && end < str.length() && Character.isLowSurrogate(str.charAt(end))) {
+				// don't split a surrogate pair
+				end--;
+			}
+			queries.add(str.substring(0, end));
+			queries.add(str + "A");
+		}
+
+		for (String query : queries) {
+			assertEquals(query, expectedLowerBound(strings, query), section.locateLowerBound(query));
+			IdRange prefix = section.locatePrefix(query);
+			assertEquals(query, expectedPrefix(strings, query), prefix);
+			for (long id = prefix.getFirst(); id <= prefix.getLast(); id++) {
+				assertTrue(section.extract(id).toString().startsWith(query));
+			}
+		}
+
+		for (int i = 0; i < 100; i++) {
+			String from = queries.get(random.nextInt(queries.size()));
+			String to = queries.get(random.nextInt(queries.size()));
+			IdRange range = section.locateRange(from, to);
+			long first = expectedLowerBound(strings, from);
+			long end = expectedLowerBound(strings, to);
+			assertEquals(from + " " + to, new IdRange(first, end - 1), range);
+			assertEquals(Math.max(0, end - first), range.size());
+		}
+		assertEquals(new IdRange(1, strings.size()), section.locateRange(null, null));
+	}
+
+	@Test
+	public void rangeTest() throws IOException {
+		List<String> strings = createStrings(2000);
+
+		PFCDictionarySection section = new PFCDictionarySection(new HDTSpecification());
+		section.load(strings.iterator(), strings.size(), null);
+		assertRanges(strings, section);
+		assertRanges(strings, defaultSection(section));
+		assertRanges(strings, new DictionarySectionCacheShared(section, 1024));
+
+		PFCDictionarySectionBig big = new PFCDictionarySectionBig(new HDTSpecification());
+		big.load(strings.iterator(), strings.size(), null);
+		assertRanges(strings, big);
+
+		File file = tempDir.newFile("section");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+			section.save(out, null);
+		}
+		try (CountInputStream in = new CountInputStream(new BufferedInputStream(new FileInputStream(file)));
+			 PFCDictionarySectionMap map = new PFCDictionarySectionMap(in, file)) {
+			assertRanges(strings, map);
+		}
+	}
+
+	@Test
+	public void emptyTest() throws IOException {
+		PFCDictionarySection section = new PFCDictionarySection(new HDTSpecification());
+		section.load(new ArrayList<String>().iterator(), 0, null);
+		assertEquals(1, section.locateLowerBound("a"));
+		assertTrue(section.locatePrefix("a").isEmpty());
+		assertTrue(section.locatePrefix("").isEmpty());
+	}
+}
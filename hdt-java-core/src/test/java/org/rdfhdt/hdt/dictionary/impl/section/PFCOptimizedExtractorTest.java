@@ -0,0 +1,71 @@
+package org.rdfhdt.hdt.dictionary.impl.section;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.util.io.CountInputStream;
+
+public class PFCOptimizedExtractorTest {
+	private static final int BLOCK_SIZE = 4;
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	@Test
+	public void sortedExtractTest() throws IOException {
+		// enough blocks to map the section with more than one buffer
+		int count = BLOCK_SIZE * (PFCDictionarySectionMap.BLOCKS_PER_BYTEBUFFER * 2 + 10);
+		List<String> strings = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			strings.add(String.format("http://example.org/%08d", i));
+		}
+
+		HDTSpecification spec = new HDTSpecification();
+		spec.set("pfc.blocksize", String.valueOf(BLOCK_SIZE));
+		PFCDictionarySection section = new PFCDictionarySection(spec);
+		section.load(strings.iterator(), strings.size(), null);
+
+		File file = tempDir.newFile("section");
+		try (OutputStream out = new BufferedOutputStream(new FileOutputStream(file))) {
+			section.save(out, null);
+		}
+		try (CountInputStream in = new CountInputStream(new BufferedInputStream(new FileInputStream(file)));
+			 PFCDictionarySectionMap map = new PFCDictionarySectionMap(in, file)) {
+			assertEquals(3, map.buffers.length);
+
+			// every id, the decoding continues in the same block and crosses the buffers
+			PFCOptimizedExtractor extractor = new PFCOptimizedExtractor(map);
+			for (int id = 1; id <= count; id++) {
+				assertEquals(strings.get(id - 1), extractor.extract(id).toString());
+			}
+
+			// sorted ids with gaps, in the same block or in the next blocks
+			Random random = new Random(42);
+			extractor = new PFCOptimizedExtractor(map);
+			for (long id = 1; id <= count; id += 1 + random.nextInt(BLOCK_SIZE * 3)) {
+				assertEquals(strings.get((int) id - 1), extractor.extract(id).toString());
+			}
+
+			// ids around the first buffer boundary
+			extractor = new PFCOptimizedExtractor(map);
+			long boundary = (long) PFCDictionarySectionMap.BLOCKS_PER_BYTEBUFFER * BLOCK_SIZE;
+			for (long id = boundary - BLOCK_SIZE - 1; id <= boundary + BLOCK_SIZE + 1; id++) {
+				assertEquals(strings.get((int) id - 1), extractor.extract(id).toString());
+			}
+		}
+	}
+}
@@ -0,0 +1,168 @@
+package org.rdfhdt.hdt.hdt.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.hdt.HDTVersion;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+@RunWith(Parameterized.class)
+public class HDTImplParallelLoadTest {
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> params() {
+		return Arrays.asList(
+				new Object[]{""},
+				new Object[]{"tempDictionary.impl=multHash;dictionary.type=dictionaryMultiObj;"}
+		);
+	}
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private final String options;
+
+	public HDTImplParallelLoadTest(String options) {
+		this.options = options;
+	}
+
+	private HDTSpecification createSpec(String threads) {
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions(options);
+		if (threads != null) {
+			spec.set(HDTImpl.LOAD_THREADS, threads);
+		}
+		return spec;
+	}
+
+	private File createHDT(String name, long maxTriples, long seed) throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(maxTriples, seed);
+		supplier.maxElementSplit = 20;
+		File file = new File(tempDir.getRoot(), name);
+		supplier.createAndSaveFakeHDT(createSpec(null), file.getAbsolutePath());
+		return file;
+	}
+
+	private static File indexFile(File hdtFile) {
+		return new File(hdtFile.getAbsolutePath() + HDTVersion.get_index_suffix("-"));
+	}
+
+	private static void assertSameHDT(HDT expected, HDT actual) {
+		assertEquals(expected.getBaseURI(), actual.getBaseURI());
+		assertEquals(expected.getHeader().getNumberOfElements(), actual.getHeader().getNumberOfElements());
+		assertEquals(expected.getDictionary().getNumberOfElements(), actual.getDictionary().getNumberOfElements());
+		for (TripleComponentRole role : TripleComponentRole.values()) {
+			long count = role == TripleComponentRole.PREDICATE
+					? expected.getDictionary().getNpredicates()
+					: role == TripleComponentRole.SUBJECT
+					? expected.getDictionary().getNsubjects()
+					: expected.getDictionary().getNobjects();
+			for (long id = 1; id <= count; id++) {
+				CharSequence str = expected.getDictionary().idToString(id, role);
+				assertEquals(str.toString(), actual.getDictionary().idToString(id, role).toString());
+				assertEquals(id, actual.getDictionary().stringToId(str, role));
+			}
+		}
+
+		IteratorTripleID it = expected.getTriples().searchAll();
+		IteratorTripleID it2 = actual.getTriples().searchAll();
+		while (it.hasNext()) {
+			assertTrue(it2.hasNext());
+			assertEquals(it.next(), it2.next());
+		}
+		assertFalse(it2.hasNext());
+	}
+
+	private static void assertSameIndex(HDT expected, HDT actual) {
+		// ??O and ?P? patterns are using the index
+		for (TripleID pattern : new TripleID[]{new TripleID(0, 0, 1), new TripleID(0, 0, 3), new TripleID(0, 1, 0)}) {
+			IteratorTripleID it = expected.getTriples().search(pattern);
+			IteratorTripleID it2 = actual.getTriples().search(pattern);
+			assertEquals(it.getOrder(), it2.getOrder());
+			while (it.hasNext()) {
+				assertTrue(it2.hasNext());
+				assertEquals(it.next(), it2.next());
+			}
+			assertFalse(it2.hasNext());
+		}
+	}
+
+	@Test
+	public void loadTest() throws IOException, ParserException {
+		File file = createHDT("test.hdt", 5000, 42);
+		String path = file.getAbsolutePath();
+		try (HDT expected = HDTManager.loadHDT(path, null, createSpec(null));
+			 HDT loaded = HDTManager.loadHDT(path, null, createSpec("0"));
+			 HDT mapped = HDTManager.mapHDT(path, null, createSpec("2"))) {
+			assertSameHDT(expected, loaded);
+			assertSameHDT(expected, mapped);
+		}
+		assertFalse(indexFile(file).exists());
+	}
+
+	@Test
+	public void indexedTest() throws IOException, ParserException {
+		File file = createHDT("test.hdt", 5000, 42);
+		String path = file.getAbsolutePath();
+		File index = indexFile(file);
+
+		try (HDT expected = HDTManager.loadIndexedHDT(path, null, createSpec(null))) {
+			assertTrue(index.exists());
+			long indexTime = index.lastModified();
+
+			// existing index
+			try (HDT loaded = HDTManager.loadIndexedHDT(path, null, createSpec("0"));
+				 HDT mapped = HDTManager.mapIndexedHDT(path, createSpec("0"), null)) {
+				assertSameHDT(expected, loaded);
+				assertSameIndex(expected, loaded);
+				assertSameHDT(expected, mapped);
+				assertSameIndex(expected, mapped);
+			}
+			assertEquals(indexTime, index.lastModified());
+
+			// missing index, generated after the load
+			Files.delete(index.toPath());
+			try (HDT loaded = HDTManager.loadIndexedHDT(path, null, createSpec("0"))) {
+				assertSameHDT(expected, loaded);
+				assertSameIndex(expected, loaded);
+			}
+			assertTrue(index.exists());
+		}
+	}
+
+	@Test
+	public void invalidIndexTest() throws IOException, ParserException {
+		File file = createHDT("test.hdt", 5000, 42);
+		File other = createHDT("other.hdt", 3000, 34);
+		String path = file.getAbsolutePath();
+
+		// index of another HDT, replaced after the load
+		HDTManager.mapIndexedHDT(other.getAbsolutePath(), createSpec(null), null).close();
+		Files.copy(indexFile(other).toPath(), indexFile(file).toPath());
+
+		try (HDT actual = HDTManager.mapIndexedHDT(path, createSpec("0"), null);
+			 HDT expected = HDTManager.loadIndexedHDT(path, null, createSpec(null))) {
+			assertSameHDT(expected, actual);
+			assertSameIndex(expected, actual);
+		}
+		assertFalse(Arrays.equals(Files.readAllBytes(indexFile(other).toPath()), Files.readAllBytes(indexFile(file).toPath())));
+	}
+}
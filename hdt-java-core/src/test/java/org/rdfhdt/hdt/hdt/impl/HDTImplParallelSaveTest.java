@@ -0,0 +1,86 @@
+package org.rdfhdt.hdt.hdt.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collection;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+@RunWith(Parameterized.class)
+public class HDTImplParallelSaveTest {
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> params() {
+		return Arrays.asList(
+				new Object[]{""},
+				new Object[]{"tempDictionary.impl=multHash;dictionary.type=dictionaryMultiObj;"}
+		);
+	}
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private final String options;
+
+	public HDTImplParallelSaveTest(String options) {
+		this.options = options;
+	}
+
+	private HDTSpecification createSpec(String threads) {
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions(options);
+		if (threads != null) {
+			spec.set(HDTImpl.SAVE_THREADS, threads);
+		}
+		return spec;
+	}
+
+	private HDT createHDT(String threads) throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(10000, 42);
+		supplier.maxElementSplit = 50;
+		return supplier.createFakeHDT(createSpec(threads));
+	}
+
+	@Test
+	public void sameFileTest() throws IOException, ParserException {
+		File root = tempDir.getRoot();
+		File sequential = new File(root, "sequential.hdt");
+		File parallel = new File(root, "parallel.hdt");
+		File parallelMapped = new File(root, "parallel-mapped.hdt");
+
+		try (HDT hdt = createHDT("4")) {
+			// the stream is always written sequentially
+			try (OutputStream out = new BufferedOutputStream(new FileOutputStream(sequential))) {
+				hdt.saveToHDT(out, null);
+			}
+			hdt.saveToHDT(parallel.getAbsolutePath(), null);
+		}
+		try (HDT hdt = HDTManager.mapHDT(sequential.getAbsolutePath(), null, createSpec("0"))) {
+			hdt.saveToHDT(parallelMapped.getAbsolutePath(), null);
+		}
+
+		byte[] expected = Files.readAllBytes(sequential.toPath());
+		assertArrayEquals(expected, Files.readAllBytes(parallel.toPath()));
+		assertArrayEquals(expected, Files.readAllBytes(parallelMapped.toPath()));
+
+		// no part file left
+		String[] files = root.list();
+		assertEquals(Arrays.toString(files), 3, files.length);
+	}
+}
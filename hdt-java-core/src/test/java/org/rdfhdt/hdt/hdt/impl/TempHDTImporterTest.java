@@ -1,6 +1,8 @@
 package org.rdfhdt.hdt.hdt.impl;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.Parameterized;
 import org.rdfhdt.hdt.enums.RDFNotation;
@@ -13,6 +15,7 @@ import org.rdfhdt.hdt.rdf.RDFParserCallback;
 import org.rdfhdt.hdt.rdf.RDFParserFactory;
 import org.rdfhdt.hdt.triples.TripleString;
 import org.rdfhdt.hdt.triples.impl.utils.HDTTestUtils;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -22,12 +25,17 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
 @RunWith(Parameterized.class)
 public class TempHDTImporterTest {
 	@Parameterized.Parameters(name = "{0}")
 	public static Collection<Object> setup() {
-		return Arrays.asList("one-pass", "two-pass");
+		return Arrays.asList("one-pass", "two-pass", "one-pass-parallel", "disk");
 	}
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
 	private final HDTSpecification spec;
 
 	public TempHDTImporterTest(String mode) {
@@ -82,4 +90,60 @@ public class TempHDTImporterTest {
 		hdt.search("", "", "").forEachRemaining(System.out::println);
 		hdt.close();
 	}
+
+	private static void assertSameHDT(HDT expected, HDT actual) throws NotFoundException {
+		assertEquals(expected.getDictionary().getNumberOfElements(), actual.getDictionary().getNumberOfElements());
+		assertEquals(expected.getTriples().getNumberOfElements(), actual.getTriples().getNumberOfElements());
+		Iterator<TripleString> itExpected = expected.search("", "", "");
+		Iterator<TripleString> itActual = actual.search("", "", "");
+		while (itExpected.hasNext()) {
+			assertEquals(itExpected.next().toString(), itActual.next().toString());
+		}
+		assertFalse(itActual.hasNext());
+	}
+
+	@Test
+	public void sameAsOnePassTest() throws ParserException, IOException, NotFoundException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(20000, 34);
+		supplier.maxElementSplit = 50;
+		String file = tempDir.newFile("fake.nt").getAbsolutePath();
+		supplier.createNTFile(file);
+
+		spec.set("loader.threads", "4");
+		// force several runs and merge passes with the disk loader
+		spec.set("loader.disk.chunkSize", "100000");
+		spec.set("loader.disk.maxMergeFiles", "4");
+		HDTSpecification onePass = new HDTSpecification();
+		onePass.set("loader.type", "one-pass");
+
+		try (HDT expected = HDTManager.generateHDT(file, HDTTestUtils.BASE_URI, RDFNotation.NTRIPLES, onePass, null);
+			 HDT actual = HDTManager.generateHDT(file, HDTTestUtils.BASE_URI, RDFNotation.NTRIPLES, spec, null)) {
+			assertSameHDT(expected, actual);
+		}
+
+		supplier.reset();
+		try (HDT expected = HDTManager.generateHDT(file, HDTTestUtils.BASE_URI, RDFNotation.NTRIPLES, onePass, null);
+			 HDT actual = HDTManager.generateHDT(supplier.createTripleStringStream(), HDTTestUtils.BASE_URI, spec, null)) {
+			assertSameHDT(expected, actual);
+		}
+	}
+
+	@Test
+	public void sameAsOnePassSimpleParserTest() throws ParserException, IOException, NotFoundException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(20000, 35);
+		supplier.maxElementSplit = 50;
+		String file = tempDir.newFile("fake.nt").getAbsolutePath();
+		supplier.createNTFile(file);
+
+		// the simple parser reuses the strings of the triples
+		spec.set("parser.ntSimpleParser", "true");
+		spec.set("loader.threads", "4");
+		HDTSpecification onePass = new HDTSpecification();
+		onePass.set("loader.type", "one-pass");
+
+		try (HDT expected = HDTManager.generateHDT(file, HDTTestUtils.BASE_URI, RDFNotation.NTRIPLES, onePass, null);
+			 HDT actual = HDTManager.generateHDT(file, HDTTestUtils.BASE_URI, RDFNotation.NTRIPLES, spec, null)) {
+			assertSameHDT(expected, actual);
+		}
+	}
 }
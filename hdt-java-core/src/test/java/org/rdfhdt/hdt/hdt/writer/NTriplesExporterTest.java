@@ -0,0 +1,155 @@
+package org.rdfhdt.hdt.hdt.writer;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import org.apache.commons.compress.compressors.zstandard.ZstdCompressorInputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.rdfhdt.hdt.exceptions.NotFoundException;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleString;
+import org.rdfhdt.hdt.triples.impl.BitmapTriples;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+@RunWith(Parameterized.class)
+public class NTriplesExporterTest {
+	@Parameterized.Parameters(name = "{0}")
+	public static Collection<Object[]> params() {
+		return Arrays.asList(
+				new Object[]{""},
+				new Object[]{"tempDictionary.impl=multHash;dictionary.type=dictionaryMultiObj;"}
+		);
+	}
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private final String options;
+
+	public NTriplesExporterTest(String options) {
+		this.options = options;
+	}
+
+	private String createHDT() throws IOException, ParserException {
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions(options);
+		String file = tempDir.newFile("test.hdt").getAbsolutePath();
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(10000, 42);
+		supplier.maxElementSplit = 50;
+		supplier.createAndSaveFakeHDT(spec, file);
+		return file;
+	}
+
+	private static String sequentialExport(HDT hdt) throws IOException, NotFoundException {
+		StringBuilder expected = new StringBuilder();
+		IteratorTripleString it = hdt.search("", "", "");
+		while (it.hasNext()) {
+			it.next().dumpNtriple(expected);
+		}
+		return expected.toString();
+	}
+
+	private static String read(InputStream is) throws IOException {
+		try (InputStream in = is) {
+			return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+		}
+	}
+
+	private String export(HDT hdt, NTriplesExporter.Compression compression, int threads) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new NTriplesExporter(hdt).export(out, tempDir.getRoot().toPath(), compression, threads, null);
+		InputStream in = new ByteArrayInputStream(out.toByteArray());
+		switch (compression) {
+			case GZIP:
+				return read(new GZIPInputStream(in));
+			case ZSTD:
+				return read(new ZstdCompressorInputStream(in));
+			default:
+				return read(in);
+		}
+	}
+
+	private void assertExport(HDT hdt) throws IOException, NotFoundException {
+		String expected = sequentialExport(hdt);
+		assertTrue(expected.length() > 0);
+		for (int threads : new int[]{1, 4}) {
+			for (NTriplesExporter.Compression compression : NTriplesExporter.Compression.values()) {
+				assertEquals(threads + " " + compression, expected, export(hdt, compression, threads));
+			}
+		}
+	}
+
+	@Test
+	public void loadedTest() throws IOException, ParserException, NotFoundException {
+		try (HDT hdt = HDTManager.loadHDT(createHDT())) {
+			assertExport(hdt);
+		}
+	}
+
+	@Test
+	public void mappedTest() throws IOException, ParserException, NotFoundException {
+		try (HDT hdt = HDTManager.mapHDT(createHDT())) {
+			assertExport(hdt);
+		}
+	}
+
+	@Test
+	public void partitionTest() throws IOException, ParserException {
+		try (HDT hdt = HDTManager.mapHDT(createHDT())) {
+			BitmapTriples triples = (BitmapTriples) hdt.getTriples();
+			long numTriples = triples.getNumberOfElements();
+			NTriplesExporter exporter = new NTriplesExporter(hdt);
+			for (int numPartitions : new int[]{1, 2, 7, 64, 100000}) {
+				List<NTriplesExporter.Partition> partitions = exporter.getPartitions(numPartitions);
+				assertTrue(partitions.size() <= numPartitions);
+				assertEquals(1, partitions.get(0).subject);
+				assertEquals(0, partitions.get(0).posZ);
+				assertEquals(numTriples, partitions.get(partitions.size() - 1).endZ);
+				for (int i = 1; i < partitions.size(); i++) {
+					NTriplesExporter.Partition partition = partitions.get(i);
+					assertTrue(partition.subject > partitions.get(i - 1).subject);
+					assertEquals(partitions.get(i - 1).endZ, partition.posZ);
+					// the partition starts with the first triple of its subject
+					assertEquals(partition.subject, triples.findTriple(partition.posZ).getSubject());
+					assertTrue(triples.findTriple(partition.posZ - 1).getSubject() < partition.subject);
+				}
+			}
+		}
+	}
+
+	@Test
+	public void shardsTest() throws IOException, ParserException, NotFoundException {
+		try (HDT hdt = HDTManager.mapHDT(createHDT())) {
+			String expected = sequentialExport(hdt);
+			Path dir = tempDir.newFolder("shards").toPath();
+			List<Path> shards = new NTriplesExporter(hdt).exportShards(dir, "test", 5, NTriplesExporter.Compression.GZIP, 3, null);
+			assertTrue(shards.size() > 1 && shards.size() <= 5);
+			assertEquals("test-00000.nt.gz", shards.get(0).getFileName().toString());
+
+			StringBuilder actual = new StringBuilder();
+			for (Path shard : shards) {
+				actual.append(read(new GZIPInputStream(Files.newInputStream(shard))));
+			}
+			assertEquals(expected, actual.toString());
+		}
+	}
+}
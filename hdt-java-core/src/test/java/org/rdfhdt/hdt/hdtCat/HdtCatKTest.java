@@ -0,0 +1,132 @@
+package org.rdfhdt.hdt.hdtCat;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.rdfhdt.hdt.exceptions.NotFoundException;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.hdtDiff.HdtDiffTest;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleString;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.io.AbstractMapMemoryTest;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(Parameterized.class)
+public class HdtCatKTest extends AbstractMapMemoryTest {
+    private static final String NS = "http://example.org/";
+
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> genParam() {
+        List<Object[]> list = new ArrayList<>();
+        for (HdtDiffTest.DictionaryTestData data : HdtDiffTest.DICTIONARY_TEST_DATA) {
+            list.add(new Object[]{data.dictionaryType, data.dictionaryTempType});
+        }
+        return list;
+    }
+
+    @Rule
+    public TemporaryFolder tempDir = new TemporaryFolder();
+    private final HDTSpecification spec;
+
+    public HdtCatKTest(String dictionaryType, String tempDictionaryImpl) {
+        spec = new HDTSpecification();
+        spec.set("dictionary.type", dictionaryType);
+        spec.set("tempDictionary.impl", tempDictionaryImpl);
+    }
+
+    private static List<TripleString> randomTriples(Random random, int count) {
+        List<TripleString> triples = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String subject = NS + "e" + random.nextInt(80);
+            String predicate = NS + "p" + random.nextInt(6);
+            String object;
+            switch (random.nextInt(3)) {
+                case 0:
+                    object = "\"literal " + random.nextInt(50) + "\"";
+                    break;
+                case 1:
+                    object = "\"" + random.nextInt(50) + "\"^^<http://www.w3.org/2001/XMLSchema#integer>";
+                    break;
+                default:
+                    // the subjects of an input can be the objects of another one
+                    object = NS + "e" + random.nextInt(160);
+                    break;
+            }
+            triples.add(new TripleString(subject, predicate, object));
+        }
+        return triples;
+    }
+
+    private static void assertSameHDT(HDT expected, HDT actual) throws NotFoundException {
+        assertEquals(expected.getDictionary().getNshared(), actual.getDictionary().getNshared());
+        assertEquals(expected.getDictionary().getNsubjects(), actual.getDictionary().getNsubjects());
+        assertEquals(expected.getDictionary().getNpredicates(), actual.getDictionary().getNpredicates());
+        assertEquals(expected.getDictionary().getNobjects(), actual.getDictionary().getNobjects());
+        assertEquals(expected.getTriples().getNumberOfElements(), actual.getTriples().getNumberOfElements());
+
+        IteratorTripleString it1 = expected.search("", "", "");
+        IteratorTripleString it2 = actual.search("", "", "");
+        while (it1.hasNext()) {
+            assertTrue(it2.hasNext());
+            assertEquals(it1.next(), it2.next());
+        }
+        assertFalse(it2.hasNext());
+    }
+
+    private void catTest(int numInputs) throws IOException, ParserException, NotFoundException {
+        File root = tempDir.newFolder();
+        File locationDir = new File(root, "cat");
+        assertTrue(locationDir.mkdirs());
+        String location = locationDir.getAbsolutePath() + "/";
+
+        Random random = new Random(numInputs);
+        Set<TripleString> all = new LinkedHashSet<>();
+        List<String> files = new ArrayList<>();
+        for (int i = 0; i < numInputs; i++) {
+            List<TripleString> triples = randomTriples(random, 200 + random.nextInt(200));
+            all.addAll(triples);
+            String file = new File(root, "input" + i + ".hdt").getAbsolutePath();
+            try (HDT hdt = HDTManager.generateHDT(triples.iterator(), NS, spec, null)) {
+                hdt.saveToHDT(file, null);
+            }
+            files.add(file);
+        }
+
+        try (HDT expected = HDTManager.generateHDT(all.iterator(), NS, spec, null);
+             HDT cat = HDTManager.catHDT(location, files, spec, null)) {
+            assertSameHDT(expected, cat);
+        }
+
+        // only the merged dictionary and triples are left
+        String[] left = locationDir.list();
+        assertTrue(Arrays.toString(left), left != null && left.length <= 2);
+    }
+
+    @Test
+    public void cat2Test() throws IOException, ParserException, NotFoundException {
+        catTest(2);
+    }
+
+    @Test
+    public void cat5Test() throws IOException, ParserException, NotFoundException {
+        catTest(5);
+    }
+}
@@ -0,0 +1,120 @@
+package org.rdfhdt.hdt.rdf.parsers;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.apache.commons.compress.archivers.tar.TarArchiveEntry;
+import org.apache.commons.compress.archivers.tar.TarArchiveOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.enums.RDFNotation;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.rdf.RDFParserCallback;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class RDFParserArchiveTest {
+	private static final int FILES = 8;
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private final List<byte[]> files = new ArrayList<>();
+	private final List<String> expected = new ArrayList<>();
+
+	private void createFiles() throws IOException {
+		for (int i = 0; i < FILES; i++) {
+			LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(1000, i);
+			supplier.maxElementSplit = 20;
+			StringBuilder builder = new StringBuilder();
+			for (Iterator<TripleString> it = supplier.createTripleStringStream(); it.hasNext(); ) {
+				TripleString triple = it.next();
+				triple.dumpNtriple(builder);
+				expected.add(triple.getSubject() + " " + triple.getPredicate() + " " + triple.getObject());
+			}
+			files.add(builder.toString().getBytes(StandardCharsets.UTF_8));
+		}
+		Collections.sort(expected);
+	}
+
+	private void assertParse(RDFParserCallback parser, String fileName, RDFNotation notation) throws ParserException {
+		List<String> actual = new ArrayList<>();
+		parser.doParse(fileName, "http://example.org/#", notation, true,
+				(triple, pos) -> actual.add(triple.getSubject() + " " + triple.getPredicate() + " " + triple.getObject()));
+		Collections.sort(actual);
+		assertEquals(expected, actual);
+	}
+
+	@Test
+	public void zipTest() throws IOException, ParserException {
+		createFiles();
+		Path zip = tempDir.getRoot().toPath().resolve("test.zip");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(zip))) {
+			for (int i = 0; i < FILES; i++) {
+				out.putNextEntry(new ZipEntry("dir/test" + i + ".nt"));
+				out.write(files.get(i));
+				out.closeEntry();
+			}
+		}
+		for (boolean simple : new boolean[]{false, true}) {
+			// entries of the file parsed concurrently
+			assertParse(new RDFParserZip(simple, 4), zip.toString(), RDFNotation.ZIP);
+			// entries of the stream parsed one after the other
+			List<String> actual = new ArrayList<>();
+			try (InputStream in = Files.newInputStream(zip)) {
+				new RDFParserZip(simple, 4).doParse(in, "http://example.org/#", RDFNotation.ZIP, true,
+						(triple, pos) -> actual.add(triple.getSubject() + " " + triple.getPredicate() + " " + triple.getObject()));
+			}
+			Collections.sort(actual);
+			assertEquals(expected, actual);
+		}
+	}
+
+	@Test
+	public void tarTest() throws IOException, ParserException {
+		createFiles();
+		Path tar = tempDir.getRoot().toPath().resolve("test.tar");
+		try (TarArchiveOutputStream out = new TarArchiveOutputStream(Files.newOutputStream(tar))) {
+			for (int i = 0; i < FILES; i++) {
+				TarArchiveEntry entry = new TarArchiveEntry("dir/test" + i + ".nt");
+				entry.setSize(files.get(i).length);
+				out.putArchiveEntry(entry);
+				out.write(files.get(i));
+				out.closeArchiveEntry();
+			}
+		}
+		for (int threads : new int[]{1, 4}) {
+			assertParse(new RDFParserTar(true, threads), tar.toString(), RDFNotation.TAR);
+		}
+	}
+
+	@Test
+	public void dirTest() throws IOException, ParserException {
+		createFiles();
+		Path root = tempDir.newFolder().toPath();
+		for (int i = 0; i < FILES; i++) {
+			Path dir = root.resolve("dir" + (i % 3));
+			Files.createDirectories(dir);
+			try (OutputStream out = Files.newOutputStream(dir.resolve("test" + i + ".nt"))) {
+				new ByteArrayInputStream(files.get(i)).transferTo(out);
+			}
+		}
+		for (int threads : new int[]{1, 4}) {
+			assertParse(new RDFParserDir(true, threads), root.toString(), RDFNotation.DIR);
+		}
+	}
+}
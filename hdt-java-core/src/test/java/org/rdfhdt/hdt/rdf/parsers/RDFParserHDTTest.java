@@ -4,11 +4,13 @@ import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.dictionary.DictionaryFactory;
 import org.rdfhdt.hdt.enums.RDFNotation;
 import org.rdfhdt.hdt.exceptions.NotFoundException;
 import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.hdt.HDTVocabulary;
 import org.rdfhdt.hdt.options.HDTSpecification;
 import org.rdfhdt.hdt.rdf.RDFParserCallback;
 import org.rdfhdt.hdt.rdf.RDFParserFactory;
@@ -16,7 +18,11 @@ import org.rdfhdt.hdt.triples.IteratorTripleString;
 import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
 
 public class RDFParserHDTTest {
 
@@ -55,4 +61,46 @@ public class RDFParserHDTTest {
 
 		hdt.close();
 	}
+
+	@Test
+	public void hdtStreamTest() throws IOException, ParserException, NotFoundException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier
+				.createSupplierWithMaxTriples(10_000, 42);
+		supplier.maxElementSplit = 20;
+
+		for (String dictionaryType : new String[]{HDTVocabulary.DICTIONARY_TYPE_FOUR_SECTION, DictionaryFactory.DICTIONARY_TYPE_MULTI_OBJECTS}) {
+			for (String order : new String[]{"SPO", "OPS"}) {
+				HDTSpecification spec = new HDTSpecification();
+				spec.set("dictionary.type", dictionaryType);
+				spec.set("tempDictionary.impl", DictionaryFactory.DICTIONARY_TYPE_MULTI_OBJECTS.equals(dictionaryType)
+						? DictionaryFactory.MOD_DICT_IMPL_MULT_HASH : DictionaryFactory.MOD_DICT_IMPL_HASH);
+				spec.set("triplesOrder", order);
+				Path root = tempDir.newFile().toPath();
+
+				supplier.reset();
+				try (HDT hdt = HDTManager.generateHDT(
+						supplier.createTripleStringStream(),
+						"http://example.org/#",
+						spec,
+						null
+				)) {
+					hdt.saveToHDT(root.toAbsolutePath().toString(), null);
+
+					List<String> expected = new ArrayList<>();
+					IteratorTripleString it = hdt.search("", "", "");
+					while (it.hasNext()) {
+						expected.add(it.next().toString());
+					}
+
+					List<String> actual = new ArrayList<>();
+					try (InputStream stream = Files.newInputStream(root)) {
+						new RDFParserHDT().doParse(stream, "http://example.org/#", RDFNotation.HDT, true, (triple, pos) ->
+								actual.add(triple.toString())
+						);
+					}
+					Assert.assertEquals(dictionaryType + " " + order, expected, actual);
+				}
+			}
+		}
+	}
 }
@@ -0,0 +1,120 @@
+package org.rdfhdt.hdt.rdf.parsers;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.enums.RDFNotation;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.rdf.RDFParserCallback;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class RDFParserSimpleParallelTest extends AbstractNTriplesParserTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	@Override
+	protected RDFParserCallback createParser() {
+		return new RDFParserSimpleParallel(2, 64);
+	}
+
+	private static List<String> parse(RDFParserCallback parser, InputStream in, RDFNotation notation) throws ParserException {
+		List<String> triples = new ArrayList<>();
+		parser.doParse(in, "http://example.org/#", notation, true,
+				(triple, pos) -> triples.add(triple.getSubject() + " " + triple.getPredicate() + " " + triple.getObject()));
+		return triples;
+	}
+
+	private static List<String> parse(RDFParserCallback parser, String ntriples, RDFNotation notation) throws ParserException {
+		return parse(parser, new ByteArrayInputStream(ntriples.getBytes(UTF_8)), notation);
+	}
+
+	@Test
+	public void sameAsSimpleTest() throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(20_000, 42);
+		supplier.maxElementSplit = 20;
+		File file = tempDir.newFile("test.nt");
+		supplier.createNTFile(file.getAbsolutePath());
+
+		List<String> expected = new ArrayList<>();
+		new RDFParserSimple().doParse(file.getAbsolutePath(), "http://example.org/#", RDFNotation.NTRIPLES, true,
+				(triple, pos) -> expected.add(triple.getSubject() + " " + triple.getPredicate() + " " + triple.getObject()));
+		assertEquals(20_000 - 1, expected.size());
+
+		// small chunks to cut the lines at each chunk, one or multiple threads
+		for (int threads : new int[]{1, 4}) {
+			for (int chunkSize : new int[]{16, 1000, RDFParserSimpleParallel.DEFAULT_CHUNK_SIZE}) {
+				RDFParserSimpleParallel parser = new RDFParserSimpleParallel(threads, chunkSize);
+				List<String> actual = new ArrayList<>();
+				parser.doParse(file.getAbsolutePath(), "http://example.org/#", RDFNotation.NTRIPLES, true,
+						(triple, pos) -> actual.add(triple.getSubject() + " " + triple.getPredicate() + " " + triple.getObject()));
+				assertEquals("threads=" + threads + " chunkSize=" + chunkSize, expected, actual);
+			}
+		}
+	}
+
+	@Test
+	public void syntaxTest() throws ParserException {
+		String input = "# comment\r\n"
+				+ "\r\n"
+				+ "  <http://s>\t<http://p> \"a b\\\"c\\u00e9\\U0001F600\\uD83D\\uDE00\"@en-us .\r\n"
+				+ "_:b1 <http://p> _:b2.\n"
+				+ "<http://s> <http://p> \"1\"^^<http://www.w3.org/2001/XMLSchema#integer>.\n"
+				+ "<http://s> <http://p>\n"
+				+ "<http://s> <http://p> <http://o>";
+		RDFParserCallback parser = new RDFParserSimpleParallel(2, 16);
+		List<String> triples = parse(parser, input, RDFNotation.NTRIPLES);
+		assertEquals(List.of(
+				"http://s http://p \"a b\"c\u00e9\uD83D\uDE00\uD83D\uDE00\"@en-us",
+				"_:b1 http://p _:b2",
+				"http://s http://p \"1\"^^<http://www.w3.org/2001/XMLSchema#integer>",
+				"http://s http://p http://o"
+		), triples);
+	}
+
+	@Test
+	public void quadsTest() throws ParserException {
+		String input = "<http://s> <http://p> \"o\" <http://g> .\n"
+				+ "<http://s> <http://p> <http://o> _:g .\n"
+				+ "<http://s> <http://p> \"o2\"@en .\n";
+		List<String> triples = parse(new RDFParserSimpleParallel(2, 16), input, RDFNotation.NQUAD);
+		assertEquals(List.of(
+				"http://s http://p \"o\"",
+				"http://s http://p http://o",
+				"http://s http://p \"o2\"@en"
+		), triples);
+	}
+
+	@Test
+	public void keepTermsTest() throws ParserException {
+		String input = "<http://s1> <http://p1> \"o1\" .\n"
+				+ "<http://s2> <http://p2> \"o2\" .\n";
+		// the terms are kept without copy, they must not be overwritten by the next triple
+		List<CharSequence> terms = new ArrayList<>();
+		new RDFParserSimpleParallel(1, 16).doParse(new ByteArrayInputStream(input.getBytes(UTF_8)), "http://example.org/#",
+				RDFNotation.NTRIPLES, true, (triple, pos) -> {
+					terms.add(triple.getSubject());
+					terms.add(triple.getPredicate());
+					terms.add(triple.getObject());
+				});
+		List<String> actual = new ArrayList<>();
+		for (CharSequence term : terms) {
+			actual.add(term.toString());
+		}
+		assertEquals(List.of("http://s1", "http://p1", "\"o1\"", "http://s2", "http://p2", "\"o2\""), actual);
+	}
+
+	@Test(expected = ParserException.class)
+	public void badEscapeTest() throws ParserException {
+		parse(new RDFParserSimpleParallel(2, 16), "<http://s> <http://p> \"a\\qb\" .\n", RDFNotation.NTRIPLES);
+	}
+}
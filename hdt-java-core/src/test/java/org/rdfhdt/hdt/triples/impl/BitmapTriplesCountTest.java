@@ -0,0 +1,116 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class BitmapTriplesCountTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private String createHDT() throws IOException, ParserException {
+		String file = tempDir.newFile("test.hdt").getAbsolutePath();
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 42);
+		supplier.maxElementSplit = 20;
+		supplier.createAndSaveFakeHDT(new HDTSpecification(), file);
+		return file;
+	}
+
+	private static long scanCount(List<TripleID> all, TripleID pattern) {
+		long count = 0;
+		for (TripleID triple : all) {
+			if (triple.match(pattern)) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	private static void assertCounts(HDT hdt) {
+		Triples triples = hdt.getTriples();
+		List<TripleID> all = new ArrayList<>();
+		IteratorTripleID it = triples.searchAll();
+		while (it.hasNext()) {
+			all.add(new TripleID(it.next()));
+		}
+
+		assertEquals(all.size(), triples.count(new TripleID()));
+
+		Random random = new Random(34);
+		for (int i = 0; i < 200; i++) {
+			TripleID triple = all.get(random.nextInt(all.size()));
+			// mix the components of two triples to have patterns without results
+			TripleID other = all.get(random.nextInt(all.size()));
+			for (int mask = 1; mask < 8; mask++) {
+				for (TripleID source : new TripleID[]{triple, new TripleID(triple.getSubject(), other.getPredicate(), other.getObject())}) {
+					TripleID pattern = new TripleID(
+							(mask & 4) != 0 ? source.getSubject() : 0,
+							(mask & 2) != 0 ? source.getPredicate() : 0,
+							(mask & 1) != 0 ? source.getObject() : 0
+					);
+					assertEquals(pattern.toString(), scanCount(all, pattern), triples.count(pattern));
+				}
+			}
+		}
+
+		long numPredicates = hdt.getDictionary().getNpredicates();
+		for (long p = 1; p <= numPredicates; p++) {
+			TripleID pattern = new TripleID(0, p, 0);
+			assertEquals(pattern.toString(), scanCount(all, pattern), triples.count(pattern));
+		}
+
+		assertEquals(0, triples.count(new TripleID(-1, 0, 0)));
+		assertEquals(0, triples.count(new TripleID(hdt.getDictionary().getNsubjects() + 1, 0, 0)));
+		assertEquals(0, triples.count(new TripleID(0, numPredicates + 1, 0)));
+	}
+
+	@Test
+	public void countTest() throws IOException, ParserException {
+		try (HDT hdt = HDTManager.mapHDT(createHDT())) {
+			BitmapTriples triples = (BitmapTriples) hdt.getTriples();
+			assertNull(triples.getIndexZ());
+			// computed by the first ?P? count
+			assertFalse(triples.isTriplesByYComputed());
+			assertCounts(hdt);
+			assertTrue(triples.isTriplesByYComputed());
+		}
+	}
+
+	@Test
+	public void countIndexedTest() throws IOException, ParserException {
+		try (HDT hdt = HDTManager.mapIndexedHDT(createHDT())) {
+			BitmapTriples triples = (BitmapTriples) hdt.getTriples();
+			assertNotNull(triples.getIndexZ());
+			// computed with the generation of the index
+			assertTrue(triples.isTriplesByYComputed());
+			assertCounts(hdt);
+			assertEquals(0, hdt.getTriples().count(new TripleID(0, 0, hdt.getDictionary().getNobjects() + 1)));
+		}
+	}
+
+	@Test
+	public void countLoadedTest() throws IOException, ParserException {
+		try (HDT hdt = HDTManager.loadIndexedHDT(createHDT())) {
+			assertCounts(hdt);
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.rdfhdt.hdt.compact.bitmap.Bitmap;
+import org.rdfhdt.hdt.compact.sequence.Sequence;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class BitmapTriplesIndexBuilderTest {
+
+	private HDT createHDT(String options) throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(20000, 42);
+		supplier.maxElementSplit = 50;
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions(options);
+		HDT hdt = supplier.createFakeHDT(spec);
+		((BitmapTriples) hdt.getTriples()).generateIndex(null);
+		return hdt;
+	}
+
+	/**
+	 * most of the triples have the same object, with several predicates
+	 */
+	private HDT createSkewedHDT(String options) throws IOException, ParserException {
+		String ns = "http://example.org/";
+		Random random = new Random(42);
+		List<TripleString> triples = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			String subject = ns + "s" + i;
+			triples.add(new TripleString(subject, ns + "type", ns + "Class"));
+			if (i % 3 == 0) {
+				triples.add(new TripleString(subject, ns + "p" + random.nextInt(5), ns + "Class"));
+			}
+			triples.add(new TripleString(subject, ns + "p" + random.nextInt(5), ns + "o" + random.nextInt(500)));
+		}
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions(options);
+		HDT hdt = HDTManager.generateHDT(triples.iterator(), ns, spec, null);
+		((BitmapTriples) hdt.getTriples()).generateIndex(null);
+		return hdt;
+	}
+
+	private interface HDTSupplier {
+		HDT create(String options) throws IOException, ParserException;
+	}
+
+	private void assertSameIndex(String options) throws IOException, ParserException {
+		assertSameIndex(this::createHDT, options);
+	}
+
+	private void assertSameIndex(HDTSupplier supplier, String options) throws IOException, ParserException {
+		try (HDT expected = supplier.create("bitmaptriples.index.method=legacy");
+			 HDT actual = supplier.create(options)) {
+			BitmapTriples exp = (BitmapTriples) expected.getTriples();
+			BitmapTriples act = (BitmapTriples) actual.getTriples();
+
+			assertSameSequence(exp.getIndexZ(), act.getIndexZ());
+			assertSameSequence(exp.getPredicateCount(), act.getPredicateCount());
+
+			Bitmap expBitmap = exp.getBitmapIndex();
+			Bitmap actBitmap = act.getBitmapIndex();
+			assertEquals(expBitmap.getNumBits(), actBitmap.getNumBits());
+			for (long i = 0; i < expBitmap.getNumBits(); i++) {
+				assertEquals("bit " + i, expBitmap.access(i), actBitmap.access(i));
+			}
+		}
+	}
+
+	private static void assertSameSequence(Sequence expected, Sequence actual) {
+		assertEquals(expected.getNumberOfElements(), actual.getNumberOfElements());
+		for (long i = 0; i < expected.getNumberOfElements(); i++) {
+			assertEquals("index " + i, expected.get(i), actual.get(i));
+		}
+	}
+
+	@Test
+	public void singleThreadTest() throws IOException, ParserException {
+		assertSameIndex("bitmaptriples.index.threads=1");
+	}
+
+	@Test
+	public void multiThreadTest() throws IOException, ParserException {
+		assertSameIndex("bitmaptriples.index.threads=4");
+	}
+
+	@Test
+	public void smallBucketTest() throws IOException, ParserException {
+		assertSameIndex("bitmaptriples.index.threads=3;bitmaptriples.index.bucketsize=100");
+	}
+
+	@Test
+	public void skewedObjectTest() throws IOException, ParserException {
+		// the bucket of the frequent object is bigger than the bucket size, it is sorted on disk
+		assertSameIndex(this::createSkewedHDT, "bitmaptriples.index.threads=3;bitmaptriples.index.bucketsize=100");
+		assertSameIndex(this::createSkewedHDT, "bitmaptriples.index.threads=1");
+	}
+}
@@ -9,6 +9,7 @@ import org.junit.runners.Parameterized;
 import org.rdfhdt.hdt.compact.bitmap.BitmapFactory;
 import org.rdfhdt.hdt.compact.bitmap.ModifiableBitmap;
 import org.rdfhdt.hdt.dictionary.DictionaryFactory;
+import org.rdfhdt.hdt.exceptions.ParserException;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
 import org.rdfhdt.hdt.hdt.HDTVocabulary;
@@ -18,13 +19,17 @@ import org.rdfhdt.hdt.options.HDTSpecification;
 import org.rdfhdt.hdt.triples.IteratorTripleID;
 import org.rdfhdt.hdt.triples.TripleID;
 import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 
 @RunWith(Parameterized.class)
 public class BitmapTriplesIteratorDiffTest {
@@ -185,4 +190,55 @@ public class BitmapTriplesIteratorDiffTest {
             }
         }
     }
-}
\ No newline at end of file
+
+    private HDT generate(Iterator<TripleString> it, HDTSpecification genSpec) throws IOException, ParserException {
+        return HDTManager.generateHDT(it, "http://ex.org/", genSpec, null);
+    }
+
+    @Test
+    public void idDiffTest() throws IOException, ParserException {
+        HDTSpecification genSpec = new HDTSpecification();
+        genSpec.set("dictionary.type", spec.get("dictionary.type"));
+        if (DictionaryFactory.DICTIONARY_TYPE_MULTI_OBJECTS.equals(spec.get("dictionary.type"))) {
+            genSpec.set("tempDictionary.impl", DictionaryFactory.MOD_DICT_IMPL_MULT_HASH);
+        } else if (HDTVocabulary.DICTIONARY_TYPE_FOUR_PSFC_SECTION.equals(spec.get("dictionary.type"))) {
+            genSpec.set("tempDictionary.impl", DictionaryFactory.MOD_DICT_IMPL_HASH_PSFC);
+        }
+        LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(3000, 42);
+        supplier.maxElementSplit = 20;
+        LargeFakeDataSetStreamSupplier other = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(2000, 34);
+        other.maxElementSplit = 20;
+
+        // a part of the triples of the original HDT with other triples sharing some of the strings
+        List<TripleString> diffTriples = new ArrayList<>();
+        Iterator<TripleString> it = supplier.createTripleStringStream();
+        for (int i = 0; it.hasNext(); i++) {
+            TripleString triple = it.next();
+            if (i % 3 != 0) {
+                diffTriples.add(new TripleString(triple.getSubject().toString(), triple.getPredicate().toString(), triple.getObject().toString()));
+            }
+        }
+        other.createTripleStringStream().forEachRemaining(triple -> diffTriples.add(
+                new TripleString(triple.getSubject().toString(), triple.getPredicate().toString(), triple.getObject().toString())
+        ));
+        supplier.reset();
+
+        try (HDT origin = generate(supplier.createTripleStringStream(), genSpec);
+             HDT diff = generate(diffTriples.iterator(), genSpec)) {
+            BitmapTriplesIteratorDiff d = new BitmapTriplesIteratorDiff(origin, diff, BitmapFactory.createRWBitmap(1));
+            Assert.assertEquals(!HDTVocabulary.DICTIONARY_TYPE_FOUR_PSFC_SECTION.equals(spec.get("dictionary.type")), d.canDiffIds());
+
+            ModifiableBitmap expected = BitmapFactory.createRWBitmap(origin.getTriples().getNumberOfElements());
+            new BitmapTriplesIteratorDiff(origin, diff, expected).fillBitmapStrings();
+            ModifiableBitmap actual = BitmapFactory.createRWBitmap(origin.getTriples().getNumberOfElements());
+            new BitmapTriplesIteratorDiff(origin, diff, actual).fillBitmap();
+
+            Assert.assertTrue(expected.countOnes() > 0);
+            Assert.assertTrue(expected.countOnes() < origin.getTriples().getNumberOfElements());
+            Assert.assertEquals(expected.countOnes(), actual.countOnes());
+            for (long i = 0; i < origin.getTriples().getNumberOfElements(); i++) {
+                Assert.assertEquals("triple " + i, expected.access(i), actual.access(i));
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class BitmapTriplesIteratorGoToTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private String createHDT() throws IOException, ParserException {
+		String file = tempDir.newFile("test.hdt").getAbsolutePath();
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 42);
+		supplier.maxElementSplit = 20;
+		supplier.createAndSaveFakeHDT(new HDTSpecification(), file);
+		return file;
+	}
+
+	private static List<TripleID> results(IteratorTripleID it) {
+		List<TripleID> list = new ArrayList<>();
+		while (it.hasNext()) {
+			list.add(new TripleID(it.next()));
+		}
+		return list;
+	}
+
+	private static void assertGoTo(Triples triples, TripleID pattern) {
+		List<TripleID> expected = results(triples.search(pattern));
+		IteratorTripleID it = triples.search(pattern);
+		assertTrue(pattern.toString(), it.canGoTo());
+
+		for (int offset = 0; offset < expected.size(); offset += Math.max(1, expected.size() / 50)) {
+			it.goTo(offset);
+			List<TripleID> actual = results(it);
+			assertEquals(pattern + " " + offset, expected.subList(offset, expected.size()), actual);
+		}
+
+		if (!expected.isEmpty()) {
+			// go back after the end of the iteration
+			it.goTo(expected.size() - 1);
+			assertTrue(it.hasNext());
+			assertEquals(expected.get(expected.size() - 1), it.next());
+			assertFalse(it.hasNext());
+		}
+
+		try {
+			it.goTo(expected.size());
+			fail(pattern + " goTo after the last result");
+		} catch (IndexOutOfBoundsException e) {
+			// expected
+		}
+	}
+
+	@Test
+	public void goToTest() throws IOException, ParserException {
+		try (HDT hdt = HDTManager.mapIndexedHDT(createHDT())) {
+			Triples triples = hdt.getTriples();
+			List<TripleID> all = results(triples.searchAll());
+
+			assertGoTo(triples, new TripleID());
+			Random random = new Random(56);
+			for (int i = 0; i < 100; i++) {
+				TripleID triple = all.get(random.nextInt(all.size()));
+				for (int mask = 1; mask < 8; mask++) {
+					assertGoTo(triples, new TripleID(
+							(mask & 4) != 0 ? triple.getSubject() : 0,
+							(mask & 2) != 0 ? triple.getPredicate() : 0,
+							(mask & 1) != 0 ? triple.getObject() : 0
+					));
+				}
+			}
+			for (long p = 1; p <= hdt.getDictionary().getNpredicates(); p++) {
+				assertGoTo(triples, new TripleID(0, p, 0));
+			}
+		}
+	}
+}
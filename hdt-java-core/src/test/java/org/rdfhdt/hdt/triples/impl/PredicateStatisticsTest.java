@@ -0,0 +1,165 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class PredicateStatisticsTest {
+	private static final int TOP_K = 4;
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static void assertStatistics(HDT hdt, PredicateStatistics stats) {
+		long numPredicates = hdt.getDictionary().getNpredicates();
+		assertEquals(numPredicates, stats.getNumberOfPredicates());
+		assertEquals(hdt.getTriples().getNumberOfElements(), stats.getNumberOfTriples());
+
+		for (long p = 1; p <= numPredicates; p++) {
+			Set<Long> subjects = new HashSet<>();
+			Map<Long, Long> objects = new HashMap<>();
+			long count = 0;
+			IteratorTripleID it = hdt.getTriples().search(new TripleID(0, p, 0));
+			while (it.hasNext()) {
+				TripleID triple = it.next();
+				subjects.add(triple.getSubject());
+				objects.merge(triple.getObject(), 1L, Long::sum);
+				count++;
+			}
+			assertEquals(count, stats.getCount(p));
+			assertEquals(subjects.size(), stats.getDistinctSubjects(p));
+			assertEquals(objects.size(), stats.getDistinctObjects(p));
+
+			long[] top = stats.getTopObjects(p);
+			long[] topCounts = stats.getTopObjectCounts(p);
+			assertEquals(Math.min(TOP_K, objects.size()), top.length);
+			long min = Long.MAX_VALUE;
+			for (int i = 0; i < top.length; i++) {
+				assertEquals((long) objects.get(top[i]), topCounts[i]);
+				assertEquals(topCounts[i], stats.estimateObjectCount(p, top[i]));
+				assertTrue(i == 0 || topCounts[i - 1] >= topCounts[i]);
+				min = Math.min(min, topCounts[i]);
+			}
+			// no other object is more frequent than the top objects
+			for (Map.Entry<Long, Long> e : objects.entrySet()) {
+				boolean inTop = false;
+				for (long o : top) {
+					inTop |= o == e.getKey();
+				}
+				if (!inTop) {
+					assertTrue(e.getValue() <= min);
+					assertTrue(stats.estimateObjectCount(p, e.getKey()) <= min);
+				}
+			}
+		}
+	}
+
+	private static HDT createHDT() throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 42);
+		supplier.maxElementSplit = 20;
+		return supplier.createFakeHDT(new HDTSpecification());
+	}
+
+	private static PredicateStatistics generate(HDT hdt) throws IOException {
+		return PredicateStatistics.generate(
+				(BitmapTriples) hdt.getTriples(),
+				hdt.getDictionary().getNpredicates(),
+				hdt.getDictionary().getNobjects(),
+				TOP_K,
+				null
+		);
+	}
+
+	@Test
+	public void generateTest() throws IOException, ParserException {
+		try (HDT hdt = createHDT()) {
+			// without the object index
+			PredicateStatistics byPredicate = generate(hdt);
+			assertStatistics(hdt, byPredicate);
+
+			// with the object index
+			((BitmapTriples) hdt.getTriples()).generateIndex(null);
+			PredicateStatistics byObject = generate(hdt);
+			assertStatistics(hdt, byObject);
+
+			for (long p = 1; p <= hdt.getDictionary().getNpredicates(); p++) {
+				assertEquals(byPredicate.getDistinctObjects(p), byObject.getDistinctObjects(p));
+				assertArrayEquals(byPredicate.getTopObjectCounts(p), byObject.getTopObjectCounts(p));
+			}
+		}
+	}
+
+	@Test
+	public void mergeRunsTest() throws IOException, ParserException {
+		try (HDT hdt = createHDT()) {
+			PredicateStatistics inMemory = generate(hdt);
+			// the objects of most predicates are sorted in several runs merged from the disk
+			PredicateStatistics merged = PredicateStatistics.generate(
+					(BitmapTriples) hdt.getTriples(),
+					hdt.getDictionary().getNpredicates(),
+					hdt.getDictionary().getNobjects(),
+					TOP_K,
+					7,
+					null
+			);
+			assertStatistics(hdt, merged);
+			for (long p = 1; p <= hdt.getDictionary().getNpredicates(); p++) {
+				assertEquals(inMemory.getDistinctObjects(p), merged.getDistinctObjects(p));
+				assertArrayEquals(inMemory.getTopObjects(p), merged.getTopObjects(p));
+				assertArrayEquals(inMemory.getTopObjectCounts(p), merged.getTopObjectCounts(p));
+			}
+		}
+	}
+
+	@Test
+	public void saveLoadTest() throws IOException, ParserException {
+		try (HDT hdt = createHDT()) {
+			PredicateStatistics stats = generate(hdt);
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			stats.save(out);
+
+			PredicateStatistics loaded = PredicateStatistics.load(new ByteArrayInputStream(out.toByteArray()));
+			assertStatistics(hdt, loaded);
+		}
+	}
+
+	@Test
+	public void loadOrCreateTest() throws IOException, ParserException {
+		String file = new File(tempDir.getRoot(), "test.hdt").getAbsolutePath();
+		LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(2000, 34)
+				.createAndSaveFakeHDT(new HDTSpecification(), file);
+
+		File statsFile = new File(PredicateStatistics.getFileName(file));
+		try (HDT hdt = HDTManager.mapIndexedHDT(file)) {
+			PredicateStatistics stats = PredicateStatistics.loadOrCreate(hdt, file, null);
+			assertTrue(statsFile.isFile());
+			assertEquals(hdt.getTriples().getNumberOfElements(), stats.getNumberOfTriples());
+		}
+		long modified = statsFile.lastModified();
+		try (HDT hdt = HDTManager.mapHDT(file)) {
+			PredicateStatistics stats = PredicateStatistics.loadIfExists(hdt, file);
+			assertTrue(stats != null);
+			assertEquals(modified, statsFile.lastModified());
+		}
+	}
+}
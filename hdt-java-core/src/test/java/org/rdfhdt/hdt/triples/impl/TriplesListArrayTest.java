@@ -0,0 +1,100 @@
+package org.rdfhdt.hdt.triples.impl;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.junit.Test;
+import org.rdfhdt.hdt.enums.TripleComponentOrder;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.TripleIDComparator;
+
+public class TriplesListArrayTest {
+
+	private static List<TripleID> randomTriples(int count, int maxId, long seed) {
+		Random rnd = new Random(seed);
+		List<TripleID> triples = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			triples.add(new TripleID(rnd.nextInt(maxId) + 1, rnd.nextInt(maxId) + 1, rnd.nextInt(maxId) + 1));
+		}
+		return triples;
+	}
+
+	private static void assertSameTriples(Iterator<TripleID> expected, IteratorTripleID actual) {
+		while (expected.hasNext()) {
+			assertTrue(actual.hasNext());
+			assertEquals(expected.next(), actual.next());
+		}
+		assertFalse(actual.hasNext());
+	}
+
+	@Test
+	public void sortAndDedupeTest() {
+		List<TripleID> triples = randomTriples(20000, 20, 42);
+		for (TripleComponentOrder order : TripleComponentOrder.values()) {
+			if (order == TripleComponentOrder.Unknown) {
+				continue;
+			}
+			TriplesListArray array = new TriplesListArray(new HDTSpecification());
+			for (TripleID triple : triples) {
+				array.insert(triple.getSubject(), triple.getPredicate(), triple.getObject());
+			}
+			assertEquals(triples.size(), array.getNumberOfElements());
+
+			TreeSet<TripleID> expected = new TreeSet<>(TripleIDComparator.getComparator(order));
+			expected.addAll(triples);
+
+			array.setOrder(order);
+			array.sort(null);
+			array.removeDuplicates(null);
+
+			assertEquals(order.name(), expected.size(), array.getNumberOfElements());
+			assertSameTriples(expected.iterator(), array.searchAll());
+		}
+	}
+
+	@Test
+	public void growTest() {
+		HDTSpecification spec = new HDTSpecification();
+		spec.set("rdf.triples", "1");
+		TriplesListArray array = new TriplesListArray(spec);
+		List<TripleID> triples = randomTriples(1000, 1000000, 12);
+		for (TripleID triple : triples) {
+			array.insert(triple);
+		}
+		assertSameTriples(triples.iterator(), array.searchAll());
+	}
+
+	@Test
+	public void removeTest() {
+		List<TripleID> triples = randomTriples(5000, 10, 7);
+		TriplesListArray array = new TriplesListArray(new HDTSpecification());
+		for (TripleID triple : triples) {
+			array.insert(triple);
+		}
+		array.remove(new TripleID(0, 1, 0), new TripleID(2, 0, 3));
+
+		List<TripleID> expected = new ArrayList<>();
+		for (TripleID triple : triples) {
+			if (triple.getPredicate() != 1 && !(triple.getSubject() == 2 && triple.getObject() == 3)) {
+				expected.add(triple);
+			}
+		}
+		assertEquals(expected.size(), array.getNumberOfElements());
+		assertSameTriples(expected.iterator(), array.searchAll());
+
+		TreeSet<TripleID> sorted = new TreeSet<>(TripleIDComparator.getComparator(TripleComponentOrder.SPO));
+		sorted.addAll(expected);
+		array.sort(null);
+		array.removeDuplicates(null);
+		assertSameTriples(sorted.iterator(), array.searchAll());
+	}
+}
@@ -0,0 +1,166 @@
+package org.rdfhdt.hdt.util.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorInputStream;
+import org.apache.commons.compress.compressors.bzip2.BZip2CompressorOutputStream;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelBZip2InputStreamTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static byte[] createData(int size, long seed) {
+		Random random = new Random(seed);
+		byte[] data = new byte[size];
+		for (int i = 0; i < size; i++) {
+			// compressible data
+			data[i] = (byte) ('a' + random.nextInt(8));
+		}
+		return data;
+	}
+
+	private static byte[] compress(byte[] data, int blockSize) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (OutputStream bz = new BZip2CompressorOutputStream(out, blockSize)) {
+			bz.write(data);
+		}
+		return out.toByteArray();
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1000];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		// single byte reads at the end
+		assertTrue(in.read() == -1);
+		return out.toByteArray();
+	}
+
+	@Test
+	public void blocksTest() throws IOException {
+		// blocks of 100k, so about 10 blocks
+		byte[] data = createData(1_000_000, 42);
+		try (InputStream in = new ParallelBZip2InputStream(new ByteArrayInputStream(compress(data, 1)), 4)) {
+			assertArrayEquals(data, readAll(in));
+		}
+	}
+
+	@Test
+	public void concatenatedTest() throws IOException {
+		byte[] data1 = createData(300_000, 42);
+		byte[] data2 = createData(250_000, 43);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(compress(data1, 1));
+		// empty stream
+		out.write(compress(new byte[0], 9));
+		out.write(compress(data2, 2));
+		byte[] expected = new byte[data1.length + data2.length];
+		System.arraycopy(data1, 0, expected, 0, data1.length);
+		System.arraycopy(data2, 0, expected, data1.length, data2.length);
+		try (InputStream in = new ParallelBZip2InputStream(new ByteArrayInputStream(out.toByteArray()), 2)) {
+			assertArrayEquals(expected, readAll(in));
+		}
+	}
+
+	@Test
+	public void splitBlockTest() throws IOException {
+		byte[] data = createData(50_000, 42);
+		byte[] compressed = compress(data, 1);
+		// the block, from its magic after the header to the end magic
+		byte[] block = Arrays.copyOfRange(compressed, 4, compressed.length);
+		long bits = 0;
+		long window = 0;
+		while (window != 0x177245385090L) {
+			window = ((window << 1) | ((block[(int) (bits >>> 3)] >>> (7 - (bits & 7))) & 1)) & ((1L << 48) - 1);
+			bits++;
+		}
+		bits -= 48;
+		ParallelBZip2InputStream.Segment segment = new ParallelBZip2InputStream.Segment(block, bits);
+		assertArrayEquals(data, ParallelBZip2InputStream.decode(segment));
+
+		// a block split by a magic inside its data
+		long split = bits / 2 + 3;
+		ParallelBZip2InputStream.Segment first = new ParallelBZip2InputStream.Segment(block, split);
+		byte[] secondData = new byte[(int) ((bits - split + 7) / 8)];
+		for (long i = 0; i < bits - split; i++) {
+			long bit = split + i;
+			if ((block[(int) (bit >>> 3)] & (0x80 >>> (bit & 7))) != 0) {
+				secondData[(int) (i >>> 3)] |= (byte) (0x80 >>> (i & 7));
+			}
+		}
+		ParallelBZip2InputStream.Segment second = new ParallelBZip2InputStream.Segment(secondData, bits - split);
+		try {
+			ParallelBZip2InputStream.decode(first);
+			fail("the first part of the block was decoded");
+		} catch (IOException e) {
+			// expected
+		}
+		assertArrayEquals(data, ParallelBZip2InputStream.decode(ParallelBZip2InputStream.concat(first, second)));
+	}
+
+	@Test(expected = IOException.class)
+	public void corruptTest() throws IOException {
+		byte[] compressed = compress(createData(500_000, 42), 1);
+		compressed[compressed.length / 2] ^= 0x55;
+		try (InputStream in = new ParallelBZip2InputStream(new ByteArrayInputStream(compressed), 2)) {
+			readAll(in);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void truncatedTest() throws IOException {
+		byte[] compressed = compress(createData(500_000, 42), 1);
+		try (InputStream in = new ParallelBZip2InputStream(
+				new ByteArrayInputStream(Arrays.copyOf(compressed, compressed.length - 20)), 2)) {
+			readAll(in);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void notBZip2Test() throws IOException {
+		try (InputStream in = new ParallelBZip2InputStream(new ByteArrayInputStream(createData(1000, 42)), 2)) {
+			readAll(in);
+		}
+	}
+
+	@Test
+	public void closeTest() throws IOException {
+		InputStream in = new ParallelBZip2InputStream(new ByteArrayInputStream(compress(createData(1_000_000, 42), 1)), 2);
+		assertTrue(in.read() != -1);
+		in.close();
+	}
+
+	@Test
+	public void fileInputStreamTest() throws IOException {
+		byte[] data = createData(500_000, 42);
+		Path file = tempDir.getRoot().toPath().resolve("data.nt.bz2");
+		Files.write(file, compress(data, 1));
+		try (InputStream in = IOUtil.getFileInputStream(file.toString(), 2)) {
+			assertTrue(in instanceof ParallelBZip2InputStream);
+			assertArrayEquals(data, readAll(in));
+		}
+		// one thread, decompressed in the reading thread
+		try (InputStream in = IOUtil.getFileInputStream(file.toString(), 1)) {
+			assertTrue(in instanceof BZip2CompressorInputStream);
+			assertArrayEquals(data, readAll(in));
+		}
+	}
+}
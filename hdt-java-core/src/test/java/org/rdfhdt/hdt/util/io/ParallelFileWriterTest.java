@@ -0,0 +1,120 @@
+package org.rdfhdt.hdt.util.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelFileWriterTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static byte[] partData(int index) {
+		byte[] data = new byte[1000 + index * 100];
+		for (int i = 0; i < data.length; i++) {
+			data[i] = (byte) (index * 31 + i);
+		}
+		return data;
+	}
+
+	private static long countFiles(Path dir) throws IOException {
+		try (Stream<Path> files = Files.list(dir)) {
+			return files.count();
+		}
+	}
+
+	@Test
+	public void streamTest() throws IOException, InterruptedException {
+		int numParts = 6;
+		Path dir = tempDir.newFolder().toPath();
+		CountDownLatch firstCopied = new CountDownLatch(1);
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		List<ParallelFileWriter.Part> parts = new ArrayList<>();
+		List<Boolean> streamed = new ArrayList<>();
+		for (int i = 0; i < numParts; i++) {
+			int index = i;
+			byte[] data = partData(index);
+			expected.write(data);
+			parts.add((out, listener) -> {
+				if (index == numParts - 1) {
+					// the first parts are in the stream before the last part is written
+					try {
+						streamed.add(firstCopied.await(10, TimeUnit.SECONDS));
+					} catch (InterruptedException e) {
+						throw new IOException(e);
+					}
+				}
+				out.write(data);
+			});
+		}
+		ByteArrayOutputStream output = new ByteArrayOutputStream();
+		OutputStream stream = new OutputStream() {
+			@Override
+			public void write(int b) {
+				output.write(b);
+				firstCopied.countDown();
+			}
+
+			@Override
+			public void write(byte[] b, int off, int len) {
+				output.write(b, off, len);
+				firstCopied.countDown();
+			}
+		};
+		ParallelFileWriter.write(stream, dir, parts, 2, null);
+		assertArrayEquals(expected.toByteArray(), output.toByteArray());
+		assertEquals(List.of(true), streamed);
+		// the temporary files are deleted
+		assertEquals(0, countFiles(dir));
+	}
+
+	@Test
+	public void fileTest() throws IOException {
+		Path dir = tempDir.newFolder().toPath();
+		Path file = dir.resolve("file.bin");
+		ByteArrayOutputStream expected = new ByteArrayOutputStream();
+		List<ParallelFileWriter.Part> parts = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			byte[] data = partData(i);
+			expected.write(data);
+			parts.add((out, listener) -> out.write(data));
+		}
+		ParallelFileWriter.write(file, parts, 3, null);
+		assertArrayEquals(expected.toByteArray(), Files.readAllBytes(file));
+		assertEquals(1, countFiles(dir));
+	}
+
+	@Test
+	public void failureTest() throws IOException {
+		Path dir = tempDir.newFolder().toPath();
+		List<ParallelFileWriter.Part> parts = new ArrayList<>();
+		for (int i = 0; i < 4; i++) {
+			int index = i;
+			parts.add((out, listener) -> {
+				if (index == 2) {
+					throw new IOException("part error");
+				}
+				out.write(partData(index));
+			});
+		}
+		try {
+			ParallelFileWriter.write(new ByteArrayOutputStream(), dir, parts, 2, null);
+			throw new AssertionError("the failure of a part wasn't thrown");
+		} catch (IOException e) {
+			assertEquals("part error", e.getMessage());
+		}
+	}
+}
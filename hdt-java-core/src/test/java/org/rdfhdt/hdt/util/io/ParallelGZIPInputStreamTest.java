@@ -0,0 +1,189 @@
+package org.rdfhdt.hdt.util.io;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ParallelGZIPInputStreamTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static byte[] createData(int size) {
+		Random random = new Random(42);
+		byte[] data = new byte[size];
+		for (int i = 0; i < size; i++) {
+			// compressible data
+			data[i] = (byte) ('a' + random.nextInt(8));
+		}
+		return data;
+	}
+
+	/**
+	 * write a BGZF stream, the data is split in members of at most 64KiB
+	 */
+	private static void writeBGZF(byte[] data, OutputStream out) throws IOException {
+		Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+		byte[] compressed = new byte[0x10000 + 1024];
+		for (int offset = 0; offset <= data.length; offset += 0xFF00) {
+			int length = Math.min(0xFF00, data.length - offset);
+			deflater.reset();
+			deflater.setInput(data, offset, length);
+			deflater.finish();
+			int compressedLength = deflater.deflate(compressed);
+			int blockSize = 18 + compressedLength + 8;
+			out.write(new byte[]{31, (byte) 139, 8, 4, 0, 0, 0, 0, 0, (byte) 255, 6, 0, 'B', 'C', 2, 0});
+			writeShort(out, blockSize - 1);
+			out.write(compressed, 0, compressedLength);
+			CRC32 crc = new CRC32();
+			crc.update(data, offset, length);
+			writeInt(out, (int) crc.getValue());
+			writeInt(out, length);
+			if (length == 0) {
+				break;
+			}
+		}
+		deflater.end();
+	}
+
+	private static void writeShort(OutputStream out, int value) throws IOException {
+		out.write(value & 0xFF);
+		out.write((value >>> 8) & 0xFF);
+	}
+
+	private static void writeInt(OutputStream out, int value) throws IOException {
+		writeShort(out, value & 0xFFFF);
+		writeShort(out, value >>> 16);
+	}
+
+	private static byte[] readAll(InputStream in) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		byte[] buffer = new byte[1000];
+		int read;
+		while ((read = in.read(buffer)) != -1) {
+			out.write(buffer, 0, read);
+		}
+		// single byte reads at the end
+		assertTrue(in.read() == -1);
+		return out.toByteArray();
+	}
+
+	@Test
+	public void bgzfTest() throws IOException {
+		byte[] data = createData(3_000_000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeBGZF(data, out);
+		InputStream in = new BufferedInputStream(new ByteArrayInputStream(out.toByteArray()));
+		assertTrue(ParallelGZIPInputStream.isBGZF(in));
+		try (InputStream gz = new ParallelGZIPInputStream(in, 4)) {
+			assertArrayEquals(data, readAll(gz));
+		}
+	}
+
+	@Test
+	public void gzipTailTest() throws IOException {
+		byte[] data = createData(500_000);
+		byte[] data2 = createData(100_000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeBGZF(data, out);
+		try (GZIPOutputStream gzOut = new GZIPOutputStream(out)) {
+			gzOut.write(data2);
+		}
+		byte[] expected = new byte[data.length + data2.length];
+		System.arraycopy(data, 0, expected, 0, data.length);
+		System.arraycopy(data2, 0, expected, data.length, data2.length);
+		try (InputStream gz = new ParallelGZIPInputStream(new ByteArrayInputStream(out.toByteArray()), 2)) {
+			assertArrayEquals(expected, readAll(gz));
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void corruptTest() throws IOException {
+		byte[] data = createData(200_000);
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		writeBGZF(data, out);
+		byte[] compressed = out.toByteArray();
+		compressed[compressed.length / 2] ^= 0x55;
+		try (InputStream gz = new ParallelGZIPInputStream(new ByteArrayInputStream(compressed), 2)) {
+			readAll(gz);
+		}
+	}
+
+	@Test
+	public void fileInputStreamTest() throws IOException {
+		byte[] data = createData(1_000_000);
+		Path bgzf = tempDir.getRoot().toPath().resolve("bgzf.nt.gz");
+		Path gzip = tempDir.getRoot().toPath().resolve("gzip.nt.gz");
+		try (OutputStream out = Files.newOutputStream(bgzf)) {
+			writeBGZF(data, out);
+		}
+		try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(gzip))) {
+			out.write(data);
+		}
+		try (InputStream in = new BufferedInputStream(Files.newInputStream(gzip))) {
+			assertFalse(ParallelGZIPInputStream.isBGZF(in));
+		}
+		try (InputStream in = IOUtil.getFileInputStream(bgzf.toString(), 2)) {
+			assertTrue(in instanceof ParallelGZIPInputStream);
+			assertArrayEquals(data, readAll(in));
+		}
+		try (InputStream in = IOUtil.getFileInputStream(gzip.toString(), 2)) {
+			assertTrue(in instanceof ReadAheadInputStream);
+			assertArrayEquals(data, readAll(in));
+		}
+		// one thread, decompressed in the reading thread
+		for (Path file : new Path[]{bgzf, gzip}) {
+			try (InputStream in = IOUtil.getFileInputStream(file.toString(), 1)) {
+				assertTrue(in instanceof GZIPInputStream);
+				assertArrayEquals(data, readAll(in));
+			}
+		}
+	}
+
+	@Test
+	public void readAheadTest() throws IOException {
+		byte[] data = createData(1_000_000);
+		try (InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), 1000, 2)) {
+			assertArrayEquals(data, readAll(in));
+		}
+		// close before the end
+		InputStream in = new ReadAheadInputStream(new ByteArrayInputStream(data), 1000, 2);
+		assertTrue(in.read() != -1);
+		in.close();
+	}
+
+	@Test(expected = IOException.class)
+	public void readAheadFailureTest() throws IOException {
+		InputStream failing = new InputStream() {
+			int count;
+
+			@Override
+			public int read() throws IOException {
+				if (count++ == 5000) {
+					throw new IOException("read error");
+				}
+				return 1;
+			}
+		};
+		try (InputStream in = new ReadAheadInputStream(failing, 1000, 2)) {
+			readAll(in);
+		}
+	}
+}
@@ -0,0 +1,122 @@
+package org.rdfhdt.hdt.util.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.exceptions.ParserException;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.hdt.impl.HDTImpl;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.util.LargeFakeDataSetStreamSupplier;
+
+public class WarmUpTest extends AbstractMapMemoryTest {
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	@Test
+	public void profileTest() throws IOException {
+		WarmUpProfile profile = new WarmUpProfile();
+		WarmUpProfile.Recorder recorder = profile.recorder("a", 10L * WarmUp.CHUNK_SIZE + 5);
+		recorder.access(0);
+		recorder.access(WarmUp.CHUNK_SIZE - 1);
+		recorder.access(3L * WarmUp.CHUNK_SIZE + 42);
+		recorder.access(10L * WarmUp.CHUNK_SIZE + 4);
+		profile.recorder("b", 42);
+
+		Path file = tempDir.getRoot().toPath().resolve("profile");
+		profile.save(file);
+		WarmUpProfile loaded = WarmUpProfile.load(file);
+		assertEquals(2, loaded.getNumberOfRegions());
+		assertNull(loaded.get("a", 42));
+		assertNull(loaded.get("c", 42));
+		WarmUpProfile.Recorder a = loaded.get("a", 10L * WarmUp.CHUNK_SIZE + 5);
+		assertNotNull(a);
+		assertEquals(3, a.countAccessed());
+		assertTrue(a.isAccessed(0));
+		assertFalse(a.isAccessed(1));
+		assertTrue(a.isAccessed(3));
+		assertTrue(a.isAccessed(10));
+		assertEquals(0, loaded.get("b", 42).countAccessed());
+
+		assertEquals(0, WarmUpProfile.load(tempDir.getRoot().toPath().resolve("missing")).getNumberOfRegions());
+	}
+
+	private static void query(HDT hdt) {
+		for (long id = 1; id <= hdt.getDictionary().getNsubjects(); id += 7) {
+			CharSequence subject = hdt.getDictionary().idToString(id, TripleComponentRole.SUBJECT);
+			assertEquals(id, hdt.getDictionary().stringToId(subject, TripleComponentRole.SUBJECT));
+			IteratorTripleID it = hdt.getTriples().search(new TripleID(id, 0, 0));
+			while (it.hasNext()) {
+				it.next();
+			}
+		}
+	}
+
+	@Test
+	public void mapTest() throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 42);
+		supplier.maxElementSplit = 20;
+		File file = tempDir.newFile("test.hdt");
+		supplier.createAndSaveFakeHDT(new HDTSpecification(), file.getAbsolutePath());
+		Path profileFile = tempDir.getRoot().toPath().resolve("test.profile");
+
+		HDTSpecification spec = new HDTSpecification();
+		spec.set(HDTImpl.WARMUP, "true");
+		spec.set(HDTImpl.WARMUP_THREADS, "2");
+		spec.set(HDTImpl.WARMUP_PROFILE, profileFile.toString());
+
+		try (HDT hdt = HDTManager.mapIndexedHDT(file.getAbsolutePath(), spec, null)) {
+			query(hdt);
+		}
+		WarmUpProfile profile = WarmUpProfile.load(profileFile);
+		assertTrue(profile.getNumberOfRegions() > 0);
+		assertTrue(profile.countAccessed() > 0);
+
+		// replay the profile with a budget
+		spec.set(HDTImpl.WARMUP_BUDGET, String.valueOf(WarmUp.CHUNK_SIZE));
+		try (HDT hdt = HDTManager.mapIndexedHDT(file.getAbsolutePath(), spec, null);
+			 HDT expected = HDTManager.loadHDT(file.getAbsolutePath())) {
+			query(hdt);
+			IteratorTripleID it = expected.getTriples().searchAll();
+			IteratorTripleID it2 = hdt.getTriples().searchAll();
+			while (it.hasNext()) {
+				assertTrue(it2.hasNext());
+				assertEquals(it.next(), it2.next());
+			}
+			assertFalse(it2.hasNext());
+		}
+	}
+
+	@Test
+	public void budgetTest() throws IOException, ParserException {
+		LargeFakeDataSetStreamSupplier supplier = LargeFakeDataSetStreamSupplier.createSupplierWithMaxTriples(5000, 42);
+		supplier.maxElementSplit = 20;
+		File file = tempDir.newFile("test.hdt");
+		supplier.createAndSaveFakeHDT(new HDTSpecification(), file.getAbsolutePath());
+
+		try (HDT hdt = HDTManager.mapIndexedHDT(file.getAbsolutePath(), new HDTSpecification(), null)) {
+			WarmUp warmUp = new WarmUp(null, null);
+			warmUp.addRegions(hdt.getDictionary(), "dictionary", WarmUp.Priority.DATA);
+			warmUp.addRegions(hdt.getTriples(), "triples", WarmUp.Priority.DATA);
+			long size = warmUp.getSize();
+			assertTrue(size > 0);
+			assertEquals(size, warmUp.run(4, 0, null));
+			long read = warmUp.run(4, 1, null);
+			assertTrue(read > 0 && read <= WarmUp.CHUNK_SIZE);
+		}
+	}
+}
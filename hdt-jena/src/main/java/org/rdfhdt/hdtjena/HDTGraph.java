@@ -38,6 +38,7 @@ import org.apache.jena.util.iterator.ExtendedIterator;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.triples.IteratorTripleID;
 import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.impl.PredicateStatistics;
 import org.rdfhdt.hdtjena.solver.HDTJenaIterator;
 import org.rdfhdt.hdtjena.solver.HDTQueryEngine;
 import org.rdfhdt.hdtjena.solver.OpExecutorHDT;
@@ -57,6 +58,7 @@ public class HDTGraph extends GraphBase {
 
 	private HDT hdt;
 	private NodeDictionary nodeDictionary;
+	private PredicateStatistics predicateStatistics;
 	private ReorderTransformation reorderTransform;
 	private long numSearches;
 	private boolean closeAfter;
@@ -72,9 +74,19 @@ public class HDTGraph extends GraphBase {
 	}
 	
 	public HDTGraph(HDT hdt, boolean close) {
+		this(hdt, null, close);
+	}
+
+	/**
+	 * @param hdt the HDT
+	 * @param predicateStatistics precomputed statistics of the HDT used to plan the queries, null to use the triples only
+	 * @param close close the HDT with the graph
+	 */
+	public HDTGraph(HDT hdt, PredicateStatistics predicateStatistics, boolean close) {
 		this.hdt = hdt;
 		this.nodeDictionary = new NodeDictionary(hdt.getDictionary());
-		HDTStatistics hdtStatistics = new HDTStatistics(this);	// Must go after NodeDictionary created.
+		this.predicateStatistics = predicateStatistics;
+		HDTStatistics hdtStatistics = new HDTStatistics(this, predicateStatistics);	// Must go after NodeDictionary created.
 		this.reorderTransform = new ReorderTransformationHDT(this, hdtStatistics);  // Must go after Dict and Stats
 		this.closeAfter = close;
 	}
@@ -86,6 +98,13 @@ public class HDTGraph extends GraphBase {
 	public NodeDictionary getNodeDictionary() {
 		return nodeDictionary;
 	}
+
+	/**
+	 * @return the precomputed statistics used to plan the queries, null if the triples are used
+	 */
+	public PredicateStatistics getPredicateStatistics() {
+		return predicateStatistics;
+	}
 	
 	/* (non-Javadoc)
 	 * @see com.hp.hpl.jena.graph.impl.GraphBase#graphBaseFind(com.hp.hpl.jena.graph.TripleMatch)
@@ -38,6 +38,7 @@ import org.apache.jena.rdf.model.Resource;
 import org.apache.jena.sparql.util.graph.GraphUtils;
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.triples.impl.PredicateStatistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -62,6 +63,7 @@ public class HDTGraphAssembler extends AssemblerBase implements Assembler {
 	{
 		String file = GraphUtils.getStringValue(root, HDTJenaConstants.pFileName) ;
 		boolean loadInMemory = Boolean.parseBoolean(GraphUtils.getStringValue(root, HDTJenaConstants.pKeepInMemory));
+		boolean predicateStatistics = Boolean.parseBoolean(GraphUtils.getStringValue(root, HDTJenaConstants.pPredicateStatistics));
 		try {
 			// FIXME: Read more properties. Cache config?
 			HDT hdt;
@@ -70,7 +72,12 @@ public class HDTGraphAssembler extends AssemblerBase implements Assembler {
 			} else {
 				hdt = HDTManager.mapIndexedHDT(file, null);
 			}
-			HDTGraph graph = new HDTGraph(hdt);
+			HDTGraph graph;
+			if(predicateStatistics) {
+				graph = new HDTGraph(hdt, PredicateStatistics.loadOrCreate(hdt, file, null), false);
+			} else {
+				graph = new HDTGraph(hdt);
+			}
 			return ModelFactory.createModelForGraph(graph);
 		} catch (IOException e) {
 			log.error("Error reading HDT file: {}", file, e);
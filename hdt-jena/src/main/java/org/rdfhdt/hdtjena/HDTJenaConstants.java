@@ -39,9 +39,19 @@ public class HDTJenaConstants {
 	public static final Property pCacheSize = ResourceFactory.createProperty(HDTJENA_NS+"cacheSize");
 	public static final Property pCacheSizeNodeToID = ResourceFactory.createProperty(HDTJENA_NS+"cacheSizeNodeToID");
 	public static final Property pCacheSizeIDToNode = ResourceFactory.createProperty(HDTJENA_NS+"cacheSizeIDToNode");
+	/** "true" to plan the queries with the predicate statistics file of the HDT, generated if it doesn't exist */
+	public static final Property pPredicateStatistics = ResourceFactory.createProperty(HDTJENA_NS+"predicateStatistics");
 	
 	public static final Symbol REMOVE_DUPLICATES = Symbol.create(HDTJENA_NS+"removeDuplicates");
 	public static final Symbol FILTER_SYMBOL = Symbol.create(HDTJENA_NS+"filter");
+	/** Use the literal value indexes of the dictionary to evaluate the numeric and date range filters, disabled by default */
+	public static final Symbol VALUE_FILTER_PUSHDOWN = Symbol.create(HDTJENA_NS+"valueFilterPushdown");
+	/** Maximum number of object IDs of a value range pushed to the dictionary, the wider ranges are only evaluated by the filter, 1000000 by default */
+	public static final Symbol VALUE_FILTER_PUSHDOWN_MAX_IDS = Symbol.create(HDTJENA_NS+"valueFilterPushdownMaxIds");
+	/** {@link java.util.concurrent.atomic.AtomicLong} set in the context of a query, incremented for each value range pushed to the dictionary */
+	public static final Symbol VALUE_FILTER_PUSHDOWN_COUNTER = Symbol.create(HDTJENA_NS+"valueFilterPushdownCounter");
+	/** {@link java.util.concurrent.atomic.AtomicLong} set in the context of a query, incremented for each hash join of the query */
+	public static final Symbol HASH_JOIN_COUNTER = Symbol.create(HDTJENA_NS+"hashJoinCounter");
 	
 	private HDTJenaConstants() {}
 }
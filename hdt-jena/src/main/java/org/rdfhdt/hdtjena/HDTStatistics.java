@@ -27,12 +27,11 @@
 package org.rdfhdt.hdtjena;
 
 import org.apache.jena.graph.Node;
-import org.rdfhdt.hdt.compact.sequence.Sequence;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdt.hdt.HDT;
-import org.rdfhdt.hdt.triples.IteratorTripleID;
 import org.rdfhdt.hdt.triples.TripleID;
 import org.rdfhdt.hdt.triples.impl.BitmapTriples;
+import org.rdfhdt.hdt.triples.impl.PredicateStatistics;
 
 
 /**
@@ -43,13 +42,38 @@ public class HDTStatistics {
 
 	private final NodeDictionary nodeDictionary;
 	private final HDT hdt;
+	private final PredicateStatistics predicateStatistics;
 	
 	/**
 	 * 
 	 */
 	public HDTStatistics(HDTGraph graph) {
+		this(graph, null);
+	}
+
+	/**
+	 * @param graph the graph
+	 * @param predicateStatistics precomputed statistics of the predicates of the HDT, null if not available
+	 */
+	public HDTStatistics(HDTGraph graph, PredicateStatistics predicateStatistics) {
 		this.nodeDictionary = graph.getNodeDictionary();
 		this.hdt = graph.getHDT();
+		this.predicateStatistics = predicateStatistics;
+	}
+
+	/**
+	 * @return the precomputed statistics of the predicates, null if not available
+	 */
+	public PredicateStatistics getPredicateStatistics() {
+		return predicateStatistics;
+	}
+
+	/**
+	 * @param predicate predicate node
+	 * @return id of the predicate, 0 for a variable, -1 if it is not in the dataset
+	 */
+	public long getPredicateID(Node predicate) {
+		return nodeDictionary.getIntID(predicate, TripleComponentRole.PREDICATE);
 	}
 
 	public long getNumberOfMatches(Node subject, Node predicate, Node object) {
@@ -70,28 +94,25 @@ public class HDTStatistics {
 				return 0;
 			}
 
-			// FIMXE: No index on ?P?, avoid creating the iterator. Dirty hack.
-			if(p>0 && s==0 && o==0 && (triples instanceof BitmapTriples)) {
-				Sequence predCount = ((BitmapTriples)triples).getPredicateCount();
-				if(predCount!=null) {
-					return predCount.get(p-1);
-				} else {
-					// We don't know, rough estimation.
-					long pred = hdt.getDictionary().getNpredicates();
-					if(pred>0) {
-						return triples.getNumberOfElements()/pred;
-					} else {
-						return triples.getNumberOfElements();
-					}
-				}	
-			}
-			
 			if(s==0 && o!=0 && triples.getIndexZ()==null) {
+				// No index on ??O and ?PO, avoid iterating over the triples.
+				if(p!=0 && predicateStatistics!=null) {
+					return predicateStatistics.estimateObjectCount(p, o);
+				}
 				return triples.getNumberOfElements();
 			}
 
-			IteratorTripleID it = triples.search(new TripleID(s, p, o));
-			return it.estimatedNumResults();
+			if(p>0 && s==0 && o==0) {
+				if(predicateStatistics!=null) {
+					return predicateStatistics.getCount(p);
+				}
+				if(!triples.isTriplesByYComputed()) {
+					// The exact count needs a pass over the triples, use the estimation while planning.
+					return triples.search(new TripleID(s, p, o)).estimatedNumResults();
+				}
+			}
+
+			return triples.count(new TripleID(s, p, o));
 		} catch (Exception e) {
 			// Something went wrong. Worst case estimation instead of crashing.
 			return Long.MAX_VALUE;
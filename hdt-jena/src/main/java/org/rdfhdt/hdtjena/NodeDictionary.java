@@ -39,6 +39,15 @@ import org.rdfhdt.hdt.cache.DictionaryCache;
 import org.rdfhdt.hdt.cache.DictionaryCacheArray;
 import org.rdfhdt.hdt.cache.DictionaryCacheLRI;
 import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.DictionarySection;
+import org.rdfhdt.hdt.dictionary.DictionarySectionPrivate;
+import org.rdfhdt.hdt.dictionary.impl.DictionaryPFCOptimizedExtractor;
+import org.rdfhdt.hdt.dictionary.impl.FourSectionDictionary;
+import org.rdfhdt.hdt.dictionary.impl.MultDictionaryPFCOptimizedExtractor;
+import org.rdfhdt.hdt.dictionary.impl.MultipleSectionDictionary;
+import org.rdfhdt.hdt.dictionary.impl.OptimizedExtractor;
+import org.rdfhdt.hdt.dictionary.impl.section.DictionarySectionCacheShared;
+import org.rdfhdt.hdt.dictionary.impl.section.PFCDictionarySectionMap;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdt.rdf.parsers.JenaNodeCreator;
 import org.rdfhdt.hdt.rdf.parsers.JenaNodeFormatter;
@@ -109,25 +118,67 @@ public class NodeDictionary {
 	}
 	
 	public Node getNode(long l, TripleComponentRole role) {
-		// FIXME: This won't work for files with >2B Entries
-		Node node = cacheIDtoNode[role.ordinal()].get((int) l);
+		Node node = cacheIDtoNode[role.ordinal()].get(l);
 		if(node==null) {
-			CharSequence str = dictionary.idToString(l, role);
-			char firstChar = str.charAt(0);
-			
-			if(firstChar=='_') {
-				node = JenaNodeCreator.createAnon(str.toString());
-			} else if(firstChar=='"') {
-				node = JenaNodeCreator.createLiteral(str.toString());
-			} else {
-				node = JenaNodeCreator.createURI(str.toString());
-			}
-			
-			cacheIDtoNode[role.ordinal()].put((int) l, node);
+			node = createNode(dictionary.idToString(l, role));
+			cacheIDtoNode[role.ordinal()].put(l, node);
 		}
 		
 		return node;
 	}
+
+	/**
+	 * Same as {@link #getNode(long, TripleComponentRole)}, but reading the strings missing in the cache with
+	 * an extractor of {@link #createExtractor()}.
+	 */
+	public Node getNode(long l, TripleComponentRole role, OptimizedExtractor extractor) {
+		Node node = cacheIDtoNode[role.ordinal()].get(l);
+		if(node==null) {
+			node = createNode(extractor.idToString(l, role));
+			cacheIDtoNode[role.ordinal()].put(l, node);
+		}
+
+		return node;
+	}
+
+	private static Node createNode(CharSequence str) {
+		char firstChar = str.charAt(0);
+
+		if(firstChar=='_') {
+			return JenaNodeCreator.createAnon(str.toString());
+		} else if(firstChar=='"') {
+			return JenaNodeCreator.createLiteral(str.toString());
+		} else {
+			return JenaNodeCreator.createURI(str.toString());
+		}
+	}
+
+	/**
+	 * Create an extractor translating the ids with sequential reads of the blocks of the mapped sections, it
+	 * is efficient when the ids of a role are requested in ascending order. The extractor keeps state and
+	 * must only be used by one thread.
+	 * 
+	 * @return the extractor, reading from the dictionary if the sections aren't mapped
+	 */
+	public OptimizedExtractor createExtractor() {
+		if(dictionary.getClass()==FourSectionDictionary.class
+				&& isMapped(dictionary.getShared()) && isMapped(dictionary.getSubjects())
+				&& isMapped(dictionary.getPredicates()) && isMapped(dictionary.getObjects())) {
+			return new DictionaryPFCOptimizedExtractor((FourSectionDictionary) dictionary);
+		}
+		if(dictionary.getClass()==MultipleSectionDictionary.class
+				&& isMapped(dictionary.getShared()) && isMapped(dictionary.getSubjects())
+				&& isMapped(dictionary.getPredicates())
+				&& dictionary.getAllObjects().values().stream().allMatch(NodeDictionary::isMapped)) {
+			return new MultDictionaryPFCOptimizedExtractor((MultipleSectionDictionary) dictionary);
+		}
+		return dictionary::idToString;
+	}
+
+	private static boolean isMapped(DictionarySection section) {
+		return section instanceof DictionarySectionPrivate
+				&& DictionarySectionCacheShared.unwrap((DictionarySectionPrivate) section) instanceof PFCDictionarySectionMap;
+	}
 	
 	public long getIntID(Node node, TripleComponentRole role) {
 		return getIntID(nodeToStr(node), role);
@@ -140,7 +191,7 @@ public class NodeDictionary {
 	public long getIntID(String str, TripleComponentRole role) {
 		Long intValue = cacheNodeToId[role.ordinal()].get(str);
 		if(intValue!=null) {
-			return intValue.intValue();
+			return intValue;
 		}
 		
 		long val = dictionary.stringToId(str, role);
@@ -52,6 +52,20 @@ public class HDTId {
 		return node;
 	}
 
+	/**
+	 * @return true if the Node is already known, so {@link #getNode()} won't use the dictionary
+	 */
+	public boolean hasNode() {
+		return node != null;
+	}
+
+	/**
+	 * Set the Node of this id, used to translate the ids in batches.
+	 */
+	public void setNode(Node node) {
+		this.node = node;
+	}
+
 	public boolean exists() {
 		return id != -1;
 	}
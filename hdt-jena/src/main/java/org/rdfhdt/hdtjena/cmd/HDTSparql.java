@@ -3,6 +3,7 @@ package org.rdfhdt.hdtjena.cmd;
 
 import org.rdfhdt.hdt.hdt.HDT;
 import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.triples.impl.PredicateStatistics;
 import org.rdfhdt.hdtjena.HDTGraph;
 
 import com.beust.jcommander.JCommander;
@@ -41,6 +42,9 @@ public class HDTSparql {
 	@Parameter(names="--stream", description="Output CONSTRUCT/DESCRIBE query results directly as they are generated")
 	public boolean streamMode = false;
 
+	@Parameter(names="--stats", description="Plan the query with the predicate statistics file of the HDT, generated if it doesn't exist")
+	public boolean predicateStatistics = false;
+
 	public String fileHDT;
 	public String sparqlQuery;
 
@@ -52,7 +56,12 @@ public class HDTSparql {
 
 		try {
 			// Create Jena wrapper on top of HDT.
-			HDTGraph graph = new HDTGraph(hdt);
+			HDTGraph graph;
+			if (predicateStatistics) {
+				graph = new HDTGraph(hdt, PredicateStatistics.loadOrCreate(hdt, fileHDT, null), false);
+			} else {
+				graph = new HDTGraph(hdt);
+			}
 			Model model = ModelFactory.createModelForGraph(graph);
 
 			// Use Jena ARQ to execute the query.
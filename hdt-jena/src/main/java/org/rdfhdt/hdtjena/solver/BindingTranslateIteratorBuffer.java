@@ -0,0 +1,115 @@
+package org.rdfhdt.hdtjena.solver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.apache.jena.graph.Node;
+import org.apache.jena.sparql.core.Var;
+import org.rdfhdt.hdt.dictionary.impl.OptimizedExtractor;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdtjena.NodeDictionary;
+import org.rdfhdt.hdtjena.bindings.BindingHDTId;
+import org.rdfhdt.hdtjena.bindings.HDTId;
+
+/**
+ * Iterator resolving the Nodes of the bindings in blocks, like the DictionaryTranslateIteratorBuffer of
+ * HDT.search(). The ids of a block are grouped by role and sorted, so the strings are read with sequential
+ * reads of the dictionary blocks instead of a random decode per value.
+ * <p>
+ * Only the variables in the given set are translated, the others keep resolving their Node when needed.
+ * The blocks start small and grow up to the maximum size, so a query stopping after a few results doesn't
+ * evaluate a full block.
+ */
+public class BindingTranslateIteratorBuffer implements Iterator<BindingHDTId> {
+	public static final int DEFAULT_BLOCK_SIZE = 10000;
+	private static final int FIRST_BLOCK_SIZE = 16;
+	private static final Comparator<HDTId> ID_COMPARATOR = Comparator.comparingLong(HDTId::getValue);
+
+	private final Iterator<BindingHDTId> input;
+	private final NodeDictionary dictionary;
+	private final Collection<Var> vars;
+	private final int maxBlockSize;
+	private final List<List<HDTId>> idsByRole = new ArrayList<>();
+	private OptimizedExtractor extractor;
+	private int blockSize = FIRST_BLOCK_SIZE;
+	private final List<BindingHDTId> block = new ArrayList<>();
+	private Iterator<BindingHDTId> child = Collections.emptyIterator();
+
+	/**
+	 * @param input      the bindings
+	 * @param dictionary dictionary of the ids to translate
+	 * @param vars       variables to translate, null for all of them
+	 */
+	public BindingTranslateIteratorBuffer(Iterator<BindingHDTId> input, NodeDictionary dictionary, Collection<Var> vars) {
+		this(input, dictionary, vars, DEFAULT_BLOCK_SIZE);
+	}
+
+	public BindingTranslateIteratorBuffer(Iterator<BindingHDTId> input, NodeDictionary dictionary, Collection<Var> vars, int maxBlockSize) {
+		this.input = input;
+		this.dictionary = dictionary;
+		this.vars = vars;
+		this.maxBlockSize = Math.max(1, maxBlockSize);
+		for (int i = 0; i < TripleComponentRole.values().length; i++) {
+			idsByRole.add(new ArrayList<>());
+		}
+	}
+
+	private void fetchBlock() {
+		block.clear();
+		for (int i = 0; i < blockSize && input.hasNext(); i++) {
+			BindingHDTId binding = input.next();
+			block.add(binding);
+			for (Var var : binding) {
+				if (vars != null && !vars.contains(var)) {
+					continue;
+				}
+				HDTId id = binding.get(var);
+				if (id != null && id.exists() && id.getRole() != null && !id.hasNode() && id.getDictionary() == dictionary) {
+					idsByRole.get(id.getRole().ordinal()).add(id);
+				}
+			}
+		}
+		blockSize = Math.min(maxBlockSize, blockSize * 2);
+
+		if (extractor == null) {
+			extractor = dictionary.createExtractor();
+		}
+		for (TripleComponentRole role : TripleComponentRole.values()) {
+			List<HDTId> ids = idsByRole.get(role.ordinal());
+			ids.sort(ID_COMPARATOR);
+
+			long last = -1;
+			Node lastNode = null;
+			for (HDTId id : ids) {
+				if (id.getValue() != last) {
+					last = id.getValue();
+					lastNode = dictionary.getNode(last, role, extractor);
+				}
+				id.setNode(lastNode);
+			}
+			ids.clear();
+		}
+		child = block.iterator();
+	}
+
+	@Override
+	public boolean hasNext() {
+		return child.hasNext() || input.hasNext();
+	}
+
+	@Override
+	public BindingHDTId next() {
+		if (!child.hasNext()) {
+			if (!input.hasNext()) {
+				throw new NoSuchElementException();
+			}
+			fetchBlock();
+		}
+		return child.next();
+	}
+}
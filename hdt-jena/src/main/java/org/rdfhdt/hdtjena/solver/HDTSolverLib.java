@@ -27,7 +27,9 @@
 package org.rdfhdt.hdtjena.solver;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -38,14 +40,18 @@ import org.apache.jena.atlas.iterator.Iter;
 import org.apache.jena.atlas.lib.tuple.Tuple;
 import org.apache.jena.graph.Node;
 import org.apache.jena.graph.Triple;
+import org.apache.jena.query.Query;
 import org.apache.jena.shared.PrefixMapping;
+import org.apache.jena.sparql.ARQConstants;
 import org.apache.jena.sparql.core.BasicPattern;
 import org.apache.jena.sparql.core.Var;
 import org.apache.jena.sparql.engine.ExecutionContext;
 import org.apache.jena.sparql.engine.QueryIterator;
 import org.apache.jena.sparql.engine.binding.Binding;
+import org.apache.jena.sparql.expr.ExprList;
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdtjena.HDTGraph;
+import org.rdfhdt.hdtjena.HDTJenaConstants;
 import org.rdfhdt.hdtjena.NodeDictionary;
 import org.rdfhdt.hdtjena.bindings.BindingHDTId;
 import org.rdfhdt.hdtjena.bindings.BindingHDTNode;
@@ -61,6 +67,16 @@ public class HDTSolverLib
 	
     protected static QueryIterator execute(HDTGraph graph, BasicPattern pattern, QueryIterator input,
     										Predicate<Tuple<HDTId>> filter, ExecutionContext execCxt)
+    {
+        return execute(graph, pattern, input, filter, null, execCxt);
+    }
+
+    /**
+     * execute a BGP, the expressions of the filter of the BGP are only used to select the triples, the
+     * filter still has to be evaluated on the results
+     */
+    protected static QueryIterator execute(HDTGraph graph, BasicPattern pattern, QueryIterator input,
+    										Predicate<Tuple<HDTId>> filter, ExprList exprs, ExecutionContext execCxt)
     {
     	numBGPs++;
     	
@@ -77,12 +93,18 @@ public class HDTSolverLib
         	addVarAppearance(mapVar, triplePattern.getObject(), TripleComponentRole.OBJECT);
         }
 
+        if ( exprs != null && execCxt.getContext().isTrue(HDTJenaConstants.VALUE_FILTER_PUSHDOWN) )
+            ValueFilterPushdown.apply(graph.getHDT().getDictionary(), exprs, mapVar, execCxt) ;
+
         for ( Triple triplePattern : pattern )
         {
             chain = solve(graph, triplePattern, chain, filter, mapVar, execCxt) ;
             chain = IterAbortable.makeAbortable(chain, killList) ; 
         }
         
+        // Resolve the Nodes of the results in sorted blocks.
+        chain = new BindingTranslateIteratorBuffer(chain, graph.getNodeDictionary(), getResultVars(execCxt)) ;
+
         // Need to make sure the bindings here point to parent.
         Iterator<Binding> iterBinding = Iter.map(chain, HDTSolverLib::convToBinding) ;
         
@@ -92,6 +114,15 @@ public class HDTSolverLib
     }
     
 
+    /** @return the variables read from the results of the query, null if unknown */
+    private static Collection<Var> getResultVars(ExecutionContext execCxt)
+    {
+        Query query = (Query) execCxt.getContext().get(ARQConstants.sysCurrentQuery) ;
+        if ( query == null || !query.isSelectType() || query.isQueryResultStar() )
+            return null ;
+        return new HashSet<>(query.getProjectVars()) ;
+    }
+
      private static void addVarAppearance(Map<Var, VarAppearance> mapVar, Node node, TripleComponentRole role) {
     	 if(node.isVariable()) {
     		 Var v = NodeDictionary.asVar(node);
@@ -110,7 +141,7 @@ public class HDTSolverLib
     											Predicate<Tuple<HDTId>> filter, Map<Var, VarAppearance> mapVar,
                                                  ExecutionContext execCxt)
     {
-        return new StageMatchTripleID(graph, chain, tuple, execCxt, mapVar) ;
+        return new StageHashJoinTripleID(graph, chain, tuple, execCxt, mapVar) ;
     }
     
 
@@ -46,12 +46,14 @@ import org.apache.jena.sparql.core.BasicPattern;
 import org.apache.jena.sparql.core.Substitute;
 import org.apache.jena.sparql.engine.ExecutionContext;
 import org.apache.jena.sparql.engine.QueryIterator;
+import org.apache.jena.sparql.engine.iterator.QueryIterFilterExpr;
 import org.apache.jena.sparql.engine.iterator.QueryIterPeek;
 import org.apache.jena.sparql.engine.main.OpExecutor;
 import org.apache.jena.sparql.engine.main.OpExecutorFactory;
 import org.apache.jena.sparql.engine.main.QC;
 import org.apache.jena.sparql.engine.optimizer.reorder.ReorderProc;
 import org.apache.jena.sparql.engine.optimizer.reorder.ReorderTransformation;
+import org.apache.jena.sparql.expr.Expr;
 import org.apache.jena.sparql.expr.ExprList;
 import org.apache.jena.sparql.mgt.Explain;
 
@@ -238,6 +240,24 @@ public class OpExecutorHDT extends OpExecutor {
             Log.warn(this, "Non-HDTGraph passed to OpExecutorPlainHDT") ;
             return super.execute(opBGP, input) ;
         }
+
+        @Override
+        protected QueryIterator execute(OpFilter opFilter, QueryIterator input)
+        {
+            Graph g = execCxt.getActiveGraph() ;
+
+            if ( !(g instanceof HDTGraph) || !OpBGP.isBGP(opFilter.getSubOp())
+                    || !execCxt.getContext().isTrue(HDTJenaConstants.VALUE_FILTER_PUSHDOWN) )
+                return super.execute(opFilter, input) ;
+
+            // (filter (bgp ...)), the expressions can select the triples of the BGP
+            BasicPattern bgp = ((OpBGP)opFilter.getSubOp()).getPattern() ;
+            Explain.explain("Execute", bgp, execCxt.getContext()) ;
+            QueryIterator qIter = HDTSolverLib.execute((HDTGraph)g, bgp, input, filter, opFilter.getExprs(), execCxt) ;
+            for ( Expr expr : opFilter.getExprs() )
+                qIter = new QueryIterFilterExpr(qIter, expr, execCxt) ;
+            return qIter ;
+        }
     }
     
 }
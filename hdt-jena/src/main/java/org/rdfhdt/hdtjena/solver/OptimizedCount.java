@@ -33,8 +33,6 @@ import org.apache.jena.sparql.syntax.ElementNamedGraph;
 import org.apache.jena.sparql.syntax.ElementPathBlock;
 import org.apache.jena.sparql.util.Context;
 import org.rdfhdt.hdt.dictionary.Dictionary;
-import org.rdfhdt.hdt.enums.ResultEstimationType;
-import org.rdfhdt.hdt.triples.IteratorTripleID;
 import org.rdfhdt.hdt.triples.TripleID;
 import org.rdfhdt.hdtjena.HDTGraph;
 
@@ -214,17 +212,8 @@ public class OptimizedCount {
 				// All results
 				count = hdtg.getHDT().getTriples().getNumberOfElements();
 			} else if(!patternID.isNoMatch()) {
-				// Search triple pattern
-				IteratorTripleID it = hdtg.getHDT().getTriples().search(patternID);
-				if(it.numResultEstimation()==ResultEstimationType.EXACT) {
-					count = it.estimatedNumResults();
-				} else {
-					count = 0;
-					while(it.hasNext()) {
-						it.next();
-						count++;
-					}
-				}
+				// Count triple pattern
+				count = hdtg.getHDT().getTriples().count(patternID);
 			} else {
 				count=0;
 			}
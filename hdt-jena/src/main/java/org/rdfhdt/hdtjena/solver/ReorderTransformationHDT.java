@@ -38,6 +38,7 @@ import org.apache.jena.sparql.engine.optimizer.reorder.ReorderTransformationSubs
 import org.apache.jena.sparql.graph.NodeConst;
 import org.apache.jena.sparql.sse.Item;
 import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.triples.impl.PredicateStatistics;
 import org.rdfhdt.hdtjena.HDTGraph;
 import org.rdfhdt.hdtjena.HDTStatistics;
 
@@ -46,7 +47,9 @@ import org.rdfhdt.hdtjena.HDTStatistics;
  * the dataset. At query optimization phase, when planning index-joins, some variables
  * are known to be bound at some stage, but the actual values are unknown.
  * In this case it uses predefined typical behaviour for RDF, using independent 
- * histograms for S/P/O, inspired by Jena's FixedReorder.
+ * histograms for S/P/O, inspired by Jena's FixedReorder. If the precomputed
+ * {@link PredicateStatistics} are available, the patterns with a known predicate
+ * use the distinct subjects and objects of this predicate instead.
  * 
  * @author mario.arias
  *
@@ -74,11 +77,18 @@ public class ReorderTransformationHDT extends ReorderTransformationSubstitution
 	
 		initializeMatcher();
 				
-		// FIXME: Compute exactly for using the HDT  
+		// Average number of triples by subject/predicate/object
 		Dictionary dict = graph.getHDT().getDictionary();
-		TERM_S = dict.getNsubjects()/Math.max(numTriples, 1);
-		TERM_P = dict.getNpredicates()/Math.max(numTriples, 1);
-		TERM_O = dict.getNobjects()/Math.max(numTriples, 1);
+		TERM_S = average(numTriples, dict.getNsubjects());
+		TERM_P = average(numTriples, dict.getNpredicates());
+		TERM_O = average(numTriples, dict.getNobjects());
+	}
+
+	private static long average(long numTriples, long numValues) {
+		if (numValues <= 0) {
+			return Math.max(numTriples, 1);
+		}
+		return Math.max((numTriples + numValues - 1) / numValues, 1);
 	}
 
     private void initializeMatcher () {
@@ -107,6 +117,12 @@ public class ReorderTransformationHDT extends ReorderTransformationSubstitution
 			return stats.getNumberOfMatches(pt.subject.getNode(), pt.predicate.getNode(), pt.object.getNode());
 		}
 
+		// With a known predicate, use its statistics
+		double w = weightWithPredicateStatistics(pt);
+		if (w >= 0) {
+			return w;
+		}
+
 		// Try on fixed
 		double x = matcher.match(pt);
 		
@@ -159,4 +175,62 @@ public class ReorderTransformationHDT extends ReorderTransformationSubstitution
 
 		return x;
 	}
+
+	/**
+	 * Estimation for a pattern with a constant predicate and a subject or an object bound at this stage,
+	 * using the precomputed statistics of the predicate.
+	 * @return the estimation, -1 if it can't be computed
+	 */
+	private double weightWithPredicateStatistics(PatternTriple pt) {
+		PredicateStatistics predicateStatistics = stats.getPredicateStatistics();
+		if (predicateStatistics == null || !pt.predicate.isNode() || pt.predicate.isVar()) {
+			return -1;
+		}
+		boolean subjectTerm = TERM.equals(pt.subject);
+		boolean objectTerm = TERM.equals(pt.object);
+		if (!subjectTerm && !objectTerm) {
+			return -1;
+		}
+		long p = stats.getPredicateID(pt.predicate.getNode());
+		if (p < 0) {
+			// Not in dataset
+			return 0;
+		}
+		if (p == 0 || p > predicateStatistics.getNumberOfPredicates()) {
+			return -1;
+		}
+
+		long distinctSubjects = predicateStatistics.getDistinctSubjects(p);
+		long distinctObjects = predicateStatistics.getDistinctObjects(p);
+		if (distinctSubjects == 0 || distinctObjects == 0) {
+			return 0;
+		}
+
+		if (subjectTerm && objectTerm) {
+			// S P O: one triple at most
+			return Math.min(1.0, (double) predicateStatistics.getCount(p) / distinctSubjects / distinctObjects);
+		}
+		if (subjectTerm) {
+			if (pt.object.isVar()) {
+				// S P ?
+				return predicateStatistics.getAverageObjectsPerSubject(p);
+			}
+			if (pt.object.isNode()) {
+				// S P O with a known object
+				long matches = stats.getNumberOfMatches(Node.ANY, pt.predicate.getNode(), pt.object.getNode());
+				return Math.min(1.0, (double) matches / distinctSubjects);
+			}
+			return -1;
+		}
+		if (pt.subject.isVar()) {
+			// ? P O
+			return predicateStatistics.getAverageSubjectsPerObject(p);
+		}
+		if (pt.subject.isNode()) {
+			// S P O with a known subject
+			long matches = stats.getNumberOfMatches(pt.subject.getNode(), pt.predicate.getNode(), Node.ANY);
+			return Math.min(1.0, (double) matches / distinctObjects);
+		}
+		return -1;
+	}
 }
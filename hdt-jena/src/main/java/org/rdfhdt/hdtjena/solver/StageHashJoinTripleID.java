@@ -0,0 +1,223 @@
+package org.rdfhdt.hdtjena.solver;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.jena.atlas.iterator.Iter;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.triples.IteratorTripleID;
+import org.rdfhdt.hdt.triples.TripleID;
+import org.rdfhdt.hdt.triples.Triples;
+import org.rdfhdt.hdtjena.HDTGraph;
+import org.rdfhdt.hdtjena.HDTJenaConstants;
+import org.rdfhdt.hdtjena.NodeDictionary;
+import org.rdfhdt.hdtjena.bindings.BindingHDTId;
+import org.rdfhdt.hdtjena.bindings.HDTId;
+import org.rdfhdt.hdtjena.util.VarAppearance;
+
+/**
+ * Join of the input bindings with a triple pattern choosing between an index nested loop join and a hash join
+ * on the HDT ids.
+ * <p>
+ * The nested loop join ({@link StageMatchTripleID}) runs one search per input binding, which is the best choice
+ * for a few bindings, but is very slow when two large patterns are joined. This stage reads the input until the
+ * number of bindings makes the searches more expensive than a single scan of the pattern, the matches of the
+ * pattern are then loaded in a hash table keyed by the ids of the join variables and the input bindings are
+ * probed against it in their original order. If the input ends before, or if the pattern is too big to be kept
+ * in memory, the bindings go to the nested loop join.
+ */
+public class StageHashJoinTripleID implements Iterator<BindingHDTId>
+{
+    /** estimated cost of a search compared to reading one triple of a scan */
+    static final long SEARCH_COST = 32;
+    /** maximum number of triples of the pattern to keep in the hash table */
+    static final long MAX_HASH_SIZE = 1 << 20;
+
+    private static final TripleComponentRole[] ROLES = {
+            TripleComponentRole.SUBJECT, TripleComponentRole.PREDICATE, TripleComponentRole.OBJECT
+    };
+
+    private final Iterator<BindingHDTId> input;
+    private final ExecutionContext execCxt;
+    private final Triples triples;
+    private final NodeDictionary dictionary;
+    private final StageMatchTripleID nestedLoop;
+    // input bindings read to take the decision, consumed before the rest of the input
+    private final ArrayDeque<BindingHDTId> buffer = new ArrayDeque<>();
+
+    private boolean initialized;
+    private Iterator<BindingHDTId> output;
+
+    // Hash join state
+    private Map<TripleID, List<TripleID>> hash;
+    private int joinMask;
+    private Iterator<BindingHDTId> current = Collections.emptyIterator();
+
+    public StageHashJoinTripleID(HDTGraph graph, Iterator<BindingHDTId> input, Triple patternTuple, ExecutionContext execCxt, Map<Var, VarAppearance> mapVar)
+    {
+        this.input = input;
+        this.execCxt = execCxt;
+        this.triples = graph.getHDT().getTriples();
+        this.dictionary = graph.getNodeDictionary();
+
+        Iterator<BindingHDTId> bufferedInput = new Iterator<BindingHDTId>() {
+            @Override
+            public boolean hasNext() {
+                return !buffer.isEmpty() || StageHashJoinTripleID.this.input.hasNext();
+            }
+
+            @Override
+            public BindingHDTId next() {
+                return buffer.isEmpty() ? StageHashJoinTripleID.this.input.next() : buffer.poll();
+            }
+        };
+        this.nestedLoop = new StageMatchTripleID(graph, bufferedInput, patternTuple, execCxt, mapVar);
+    }
+
+    private void init()
+    {
+        initialized = true;
+        output = nestedLoop;
+
+        TripleID pattern = nestedLoop.getConstantPattern();
+        if (pattern.isNoMatch()) {
+            return;
+        }
+        long estimation = triples.search(pattern).estimatedNumResults();
+        if (estimation > MAX_HASH_SIZE) {
+            return;
+        }
+
+        // read the input until the searches cost more than a scan
+        while (buffer.size() * SEARCH_COST < estimation && input.hasNext()) {
+            buffer.add(input.next());
+        }
+        if (buffer.size() * SEARCH_COST < estimation || buffer.isEmpty()) {
+            return;
+        }
+
+        // the join variables are the variables of the pattern bound by the input
+        BindingHDTId first = buffer.peek();
+        for (int i = 0; i < 3; i++) {
+            Var var = nestedLoop.getVar(i);
+            if (var != null && first.containsKey(var)) {
+                joinMask |= 1 << i;
+            }
+        }
+
+        hash = buildHash(pattern);
+        if (hash != null) {
+            Object counter = execCxt.getContext().get(HDTJenaConstants.HASH_JOIN_COUNTER);
+            if (counter instanceof AtomicLong) {
+                ((AtomicLong) counter).incrementAndGet();
+            }
+            output = null;
+        }
+    }
+
+    /**
+     * @return the matches of the pattern by join key, null if there are too many of them
+     */
+    private Map<TripleID, List<TripleID>> buildHash(TripleID pattern)
+    {
+        Map<TripleID, List<TripleID>> map = new HashMap<>();
+        IteratorTripleID it = triples.search(pattern);
+        long count = 0;
+        while (it.hasNext()) {
+            TripleID triple = it.next();
+            if (!nestedLoop.isValid(triple)) {
+                continue;
+            }
+            if (++count > MAX_HASH_SIZE) {
+                // the estimation was wrong
+                return null;
+            }
+            TripleID copy = new TripleID(triple);
+            map.computeIfAbsent(
+                    new TripleID(
+                            (joinMask & 1) != 0 ? copy.getSubject() : 0,
+                            (joinMask & 2) != 0 ? copy.getPredicate() : 0,
+                            (joinMask & 4) != 0 ? copy.getObject() : 0
+                    ),
+                    k -> new ArrayList<>(1)
+            ).add(copy);
+        }
+        return map;
+    }
+
+    /**
+     * @return the matches of a binding, using the nested loop join if it doesn't bind the join variables
+     */
+    private Iterator<BindingHDTId> probe(BindingHDTId binding)
+    {
+        long[] key = new long[3];
+        int mask = 0;
+        for (int i = 0; i < 3; i++) {
+            Var var = nestedLoop.getVar(i);
+            if (var == null) {
+                continue;
+            }
+            HDTId id = binding.get(var);
+            if (id == null) {
+                continue;
+            }
+            mask |= 1 << i;
+            key[i] = NodeDictionary.translate(dictionary, id, ROLES[i]);
+            if (key[i] == -1) {
+                // not in this dictionary, no match
+                return Collections.emptyIterator();
+            }
+        }
+        if (mask != joinMask) {
+            return nestedLoop.makeNextStage(binding);
+        }
+
+        List<TripleID> matches = hash.get(new TripleID(key[0], key[1], key[2]));
+        if (matches == null) {
+            return Collections.emptyIterator();
+        }
+        return Iter.iter(matches.iterator()).map(triple -> nestedLoop.bind(binding, triple)).removeNulls();
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+        if (!initialized) {
+            init();
+        }
+        if (output != null) {
+            return output.hasNext();
+        }
+        while (!current.hasNext()) {
+            BindingHDTId binding;
+            if (!buffer.isEmpty()) {
+                binding = buffer.poll();
+            } else if (input.hasNext()) {
+                binding = input.next();
+            } else {
+                return false;
+            }
+            current = probe(binding);
+        }
+        return true;
+    }
+
+    @Override
+    public BindingHDTId next()
+    {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return output != null ? output.next() : current.next();
+    }
+}
@@ -28,8 +28,7 @@ package org.rdfhdt.hdtjena.solver;
 
 import java.util.Iterator;
 import java.util.Map;
-import java.util.function.Function;
-import java.util.function.Predicate;
+import java.util.function.LongPredicate;
 
 import org.apache.jena.atlas.iterator.Iter;
 
@@ -61,6 +60,8 @@ public class StageMatchTripleID extends RepeatApplyIterator<BindingHDTId>
     private final NodeDictionary dictionary ;
     private final Triples triples;
     private final TripleID patternID;
+    // Pattern with only the constants of the triple pattern
+    private final TripleID constantPatternID;
     
     private final PrefixMapping prefixMap;
     
@@ -68,6 +69,8 @@ public class StageMatchTripleID extends RepeatApplyIterator<BindingHDTId>
     private final Var[] var = new Var[3];
     private final boolean[] varIsSO = new boolean[3];
     private final long numSharedSO;
+    // Object IDs allowed by the filters of the pattern, null if any
+    private final LongPredicate objectFilter;
     
     public StageMatchTripleID(HDTGraph graph, Iterator<BindingHDTId> input, Triple patternTuple, ExecutionContext execCxt, Map<Var, VarAppearance> mapVar)
     {
@@ -102,7 +105,9 @@ public class StageMatchTripleID extends RepeatApplyIterator<BindingHDTId>
         	var[2] = NodeDictionary.asVar(objectNode);
         	varIsSO[2] = mapVar.get(var[2]).isSubjectObject();
         }
+        this.objectFilter = var[2] != null ? mapVar.get(var[2]).getObjectFilter() : null;
         this.patternID = new TripleID(subject,predicate,object);
+        this.constantPatternID = new TripleID(subject,predicate,object);
     }
     
     @Override
@@ -136,49 +141,67 @@ public class StageMatchTripleID extends RepeatApplyIterator<BindingHDTId>
  
 //      // FIXME: Allow a filter here.     
         
-        // Filter triples where S or O need to be shared.
-        if(varIsSO[0] || varIsSO[2]) {
-           	it = it.filter(new Predicate<TripleID>() {
-				@Override
-				public boolean test(TripleID t) {
-    				if(varIsSO[0] && t.getSubject()>numSharedSO) {
-    					return false;
-    				}
-    				if(varIsSO[2] && t.getObject()>numSharedSO) {
-    					return false;
-    				}
-    				return true;
-				}
-			});
+        // Filter triples where S or O need to be shared or where O is out of the filter ranges.
+        if(varIsSO[0] || varIsSO[2] || objectFilter!=null) {
+           	it = it.filter(this::isValid);
         }
         
-        
         // Map TripleID to BindingHDTId
-        Function<TripleID, BindingHDTId> binder = new Function<TripleID, BindingHDTId>()
-        {
-            @Override
-            public BindingHDTId apply(TripleID triple)
-            {
-                BindingHDTId output = new BindingHDTId(input) ;
-
-                if (var[0] != null && !insert(var[0], new HDTId(triple.getSubject(), TripleComponentRole.SUBJECT, dictionary), output)) {
-                    return null;
-                }
-                if (var[1] != null && !insert(var[1], new HDTId(triple.getPredicate(), TripleComponentRole.PREDICATE, dictionary), output)) {
-                    return null;
-                }
-                if (var[2] != null && !insert(var[2], new HDTId(triple.getObject(), TripleComponentRole.OBJECT, dictionary), output)) {
-                    return null;
-                }
-
-                return output;
-            }
-        };
-        
-        return it.map(binder).removeNulls();
+        return it.map(triple -> bind(input, triple)).removeNulls();
+    }
+
+    /**
+     * @return false if the triple binds a variable used as subject and object to a non shared id or if its
+     * object isn't allowed by the filters of the pattern
+     */
+    boolean isValid(TripleID t) {
+        if(objectFilter!=null && !objectFilter.test(t.getObject())) {
+            return false;
+        }
+        if(varIsSO[0] && t.getSubject()>numSharedSO) {
+            return false;
+        }
+        if(varIsSO[2] && t.getObject()>numSharedSO) {
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Map a TripleID to a BindingHDTId extending the input
+     * @return the binding, null if the triple is not compatible with the input
+     */
+    BindingHDTId bind(BindingHDTId input, TripleID triple) {
+        BindingHDTId output = new BindingHDTId(input) ;
+
+        if (var[0] != null && !insert(var[0], new HDTId(triple.getSubject(), TripleComponentRole.SUBJECT, dictionary), output)) {
+            return null;
+        }
+        if (var[1] != null && !insert(var[1], new HDTId(triple.getPredicate(), TripleComponentRole.PREDICATE, dictionary), output)) {
+            return null;
+        }
+        if (var[2] != null && !insert(var[2], new HDTId(triple.getObject(), TripleComponentRole.OBJECT, dictionary), output)) {
+            return null;
+        }
+
+        return output;
+    }
+
+    /**
+     * @return the variable of a position of the pattern (0=subject, 1=predicate, 2=object), null for a constant
+     */
+    Var getVar(int position) {
+        return var[position];
+    }
+
+    /**
+     * @return the pattern with the constants of the triple pattern and 0 for the variables
+     */
+    TripleID getConstantPattern() {
+        return constantPatternID;
     }
 
-    private static long translateBinding(BindingHDTId input, Var var, NodeDictionary dictionary, TripleComponentRole role) {
+    static long translateBinding(BindingHDTId input, Var var, NodeDictionary dictionary, TripleComponentRole role) {
         HDTId id = input.get(var);
         if (id == null) {
             return 0;  // match all
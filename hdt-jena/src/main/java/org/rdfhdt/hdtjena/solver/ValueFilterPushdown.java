@@ -0,0 +1,245 @@
+package org.rdfhdt.hdtjena.solver;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.sparql.engine.ExecutionContext;
+import org.apache.jena.sparql.expr.E_Equals;
+import org.apache.jena.sparql.expr.E_GreaterThan;
+import org.apache.jena.sparql.expr.E_GreaterThanOrEqual;
+import org.apache.jena.sparql.expr.E_LessThan;
+import org.apache.jena.sparql.expr.E_LessThanOrEqual;
+import org.apache.jena.sparql.expr.E_LogicalAnd;
+import org.apache.jena.sparql.expr.Expr;
+import org.apache.jena.sparql.expr.ExprFunction2;
+import org.apache.jena.sparql.expr.ExprList;
+import org.apache.jena.sparql.expr.NodeValue;
+import org.rdfhdt.hdt.dictionary.Dictionary;
+import org.rdfhdt.hdt.dictionary.impl.LiteralValueIndex;
+import org.rdfhdt.hdt.dictionary.impl.MultipleBaseDictionary;
+import org.rdfhdt.hdtjena.HDTJenaConstants;
+import org.rdfhdt.hdtjena.util.VarAppearance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Push the comparisons of an object variable with a numeric or date constant of a filter to the literal value
+ * indexes of a {@link MultipleBaseDictionary}, the triples with an object out of the range are then removed
+ * before decoding the objects to evaluate the filter.
+ * <p>
+ * The filter is still evaluated on the results, the ID sets only have to contain the matching literals.
+ *
+ * @see HDTJenaConstants#VALUE_FILTER_PUSHDOWN
+ */
+public class ValueFilterPushdown
+{
+    private static final Logger log = LoggerFactory.getLogger(ValueFilterPushdown.class);
+    /** default maximum number of object IDs of a pushed range, 8MB of IDs */
+    public static final long DEFAULT_MAX_IDS = 1_000_000;
+
+    private ValueFilterPushdown() {}
+
+    /** Range of values of a variable */
+    private static class Range
+    {
+        final LiteralValueIndex.ValueType type;
+        NodeValue min, max;
+        boolean minInclusive, maxInclusive;
+
+        Range(LiteralValueIndex.ValueType type)
+        {
+            this.type = type;
+        }
+
+        void setMin(NodeValue value, boolean inclusive)
+        {
+            int cmp = min == null ? 1 : NodeValue.compare(value, min);
+            if (cmp > 0 || (cmp == 0 && !inclusive)) {
+                min = value;
+                minInclusive = inclusive;
+            }
+        }
+
+        void setMax(NodeValue value, boolean inclusive)
+        {
+            int cmp = max == null ? -1 : NodeValue.compare(value, max);
+            if (cmp < 0 || (cmp == 0 && !inclusive)) {
+                max = value;
+                maxInclusive = inclusive;
+            }
+        }
+    }
+
+    /**
+     * add to the variables the object filters of the comparisons of the expressions
+     *
+     * @param dictionary the dictionary of the graph, nothing is done if it doesn't have value indexes
+     * @param exprs      the expressions of the filter of the pattern
+     * @param mapVar     the variables of the pattern
+     * @param execCxt    the execution context, with an optional {@link HDTJenaConstants#VALUE_FILTER_PUSHDOWN_COUNTER}
+     *                   and {@link HDTJenaConstants#VALUE_FILTER_PUSHDOWN_MAX_IDS}
+     */
+    public static void apply(Dictionary dictionary, ExprList exprs, Map<Var, VarAppearance> mapVar, ExecutionContext execCxt)
+    {
+        if (exprs == null || !(dictionary instanceof MultipleBaseDictionary)) {
+            return;
+        }
+        Map<Var, List<Range>> ranges = new HashMap<>();
+        for (Expr expr : exprs) {
+            addRanges(expr, mapVar, ranges);
+        }
+
+        MultipleBaseDictionary dict = (MultipleBaseDictionary) dictionary;
+        Object counter = execCxt.getContext().get(HDTJenaConstants.VALUE_FILTER_PUSHDOWN_COUNTER);
+        long maxIds = execCxt.getContext().getLong(HDTJenaConstants.VALUE_FILTER_PUSHDOWN_MAX_IDS, DEFAULT_MAX_IDS);
+        for (Map.Entry<Var, List<Range>> e : ranges.entrySet()) {
+            for (Range range : e.getValue()) {
+                long[] ids;
+                try {
+                    ids = dict.searchValues(range.type,
+                            toBound(range.type, range.min), range.minInclusive,
+                            toBound(range.type, range.max), range.maxInclusive, maxIds);
+                } catch (IllegalArgumentException ex) {
+                    // bound not supported by the index, only evaluated by the filter
+                    log.debug("Can't push the range of {}: {}", e.getKey(), ex.getMessage());
+                    continue;
+                }
+                if (ids == null) {
+                    // the range is too wide to be kept in memory, it wouldn't remove many triples either
+                    log.debug("Range of {} with more than {} IDs, not pushed", e.getKey(), maxIds);
+                    continue;
+                }
+                if (counter instanceof AtomicLong) {
+                    ((AtomicLong) counter).incrementAndGet();
+                }
+                mapVar.get(e.getKey()).addObjectFilter(id -> Arrays.binarySearch(ids, id) >= 0);
+            }
+        }
+    }
+
+    private static void addRanges(Expr expr, Map<Var, VarAppearance> mapVar, Map<Var, List<Range>> ranges)
+    {
+        if (expr instanceof E_LogicalAnd) {
+            addRanges(((E_LogicalAnd) expr).getArg1(), mapVar, ranges);
+            addRanges(((E_LogicalAnd) expr).getArg2(), mapVar, ranges);
+            return;
+        }
+        if (!(expr instanceof E_LessThan || expr instanceof E_LessThanOrEqual || expr instanceof E_GreaterThan
+                || expr instanceof E_GreaterThanOrEqual || expr instanceof E_Equals)) {
+            return;
+        }
+        ExprFunction2 function = (ExprFunction2) expr;
+        Expr left = function.getArg1();
+        Expr right = function.getArg2();
+        // ?x op constant or constant op ?x
+        boolean reversed;
+        if (left.isVariable() && right.isConstant()) {
+            reversed = false;
+        } else if (right.isVariable() && left.isConstant()) {
+            reversed = true;
+            Expr tmp = left;
+            left = right;
+            right = tmp;
+        } else {
+            return;
+        }
+        Var var = left.asVar();
+        VarAppearance appearance = mapVar.get(var);
+        if (appearance == null || !appearance.isObject()) {
+            return;
+        }
+        NodeValue value = right.getConstant();
+        LiteralValueIndex.ValueType type = getValueType(value);
+        if (type == null) {
+            return;
+        }
+
+        boolean lower = expr instanceof E_GreaterThan || expr instanceof E_GreaterThanOrEqual;
+        boolean upper = expr instanceof E_LessThan || expr instanceof E_LessThanOrEqual;
+        if (reversed) {
+            boolean tmp = lower;
+            lower = upper;
+            upper = tmp;
+        }
+        if (expr instanceof E_Equals) {
+            lower = upper = true;
+        }
+        boolean inclusive = !(expr instanceof E_GreaterThan || expr instanceof E_LessThan);
+
+        List<Range> varRanges = ranges.computeIfAbsent(var, k -> new ArrayList<>());
+        for (Range range : varRanges) {
+            if (range.type == type && setBounds(range, value, lower, upper, inclusive)) {
+                return;
+            }
+        }
+        Range range = new Range(type);
+        setBounds(range, value, lower, upper, inclusive);
+        varRanges.add(range);
+    }
+
+    private static boolean setBounds(Range range, NodeValue value, boolean lower, boolean upper, boolean inclusive)
+    {
+        // check both bounds before the update to keep the range unchanged if one can't be compared
+        if ((lower && range.min != null && !isComparable(value, range.min))
+                || (upper && range.max != null && !isComparable(value, range.max))) {
+            return false;
+        }
+        if (lower) {
+            range.setMin(value, inclusive);
+        }
+        if (upper) {
+            range.setMax(value, inclusive);
+        }
+        return true;
+    }
+
+    private static boolean isComparable(NodeValue a, NodeValue b)
+    {
+        try {
+            NodeValue.compare(a, b);
+            return true;
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private static LiteralValueIndex.ValueType getValueType(NodeValue value)
+    {
+        if (value.isNumber()) {
+            return LiteralValueIndex.ValueType.NUMERIC;
+        }
+        if (value.isDateTime()) {
+            return LiteralValueIndex.ValueType.DATE_TIME;
+        }
+        if (value.isDate()) {
+            return LiteralValueIndex.ValueType.DATE;
+        }
+        return null;
+    }
+
+    private static Object toBound(LiteralValueIndex.ValueType type, NodeValue value)
+    {
+        if (value == null) {
+            return null;
+        }
+        if (type != LiteralValueIndex.ValueType.NUMERIC) {
+            return value.asNode().getLiteralLexicalForm();
+        }
+        if (value.isDouble()) {
+            return value.getDouble();
+        }
+        if (value.isFloat()) {
+            return (double) value.getFloat();
+        }
+        if (value.isInteger()) {
+            return new BigDecimal(value.getInteger());
+        }
+        return value.getDecimal();
+    }
+}
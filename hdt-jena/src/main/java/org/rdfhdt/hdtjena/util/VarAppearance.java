@@ -26,11 +26,14 @@
 
 package org.rdfhdt.hdtjena.util;
 
+import java.util.function.LongPredicate;
+
 import org.rdfhdt.hdt.enums.TripleComponentRole;
 import org.rdfhdt.hdt.exceptions.NotFoundException;
 
 public final class VarAppearance {
 	private byte value;
+	private LongPredicate objectFilter;
 	private static final byte SUBJECT = 1;
 	private static final byte PREDICATE = 2;
 	private static final byte OBJECT = 4;
@@ -60,6 +63,20 @@ public final class VarAppearance {
 		return (SUBJ_OBJ & value)==SUBJ_OBJ;
 	}
 	
+	/**
+	 * @return the object IDs the variable can be bound to according to the filters of the pattern, null if any
+	 */
+	public LongPredicate getObjectFilter() {
+		return objectFilter;
+	}
+
+	/**
+	 * restrict the object IDs the variable can be bound to, in addition to the previous restrictions
+	 */
+	public void addObjectFilter(LongPredicate filter) {
+		objectFilter = objectFilter == null ? filter : objectFilter.and(filter);
+	}
+
 	public TripleComponentRole getRole() throws NotFoundException {
 		if( (SUBJECT & value)!=0 ) {
 			return TripleComponentRole.SUBJECT;
@@ -0,0 +1,105 @@
+package org.rdfhdt.hdtjena.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdtjena.HDTGraph;
+
+public class BindingTranslateIteratorBufferTest {
+	private static final String NS = "http://www.example.org/";
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static List<TripleString> createTriples() {
+		List<TripleString> triples = new ArrayList<>();
+		for (int i = 0; i < 3000; i++) {
+			triples.add(new TripleString(NS + "s" + i, NS + "p" + (i % 5), NS + "s" + ((i * 7) % 3000)));
+			triples.add(new TripleString(NS + "s" + i, NS + "label", "\"label " + (i % 1000) + "\""));
+		}
+		return triples;
+	}
+
+	private static List<String> query(Model model, String sparql) {
+		List<String> rows = new ArrayList<>();
+		try (QueryExecution qe = QueryExecutionFactory.create(sparql, model)) {
+			ResultSet rs = qe.execSelect();
+			while (rs.hasNext()) {
+				QuerySolution sol = rs.next();
+				StringBuilder row = new StringBuilder();
+				rs.getResultVars().forEach(v -> row.append(sol.get(v)).append(' '));
+				rows.add(row.toString());
+			}
+		}
+		rows.sort(String::compareTo);
+		return rows;
+	}
+
+	private void assertSameResults(HDT hdt, List<TripleString> triples) {
+		Model expected = ModelFactory.createDefaultModel();
+		for (TripleString triple : triples) {
+			expected.add(
+					expected.createResource(triple.getSubject().toString()),
+					expected.createProperty(triple.getPredicate().toString()),
+					triple.getObject().charAt(0) == '"'
+							? expected.createLiteral(triple.getObject().toString().replace("\"", ""))
+							: expected.createResource(triple.getObject().toString())
+			);
+		}
+		Model actual = ModelFactory.createModelForGraph(new HDTGraph(hdt));
+
+		String[] queries = {
+				"SELECT ?s ?o WHERE { ?s <" + NS + "p1> ?o }",
+				"SELECT ?s ?l WHERE { ?s <" + NS + "p2> ?o . ?o <" + NS + "label> ?l }",
+				"SELECT * WHERE { ?s ?p ?o }",
+				"SELECT ?s WHERE { ?s <" + NS + "p3> ?o } LIMIT 5",
+		};
+		for (String sparql : queries) {
+			List<String> exp = query(expected, sparql);
+			List<String> act = query(actual, sparql);
+			if (sparql.contains("LIMIT")) {
+				assertEquals(exp.size(), act.size());
+				assertTrue(query(expected, sparql.replace("LIMIT 5", "")).containsAll(act));
+			} else {
+				assertEquals(sparql, exp, act);
+			}
+		}
+	}
+
+	@Test
+	public void mappedTest() throws Exception {
+		List<TripleString> triples = createTriples();
+		String file = new File(tempDir.getRoot(), "test.hdt").getAbsolutePath();
+		try (HDT hdt = HDTManager.generateHDT(triples.iterator(), NS, new HDTSpecification(), null)) {
+			hdt.saveToHDT(file, null);
+		}
+		try (HDT hdt = HDTManager.mapHDT(file)) {
+			assertSameResults(hdt, triples);
+		}
+	}
+
+	@Test
+	public void loadedTest() throws Exception {
+		List<TripleString> triples = createTriples();
+		try (HDT hdt = HDTManager.generateHDT(triples.iterator(), NS, new HDTSpecification(), null)) {
+			assertSameResults(hdt, triples);
+		}
+	}
+}
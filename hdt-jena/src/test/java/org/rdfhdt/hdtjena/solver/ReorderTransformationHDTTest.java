@@ -0,0 +1,117 @@
+package org.rdfhdt.hdtjena.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.jena.graph.NodeFactory;
+import org.apache.jena.graph.Triple;
+import org.apache.jena.sparql.core.BasicPattern;
+import org.apache.jena.sparql.core.Var;
+import org.apache.jena.assembler.Assembler;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.apache.jena.rdf.model.Resource;
+import org.apache.jena.vocabulary.RDF;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.rdfhdt.hdt.enums.TripleComponentRole;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdt.triples.impl.PredicateStatistics;
+import org.rdfhdt.hdtjena.HDTGraph;
+import org.rdfhdt.hdtjena.HDTGraphAssembler;
+import org.rdfhdt.hdtjena.HDTJenaConstants;
+
+public class ReorderTransformationHDTTest {
+	private static final String NS = "http://www.example.org/";
+
+	@Rule
+	public TemporaryFolder tempDir = new TemporaryFolder();
+
+	private static List<TripleString> createTriples() {
+		List<TripleString> triples = new ArrayList<>();
+		for (int i = 0; i < 500; i++) {
+			String s = NS + "s" + i;
+			triples.add(new TripleString(s, NS + "type", NS + "C" + (i % 10)));
+			triples.add(new TripleString(s, NS + "name", "\"name" + i + "\""));
+			for (int j = 0; j < 50; j++) {
+				triples.add(new TripleString(s, NS + "tag", NS + "tag" + ((i + j) % 200)));
+			}
+		}
+		return triples;
+	}
+
+	@Test
+	public void predicateStatisticsTest() throws Exception {
+		List<TripleString> triples = createTriples();
+
+		Var x = Var.alloc("x");
+		Triple tag = Triple.create(x, NodeFactory.createURI(NS + "tag"), Var.alloc("t"));
+		Triple name = Triple.create(x, NodeFactory.createURI(NS + "name"), Var.alloc("n"));
+		Triple type = Triple.create(x, NodeFactory.createURI(NS + "type"), NodeFactory.createURI(NS + "C1"));
+		BasicPattern bgp = new BasicPattern();
+		bgp.add(tag);
+		bgp.add(name);
+		bgp.add(type);
+
+		try (HDT hdt = HDTManager.generateHDT(triples.iterator(), NS, new HDTSpecification(), null)) {
+			PredicateStatistics stats = PredicateStatistics.loadOrCreate(hdt, null, null);
+			HDTGraph graph = new HDTGraph(hdt, stats, false);
+
+			// the 50 tags of a subject are more than its name
+			BasicPattern reordered = graph.getReorderTransform().reorder(bgp);
+			assertEquals(type, reordered.get(0));
+			assertEquals(name, reordered.get(1));
+			assertEquals(tag, reordered.get(2));
+		}
+	}
+
+	@Test
+	public void assemblerTest() throws Exception {
+		File file = tempDir.newFile("test.hdt");
+		try (HDT hdt = HDTManager.generateHDT(createTriples().iterator(), NS, new HDTSpecification(), null)) {
+			hdt.saveToHDT(file.getAbsolutePath(), null);
+		}
+		File statsFile = new File(PredicateStatistics.getFileName(file.getAbsolutePath()));
+
+		HDTGraphAssembler.init();
+		Model description = ModelFactory.createDefaultModel();
+		Resource root = description.createResource()
+				.addProperty(RDF.type, HDTJenaConstants.tGraphHDT)
+				.addProperty(HDTJenaConstants.pFileName, file.getAbsolutePath())
+				.addProperty(HDTJenaConstants.pPredicateStatistics, "true");
+
+		// the first graph generates the statistics file, the second one loads it
+		for (int i = 0; i < 2; i++) {
+			Model model = (Model) Assembler.general.open(root);
+			HDTGraph graph = (HDTGraph) model.getGraph();
+			try {
+				assertTrue(statsFile.isFile());
+				PredicateStatistics stats = graph.getPredicateStatistics();
+				assertNotNull(stats);
+				long tag = graph.getHDT().getDictionary().stringToId(NS + "tag", TripleComponentRole.PREDICATE);
+				assertEquals(500 * 50, stats.getCount(tag));
+
+				Var x = Var.alloc("x");
+				Triple tagPattern = Triple.create(x, NodeFactory.createURI(NS + "tag"), Var.alloc("t"));
+				Triple typePattern = Triple.create(x, NodeFactory.createURI(NS + "type"), NodeFactory.createURI(NS + "C1"));
+				BasicPattern bgp = new BasicPattern();
+				bgp.add(tagPattern);
+				bgp.add(typePattern);
+				assertEquals(typePattern, graph.getReorderTransform().reorder(bgp).get(0));
+			} finally {
+				model.close();
+				graph.getHDT().close();
+			}
+		}
+	}
+}
@@ -0,0 +1,89 @@
+package org.rdfhdt.hdtjena.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.Test;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdtjena.HDTGraph;
+import org.rdfhdt.hdtjena.HDTJenaConstants;
+
+public class StageHashJoinTripleIDTest {
+	private static final String NS = "http://www.example.org/";
+
+	private static List<String> query(Model model, String sparql) {
+		return query(model, sparql, new AtomicLong());
+	}
+
+	private static List<String> query(Model model, String sparql, AtomicLong hashJoins) {
+		List<String> rows = new ArrayList<>();
+		try (QueryExecution qe = QueryExecutionFactory.create(sparql, model)) {
+			qe.getContext().set(HDTJenaConstants.HASH_JOIN_COUNTER, hashJoins);
+			ResultSet rs = qe.execSelect();
+			while (rs.hasNext()) {
+				QuerySolution sol = rs.next();
+				StringBuilder row = new StringBuilder();
+				rs.getResultVars().forEach(v -> row.append(sol.get(v)).append(' '));
+				rows.add(row.toString());
+			}
+		}
+		rows.sort(String::compareTo);
+		return rows;
+	}
+
+	@Test
+	public void joinTest() throws Exception {
+		List<TripleString> triples = new ArrayList<>();
+		Model expected = ModelFactory.createDefaultModel();
+		for (int i = 0; i < 4000; i++) {
+			String s = NS + "s" + i;
+			String knows = NS + "s" + ((i * 31) % 4000);
+			String type = NS + "t" + (i % 7);
+			triples.add(new TripleString(s, NS + "knows", knows));
+			triples.add(new TripleString(s, NS + "type", type));
+			expected.add(expected.createResource(s), expected.createProperty(NS + "knows"), expected.createResource(knows));
+			expected.add(expected.createResource(s), expected.createProperty(NS + "type"), expected.createResource(type));
+			if (i % 3 == 0) {
+				triples.add(new TripleString(s, NS + "name", "\"name" + i + "\""));
+				expected.add(expected.createResource(s), expected.createProperty(NS + "name"), "name" + i);
+			}
+		}
+
+		String[] queries = {
+				// subject-object join of two large patterns
+				"SELECT ?a ?b ?t WHERE { ?a <" + NS + "knows> ?b . ?b <" + NS + "type> ?t }",
+				// subject-subject join
+				"SELECT ?a ?n ?t WHERE { ?a <" + NS + "name> ?n . ?a <" + NS + "type> ?t }",
+				// join on two variables
+				"SELECT ?a ?b WHERE { ?a <" + NS + "knows> ?b . ?a <" + NS + "type> ?t . ?b <" + NS + "type> ?t }",
+				// variable used as subject and object
+				"SELECT ?a ?b ?c WHERE { ?a <" + NS + "knows> ?b . ?b <" + NS + "knows> ?c }",
+				// join with a bound value from a previous optional part
+				"SELECT ?a ?n WHERE { ?a <" + NS + "type> <" + NS + "t1> OPTIONAL { ?a <" + NS + "name> ?n } }",
+		};
+
+		try (HDT hdt = HDTManager.generateHDT(triples.iterator(), NS, new HDTSpecification(), null)) {
+			Model actual = ModelFactory.createModelForGraph(new HDTGraph(hdt));
+			AtomicLong hashJoins = new AtomicLong();
+			for (String sparql : queries) {
+				List<String> exp = query(expected, sparql);
+				assertTrue(sparql, !exp.isEmpty());
+				assertEquals(sparql, exp, query(actual, sparql, hashJoins));
+			}
+			assertTrue(hashJoins.get() > 0);
+		}
+	}
+}
@@ -0,0 +1,116 @@
+package org.rdfhdt.hdtjena.solver;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.jena.datatypes.xsd.XSDDatatype;
+import org.apache.jena.query.QueryExecution;
+import org.apache.jena.query.QueryExecutionFactory;
+import org.apache.jena.query.QuerySolution;
+import org.apache.jena.query.ResultSet;
+import org.apache.jena.rdf.model.Model;
+import org.apache.jena.rdf.model.ModelFactory;
+import org.junit.Test;
+import org.rdfhdt.hdt.hdt.HDT;
+import org.rdfhdt.hdt.hdt.HDTManager;
+import org.rdfhdt.hdt.options.HDTSpecification;
+import org.rdfhdt.hdt.triples.TripleString;
+import org.rdfhdt.hdtjena.HDTGraph;
+import org.rdfhdt.hdtjena.HDTJenaConstants;
+
+public class ValueFilterPushdownTest {
+	private static final String NS = "http://www.example.org/";
+	private static final String XSD = "http://www.w3.org/2001/XMLSchema#";
+
+	private static List<String> query(Model model, String sparql, boolean pushdown) {
+		return query(model, sparql, pushdown, new AtomicLong());
+	}
+
+	private static List<String> query(Model model, String sparql, boolean pushdown, AtomicLong pushed) {
+		return query(model, sparql, pushdown, pushed, ValueFilterPushdown.DEFAULT_MAX_IDS);
+	}
+
+	private static List<String> query(Model model, String sparql, boolean pushdown, AtomicLong pushed, long maxIds) {
+		List<String> rows = new ArrayList<>();
+		try (QueryExecution qe = QueryExecutionFactory.create(sparql, model)) {
+			qe.getContext().set(HDTJenaConstants.VALUE_FILTER_PUSHDOWN_COUNTER, pushed);
+			qe.getContext().set(HDTJenaConstants.VALUE_FILTER_PUSHDOWN_MAX_IDS, maxIds);
+			if (pushdown) {
+				qe.getContext().set(HDTJenaConstants.VALUE_FILTER_PUSHDOWN, true);
+			}
+			ResultSet rs = qe.execSelect();
+			while (rs.hasNext()) {
+				QuerySolution sol = rs.next();
+				StringBuilder row = new StringBuilder();
+				rs.getResultVars().forEach(v -> row.append(sol.get(v)).append(' '));
+				rows.add(row.toString());
+			}
+		}
+		rows.sort(String::compareTo);
+		return rows;
+	}
+
+	private static void add(List<TripleString> triples, Model model, String s, String p, String lexical, XSDDatatype type) {
+		triples.add(new TripleString(NS + s, NS + p, "\"" + lexical + "\"^^<" + type.getURI() + ">"));
+		model.add(model.createResource(NS + s), model.createProperty(NS + p), model.createTypedLiteral(lexical, type));
+	}
+
+	@Test
+	public void pushdownTest() throws Exception {
+		List<TripleString> triples = new ArrayList<>();
+		Model expected = ModelFactory.createDefaultModel();
+		Random random = new Random(42);
+		for (int i = 0; i < 2000; i++) {
+			String s = "s" + i;
+			add(triples, expected, s, "age", Integer.toString(random.nextInt(100)), XSDDatatype.XSDint);
+			add(triples, expected, s, "size", Double.toString(random.nextDouble() * 10), XSDDatatype.XSDdouble);
+			add(triples, expected, s, "price", (random.nextInt(10000) / 100.0) + "", XSDDatatype.XSDdecimal);
+			add(triples, expected, s, "born", String.format("19%02d-%02d-%02dT12:00:00Z", random.nextInt(100), 1 + random.nextInt(12), 1 + random.nextInt(28)), XSDDatatype.XSDdateTime);
+			triples.add(new TripleString(NS + s, NS + "name", "\"name" + i + "\""));
+			expected.add(expected.createResource(NS + s), expected.createProperty(NS + "name"), "name" + i);
+		}
+		add(triples, expected, "s0", "age", "abc", XSDDatatype.XSDint);
+
+		String[] queries = {
+				"SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(?a > 90) }",
+				"SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(?a >= 10 && ?a < 12) }",
+				"SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(20 > ?a) FILTER(?a >= 18.5) }",
+				"SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(?a = 42.0) }",
+				"SELECT ?s ?v WHERE { ?s ?p ?v FILTER(?v > 99.5e0) }",
+				"SELECT ?s ?v ?n WHERE { ?s <" + NS + "size> ?v . ?s <" + NS + "name> ?n FILTER(?v <= 0.05) }",
+				"SELECT ?s ?b WHERE { ?s <" + NS + "born> ?b FILTER(?b >= \"1990-01-01T00:00:00Z\"^^<" + XSD + "dateTime>) }",
+				"SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(?a > 90 || ?a < 2) }",
+				"SELECT ?s ?n WHERE { ?s <" + NS + "name> ?n FILTER(?n > \"name1998\") }",
+		};
+
+		HDTSpecification spec = new HDTSpecification();
+		spec.setOptions("tempDictionary.impl=multHash;dictionary.type=dictionaryMultiObj;");
+		try (HDT hdt = HDTManager.generateHDT(triples.iterator(), NS, spec, null)) {
+			Model actual = ModelFactory.createModelForGraph(new HDTGraph(hdt));
+			AtomicLong pushed = new AtomicLong();
+			AtomicLong notPushed = new AtomicLong();
+			for (String sparql : queries) {
+				List<String> exp = query(expected, sparql, false);
+				assertTrue(sparql, !exp.isEmpty());
+				assertEquals(sparql, exp, query(actual, sparql, false, notPushed));
+				assertEquals(sparql, exp, query(actual, sparql, true, pushed));
+			}
+			assertTrue(pushed.get() > 0);
+			assertEquals(0, notPushed.get());
+
+			// range wider than the cap, only evaluated by the filter
+			String wide = "SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(?a >= 10) }";
+			String narrow = "SELECT ?s ?a WHERE { ?s <" + NS + "age> ?a FILTER(?a = 42) }";
+			AtomicLong capped = new AtomicLong();
+			assertEquals(query(expected, wide, false), query(actual, wide, true, capped, 50));
+			assertEquals(0, capped.get());
+			assertEquals(query(expected, narrow, false), query(actual, narrow, true, capped, 50));
+			assertEquals(1, capped.get());
+		}
+	}
+}